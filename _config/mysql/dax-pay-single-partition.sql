@@ -0,0 +1,84 @@
+-- ----------------------------
+-- 交易数据按月分区改造脚本(MySQL 8.0)
+-- 1. 执行前请停止服务并备份数据
+-- 2. 原有数据整体作为历史分区(p_legacy), 范围截止到下个月一号, 之后的月份由服务从兜底分区(p_max)中拆分创建
+-- 3. 执行完成后配置 dax-pay.partition.enable=true 和 dax-pay.partition.db-type=mysql 开启分区维护
+-- ----------------------------
+SET @cutoff = DATE_FORMAT(DATE_ADD(CURDATE(), INTERVAL 1 MONTH), '%Y-%m-01');
+
+-- ----------------------------
+-- pay_order
+-- ----------------------------
+UPDATE `pay_order` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_order` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_order` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_order` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ----------------------------
+-- pay_refund_order
+-- ----------------------------
+UPDATE `pay_refund_order` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_refund_order` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_refund_order` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_refund_order` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ----------------------------
+-- pay_transfer_order
+-- ----------------------------
+UPDATE `pay_transfer_order` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_transfer_order` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_transfer_order` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_transfer_order` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ----------------------------
+-- pay_trade_flow_record
+-- ----------------------------
+UPDATE `pay_trade_flow_record` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_trade_flow_record` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_trade_flow_record` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_trade_flow_record` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ----------------------------
+-- pay_trade_sync_record
+-- ----------------------------
+UPDATE `pay_trade_sync_record` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_trade_sync_record` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_trade_sync_record` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_trade_sync_record` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ----------------------------
+-- pay_trade_callback_record
+-- ----------------------------
+UPDATE `pay_trade_callback_record` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_trade_callback_record` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_trade_callback_record` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_trade_callback_record` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ----------------------------
+-- pay_merchant_notify_record
+-- ----------------------------
+UPDATE `pay_merchant_notify_record` SET `create_time` = '1970-01-01 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `pay_merchant_notify_record` MODIFY `create_time` datetime NOT NULL COMMENT '创建时间';
+ALTER TABLE `pay_merchant_notify_record` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+SET @sql = CONCAT('ALTER TABLE `pay_merchant_notify_record` PARTITION BY RANGE COLUMNS(`create_time`) (PARTITION p_legacy VALUES LESS THAN (''', @cutoff, '''), PARTITION p_max VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
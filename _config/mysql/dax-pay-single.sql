@@ -699,6 +699,8 @@ CREATE TABLE `pay_alloc_order`  (
                                     `version` int NOT NULL COMMENT '乐观锁',
                                     `deleted` tinyint(1) NOT NULL COMMENT '删除标志',
                                     `app_id` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '应用号',
+                                    `sync_retry_count` int NOT NULL DEFAULT 0 COMMENT '同步失败次数',
+                                    `sync_next_retry_time` datetime NULL DEFAULT NULL COMMENT '同步下次重试时间',
                                     PRIMARY KEY (`id`) USING BTREE,
                                     INDEX `alloc_no`(`alloc_no` ASC) USING BTREE COMMENT '分账单号索引',
                                     INDEX `biz_alloc_no`(`biz_alloc_no` ASC) USING BTREE COMMENT '商户分账单号索引',
@@ -862,7 +864,8 @@ CREATE TABLE `pay_channel_reconcile_trade`  (
                                                 `amount` decimal(13, 2) NULL DEFAULT NULL COMMENT '交易金额',
                                                 `trade_status` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '交易状态',
                                                 `trade_time` datetime NULL DEFAULT NULL COMMENT '交易时间',
-                                                PRIMARY KEY (`id`) USING BTREE
+                                                PRIMARY KEY (`id`) USING BTREE,
+                                                INDEX `reconcile_out_trade_no`(`reconcile_id` ASC, `out_trade_no` ASC) USING BTREE COMMENT '对账单通道交易索引'
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '通道对账交易明细' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -985,6 +988,30 @@ CREATE TABLE `pay_close_record`  (
                                      INDEX `order_no`(`order_no` ASC) USING BTREE COMMENT '支付订单号索引'
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '支付关闭记录' ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for pay_export_task
+-- ----------------------------
+DROP TABLE IF EXISTS `pay_export_task`;
+CREATE TABLE `pay_export_task`  (
+                                    `id` bigint NOT NULL COMMENT '主键',
+                                    `name` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '任务名称',
+                                    `type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '导出数据类型',
+                                    `format` varchar(10) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '文件格式',
+                                    `query_param` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '查询条件',
+                                    `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '任务状态',
+                                    `total` int NULL DEFAULT NULL COMMENT '导出条数',
+                                    `file_url` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '文件地址',
+                                    `error_msg` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '错误信息',
+                                    `finish_time` datetime NULL DEFAULT NULL COMMENT '完成时间',
+                                    `creator` bigint NULL DEFAULT NULL COMMENT '创建者ID',
+                                    `create_time` datetime NULL DEFAULT NULL COMMENT '创建时间',
+                                    `last_modifier` bigint NULL DEFAULT NULL COMMENT '最后修改者ID',
+                                    `last_modified_time` datetime NULL DEFAULT NULL COMMENT '最后修改时间',
+                                    `version` int NOT NULL COMMENT '版本',
+                                    `deleted` tinyint(1) NOT NULL COMMENT '删除标志',
+                                    PRIMARY KEY (`id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '数据导出任务' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for pay_mch_app
 -- ----------------------------
@@ -1142,6 +1169,8 @@ CREATE TABLE `pay_merchant_notify_task`  (
                                              `trade_no` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '本地交易号',
                                              `notify_type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '通知类型',
                                              `content` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '消息内容',
+                                             `body` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '通知报文',
+                                             `sign_key_version` varchar(16) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '签名密钥版本',
                                              `success` tinyint(1) NULL DEFAULT NULL COMMENT '是否发送成功',
                                              `next_time` datetime NULL DEFAULT NULL COMMENT '发送次数',
                                              `send_count` int NULL DEFAULT NULL COMMENT '延迟次数',
@@ -1217,10 +1246,14 @@ CREATE TABLE `pay_order`  (
                               `expired_time` datetime NULL DEFAULT NULL COMMENT '过期时间',
                               `pay_time` datetime NULL DEFAULT NULL COMMENT '支付成功时间',
                               `close_time` datetime NULL DEFAULT NULL COMMENT '关闭时间',
+                              `alloc_retry_count` int NOT NULL DEFAULT 0 COMMENT '自动分账失败次数',
+                              `alloc_next_retry_time` datetime NULL DEFAULT NULL COMMENT '自动分账下次重试时间',
                               PRIMARY KEY (`id`) USING BTREE,
                               INDEX `order_biz_order_order_no_idx`(`biz_order_no` ASC) USING BTREE,
                               INDEX `order_pay_order_order_no_idx`(`order_no` ASC) USING BTREE,
-                              INDEX `order_pay_order_out_order_no_idx`(`out_order_no` ASC) USING BTREE
+                              INDEX `order_pay_order_out_order_no_idx`(`out_order_no` ASC) USING BTREE,
+                              INDEX `order_pay_order_modified_time_idx`(`last_modified_time` ASC) USING BTREE,
+                              INDEX `order_pay_order_create_time_idx`(`create_time` DESC, `id` DESC) USING BTREE
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '支付订单' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -1284,6 +1317,48 @@ CREATE TABLE `pay_reconcile_discrepancy`  (
 -- Records of pay_reconcile_discrepancy
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pay_reconcile_intraday
+-- ----------------------------
+DROP TABLE IF EXISTS `pay_reconcile_intraday`;
+CREATE TABLE `pay_reconcile_intraday`  (
+                                           `id` bigint NOT NULL COMMENT '主键',
+                                           `creator` bigint NULL DEFAULT NULL COMMENT '创建者ID',
+                                           `create_time` datetime NULL DEFAULT NULL COMMENT '创建时间',
+                                           `app_id` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '应用号',
+                                           `channel` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '支付通道',
+                                           `trade_date` date NOT NULL COMMENT '交易日期',
+                                           `order_count` int NULL DEFAULT NULL COMMENT '支付成功笔数',
+                                           `order_amount` decimal(16, 2) NULL DEFAULT NULL COMMENT '支付成功金额',
+                                           `refund_count` int NULL DEFAULT NULL COMMENT '退款成功笔数',
+                                           `refund_amount` decimal(16, 2) NULL DEFAULT NULL COMMENT '退款成功金额',
+                                           `mismatch_count` int NULL DEFAULT NULL COMMENT '与通道同步结果不一致的笔数',
+                                           `checked_time` datetime NULL DEFAULT NULL COMMENT '最后核对时间',
+                                           PRIMARY KEY (`id`) USING BTREE,
+                                           UNIQUE INDEX `reconcile_intraday_date_idx`(`app_id` ASC, `channel` ASC, `trade_date` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '日间对账汇总' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Records of pay_reconcile_intraday
+-- ----------------------------
+
+-- ----------------------------
+-- Table structure for pay_reconcile_intraday_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS `pay_reconcile_intraday_watermark`;
+CREATE TABLE `pay_reconcile_intraday_watermark`  (
+                                           `id` bigint NOT NULL COMMENT '主键',
+                                           `trade_type` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '交易类型',
+                                           `scan_time` datetime NULL DEFAULT NULL COMMENT '已扫描到的订单最后修改时间',
+                                           `scan_id` bigint NULL DEFAULT NULL COMMENT '已扫描到的订单主键',
+                                           PRIMARY KEY (`id`) USING BTREE,
+                                           UNIQUE INDEX `reconcile_intraday_watermark_type_idx`(`trade_type` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '日间对账扫描进度' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Records of pay_reconcile_intraday_watermark
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pay_reconcile_statement
 -- ----------------------------
@@ -1315,6 +1390,7 @@ CREATE TABLE `pay_reconcile_statement`  (
                                             `platform_file_url` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '生成平台对账单文件url',
                                             `error_code` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '错误码',
                                             `error_msg` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '错误信息',
+                                            `ingest_count` int NULL DEFAULT NULL COMMENT '已导入通道交易记录数',
                                             `id` bigint NOT NULL COMMENT '主键',
                                             PRIMARY KEY (`id`) USING BTREE
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '对账报告' ROW_FORMAT = DYNAMIC;
@@ -1364,13 +1440,51 @@ CREATE TABLE `pay_refund_order`  (
                                      INDEX `refund_order_no`(`order_no` ASC) USING BTREE COMMENT '支付订单号索引',
                                      INDEX `refund_out_order_no`(`out_order_no` ASC) USING BTREE COMMENT '通道支付订单号索引',
                                      INDEX `refund_out_refund_no`(`out_refund_no` ASC) USING BTREE COMMENT '通道退款交易号索引',
-                                     INDEX `refund_refund_no`(`refund_no` ASC) USING BTREE COMMENT '退款号索引'
+                                     INDEX `refund_refund_no`(`refund_no` ASC) USING BTREE COMMENT '退款号索引',
+                                     INDEX `refund_modified_time`(`last_modified_time` ASC) USING BTREE COMMENT '最后修改时间索引',
+                                     INDEX `refund_create_time`(`create_time` DESC, `id` DESC) USING BTREE COMMENT '创建时间分页索引'
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '退款订单' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
 -- Records of pay_refund_order
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pay_trade_callback_inbox
+-- ----------------------------
+DROP TABLE IF EXISTS `pay_trade_callback_inbox`;
+CREATE TABLE `pay_trade_callback_inbox`  (
+                                              `id` bigint NOT NULL COMMENT '主键',
+                                              `creator` bigint NULL DEFAULT NULL COMMENT '创建者ID',
+                                              `create_time` datetime NULL DEFAULT NULL COMMENT '创建时间',
+                                              `last_modifier` bigint NULL DEFAULT NULL COMMENT '最后修改ID',
+                                              `last_modified_time` datetime NULL DEFAULT NULL COMMENT '最后修改时间',
+                                              `version` int NOT NULL COMMENT '版本号',
+                                              `deleted` tinyint(1) NOT NULL COMMENT '删除标志',
+                                              `trade_no` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '本地交易号',
+                                              `out_trade_no` varchar(150) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '通道交易号',
+                                              `channel` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '支付通道',
+                                              `callback_type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '回调类型',
+                                              `trade_status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '交易状态',
+                                              `trade_error_msg` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '交易错误信息',
+                                              `amount` decimal(12, 2) NULL DEFAULT NULL COMMENT '金额',
+                                              `finish_time` datetime NULL DEFAULT NULL COMMENT '完成时间',
+                                              `notify_info` longtext CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '通知消息',
+                                              `dedup_key` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '去重标识',
+                                              `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '处理状态',
+                                              `retry_count` int NULL DEFAULT NULL COMMENT '重试次数',
+                                              `next_retry_time` datetime NULL DEFAULT NULL COMMENT '下次重试时间',
+                                              `error_msg` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '错误信息',
+                                              `app_id` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '应用号',
+                                              PRIMARY KEY (`id`) USING BTREE,
+                                              UNIQUE INDEX `dedup_key`(`dedup_key` ASC) USING BTREE COMMENT '回调去重索引',
+                                              INDEX `status`(`status` ASC) USING BTREE COMMENT '处理状态索引'
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '网关回调收件箱' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Records of pay_trade_callback_inbox
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pay_trade_callback_record
 -- ----------------------------
@@ -1420,6 +1534,47 @@ CREATE TABLE `pay_trade_flow_record`  (
 -- Records of pay_trade_flow_record
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pay_trade_report_hour
+-- ----------------------------
+DROP TABLE IF EXISTS `pay_trade_report_hour`;
+CREATE TABLE `pay_trade_report_hour`  (
+                                          `id` bigint NOT NULL COMMENT '主键',
+                                          `creator` bigint NULL DEFAULT NULL COMMENT '创建者ID',
+                                          `create_time` datetime NULL DEFAULT NULL COMMENT '创建时间',
+                                          `app_id` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '应用号',
+                                          `report_time` datetime NOT NULL COMMENT '统计小时(整点)',
+                                          `trade_type` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '交易类型',
+                                          `channel` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '支付通道',
+                                          `method` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '支付方式',
+                                          `trade_count` int NULL DEFAULT NULL COMMENT '交易笔数',
+                                          `trade_amount` decimal(16, 2) NULL DEFAULT NULL COMMENT '交易金额',
+                                          `max_amount` decimal(12, 2) NULL DEFAULT NULL COMMENT '最大单笔金额',
+                                          PRIMARY KEY (`id`) USING BTREE,
+                                          INDEX `trade_report_hour_time_idx`(`report_time` ASC, `trade_type` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '交易小时汇总统计' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Records of pay_trade_report_hour
+-- ----------------------------
+
+-- ----------------------------
+-- Table structure for pay_trade_report_rollup_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS `pay_trade_report_rollup_watermark`;
+CREATE TABLE `pay_trade_report_rollup_watermark`  (
+                                           `id` bigint NOT NULL COMMENT '主键',
+                                           `trade_type` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '交易类型',
+                                           `scan_time` datetime NULL DEFAULT NULL COMMENT '已扫描到的订单最后修改时间',
+                                           `scan_id` bigint NULL DEFAULT NULL COMMENT '已扫描到的订单主键',
+                                           PRIMARY KEY (`id`) USING BTREE,
+                                           UNIQUE INDEX `trade_report_rollup_watermark_type_idx`(`trade_type` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '交易小时汇总扫描进度' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Records of pay_trade_report_rollup_watermark
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pay_trade_sync_record
 -- ----------------------------
@@ -1440,7 +1595,8 @@ CREATE TABLE `pay_trade_sync_record`  (
                                           `error_code` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '错误码',
                                           `error_msg` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL COMMENT '错误信息',
                                           `client_ip` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '终端ip',
-                                          PRIMARY KEY (`id`) USING BTREE
+                                          PRIMARY KEY (`id`) USING BTREE,
+                                          INDEX `trade_sync_record_trade_no_idx`(`trade_no` ASC) USING BTREE
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '交易同步记录' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -1482,7 +1638,8 @@ CREATE TABLE `pay_transfer_order`  (
                                        PRIMARY KEY (`id`) USING BTREE,
                                        INDEX `transfer_biz_transfer_no`(`biz_transfer_no` ASC) USING BTREE COMMENT '商户转账号索引',
                                        INDEX `transfer_out_transfer_no`(`out_transfer_no` ASC) USING BTREE COMMENT '通道转账号索引',
-                                       INDEX `transfer_transfer_no`(`transfer_no` ASC) USING BTREE COMMENT '转账号索引'
+                                       INDEX `transfer_transfer_no`(`transfer_no` ASC) USING BTREE COMMENT '转账号索引',
+                                       INDEX `transfer_create_time`(`create_time` DESC, `id` DESC) USING BTREE COMMENT '创建时间分页索引'
 ) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '转账订单' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
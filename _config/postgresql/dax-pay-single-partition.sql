@@ -0,0 +1,36 @@
+-- ----------------------------
+-- 交易数据按月分区改造脚本(PostgreSQL 11+)
+-- 1. 执行前请停止服务并备份数据
+-- 2. 原有数据整体作为历史分区(表名_legacy)挂载, 范围截止到下个月一号, 之后的月份由服务自动创建
+-- 3. 执行完成后配置 dax-pay.partition.enable=true 开启分区维护
+-- ----------------------------
+DO $$
+DECLARE
+    t      text;
+    pk     text;
+    cutoff timestamp := date_trunc('month', now()) + interval '1 month';
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'pay_order',
+        'pay_refund_order',
+        'pay_transfer_order',
+        'pay_trade_flow_record',
+        'pay_trade_sync_record',
+        'pay_trade_callback_record',
+        'pay_merchant_notify_record']
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', t, t || '_legacy');
+        -- 分区表的主键必须包含分区字段, 删除原有主键
+        SELECT conname INTO pk FROM pg_constraint
+        WHERE conrelid = to_regclass(t || '_legacy') AND contype = 'p';
+        IF pk IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', t || '_legacy', pk);
+        END IF;
+        EXECUTE format('UPDATE %I SET create_time = %L WHERE create_time IS NULL', t || '_legacy', '1970-01-01');
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN create_time SET NOT NULL', t || '_legacy');
+        -- 按创建时间分区的主表, 索引会同步到每个分区上
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING COMMENTS INCLUDING INDEXES) PARTITION BY RANGE (create_time)', t, t || '_legacy');
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, create_time)', t);
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)', t, t || '_legacy', cutoff);
+    END LOOP;
+END $$;
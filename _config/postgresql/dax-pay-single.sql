@@ -926,7 +926,9 @@ CREATE TABLE "public"."pay_alloc_order" (
                                             "last_modified_time" timestamp(6),
                                             "version" int4 NOT NULL,
                                             "deleted" bool NOT NULL,
-                                            "app_id" varchar(32) COLLATE "pg_catalog"."default"
+                                            "app_id" varchar(32) COLLATE "pg_catalog"."default",
+                                            "sync_retry_count" int4 NOT NULL DEFAULT 0,
+                                            "sync_next_retry_time" timestamp(6)
 )
 ;
 COMMENT ON COLUMN "public"."pay_alloc_order"."id" IS '主键';
@@ -957,6 +959,8 @@ COMMENT ON COLUMN "public"."pay_alloc_order"."last_modified_time" IS '最后修
 COMMENT ON COLUMN "public"."pay_alloc_order"."version" IS '乐观锁';
 COMMENT ON COLUMN "public"."pay_alloc_order"."deleted" IS '删除标志';
 COMMENT ON COLUMN "public"."pay_alloc_order"."app_id" IS '应用号';
+COMMENT ON COLUMN "public"."pay_alloc_order"."sync_retry_count" IS '同步失败次数';
+COMMENT ON COLUMN "public"."pay_alloc_order"."sync_next_retry_time" IS '同步下次重试时间';
 COMMENT ON TABLE "public"."pay_alloc_order" IS '分账订单';
 
 -- ----------------------------
@@ -1391,6 +1395,47 @@ COMMENT ON COLUMN "public"."pay_close_record"."create_time" IS '创建时间';
 COMMENT ON COLUMN "public"."pay_close_record"."app_id" IS '应用号';
 COMMENT ON TABLE "public"."pay_close_record" IS '支付关闭记录';
 
+-- ----------------------------
+-- Table structure for pay_export_task
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."pay_export_task";
+CREATE TABLE "public"."pay_export_task" (
+                                            "id" int8 NOT NULL,
+                                            "name" varchar(100) COLLATE "pg_catalog"."default",
+                                            "type" varchar(20) COLLATE "pg_catalog"."default" NOT NULL,
+                                            "format" varchar(10) COLLATE "pg_catalog"."default" NOT NULL,
+                                            "query_param" text COLLATE "pg_catalog"."default",
+                                            "status" varchar(20) COLLATE "pg_catalog"."default" NOT NULL,
+                                            "total" int4,
+                                            "file_url" varchar(500) COLLATE "pg_catalog"."default",
+                                            "error_msg" varchar(500) COLLATE "pg_catalog"."default",
+                                            "finish_time" timestamp(6),
+                                            "creator" int8,
+                                            "create_time" timestamp(6),
+                                            "last_modifier" int8,
+                                            "last_modified_time" timestamp(6),
+                                            "version" int4 NOT NULL,
+                                            "deleted" bool NOT NULL
+)
+;
+COMMENT ON COLUMN "public"."pay_export_task"."id" IS '主键';
+COMMENT ON COLUMN "public"."pay_export_task"."name" IS '任务名称';
+COMMENT ON COLUMN "public"."pay_export_task"."type" IS '导出数据类型';
+COMMENT ON COLUMN "public"."pay_export_task"."format" IS '文件格式';
+COMMENT ON COLUMN "public"."pay_export_task"."query_param" IS '查询条件';
+COMMENT ON COLUMN "public"."pay_export_task"."status" IS '任务状态';
+COMMENT ON COLUMN "public"."pay_export_task"."total" IS '导出条数';
+COMMENT ON COLUMN "public"."pay_export_task"."file_url" IS '文件地址';
+COMMENT ON COLUMN "public"."pay_export_task"."error_msg" IS '错误信息';
+COMMENT ON COLUMN "public"."pay_export_task"."finish_time" IS '完成时间';
+COMMENT ON COLUMN "public"."pay_export_task"."creator" IS '创建者ID';
+COMMENT ON COLUMN "public"."pay_export_task"."create_time" IS '创建时间';
+COMMENT ON COLUMN "public"."pay_export_task"."last_modifier" IS '最后修改者ID';
+COMMENT ON COLUMN "public"."pay_export_task"."last_modified_time" IS '最后修改时间';
+COMMENT ON COLUMN "public"."pay_export_task"."version" IS '版本';
+COMMENT ON COLUMN "public"."pay_export_task"."deleted" IS '删除标志';
+COMMENT ON TABLE "public"."pay_export_task" IS '数据导出任务';
+
 -- ----------------------------
 -- Table structure for pay_mch_app
 -- ----------------------------
@@ -1623,6 +1668,8 @@ CREATE TABLE "public"."pay_merchant_notify_task" (
                                                      "trade_no" varchar(32) COLLATE "pg_catalog"."default",
                                                      "notify_type" varchar(20) COLLATE "pg_catalog"."default",
                                                      "content" text COLLATE "pg_catalog"."default",
+                                                     "body" text COLLATE "pg_catalog"."default",
+                                                     "sign_key_version" varchar(16) COLLATE "pg_catalog"."default",
                                                      "success" bool,
                                                      "next_time" timestamp(6),
                                                      "send_count" int4,
@@ -1642,6 +1689,8 @@ COMMENT ON COLUMN "public"."pay_merchant_notify_task"."trade_id" IS '本地交
 COMMENT ON COLUMN "public"."pay_merchant_notify_task"."trade_no" IS '本地交易号';
 COMMENT ON COLUMN "public"."pay_merchant_notify_task"."notify_type" IS '通知类型';
 COMMENT ON COLUMN "public"."pay_merchant_notify_task"."content" IS '消息内容';
+COMMENT ON COLUMN "public"."pay_merchant_notify_task"."body" IS '通知报文';
+COMMENT ON COLUMN "public"."pay_merchant_notify_task"."sign_key_version" IS '签名密钥版本';
 COMMENT ON COLUMN "public"."pay_merchant_notify_task"."success" IS '是否发送成功';
 COMMENT ON COLUMN "public"."pay_merchant_notify_task"."next_time" IS '发送次数';
 COMMENT ON COLUMN "public"."pay_merchant_notify_task"."send_count" IS '延迟次数';
@@ -1721,7 +1770,9 @@ CREATE TABLE "public"."pay_order" (
                                       "app_id" varchar(32) COLLATE "pg_catalog"."default",
                                       "expired_time" timestamp(6),
                                       "pay_time" timestamp(6),
-                                      "close_time" timestamp(6)
+                                      "close_time" timestamp(6),
+                                      "alloc_retry_count" int4 NOT NULL DEFAULT 0,
+                                      "alloc_next_retry_time" timestamp(6)
 )
 ;
 COMMENT ON COLUMN "public"."pay_order"."id" IS '主键';
@@ -1757,6 +1808,8 @@ COMMENT ON COLUMN "public"."pay_order"."app_id" IS '应用号';
 COMMENT ON COLUMN "public"."pay_order"."expired_time" IS '过期时间';
 COMMENT ON COLUMN "public"."pay_order"."pay_time" IS '支付成功时间';
 COMMENT ON COLUMN "public"."pay_order"."close_time" IS '关闭时间';
+COMMENT ON COLUMN "public"."pay_order"."alloc_retry_count" IS '自动分账失败次数';
+COMMENT ON COLUMN "public"."pay_order"."alloc_next_retry_time" IS '自动分账下次重试时间';
 COMMENT ON TABLE "public"."pay_order" IS '支付订单';
 
 -- ----------------------------
@@ -1854,6 +1907,64 @@ COMMENT ON TABLE "public"."pay_reconcile_discrepancy" IS '对账差异记录';
 -- Records of pay_reconcile_discrepancy
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pay_reconcile_intraday
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."pay_reconcile_intraday";
+CREATE TABLE "public"."pay_reconcile_intraday" (
+                                                   "id" int8 NOT NULL,
+                                                   "creator" int8,
+                                                   "create_time" timestamp(6),
+                                                   "app_id" varchar(32) COLLATE "pg_catalog"."default",
+                                                   "channel" varchar(32) COLLATE "pg_catalog"."default",
+                                                   "trade_date" date NOT NULL,
+                                                   "order_count" int4,
+                                                   "order_amount" numeric(16,2),
+                                                   "refund_count" int4,
+                                                   "refund_amount" numeric(16,2),
+                                                   "mismatch_count" int4,
+                                                   "checked_time" timestamp(6)
+)
+;
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."id" IS '主键';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."creator" IS '创建者ID';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."create_time" IS '创建时间';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."app_id" IS '应用号';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."channel" IS '支付通道';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."trade_date" IS '交易日期';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."order_count" IS '支付成功笔数';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."order_amount" IS '支付成功金额';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."refund_count" IS '退款成功笔数';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."refund_amount" IS '退款成功金额';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."mismatch_count" IS '与通道同步结果不一致的笔数';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday"."checked_time" IS '最后核对时间';
+COMMENT ON TABLE "public"."pay_reconcile_intraday" IS '日间对账汇总';
+
+-- ----------------------------
+-- Records of pay_reconcile_intraday
+-- ----------------------------
+
+-- ----------------------------
+-- Table structure for pay_reconcile_intraday_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."pay_reconcile_intraday_watermark";
+CREATE TABLE "public"."pay_reconcile_intraday_watermark" (
+                                                             "id" int8 NOT NULL,
+                                                             "trade_type" varchar(32) COLLATE "pg_catalog"."default" NOT NULL,
+                                                             "scan_time" timestamp(6),
+                                                             "scan_id" int8
+)
+;
+COMMENT ON COLUMN "public"."pay_reconcile_intraday_watermark"."id" IS '主键';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday_watermark"."trade_type" IS '交易类型';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday_watermark"."scan_time" IS '已扫描到的订单最后修改时间';
+COMMENT ON COLUMN "public"."pay_reconcile_intraday_watermark"."scan_id" IS '已扫描到的订单主键';
+COMMENT ON TABLE "public"."pay_reconcile_intraday_watermark" IS '日间对账扫描进度';
+
+-- ----------------------------
+-- Records of pay_reconcile_intraday_watermark
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pay_reconcile_statement
 -- ----------------------------
@@ -1885,6 +1996,7 @@ CREATE TABLE "public"."pay_reconcile_statement" (
                                                     "platform_file_url" varchar(500) COLLATE "pg_catalog"."default",
                                                     "error_code" varchar(100) COLLATE "pg_catalog"."default",
                                                     "error_msg" varchar(500) COLLATE "pg_catalog"."default",
+                                                    "ingest_count" int4,
                                                     "id" int8 NOT NULL
 )
 ;
@@ -1914,6 +2026,7 @@ COMMENT ON COLUMN "public"."pay_reconcile_statement"."channel_file_url" IS '原
 COMMENT ON COLUMN "public"."pay_reconcile_statement"."platform_file_url" IS '生成平台对账单文件url';
 COMMENT ON COLUMN "public"."pay_reconcile_statement"."error_code" IS '错误码';
 COMMENT ON COLUMN "public"."pay_reconcile_statement"."error_msg" IS '错误信息';
+COMMENT ON COLUMN "public"."pay_reconcile_statement"."ingest_count" IS '已导入通道交易记录数';
 COMMENT ON COLUMN "public"."pay_reconcile_statement"."id" IS '主键';
 COMMENT ON TABLE "public"."pay_reconcile_statement" IS '对账报告';
 
@@ -1992,6 +2105,63 @@ COMMENT ON TABLE "public"."pay_refund_order" IS '退款订单';
 -- Records of pay_refund_order
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pay_trade_callback_inbox
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."pay_trade_callback_inbox";
+CREATE TABLE "public"."pay_trade_callback_inbox" (
+                                                      "id" int8 NOT NULL,
+                                                      "creator" int8,
+                                                      "create_time" timestamp(6),
+                                                      "last_modifier" int8,
+                                                      "last_modified_time" timestamp(6),
+                                                      "version" int4 NOT NULL,
+                                                      "deleted" bool NOT NULL,
+                                                      "trade_no" varchar(32) COLLATE "pg_catalog"."default" NOT NULL,
+                                                      "out_trade_no" varchar(150) COLLATE "pg_catalog"."default",
+                                                      "channel" varchar(20) COLLATE "pg_catalog"."default" NOT NULL,
+                                                      "callback_type" varchar(20) COLLATE "pg_catalog"."default" NOT NULL,
+                                                      "trade_status" varchar(20) COLLATE "pg_catalog"."default",
+                                                      "trade_error_msg" varchar(500) COLLATE "pg_catalog"."default",
+                                                      "amount" numeric(12,2),
+                                                      "finish_time" timestamp(6),
+                                                      "notify_info" text COLLATE "pg_catalog"."default" NOT NULL,
+                                                      "dedup_key" varchar(100) COLLATE "pg_catalog"."default" NOT NULL,
+                                                      "status" varchar(20) COLLATE "pg_catalog"."default" NOT NULL,
+                                                      "retry_count" int4,
+                                                      "next_retry_time" timestamp(6),
+                                                      "error_msg" varchar(500) COLLATE "pg_catalog"."default",
+                                                      "app_id" varchar(32) COLLATE "pg_catalog"."default"
+)
+;
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."id" IS '主键';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."creator" IS '创建者ID';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."create_time" IS '创建时间';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."last_modifier" IS '最后修改ID';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."last_modified_time" IS '最后修改时间';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."version" IS '版本号';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."deleted" IS '删除标志';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."trade_no" IS '本地交易号';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."out_trade_no" IS '通道交易号';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."channel" IS '支付通道';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."callback_type" IS '回调类型';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."trade_status" IS '交易状态';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."trade_error_msg" IS '交易错误信息';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."amount" IS '金额';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."finish_time" IS '完成时间';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."notify_info" IS '通知消息';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."dedup_key" IS '去重标识';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."status" IS '处理状态';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."retry_count" IS '重试次数';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."next_retry_time" IS '下次重试时间';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."error_msg" IS '错误信息';
+COMMENT ON COLUMN "public"."pay_trade_callback_inbox"."app_id" IS '应用号';
+COMMENT ON TABLE "public"."pay_trade_callback_inbox" IS '网关回调收件箱';
+
+-- ----------------------------
+-- Records of pay_trade_callback_inbox
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pay_trade_callback_record
 -- ----------------------------
@@ -2064,6 +2234,62 @@ COMMENT ON TABLE "public"."pay_trade_flow_record" IS '资金流水记录';
 -- Records of pay_trade_flow_record
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pay_trade_report_hour
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."pay_trade_report_hour";
+CREATE TABLE "public"."pay_trade_report_hour" (
+                                                  "id" int8 NOT NULL,
+                                                  "creator" int8,
+                                                  "create_time" timestamp(6),
+                                                  "app_id" varchar(32) COLLATE "pg_catalog"."default",
+                                                  "report_time" timestamp(6) NOT NULL,
+                                                  "trade_type" varchar(32) COLLATE "pg_catalog"."default",
+                                                  "channel" varchar(32) COLLATE "pg_catalog"."default",
+                                                  "method" varchar(32) COLLATE "pg_catalog"."default",
+                                                  "trade_count" int4,
+                                                  "trade_amount" numeric(16,2),
+                                                  "max_amount" numeric(12,2)
+)
+;
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."id" IS '主键';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."creator" IS '创建者ID';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."create_time" IS '创建时间';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."app_id" IS '应用号';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."report_time" IS '统计小时(整点)';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."trade_type" IS '交易类型';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."channel" IS '支付通道';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."method" IS '支付方式';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."trade_count" IS '交易笔数';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."trade_amount" IS '交易金额';
+COMMENT ON COLUMN "public"."pay_trade_report_hour"."max_amount" IS '最大单笔金额';
+COMMENT ON TABLE "public"."pay_trade_report_hour" IS '交易小时汇总统计';
+
+-- ----------------------------
+-- Records of pay_trade_report_hour
+-- ----------------------------
+
+-- ----------------------------
+-- Table structure for pay_trade_report_rollup_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS "public"."pay_trade_report_rollup_watermark";
+CREATE TABLE "public"."pay_trade_report_rollup_watermark" (
+                                                              "id" int8 NOT NULL,
+                                                              "trade_type" varchar(32) COLLATE "pg_catalog"."default" NOT NULL,
+                                                              "scan_time" timestamp(6),
+                                                              "scan_id" int8
+)
+;
+COMMENT ON COLUMN "public"."pay_trade_report_rollup_watermark"."id" IS '主键';
+COMMENT ON COLUMN "public"."pay_trade_report_rollup_watermark"."trade_type" IS '交易类型';
+COMMENT ON COLUMN "public"."pay_trade_report_rollup_watermark"."scan_time" IS '已扫描到的订单最后修改时间';
+COMMENT ON COLUMN "public"."pay_trade_report_rollup_watermark"."scan_id" IS '已扫描到的订单主键';
+COMMENT ON TABLE "public"."pay_trade_report_rollup_watermark" IS '交易小时汇总扫描进度';
+
+-- ----------------------------
+-- Records of pay_trade_report_rollup_watermark
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pay_trade_sync_record
 -- ----------------------------
@@ -2493,6 +2719,14 @@ ALTER TABLE "public"."pay_channel_config" ADD CONSTRAINT "pay_channel_config_pke
 -- ----------------------------
 ALTER TABLE "public"."pay_channel_const" ADD CONSTRAINT "pay_channel_const_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Indexes structure for table pay_channel_reconcile_trade
+-- ----------------------------
+CREATE INDEX "channel_reconcile_trade_out_trade_no_idx" ON "public"."pay_channel_reconcile_trade" USING btree (
+                                                                                                    "reconcile_id" "pg_catalog"."int8_ops" ASC NULLS LAST,
+                                                                                                    "out_trade_no" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+
 -- ----------------------------
 -- Primary Key structure for table pay_channel_reconcile_trade
 -- ----------------------------
@@ -2535,6 +2769,11 @@ COMMENT ON INDEX "public"."order_no" IS '支付订单号索引';
 -- ----------------------------
 ALTER TABLE "public"."pay_close_record" ADD CONSTRAINT "pay_close_record_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Primary Key structure for table pay_export_task
+-- ----------------------------
+ALTER TABLE "public"."pay_export_task" ADD CONSTRAINT "pay_export_task_pkey" PRIMARY KEY ("id");
+
 -- ----------------------------
 -- Primary Key structure for table pay_mch_app
 -- ----------------------------
@@ -2587,6 +2826,13 @@ CREATE INDEX "order_pay_order_order_no_idx" ON "public"."pay_order" USING btree
 CREATE INDEX "order_pay_order_out_order_no_idx" ON "public"."pay_order" USING btree (
                                                                                      "out_order_no" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
     );
+CREATE INDEX "order_pay_order_modified_time_idx" ON "public"."pay_order" USING btree (
+                                                                                      "last_modified_time" "pg_catalog"."timestamp_ops" ASC NULLS LAST
+    );
+CREATE INDEX "order_pay_order_create_time_idx" ON "public"."pay_order" USING btree (
+                                                                                    "create_time" "pg_catalog"."timestamp_ops" DESC,
+                                                                                    "id" "pg_catalog"."int8_ops" DESC
+    );
 
 -- ----------------------------
 -- Primary Key structure for table pay_order
@@ -2603,6 +2849,32 @@ ALTER TABLE "public"."pay_platform_config" ADD CONSTRAINT "pay_platform_config_p
 -- ----------------------------
 ALTER TABLE "public"."pay_reconcile_discrepancy" ADD CONSTRAINT "pay_reconcile_discrepancy_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Indexes structure for table pay_reconcile_intraday
+-- ----------------------------
+CREATE UNIQUE INDEX "reconcile_intraday_date_idx" ON "public"."pay_reconcile_intraday" USING btree (
+                                                                                          "app_id" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST,
+                                                                                          "channel" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST,
+                                                                                          "trade_date" "pg_catalog"."date_ops" ASC NULLS LAST
+    );
+
+-- ----------------------------
+-- Primary Key structure for table pay_reconcile_intraday
+-- ----------------------------
+ALTER TABLE "public"."pay_reconcile_intraday" ADD CONSTRAINT "pay_reconcile_intraday_pkey" PRIMARY KEY ("id");
+
+-- ----------------------------
+-- Indexes structure for table pay_reconcile_intraday_watermark
+-- ----------------------------
+CREATE UNIQUE INDEX "reconcile_intraday_watermark_type_idx" ON "public"."pay_reconcile_intraday_watermark" USING btree (
+                                                                                                     "trade_type" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+
+-- ----------------------------
+-- Primary Key structure for table pay_reconcile_intraday_watermark
+-- ----------------------------
+ALTER TABLE "public"."pay_reconcile_intraday_watermark" ADD CONSTRAINT "pay_reconcile_intraday_watermark_pkey" PRIMARY KEY ("id");
+
 -- ----------------------------
 -- Primary Key structure for table pay_reconcile_statement
 -- ----------------------------
@@ -2639,12 +2911,37 @@ CREATE INDEX "refund_refund_no" ON "public"."pay_refund_order" USING btree (
                                                                             "refund_no" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
     );
 COMMENT ON INDEX "public"."refund_refund_no" IS '退款号索引';
+CREATE INDEX "refund_modified_time" ON "public"."pay_refund_order" USING btree (
+                                                                                "last_modified_time" "pg_catalog"."timestamp_ops" ASC NULLS LAST
+    );
+COMMENT ON INDEX "public"."refund_modified_time" IS '最后修改时间索引';
+CREATE INDEX "refund_create_time" ON "public"."pay_refund_order" USING btree (
+                                                                              "create_time" "pg_catalog"."timestamp_ops" DESC,
+                                                                              "id" "pg_catalog"."int8_ops" DESC
+    );
+COMMENT ON INDEX "public"."refund_create_time" IS '创建时间分页索引';
 
 -- ----------------------------
 -- Primary Key structure for table pay_refund_order
 -- ----------------------------
 ALTER TABLE "public"."pay_refund_order" ADD CONSTRAINT "pay_refund_order_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Indexes structure for table pay_trade_callback_inbox
+-- ----------------------------
+CREATE UNIQUE INDEX "trade_callback_inbox_dedup_key" ON "public"."pay_trade_callback_inbox" USING btree (
+                                                                                  "dedup_key" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+COMMENT ON INDEX "public"."trade_callback_inbox_dedup_key" IS '回调去重索引';
+CREATE INDEX "trade_callback_inbox_status" ON "public"."pay_trade_callback_inbox" USING btree (
+                                                                              "status" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+
+-- ----------------------------
+-- Primary Key structure for table pay_trade_callback_inbox
+-- ----------------------------
+ALTER TABLE "public"."pay_trade_callback_inbox" ADD CONSTRAINT "pay_trade_callback_inbox_pkey" PRIMARY KEY ("id");
+
 -- ----------------------------
 -- Indexes structure for table pay_trade_callback_record
 -- ----------------------------
@@ -2667,6 +2964,38 @@ ALTER TABLE "public"."pay_trade_callback_record" ADD CONSTRAINT "pay_callback_re
 -- ----------------------------
 ALTER TABLE "public"."pay_trade_flow_record" ADD CONSTRAINT "pay_trade_flow_record_pkey" PRIMARY KEY ("id");
 
+-- ----------------------------
+-- Indexes structure for table pay_trade_report_hour
+-- ----------------------------
+CREATE INDEX "trade_report_hour_time_idx" ON "public"."pay_trade_report_hour" USING btree (
+                                                                                      "report_time" "pg_catalog"."timestamp_ops" ASC NULLS LAST,
+                                                                                      "trade_type" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+
+-- ----------------------------
+-- Primary Key structure for table pay_trade_report_hour
+-- ----------------------------
+ALTER TABLE "public"."pay_trade_report_hour" ADD CONSTRAINT "pay_trade_report_hour_pkey" PRIMARY KEY ("id");
+
+-- ----------------------------
+-- Indexes structure for table pay_trade_report_rollup_watermark
+-- ----------------------------
+CREATE UNIQUE INDEX "trade_report_rollup_watermark_type_idx" ON "public"."pay_trade_report_rollup_watermark" USING btree (
+                                                                                                          "trade_type" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+
+-- ----------------------------
+-- Primary Key structure for table pay_trade_report_rollup_watermark
+-- ----------------------------
+ALTER TABLE "public"."pay_trade_report_rollup_watermark" ADD CONSTRAINT "pay_trade_report_rollup_watermark_pkey" PRIMARY KEY ("id");
+
+-- ----------------------------
+-- Indexes structure for table pay_trade_sync_record
+-- ----------------------------
+CREATE INDEX "trade_sync_record_trade_no_idx" ON "public"."pay_trade_sync_record" USING btree (
+                                                                                        "trade_no" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
+    );
+
 -- ----------------------------
 -- Primary Key structure for table pay_trade_sync_record
 -- ----------------------------
@@ -2687,6 +3016,11 @@ CREATE INDEX "transfer_transfer_no" ON "public"."pay_transfer_order" USING btree
                                                                                   "transfer_no" COLLATE "pg_catalog"."default" "pg_catalog"."text_ops" ASC NULLS LAST
     );
 COMMENT ON INDEX "public"."transfer_transfer_no" IS '转账号索引';
+CREATE INDEX "transfer_create_time" ON "public"."pay_transfer_order" USING btree (
+                                                                                  "create_time" "pg_catalog"."timestamp_ops" DESC,
+                                                                                  "id" "pg_catalog"."int8_ops" DESC
+    );
+COMMENT ON INDEX "public"."transfer_create_time" IS '创建时间分页索引';
 
 -- ----------------------------
 -- Primary Key structure for table pay_transfer_order
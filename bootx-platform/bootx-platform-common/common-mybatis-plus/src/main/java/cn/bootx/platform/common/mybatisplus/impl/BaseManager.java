@@ -1,10 +1,15 @@
 package cn.bootx.platform.common.mybatisplus.impl;
 
+import cn.bootx.platform.common.mybatisplus.base.MpCreateEntity;
+import cn.bootx.platform.common.mybatisplus.page.KeysetPage;
 import cn.bootx.platform.common.mybatisplus.util.MpUtil;
+import cn.bootx.platform.core.rest.param.PageParam;
 import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.override.MybatisMapperProxy;
@@ -16,6 +21,7 @@ import com.baomidou.mybatisplus.extension.conditions.update.LambdaUpdateChainWra
 import com.baomidou.mybatisplus.extension.conditions.update.UpdateChainWrapper;
 import com.baomidou.mybatisplus.extension.kotlin.KtQueryChainWrapper;
 import com.baomidou.mybatisplus.extension.kotlin.KtUpdateChainWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.toolkit.ChainWrappers;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import com.github.yulichang.base.MPJBaseMapper;
@@ -30,8 +36,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * 自定义的基础数据库Manager操作类 类似自带的ServiceImpl类
@@ -47,6 +55,11 @@ public class BaseManager<M extends MPJBaseMapper<T>, T> {
      */
     protected final int public_BATCH_SIZE = 1000;
 
+    /**
+     * 游标分页统计总数的上限
+     */
+    protected final int KEYSET_COUNT_LIMIT = 10000;
+
     /** 日志 */
     protected final Log log = LogFactory.getLog(getClass());
 
@@ -305,6 +318,67 @@ public class BaseManager<M extends MPJBaseMapper<T>, T> {
         return getBaseMapper().selectPage(page, queryWrapper);
     }
 
+    /**
+     * 游标分页, 按创建时间和主键倒序, 实体类需要包含创建时间字段, 查询条件中的排序会被忽略
+     * 查询多一条数据用于判断是否有下一页, 开启总数查询时只在第一页统计, 最多统计到 {@link #KEYSET_COUNT_LIMIT} 条
+     * @param pageParam 分页参数, 游标为空时查询第一页
+     * @param wrapperSupplier 查询条件, 统计总数和查询数据时各自获取一个新的查询条件
+     */
+    public KeysetPage<T> keysetPage(PageParam pageParam, Supplier<QueryWrapper<T>> wrapperSupplier) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(getEntityClass());
+        Assert.notNull(tableInfo, "错误:无法执行.因为找不到实体的 TableInfo 缓存!");
+        String keyColumn = tableInfo.getKeyColumn();
+        String timeColumn = tableInfo.getFieldList().stream()
+                .filter(field -> MpCreateEntity.Create.createTime.equals(field.getProperty()))
+                .map(TableFieldInfo::getColumn)
+                .findFirst()
+                .orElse(null);
+        Assert.notEmpty(timeColumn, "错误:无法执行.因为实体中没有创建时间字段!");
+
+        KeysetPage<T> page = new KeysetPage<>(pageParam.getSize());
+        KeysetPage.Cursor cursor = KeysetPage.decode(pageParam.getCursor());
+        // 只在查询第一页时统计总数, 翻页时沿用第一页的总数
+        if (pageParam.isSearchCount() && Objects.isNull(cursor)) {
+            page.setTotal(this.keysetCount(keyColumn, wrapperSupplier));
+        }
+
+        QueryWrapper<T> wrapper = wrapperSupplier.get();
+        if (Objects.nonNull(cursor)) {
+            wrapper.and(w -> w.lt(timeColumn, cursor.createTime())
+                    .or(o -> o.eq(timeColumn, cursor.createTime()).lt(keyColumn, cursor.id())));
+        }
+        wrapper.getExpression().getOrderBy().clear();
+        wrapper.orderByDesc(timeColumn, keyColumn);
+        List<T> records = getBaseMapper().selectPage(new Page<>(1, pageParam.getSize() + 1L, false), wrapper)
+            .getRecords();
+        // 多查出的一条存在时说明有下一页
+        if (records.size() > pageParam.getSize()) {
+            records = records.subList(0, pageParam.getSize());
+            T last = records.getLast();
+            LocalDateTime createTime = (LocalDateTime) tableInfo.getPropertyValue(last, MpCreateEntity.Create.createTime);
+            Long id = (Long) tableInfo.getPropertyValue(last, tableInfo.getKeyProperty());
+            page.setNextCursor(KeysetPage.encode(createTime, id));
+        }
+        page.setRecords(records);
+        return page;
+    }
+
+    /**
+     * 游标分页统计总数, 最多统计到 {@link #KEYSET_COUNT_LIMIT} 条, 统计在数据库中完成, 不读取数据
+     * 先探测是否存在第上限条数据, 存在时直接返回上限, 不存在时符合条件的数据不足上限条, 再执行count查询
+     */
+    private long keysetCount(String keyColumn, Supplier<QueryWrapper<T>> wrapperSupplier) {
+        QueryWrapper<T> probeWrapper = wrapperSupplier.get().select(keyColumn);
+        probeWrapper.getExpression().getOrderBy().clear();
+        probeWrapper.last("limit 1 offset " + (KEYSET_COUNT_LIMIT - 1));
+        if (!getBaseMapper().selectObjs(probeWrapper).isEmpty()) {
+            return KEYSET_COUNT_LIMIT;
+        }
+        QueryWrapper<T> countWrapper = wrapperSupplier.get();
+        countWrapper.getExpression().getOrderBy().clear();
+        return getBaseMapper().selectCount(countWrapper);
+    }
+
     /**
      * 根据主键查询
      */
@@ -0,0 +1,65 @@
+package cn.bootx.platform.common.mybatisplus.page;
+
+import cn.bootx.platform.core.exception.ValidationFailedException;
+import cn.hutool.core.codec.Base64;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 游标分页对象
+ * 按 (创建时间, 主键) 倒序翻页, 游标为上一页最后一条记录的创建时间和主键, 查询时直接定位到游标之后的记录,
+ * 不需要跳过前面的数据, 翻页的耗时只与每页条数有关
+ *
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@Setter
+public class KeysetPage<T> extends Page<T> {
+
+    /** 游标中时间和主键的分隔符 */
+    private static final String SEPARATOR = "_";
+
+    /** 下一页游标, 为空表示没有下一页 */
+    private String nextCursor;
+
+    public KeysetPage(long size) {
+        super(1, size, false);
+    }
+
+    /**
+     * 生成游标
+     */
+    public static String encode(LocalDateTime createTime, Long id) {
+        return Base64.encodeUrlSafe(createTime + SEPARATOR + id);
+    }
+
+    /**
+     * 解析游标, 为空时返回空
+     */
+    public static Cursor decode(String cursor) {
+        if (StrUtil.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String value = Base64.decodeStr(cursor);
+            int index = value.lastIndexOf(SEPARATOR);
+            return new Cursor(LocalDateTime.parse(value.substring(0, index)), Long.valueOf(value.substring(index + 1)));
+        }
+        catch (RuntimeException e) {
+            throw new ValidationFailedException("分页游标无效");
+        }
+    }
+
+    /**
+     * 游标
+     * @param createTime 创建时间
+     * @param id 主键
+     */
+    public record Cursor(LocalDateTime createTime, Long id) {
+    }
+}
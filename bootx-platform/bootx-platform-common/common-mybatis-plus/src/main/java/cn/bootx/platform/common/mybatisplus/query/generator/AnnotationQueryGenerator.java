@@ -15,13 +15,19 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import lombok.experimental.UtilityClass;
 
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 注解参数查询生成器
+ * 查询条件的字段名称和匹配方式只与查询参数类和实体类有关, 首次使用时解析为查询计划并缓存,
+ * 之后生成查询条件时只需要读取参数的值
  *
  * @author xxm
  * @since 2022/12/14
@@ -29,6 +35,17 @@ import java.util.stream.Collectors;
 @UtilityClass
 public class AnnotationQueryGenerator {
 
+    /** 没有实体类时查询计划缓存使用的key */
+    private static final Class<?> NO_ENTITY = Void.class;
+
+    /** 查询计划缓存, 按查询参数类和实体类缓存 */
+    private static final ClassValue<Map<Class<?>, List<Condition>>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, List<Condition>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * 生成查询条件 (根据实体对象生成), 生成的多个查询条件之间用And连接
      * @param queryParams 参数
@@ -41,37 +58,7 @@ public class AnnotationQueryGenerator {
         if (Objects.isNull(queryParams)) {
             return wrapper;
         }
-
-        // 读取参数的字段
-        List<PropertyDescriptor> paramClassProps = Arrays
-            .stream(BeanUtil.getPropertyDescriptors(queryParams.getClass()))
-            .toList();
-
-        // 读取实体类对象的字段
-        Map<String, PropertyDescriptor> entityClassPropMap = Arrays.stream(BeanUtil.getPropertyDescriptors(clazz))
-            .collect(Collectors.toMap(PropertyDescriptor::getName, Function.identity(),
-                    (v1, v2) -> v1));
-
-        // 遍历参数上的对象, 生成查询构造器条件
-        for (PropertyDescriptor paramProp : paramClassProps) {
-            Object paramValue = BeanUtil.getProperty(queryParams, paramProp.getName());
-            if (!StrUtil.isBlankIfStr(paramValue)) {
-                PropertyDescriptor clazzDescriptor = entityClassPropMap.get(paramProp.getName());
-                // 获取查询注解 clazz 类上 < clazz 字段 < queryParams 类上 < clazz 字段
-                var annotation = getQueryParamAnnotation(paramProp, queryParams.getClass(), clazzDescriptor, clazz);
-                // 是否忽略本字段
-                if (annotation.map(QueryParam::ignore).orElse(false)) {
-                    continue;
-                }
-                // 获取对应的数据库字段名称
-                QueryParam.NamingCaseEnum namingCase = annotation.map(QueryParam::namingCase).orElse(QueryParam.NamingCaseEnum.UNDER_LINE);
-                String columnName = getDatabaseFieldName(paramProp, queryParams.getClass(), clazzDescriptor, clazz,
-                        namingCase);
-                // 处理匹配条件类型
-                QueryParam.CompareTypeEnum compareType = annotation.map(QueryParam::type).orElse(QueryParam.CompareTypeEnum.EQ);
-                compareTypeSwitch(compareType, wrapper, columnName, paramValue);
-            }
-        }
+        applyPlan(wrapper, queryParams, clazz);
         return wrapper;
 
     }
@@ -89,29 +76,7 @@ public class AnnotationQueryGenerator {
             return wrapper;
         }
 
-        // 读取参数的字段
-        List<PropertyDescriptor> paramClassProps = Arrays
-            .stream(BeanUtil.getPropertyDescriptors(queryParams.getClass()))
-            .toList();
-
-        // 遍历参数上的对象, 生成查询构造器条件
-        for (PropertyDescriptor paramProp : paramClassProps) {
-            Object paramValue = BeanUtil.getProperty(queryParams, paramProp.getName());
-            if (!StrUtil.isBlankIfStr(paramValue)) {
-                // 获取查询注解 clazz 类上 < clazz 字段 < queryParams 类上 < clazz 字段
-                var annotation = getQueryParamAnnotation(paramProp, queryParams.getClass(), null, null);
-                // 是否忽略本字段
-                if (annotation.map(QueryParam::ignore).orElse(false)) {
-                    continue;
-                }
-                // 获取对应的数据库字段名称
-                QueryParam.NamingCaseEnum namingCase = annotation.map(QueryParam::namingCase).orElse(QueryParam.NamingCaseEnum.UNDER_LINE);
-                String columnName = getDatabaseFieldName(paramProp, queryParams.getClass(), null, null, namingCase);
-                // 处理匹配条件类型
-                QueryParam.CompareTypeEnum compareType = annotation.map(QueryParam::type).orElse(QueryParam.CompareTypeEnum.EQ);
-                compareTypeSwitch(compareType, wrapper, columnName, paramValue);
-            }
-        }
+        applyPlan(wrapper, queryParams, null);
 
         // 处理排序条件
         if (queryOrders.length > 0){
@@ -123,6 +88,73 @@ public class AnnotationQueryGenerator {
         return wrapper;
     }
 
+    /**
+     * 按查询计划生成查询条件, 只处理非空的参数值
+     * @param entityClass 数据库实体类, 可以为空
+     */
+    private <T> void applyPlan(QueryWrapper<T> wrapper, Object queryParams, Class<?> entityClass) {
+        for (Condition condition : getPlan(queryParams.getClass(), entityClass)) {
+            Object paramValue = condition.getValue(queryParams);
+            if (!StrUtil.isBlankIfStr(paramValue)) {
+                compareTypeSwitch(condition.compareType(), wrapper, condition.columnName(), paramValue);
+            }
+        }
+    }
+
+    /**
+     * 获取查询计划, 不存在时进行解析
+     */
+    private List<Condition> getPlan(Class<?> paramClass, Class<?> entityClass) {
+        return PLANS.get(paramClass)
+            .computeIfAbsent(Objects.isNull(entityClass) ? NO_ENTITY : entityClass,
+                    key -> compilePlan(paramClass, entityClass));
+    }
+
+    /**
+     * 解析查询参数类, 生成每个字段对应的数据库字段名称和匹配条件, 忽略的字段不会包含在内
+     */
+    private List<Condition> compilePlan(Class<?> paramClass, Class<?> entityClass) {
+        // 读取实体类对象的字段
+        Map<String, PropertyDescriptor> entityClassPropMap = Objects.isNull(entityClass) ? Map.of()
+                : Arrays.stream(BeanUtil.getPropertyDescriptors(entityClass))
+                    .collect(Collectors.toMap(PropertyDescriptor::getName, Function.identity(), (v1, v2) -> v1));
+
+        List<Condition> conditions = new ArrayList<>();
+        for (PropertyDescriptor paramProp : BeanUtil.getPropertyDescriptors(paramClass)) {
+            PropertyDescriptor clazzDescriptor = entityClassPropMap.get(paramProp.getName());
+            // 获取查询注解 clazz 类上 < clazz 字段 < queryParams 类上 < clazz 字段
+            var annotation = getQueryParamAnnotation(paramProp, paramClass, clazzDescriptor, entityClass);
+            // 是否忽略本字段
+            if (annotation.map(QueryParam::ignore).orElse(false)) {
+                continue;
+            }
+            // 获取对应的数据库字段名称
+            QueryParam.NamingCaseEnum namingCase = annotation.map(QueryParam::namingCase).orElse(QueryParam.NamingCaseEnum.UNDER_LINE);
+            String columnName = getDatabaseFieldName(paramProp, paramClass, clazzDescriptor, entityClass, namingCase);
+            // 处理匹配条件类型
+            QueryParam.CompareTypeEnum compareType = annotation.map(QueryParam::type).orElse(QueryParam.CompareTypeEnum.EQ);
+            conditions.add(new Condition(paramProp.getName(), getter(paramProp), columnName, compareType));
+        }
+        return List.copyOf(conditions);
+    }
+
+    /**
+     * 获取读取方法的句柄, 没有可访问的读取方法时返回空, 读取时使用 BeanUtil 兜底
+     */
+    private MethodHandle getter(PropertyDescriptor paramProp) {
+        if (Objects.isNull(paramProp.getReadMethod())) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup()
+                .unreflect(paramProp.getReadMethod())
+                .asType(MethodType.methodType(Object.class, Object.class));
+        }
+        catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
     /**
      * 处理不同的匹配条件
      * @param compareType 匹配条件
@@ -230,4 +262,32 @@ public class AnnotationQueryGenerator {
         }
     }
 
+    /**
+     * 查询计划中的一个查询条件
+     * @param name 参数字段名称
+     * @param getter 参数字段读取方法
+     * @param columnName 数据库字段名称
+     * @param compareType 匹配条件
+     */
+    private record Condition(String name, MethodHandle getter, String columnName, QueryParam.CompareTypeEnum compareType) {
+
+        /**
+         * 读取参数值
+         */
+        private Object getValue(Object queryParams) {
+            if (Objects.isNull(getter)) {
+                return BeanUtil.getProperty(queryParams, name);
+            }
+            try {
+                return getter.invokeExact(queryParams);
+            }
+            catch (RuntimeException e) {
+                throw e;
+            }
+            catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
 }
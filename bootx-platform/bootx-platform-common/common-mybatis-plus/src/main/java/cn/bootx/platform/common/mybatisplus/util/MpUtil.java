@@ -1,6 +1,7 @@
 package cn.bootx.platform.common.mybatisplus.util;
 
 import cn.bootx.platform.common.mybatisplus.function.ToResult;
+import cn.bootx.platform.common.mybatisplus.page.KeysetPage;
 import cn.bootx.platform.core.annotation.BigField;
 import cn.bootx.platform.core.rest.param.PageParam;
 import cn.bootx.platform.core.rest.result.PageResult;
@@ -40,13 +41,13 @@ public class MpUtil {
      * 获取分页对象 MyBatis-Plus
      */
     public <T> Page<T> getMpPage(PageParam page) {
-        return Page.of(page.getCurrent(), page.getSize());
+        return Page.of(page.getCurrent(), page.getSize(), page.isSearchCount());
     }
     /**
      * 获取分页对象 MyBatis-Plus
      */
     public <T> Page<T> getMpPage(PageParam page, Class<T> clazz) {
-        return Page.of(page.getCurrent(), page.getSize());
+        return Page.of(page.getCurrent(), page.getSize(), page.isSearchCount());
     }
 
     /**
@@ -95,10 +96,15 @@ public class MpUtil {
         }
         List<T> collect = page.getRecords().stream().map(ToResult::toResult).toList();
         // 构造 PageResult 对象
-        return new PageResult<T>().setSize(page.getSize())
+        PageResult<T> pageResult = new PageResult<T>().setSize(page.getSize())
                 .setCurrent(page.getCurrent())
                 .setTotal(page.getTotal())
                 .setRecords(collect);
+        // 游标分页返回下一页游标
+        if (page instanceof KeysetPage<?> keysetPage) {
+            pageResult.setNextCursor(keysetPage.getNextCursor());
+        }
+        return pageResult;
     }
 
     /**
@@ -29,6 +29,24 @@ public class PageParam {
     @Schema(description = "每页显示条数，默认 10", defaultValue = "10")
     private int size = 10;
 
+    /**
+     * 是否使用游标分页, 按创建时间倒序翻页, 不支持跳页, 需要查询接口支持
+     */
+    @Schema(description = "是否使用游标分页", defaultValue = "false")
+    private boolean keyset;
+
+    /**
+     * 游标, 游标分页时传入上一页返回的游标, 为空时查询第一页
+     */
+    @Schema(description = "游标")
+    private String cursor;
+
+    /**
+     * 是否查询总数, 游标分页时只在第一页统计, 总数只统计到上限数量
+     */
+    @Schema(description = "是否查询总数", defaultValue = "true")
+    private boolean searchCount = true;
+
     /**
      * 开始条数
      */
@@ -33,6 +33,11 @@ public class PageResult<T> {
      */
     private long current = 1;
 
+    /**
+     * 下一页游标, 游标分页时返回, 为空表示没有下一页
+     */
+    private String nextCursor;
+
     public PageResult<T> setRecords(List<T> records) {
         this.records = records;
         return this;
@@ -53,4 +58,9 @@ public class PageResult<T> {
         return this;
     }
 
+    public PageResult<T> setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        return this;
+    }
+
 }
@@ -12,15 +12,18 @@ import cn.bootx.platform.core.exception.UnSupportOperateException;
 import com.baomidou.lock.LockTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +47,7 @@ public class DelayQueueTimer implements ApplicationListener<ContextRefreshedEven
     private final DelayJobService delayJobService;
     private final DelayJobProcessor delayJobProcessor;
     private final LockTemplate lockTemplate;
+    private final Environment environment;
 
 
     /**
@@ -52,8 +56,16 @@ public class DelayQueueTimer implements ApplicationListener<ContextRefreshedEven
     @Override
     public void onApplicationEvent(@NonNull ContextRefreshedEvent contextRefreshedEvent) {
         int length = delayQueueProperties.getBucketCount();
-        // 创建线程池并执行
-        ExecutorService executorService = new ThreadPoolExecutor(length, length, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        // 创建线程池并执行, 开启虚拟线程时每个桶使用一个虚拟线程, 轮训等待时不占用平台线程
+        ExecutorService executorService;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                    .name("delay-bucket-", 0)
+                    .inheritInheritableThreadLocals(false)
+                    .factory());
+        } else {
+            executorService = new ThreadPoolExecutor(length, length, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
         IntStream.range(0, length)
                 .mapToObj(i -> new DelayJobHandler(
                         delayBucket,
@@ -69,6 +81,7 @@ public class DelayQueueTimer implements ApplicationListener<ContextRefreshedEven
 
     /**
      * 消费延时队列的任务, 使用Spring的定时任务, 一秒执行一次, 如果有结果就一直执行
+     * 开启虚拟线程(spring.threads.virtual.enabled)后定时任务和异步方法都运行在虚拟线程上
      */
     @Async
     @Scheduled(fixedRate = 1000)
@@ -0,0 +1,101 @@
+package org.dromara.daxpay.benchmark;
+
+import lombok.experimental.UtilityClass;
+import org.dromara.daxpay.core.enums.ChannelEnum;
+import org.dromara.daxpay.core.enums.MerchantNotifyTypeEnum;
+import org.dromara.daxpay.core.enums.PayAllocStatusEnum;
+import org.dromara.daxpay.core.enums.PayMethodEnum;
+import org.dromara.daxpay.core.enums.PayRefundStatusEnum;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.core.enums.SignTypeEnum;
+import org.dromara.daxpay.core.param.trade.pay.PayParam;
+import org.dromara.daxpay.core.result.trade.pay.PayOrderResult;
+import org.dromara.daxpay.service.entity.merchant.MchApp;
+import org.dromara.daxpay.service.enums.MchAppStatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 基准测试数据, 字段按真实请求的长度和内容填充
+ * @author xxm
+ * @since 2025/1/17
+ */
+@UtilityClass
+public class BenchmarkData {
+
+    /** 签名秘钥 */
+    public static final String SIGN_SECRET = "2d6f4a8c0e1b3d5f7a9c1e3b5d7f9a1c";
+
+    /** 应用号 */
+    public static final String APP_ID = "M8207639754663343";
+
+    /**
+     * 支付参数
+     */
+    public PayParam payParam() {
+        PayParam param = new PayParam();
+        param.setAppId(APP_ID);
+        param.setClientIp("192.168.100.125");
+        param.setNonceStr("a8f3c1d9e7b54f02");
+        param.setReqTime(LocalDateTime.of(2025, 1, 17, 10, 30, 15));
+        param.setBizOrderNo("SDK_1737081015123");
+        param.setTitle("测试微信扫码支付");
+        param.setDescription("这是支付备注, 包含商品名称和数量等描述信息");
+        param.setAllocation(false);
+        param.setAutoAllocation(false);
+        param.setExpiredTime(LocalDateTime.of(2025, 1, 17, 11, 0, 15));
+        param.setChannel(ChannelEnum.WECHAT.getCode());
+        param.setMethod(PayMethodEnum.QRCODE.getCode());
+        param.setAmount(new BigDecimal("200.00"));
+        param.setExtraParam("{\"openId\":\"oUpF8uMuAJO_M2pxb1Q9zNjWeS6o\"}");
+        param.setAttach("{\"userId\":10086,\"source\":\"mini-program\"}");
+        param.setReturnUrl("https://abc.com/returnurl");
+        param.setNotifyUrl("http://127.0.0.1:10880/test/callback/notify");
+        return param;
+    }
+
+    /**
+     * 支付订单查询结果
+     */
+    public PayOrderResult payOrderResult() {
+        return new PayOrderResult()
+                .setBizOrderNo("SDK_1737081015123")
+                .setOrderNo("DEVP2025011710301560000123")
+                .setOutOrderNo("4200002345202501173456789012")
+                .setTitle("测试微信扫码支付")
+                .setDescription("这是支付备注, 包含商品名称和数量等描述信息")
+                .setAllocation(false)
+                .setAutoAllocation(false)
+                .setChannel(ChannelEnum.WECHAT.getCode())
+                .setMethod(PayMethodEnum.QRCODE.getCode())
+                .setAmount(new BigDecimal("200.00"))
+                .setRefundableBalance(new BigDecimal("150.00"))
+                .setStatus(PayStatusEnum.SUCCESS.getCode())
+                .setRefundStatus(PayRefundStatusEnum.PARTIAL_REFUND.getCode())
+                .setAllocStatus(PayAllocStatusEnum.IGNORE.getCode())
+                .setPayTime(LocalDateTime.of(2025, 1, 17, 10, 30, 42))
+                .setExpiredTime(LocalDateTime.of(2025, 1, 17, 11, 0, 15))
+                .setAttach("{\"userId\":10086,\"source\":\"mini-program\"}");
+    }
+
+    /**
+     * 商户应用
+     */
+    public MchApp mchApp() {
+        MchApp mchApp = new MchApp()
+                .setAppId(APP_ID)
+                .setAppName("测试应用")
+                .setSignType(SignTypeEnum.HMAC_SHA256.getCode())
+                .setSignSecret(SIGN_SECRET)
+                .setReqSign(true)
+                .setLimitAmount(new BigDecimal("50000.00"))
+                .setOrderTimeout(30)
+                .setStatus(MchAppStatusEnum.ENABLE.getCode())
+                .setNotifyType(MerchantNotifyTypeEnum.HTTP.getCode())
+                .setNotifyUrl("http://127.0.0.1:10880/test/callback/notify");
+        mchApp.setId(1811365615815487488L);
+        mchApp.setVersion(3);
+        return mchApp;
+    }
+}
@@ -0,0 +1,68 @@
+package org.dromara.daxpay.benchmark.context;
+
+import org.dromara.daxpay.benchmark.BenchmarkData;
+import org.dromara.daxpay.service.common.cache.MchAppCacheService;
+import org.dromara.daxpay.service.common.context.MchAppLocal;
+import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.entity.merchant.MchApp;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 商户应用信息初始化, 每次接口调用、回调和通知都会执行
+ * 应用缓存直接返回同一个应用配置, 模拟缓存命中的情况. 分配情况使用 -prof gc 查看
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MchAppLocalBenchmark {
+
+    private MchApp mchApp;
+
+    private PaymentAssistService paymentAssistService;
+
+    @Setup
+    public void setup() {
+        mchApp = BenchmarkData.mchApp();
+        MchAppCacheService mchAppCacheService = new MchAppCacheService(null) {
+            @Override
+            public MchApp get(String appId) {
+                return mchApp;
+            }
+        };
+        paymentAssistService = new PaymentAssistService(mchAppCacheService);
+    }
+
+    /**
+     * 初始化应用信息, 应用配置未变更时使用共享的快照
+     */
+    @Benchmark
+    public MchAppLocal initMchApp() {
+        paymentAssistService.initMchApp(BenchmarkData.APP_ID);
+        return PaymentContextLocal.get().getMchAppInfo();
+    }
+
+    /**
+     * 创建应用信息快照, 应用配置变更后执行一次
+     */
+    @Benchmark
+    public MchAppLocal snapshot() {
+        return MchAppLocal.of(mchApp);
+    }
+}
@@ -0,0 +1,61 @@
+package org.dromara.daxpay.benchmark.query;
+
+import cn.bootx.platform.common.mybatisplus.query.generator.QueryGenerator;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import org.dromara.daxpay.core.enums.ChannelEnum;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.param.order.pay.PayOrderQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注解查询条件生成, 查询计划在首次生成时解析并缓存, 测试的是缓存后只读取参数值的开销
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnnotationQueryGeneratorBenchmark {
+
+    /** 后台订单列表常用的查询条件 */
+    private PayOrderQuery query;
+
+    /** 没有查询条件 */
+    private PayOrderQuery emptyQuery;
+
+    @Setup
+    public void setup() {
+        query = new PayOrderQuery()
+                .setBizOrderNo("SDK_17370")
+                .setChannel(ChannelEnum.WECHAT.getCode())
+                .setStatus(PayStatusEnum.SUCCESS.getCode());
+        emptyQuery = new PayOrderQuery();
+    }
+
+    @Benchmark
+    public String generator() {
+        QueryWrapper<PayOrder> wrapper = QueryGenerator.generator(query);
+        return wrapper.getCustomSqlSegment();
+    }
+
+    @Benchmark
+    public String generatorEmpty() {
+        QueryWrapper<PayOrder> wrapper = QueryGenerator.generator(emptyQuery);
+        return wrapper.getCustomSqlSegment();
+    }
+}
@@ -0,0 +1,117 @@
+package org.dromara.daxpay.benchmark.reconcile;
+
+import org.dromara.daxpay.core.enums.ChannelEnum;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.core.enums.RefundStatusEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.bo.reconcile.PlatformReconcileTradeBo;
+import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileDiscrepancy;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
+import org.dromara.daxpay.service.service.reconcile.ReconcileAssistService;
+import org.dromara.daxpay.service.service.reconcile.ReconcileDiscrepancyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对账内存比对
+ * 按交易量生成通道和平台交易明细, 其中各有千分之一的本地短单、远程短单和信息不一致的交易.
+ * 本地短单的二次查询不访问数据库, 直接返回空
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ReconcileCompareBenchmark {
+
+    /** 交易数量 */
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private ReconcileDiscrepancyService discrepancyService;
+
+    private ReconcileStatement statement;
+
+    private List<PlatformReconcileTradeBo> localTrades;
+
+    private List<ChannelReconcileTrade> channelTrades;
+
+    @Setup
+    public void setup() {
+        ReconcileAssistService assistService = new ReconcileAssistService(null, null) {
+            @Override
+            public List<PlatformReconcileTradeBo> getPlatformTradesByTradeNo(String appId, List<String> tradeNos) {
+                return new ArrayList<>();
+            }
+        };
+        discrepancyService = new ReconcileDiscrepancyService(null, assistService, null);
+        statement = new ReconcileStatement()
+                .setReconcileNo("DEVC2025011700000060000001")
+                .setDate(LocalDate.of(2025, 1, 16))
+                .setChannel(ChannelEnum.ALIPAY.getCode());
+        statement.setId(1L);
+
+        localTrades = new ArrayList<>(rows);
+        channelTrades = new ArrayList<>(rows);
+        LocalDateTime tradeTime = LocalDateTime.of(2025, 1, 16, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            // 每十笔中一笔为退款
+            boolean refund = i % 10 == 9;
+            String tradeType = refund ? TradeTypeEnum.REFUND.getCode() : TradeTypeEnum.PAY.getCode();
+            String status = refund ? RefundStatusEnum.SUCCESS.getCode() : PayStatusEnum.SUCCESS.getCode();
+            String tradeNo = String.format("DEV%s20250116%08d60", refund ? "R" : "P", i);
+            BigDecimal amount = BigDecimal.valueOf(i % 10000 + 1, 2);
+            LocalDateTime time = tradeTime.plusNanos(i * 80_000_000L);
+            int mod = i % 1000;
+            // 远程短单, 通道中没有
+            if (mod != 1) {
+                ChannelReconcileTrade channelTrade = new ChannelReconcileTrade()
+                        .setReconcileId(statement.getId())
+                        .setTradeType(tradeType)
+                        .setOutTradeNo(tradeNo)
+                        .setTradeNo("2025011622001" + String.format("%015d", i))
+                        // 信息不一致, 金额不同
+                        .setAmount(mod == 2 ? amount.add(BigDecimal.ONE) : amount)
+                        .setTradeStatus(status)
+                        .setTradeTime(time);
+                channelTrades.add(channelTrade);
+            }
+            // 本地短单, 平台中没有
+            if (mod != 0) {
+                localTrades.add(new PlatformReconcileTradeBo()
+                        .setTradeType(tradeType)
+                        .setAmount(amount)
+                        .setTradeStatus(status)
+                        .setTradeNo(tradeNo)
+                        .setBizTradeNo("BIZ_" + i)
+                        .setOutTradeNo("2025011622001" + String.format("%015d", i))
+                        .setTradeTime(time));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ReconcileDiscrepancy> generateDiscrepancy() {
+        return discrepancyService.generateDiscrepancy(statement, localTrades, channelTrades);
+    }
+}
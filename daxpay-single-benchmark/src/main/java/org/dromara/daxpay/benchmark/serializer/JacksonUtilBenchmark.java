@@ -0,0 +1,75 @@
+package org.dromara.daxpay.benchmark.serializer;
+
+import cn.bootx.platform.common.jackson.configuration.JacksonConfiguration;
+import cn.bootx.platform.common.jackson.util.JacksonUtil;
+import org.dromara.daxpay.benchmark.BenchmarkData;
+import org.dromara.daxpay.core.param.trade.pay.PayParam;
+import org.dromara.daxpay.core.result.trade.pay.PayOrderResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson序列化, 使用与服务相同的 ObjectMapper 配置
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonUtilBenchmark {
+
+    static {
+        // JacksonUtil 的 ObjectMapper 只能设置一次
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        configuration.ignoreNullObjectMapper(configuration.objectMapper());
+    }
+
+    private PayParam payParam;
+
+    private PayOrderResult payOrderResult;
+
+    private String payParamJson;
+
+    private String payOrderResultJson;
+
+    @Setup
+    public void setup() {
+        payParam = BenchmarkData.payParam();
+        payOrderResult = BenchmarkData.payOrderResult();
+        payParamJson = JacksonUtil.toJson(payParam);
+        payOrderResultJson = JacksonUtil.toJson(payOrderResult);
+    }
+
+    @Benchmark
+    public String payParamToJson() {
+        return JacksonUtil.toJson(payParam);
+    }
+
+    @Benchmark
+    public PayParam payParamToBean() {
+        return JacksonUtil.toBean(payParamJson, PayParam.class);
+    }
+
+    @Benchmark
+    public String payOrderResultToJson() {
+        return JacksonUtil.toJson(payOrderResult);
+    }
+
+    @Benchmark
+    public PayOrderResult payOrderResultToBean() {
+        return JacksonUtil.toBean(payOrderResultJson, PayOrderResult.class);
+    }
+}
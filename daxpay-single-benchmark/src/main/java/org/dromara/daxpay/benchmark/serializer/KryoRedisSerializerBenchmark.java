@@ -0,0 +1,75 @@
+package org.dromara.daxpay.benchmark.serializer;
+
+import cn.bootx.platform.common.serializer.KryoRedisSerializer;
+import org.dromara.daxpay.benchmark.BenchmarkData;
+import org.dromara.daxpay.core.result.trade.pay.PayOrderResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis缓存的Kryo序列化
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KryoRedisSerializerBenchmark {
+
+    private final KryoRedisSerializer<Object> serializer = new KryoRedisSerializer<>();
+
+    private PayOrderResult payOrderResult;
+
+    /** 分页缓存中的订单列表 */
+    private List<PayOrderResult> payOrderResults;
+
+    private byte[] payOrderResultBytes;
+
+    private byte[] payOrderResultsBytes;
+
+    @Setup
+    public void setup() {
+        payOrderResult = BenchmarkData.payOrderResult();
+        payOrderResults = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            payOrderResults.add(BenchmarkData.payOrderResult().setBizOrderNo("SDK_17370810151" + i));
+        }
+        payOrderResultBytes = serializer.serialize(payOrderResult);
+        payOrderResultsBytes = serializer.serialize(payOrderResults);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(payOrderResult);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(payOrderResultBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return serializer.serialize(payOrderResults);
+    }
+
+    @Benchmark
+    public Object deserializeList() {
+        return serializer.deserialize(payOrderResultsBytes);
+    }
+}
@@ -0,0 +1,71 @@
+package org.dromara.daxpay.benchmark.sign;
+
+import org.dromara.daxpay.benchmark.BenchmarkData;
+import org.dromara.daxpay.core.param.trade.pay.PayParam;
+import org.dromara.daxpay.core.util.PaySignUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 支付参数签名和验签
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaySignBenchmark {
+
+    private PayParam payParam;
+
+    private String hmacSha256Sign;
+
+    @Setup
+    public void setup() {
+        payParam = BenchmarkData.payParam();
+        hmacSha256Sign = PaySignUtil.hmacSha256Sign(payParam, BenchmarkData.SIGN_SECRET);
+    }
+
+    /**
+     * 参数转换为待签名字符串
+     */
+    @Benchmark
+    public String linkString() {
+        Map<String, String> map = PaySignUtil.toMap(payParam);
+        return PaySignUtil.createLinkString(map);
+    }
+
+    @Benchmark
+    public String hmacSha256Sign() {
+        return PaySignUtil.hmacSha256Sign(payParam, BenchmarkData.SIGN_SECRET);
+    }
+
+    @Benchmark
+    public String md5Sign() {
+        return PaySignUtil.md5Sign(payParam, BenchmarkData.SIGN_SECRET);
+    }
+
+    @Benchmark
+    public String sm3Sign() {
+        return PaySignUtil.sm3Sign(payParam, BenchmarkData.SIGN_SECRET);
+    }
+
+    @Benchmark
+    public boolean verifyHmacSha256Sign() {
+        return PaySignUtil.verifyHmacSha256Sign(payParam, BenchmarkData.SIGN_SECRET, hmacSha256Sign);
+    }
+}
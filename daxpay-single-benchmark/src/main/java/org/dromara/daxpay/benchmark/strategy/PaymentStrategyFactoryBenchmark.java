@@ -0,0 +1,95 @@
+package org.dromara.daxpay.benchmark.strategy;
+
+import cn.hutool.extra.spring.SpringUtil;
+import org.dromara.daxpay.core.enums.ChannelEnum;
+import org.dromara.daxpay.service.bo.trade.PayResultBo;
+import org.dromara.daxpay.service.strategy.AbsPayStrategy;
+import org.dromara.daxpay.service.util.PaymentStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+
+/**
+ * 策略工厂获取策略, 每个通道注册一个原型作用域的支付策略, 与服务中的注册方式一致
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentStrategyFactoryBenchmark {
+
+    private GenericApplicationContext context;
+
+    @Setup
+    public void setup() {
+        context = new GenericApplicationContext();
+        for (ChannelEnum channel : ChannelEnum.values()) {
+            context.registerBean(channel.getCode() + "PayStrategy", BenchmarkPayStrategy.class,
+                    () -> new BenchmarkPayStrategy(channel.getCode()),
+                    bd -> bd.setScope(SCOPE_PROTOTYPE));
+        }
+        context.refresh();
+        new SpringUtil().setApplicationContext(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 获取第一个注册的通道策略
+     */
+    @Benchmark
+    public AbsPayStrategy createFirst() {
+        return PaymentStrategyFactory.create(ChannelEnum.ALIPAY.getCode(), AbsPayStrategy.class);
+    }
+
+    /**
+     * 获取最后一个注册的通道策略
+     */
+    @Benchmark
+    public AbsPayStrategy createLast() {
+        ChannelEnum[] channels = ChannelEnum.values();
+        return PaymentStrategyFactory.create(channels[channels.length - 1].getCode(), AbsPayStrategy.class);
+    }
+
+    /**
+     * 基准测试用的支付策略
+     */
+    public static class BenchmarkPayStrategy extends AbsPayStrategy {
+
+        private final String channel;
+
+        public BenchmarkPayStrategy(String channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public String getChannel() {
+            return channel;
+        }
+
+        @Override
+        public PayResultBo doPayHandler() {
+            return new PayResultBo();
+        }
+    }
+}
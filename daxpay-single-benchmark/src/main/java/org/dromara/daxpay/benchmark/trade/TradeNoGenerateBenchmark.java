@@ -0,0 +1,68 @@
+package org.dromara.daxpay.benchmark.trade;
+
+import org.dromara.daxpay.core.util.TradeNoGenerateUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 交易号生成, 多线程下测试分段流水号的竞争情况
+ * 每秒流水号超过上限后会借用后续的秒, 吞吐量超过每秒一百万时结果中包含借用时间的开销
+ * @author xxm
+ * @since 2025/1/17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeNoGenerateBenchmark {
+
+    private String tradeNo;
+
+    @Setup
+    public void setup() {
+        TradeNoGenerateUtil.setEnv("DEV");
+        TradeNoGenerateUtil.setMachineNo("60");
+        tradeNo = TradeNoGenerateUtil.pay();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String pay() {
+        return TradeNoGenerateUtil.pay();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String pay8Threads() {
+        return TradeNoGenerateUtil.pay();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String pay32Threads() {
+        return TradeNoGenerateUtil.pay();
+    }
+
+    /**
+     * 解析交易号中的时间
+     */
+    @Benchmark
+    @Threads(1)
+    public LocalDateTime parseTime() {
+        return TradeNoGenerateUtil.parseTime(tradeNo);
+    }
+}
@@ -0,0 +1,112 @@
+package org.dromara.daxpay.benchmark;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 基准测试结果与基线比对
+ * 读取 JMH 输出的 json 结果, 按 测试方法 + 参数 与基线逐项比较. 吞吐量模式分数越高越好, 其他模式分数越低越好,
+ * 变差的幅度超过阈值且超出两次结果的误差范围时判定为性能退化, 存在退化时测试失败.
+ * <p>
+ * 默认跳过, 指定基线和结果文件后执行:
+ * 生成结果: java -jar target/benchmarks.jar -rf json -rff result.json
+ * 比对基线: mvn test -Dbenchmark.baseline=baseline.json -Dbenchmark.result=result.json [-Dbenchmark.threshold=10]
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+class BaselineCompareTest {
+
+    /** 吞吐量模式 */
+    private static final String MODE_THROUGHPUT = "thrpt";
+
+    @Test
+    void noRegression() {
+        String baselinePath = System.getProperty("benchmark.baseline");
+        String resultPath = System.getProperty("benchmark.result");
+        assumeTrue(Objects.nonNull(baselinePath) && Objects.nonNull(resultPath),
+                "未指定 benchmark.baseline 和 benchmark.result, 跳过基线比对");
+        Map<String, JSONObject> baseline = load(baselinePath);
+        Map<String, JSONObject> current = load(resultPath);
+        double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "10"));
+
+        List<String> regressions = new ArrayList<>();
+        log.info(String.format("%-90s %14s %14s %9s  %s", "benchmark", "baseline", "current", "change", "result"));
+        for (Map.Entry<String, JSONObject> entry : current.entrySet()) {
+            JSONObject result = entry.getValue();
+            JSONObject metric = result.getJSONObject("primaryMetric");
+            double score = metric.getDouble("score");
+            String unit = metric.getStr("scoreUnit");
+            JSONObject base = baseline.get(entry.getKey());
+            if (Objects.isNull(base)) {
+                log.info(String.format("%-90s %14s %14.3f %9s  %s", entry.getKey(), "-", score, "-", "NEW " + unit));
+                continue;
+            }
+            JSONObject baseMetric = base.getJSONObject("primaryMetric");
+            double baseScore = baseMetric.getDouble("score");
+            // 统一为变差时为正数的变化比例
+            boolean higherBetter = Objects.equals(result.getStr("mode"), MODE_THROUGHPUT);
+            double change = baseScore == 0 ? 0 : (score - baseScore) / baseScore * 100;
+            double worse = higherBetter ? -change : change;
+            double error = errorOf(metric) + errorOf(baseMetric);
+            boolean regression = worse > threshold && Math.abs(score - baseScore) > error;
+            if (regression) {
+                regressions.add(entry.getKey());
+            }
+            log.info(String.format("%-90s %14.3f %14.3f %+8.1f%%  %s", entry.getKey(), baseScore, score, change,
+                    (regression ? "REGRESSION " : "OK ") + unit));
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                log.info(String.format("%-90s %s", key, "MISSING"));
+            }
+        }
+        assertTrue(regressions.isEmpty(), String.format("阈值: %.1f%%, 性能退化: %s", threshold, regressions));
+    }
+
+    /**
+     * 读取结果, key为 测试方法 + 参数
+     */
+    private static Map<String, JSONObject> load(String path) {
+        JSONArray results = JSONUtil.parseArray(FileUtil.readString(path, StandardCharsets.UTF_8));
+        Map<String, JSONObject> map = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            map.put(key(result), result);
+        }
+        return map;
+    }
+
+    private static String key(JSONObject result) {
+        String key = result.getStr("benchmark");
+        JSONObject params = result.getJSONObject("params");
+        if (Objects.isNull(params) || params.isEmpty()) {
+            return key;
+        }
+        Map<String, Object> sorted = new TreeMap<>(params);
+        return key + sorted;
+    }
+
+    /**
+     * 结果的误差, 只有一次测量时 JMH 输出为 NaN
+     */
+    private static double errorOf(JSONObject metric) {
+        Double error = metric.getDouble("scoreError");
+        return Objects.isNull(error) || error.isNaN() ? 0 : error;
+    }
+}
@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.context.jmh_generated;
+public class MchAppLocalBenchmark_jmhType extends MchAppLocalBenchmark_jmhType_B3 {
+}
+
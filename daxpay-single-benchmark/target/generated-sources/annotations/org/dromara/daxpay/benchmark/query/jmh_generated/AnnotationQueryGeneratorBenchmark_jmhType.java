@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.query.jmh_generated;
+public class AnnotationQueryGeneratorBenchmark_jmhType extends AnnotationQueryGeneratorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.reconcile.jmh_generated;
+public class ReconcileCompareBenchmark_jmhType extends ReconcileCompareBenchmark_jmhType_B3 {
+}
+
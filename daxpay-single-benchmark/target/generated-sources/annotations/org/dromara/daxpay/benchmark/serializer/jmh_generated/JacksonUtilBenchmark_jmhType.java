@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.serializer.jmh_generated;
+public class JacksonUtilBenchmark_jmhType extends JacksonUtilBenchmark_jmhType_B3 {
+}
+
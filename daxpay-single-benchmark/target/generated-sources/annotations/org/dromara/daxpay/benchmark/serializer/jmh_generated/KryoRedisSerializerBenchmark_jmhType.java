@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.serializer.jmh_generated;
+public class KryoRedisSerializerBenchmark_jmhType extends KryoRedisSerializerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.sign.jmh_generated;
+public class PaySignBenchmark_jmhType extends PaySignBenchmark_jmhType_B3 {
+}
+
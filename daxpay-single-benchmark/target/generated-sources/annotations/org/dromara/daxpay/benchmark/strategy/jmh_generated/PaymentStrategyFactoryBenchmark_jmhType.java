@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.strategy.jmh_generated;
+public class PaymentStrategyFactoryBenchmark_jmhType extends PaymentStrategyFactoryBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.dromara.daxpay.benchmark.trade.jmh_generated;
+public class TradeNoGenerateBenchmark_jmhType extends TradeNoGenerateBenchmark_jmhType_B3 {
+}
+
@@ -16,9 +16,8 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.util.PayUtil;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
 import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
-import org.dromara.daxpay.service.service.trade.pay.PayCallbackService;
-import org.dromara.daxpay.service.service.trade.refund.RefundCallbackService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -38,9 +37,8 @@ import java.util.Objects;
 public class AlipayCallbackService {
 
     private final AlipayConfigService aliPayConfigService;
-    private final PayCallbackService payCallbackService;
     private final TradeCallbackRecordService tradeCallbackRecordService;
-    private final RefundCallbackService refundCallbackService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
 
     /**
      * 回调处理
@@ -53,10 +51,8 @@ public class AlipayCallbackService {
         if (tradeTypeEnum == TradeTypeEnum.PAY){
             // 支付回调处理
             if (this.payHandler(callbackParam,isv)){
-                // 执行回调业务处理
-                payCallbackService.payCallback();
-                // 保存记录
-                tradeCallbackRecordService.saveCallbackRecord();
+                // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+                tradeCallbackInboxService.handle();
                 return "success";
             } else {
                 // 保存记录
@@ -66,10 +62,8 @@ public class AlipayCallbackService {
         } else {
             // 解析数据
             if (this.refundHandle(callbackParam,isv)){
-                // 执行退款回调处理
-                refundCallbackService.refundCallback();
-                // 保存记录
-                tradeCallbackRecordService.saveCallbackRecord();
+                // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+                tradeCallbackInboxService.handle();
                 return "success";
             } else {
                 // 保存记录
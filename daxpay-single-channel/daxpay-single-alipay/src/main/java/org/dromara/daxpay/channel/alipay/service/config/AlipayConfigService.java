@@ -21,6 +21,7 @@ import org.dromara.daxpay.core.exception.ChannelNotEnableException;
 import org.dromara.daxpay.core.exception.ConfigNotEnableException;
 import org.dromara.daxpay.core.exception.DataErrorException;
 import org.dromara.daxpay.service.common.cache.ChannelConfigCacheService;
+import org.dromara.daxpay.service.common.cache.ChannelConfigTypedCacheService;
 import org.dromara.daxpay.service.common.context.MchAppLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
 import org.dromara.daxpay.service.dao.config.ChannelConfigManager;
@@ -44,6 +45,7 @@ import java.util.Objects;
 public class AlipayConfigService {
     private final ChannelConfigManager channelConfigManager;
     private final ChannelConfigCacheService channelConfigCacheService;
+    private final ChannelConfigTypedCacheService channelConfigTypedCacheService;
     private final PlatformConfigService platformConfigService;
     private final MchAppManager mchAppManager;
 
@@ -126,7 +128,7 @@ public class AlipayConfigService {
     public AliPayConfig getAliPayConfig(boolean isv){
         MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
         ChannelConfig channelConfig = channelConfigCacheService.get(mchAppInfo.getAppId(), isv?ChannelEnum.ALIPAY_ISV.getCode():ChannelEnum.ALIPAY.getCode());
-        return AliPayConfig.convertConfig(channelConfig);
+        return channelConfigTypedCacheService.get(channelConfig, AliPayConfig.class, AliPayConfig::convertConfig);
     }
 
     /**
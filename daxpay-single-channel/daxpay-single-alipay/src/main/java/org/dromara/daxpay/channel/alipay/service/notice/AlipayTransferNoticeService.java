@@ -12,8 +12,8 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.enums.TransferStatusEnum;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
 import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
-import org.dromara.daxpay.service.service.trade.transfer.TransferCallbackService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -29,8 +29,8 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 public class AlipayTransferNoticeService {
-    private final TransferCallbackService transferCallbackService;
     private final TradeCallbackRecordService tradeCallbackRecordService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
 
     /**
      * 资金单据状态变更通知-转账回调
@@ -38,10 +38,8 @@ public class AlipayTransferNoticeService {
     public String transferHandle(Map<String, String> map){
         // 执行回调数据解析, 返回响应对象
         String msg = this.callback(map);
-        // 执行回调业务处理
-        transferCallbackService.transferCallback();
-        // 保存记录
-        tradeCallbackRecordService.saveCallbackRecord();
+        // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+        tradeCallbackInboxService.handle();
         return msg;
     }
 
@@ -2,10 +2,10 @@ package org.dromara.daxpay.channel.alipay.service.reconcile;
 
 import cn.hutool.core.date.DatePattern;
 import cn.hutool.core.date.LocalDateTimeUtil;
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.text.csv.CsvReader;
 import cn.hutool.core.text.csv.CsvUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HttpResponse;
 import cn.hutool.http.HttpUtil;
 import com.alipay.api.AlipayApiException;
 import com.alipay.api.AlipayConstants;
@@ -26,20 +26,20 @@ import org.dromara.daxpay.core.exception.ReconciliationFailException;
 import org.dromara.daxpay.service.bo.reconcile.ChannelReconcileTradeBo;
 import org.dromara.daxpay.service.bo.reconcile.ReconcileResolveResultBo;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
-import org.dromara.x.file.storage.core.FileInfo;
+import org.dromara.daxpay.service.util.ReconcileFileReader;
 import org.dromara.x.file.storage.core.FileStorageService;
-import org.dromara.x.file.storage.core.upload.UploadPretreatment;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -52,6 +52,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AlipayReconcileService {
 
+    /** 对账文件编码 */
+    private static final Charset CHARSET = Charset.forName("GBK");
+
+    /** 业务明细列表开始标记 */
+    private static final String DETAIL_START = "#-----------------------------------------业务明细列表----------------------------------------";
+
+    /** 业务明细列表结束标记 */
+    private static final String DETAIL_END = "#-----------------------------------------业务明细列表结束------------------------------------";
+
     private final AlipayConfigService aliPayConfigService;
 
     private final FileStorageService fileStorageService;
@@ -59,13 +68,15 @@ public class AlipayReconcileService {
 
     /**
      * 下载对账单, 并进行解析
+     * 解析出的交易由处理方分块在独立事务中提交, 本方法不开启事务, 避免长事务
      *
      * @param date        对账日期 yyyy-MM-dd 格式
      * @param statement 对账单对象
+     * @param consumer 解析出的通道交易的处理
      */
     @SneakyThrows
-    @Transactional(rollbackFor = Exception.class)
-    public ReconcileResolveResultBo downAndResolve(String date, ReconcileStatement statement, AliPayConfig aliPayConfig){
+    public ReconcileResolveResultBo downAndResolve(String date, ReconcileStatement statement, AliPayConfig aliPayConfig,
+                                                   Consumer<ChannelReconcileTradeBo> consumer){
         try {
             AlipayDataDataserviceBillDownloadurlQueryModel model = new AlipayDataDataserviceBillDownloadurlQueryModel();
             model.setBillDate(date);
@@ -84,31 +95,26 @@ public class AlipayReconcileService {
                 throw new ReconciliationFailException(response.getSubMsg());
             }
 
-            // 获取对账单下载地址并下载
+            // 获取对账单下载地址, 以流的方式边下载边解析
             String url = response.getBillDownloadUrl();
-            byte[] zipBytes = HttpUtil.downloadBytes(url);
-            // 使用 Apache commons-compress 包装流, 读取返回的对账CSV文件
-            ZipArchiveInputStream zipArchiveInputStream = new ZipArchiveInputStream(new ByteArrayInputStream(zipBytes), "GBK");
-            ZipArchiveEntry entry;
-            List<AlipayReconcileBillDetail> billDetails = new ArrayList<>();
-            byte[] bytes = null;
-            while ((entry = zipArchiveInputStream.getNextZipEntry()) != null) {
-                bytes = IoUtil.readBytes(zipArchiveInputStream);
-                BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), "GBK"));
-                List<String> strings = IoUtil.readLines(bufferedReader, new ArrayList<>());
-                String name = entry.getName();
-                // 只处理明细
-                if (!StrUtil.endWith(name, "_业务明细(汇总).csv")) {
-                    billDetails = this.parseDetail(strings);
+            String originalFile = null;
+            try (HttpResponse httpResponse = HttpUtil.createGet(url).executeAsync();
+                 // 使用 Apache commons-compress 包装流, 读取返回的对账CSV文件
+                 ZipArchiveInputStream zipArchiveInputStream = new ZipArchiveInputStream(httpResponse.bodyStream(), "GBK")) {
+                ZipArchiveEntry entry;
+                while ((entry = zipArchiveInputStream.getNextZipEntry()) != null) {
+                    // 只处理明细, 汇总文件直接跳过
+                    if (StrUtil.endWith(entry.getName(), "_业务明细(汇总).csv")) {
+                        continue;
+                    }
+                    try (var reader = ReconcileFileReader.of(zipArchiveInputStream, CHARSET)) {
+                        this.parseDetail(reader, consumer);
+                        // 保存原始对账文件
+                        originalFile = reader.upload(fileStorageService, this.getFileName(statement));
+                    }
                 }
             }
-            // 保存原始对账文件
-            String originalFile = this.saveOriginalFile(statement, bytes);
-
-            // 将原始交易明细对账记录转换通用结构
-            var reconcileTradeBos = this.convertReconcileTrade(billDetails);
             return new ReconcileResolveResultBo()
-                    .setChannelTrades(reconcileTradeBos)
                     .setOriginalFileUrl(originalFile);
 
         } catch (AlipayApiException e) {
@@ -122,29 +128,17 @@ public class AlipayReconcileService {
      * 上传对账单解析并保存
      */
     @SneakyThrows
-    public ReconcileResolveResultBo upload(ReconcileStatement statement, byte[] bytes) {
-        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes),"GBK"));
-        List<String> strings = IoUtil.readLines(bufferedReader, new ArrayList<>());
-        List<AlipayReconcileBillDetail> billDetails = this.parseDetail(strings);
-        // 保存原始对账文件
-        String originalFile = this.saveOriginalFile(statement, bytes);
-        // 将原始交易明细对账记录转换通用结构
-        var reconcileTradeBos = this.convertReconcileTrade(billDetails);
-        return new ReconcileResolveResultBo()
-                .setChannelTrades(reconcileTradeBos)
-                .setOriginalFileUrl(originalFile);
+    public ReconcileResolveResultBo upload(ReconcileStatement statement, InputStream in, Consumer<ChannelReconcileTradeBo> consumer) {
+        try (var reader = ReconcileFileReader.of(in, CHARSET)) {
+            this.parseDetail(reader, consumer);
+            // 保存原始对账文件
+            String originalFile = reader.upload(fileStorageService, this.getFileName(statement));
+            return new ReconcileResolveResultBo()
+                    .setOriginalFileUrl(originalFile);
+        }
     }
 
 
-    /**
-     * 转换为通用对账记录对象
-     */
-    private List<ChannelReconcileTradeBo> convertReconcileTrade(List<AlipayReconcileBillDetail> billDetails){
-        return billDetails.stream()
-                .map(this::convert)
-                .toList();
-    }
-
     /**
      * 转换为通用对账记录对象
      */
@@ -175,18 +169,38 @@ public class AlipayReconcileService {
 
 
     /**
-     * 解析明细
+     * 解析明细, 逐行读取业务明细列表, 第一行为表头, 按表头定位所需的字段
      */
-    private List<AlipayReconcileBillDetail> parseDetail(List<String> list){
-        // 截取需要进行解析的文本内容
-        String billDetail = list.stream()
-                .collect(Collectors.joining(System.lineSeparator()));
-        billDetail = StrUtil.subBetween(billDetail,
-                "#-----------------------------------------业务明细列表----------------------------------------"+System.lineSeparator(),
-                "#-----------------------------------------业务明细列表结束------------------------------------");
-        billDetail = billDetail.replaceAll("\t", "");
-        CsvReader reader = CsvUtil.getReader();
-        return reader.read(billDetail, AlipayReconcileBillDetail.class);
+    private void parseDetail(ReconcileFileReader reader, Consumer<ChannelReconcileTradeBo> consumer) throws IOException {
+        Map<String, Integer> header = new HashMap<>();
+        reader.sectionLines(DETAIL_START, DETAIL_END, line -> {
+            if (StrUtil.isBlank(line)) {
+                return;
+            }
+            List<String> fields = ReconcileFileReader.splitCsv(line);
+            if (header.isEmpty()) {
+                for (int i = 0; i < fields.size(); i++) {
+                    header.put(fields.get(i), i);
+                }
+                return;
+            }
+            var billDetail = new AlipayReconcileBillDetail();
+            billDetail.setTradeNo(this.getField(fields, header, "支付宝交易号"));
+            billDetail.setOutTradeNo(this.getField(fields, header, "商户订单号"));
+            billDetail.setTradeType(this.getField(fields, header, "业务类型"));
+            billDetail.setEndTime(this.getField(fields, header, "完成时间"));
+            billDetail.setOrderAmount(this.getField(fields, header, "订单金额（元）"));
+            billDetail.setBatchNo(this.getField(fields, header, "退款批次号/请求号"));
+            consumer.accept(this.convert(billDetail));
+        });
+    }
+
+    /**
+     * 按表头名称获取字段值
+     */
+    private String getField(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        return Objects.nonNull(index) && index < fields.size() ? fields.get(index) : null;
     }
 
     /**
@@ -206,18 +220,10 @@ public class AlipayReconcileService {
     }
 
     /**
-     * 保存下载的原始对账文件
+     * 原始对账文件名称 通道-日期
      */
-    private String saveOriginalFile(ReconcileStatement statement, byte[] bytes) {
-        // 将原始文件进行保存
+    private String getFileName(ReconcileStatement statement) {
         String date = LocalDateTimeUtil.format(statement.getDate(), DatePattern.PURE_DATE_PATTERN);
-        // 将原始文件进行保存 通道-日期
-        String fileName = StrUtil.format("交易对账单-支付宝-{}.csv",date);
-        UploadPretreatment uploadPretreatment = fileStorageService.of(bytes);
-        if (StrUtil.isNotBlank(fileName)) {
-            uploadPretreatment.setOriginalFilename(fileName);
-        }
-        FileInfo upload = uploadPretreatment.upload();
-        return upload.getUrl();
+        return StrUtil.format("交易对账单-支付宝-{}.csv",date);
     }
 }
@@ -49,7 +49,9 @@ public class AlipayIsvReconcileStrategy extends AbsReconcileStrategy {
     @SneakyThrows
     @Override
     public ReconcileResolveResultBo uploadAndResolve(MultipartFile file, ReconcileFileTypeEnum fileType) {
-        return reconcileService.upload(this.getStatement(), file.getBytes());
+        try (var in = file.getInputStream()) {
+            return reconcileService.upload(this.getStatement(), in, this.getTradeConsumer());
+        }
     }
 
     /**
@@ -59,6 +61,6 @@ public class AlipayIsvReconcileStrategy extends AbsReconcileStrategy {
     public ReconcileResolveResultBo downAndResolve() {
         AliPayConfig aliPayConfig = aliPayConfigService.getAliPayConfig(true);
         String date = LocalDateTimeUtil.format(this.getStatement().getDate(), DatePattern.NORM_DATE_PATTERN);
-        return reconcileService.downAndResolve(date, this.getStatement(),aliPayConfig);
+        return reconcileService.downAndResolve(date, this.getStatement(), aliPayConfig, this.getTradeConsumer());
     }
 }
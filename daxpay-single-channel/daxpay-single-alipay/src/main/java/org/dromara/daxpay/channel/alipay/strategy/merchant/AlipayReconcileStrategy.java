@@ -50,7 +50,9 @@ public class AlipayReconcileStrategy extends AbsReconcileStrategy {
     @SneakyThrows
     @Override
     public ReconcileResolveResultBo uploadAndResolve(MultipartFile file, ReconcileFileTypeEnum fileType) {
-        return reconcileService.upload(this.getStatement(), file.getBytes());
+        try (var in = file.getInputStream()) {
+            return reconcileService.upload(this.getStatement(), in, this.getTradeConsumer());
+        }
     }
 
     /**
@@ -60,6 +62,6 @@ public class AlipayReconcileStrategy extends AbsReconcileStrategy {
     public ReconcileResolveResultBo downAndResolve() {
         AliPayConfig aliPayConfig = aliPayConfigService.getAliPayConfig(false);
         String date = LocalDateTimeUtil.format(this.getStatement().getDate(), DatePattern.NORM_DATE_PATTERN);
-        return reconcileService.downAndResolve(date, this.getStatement(),aliPayConfig);
+        return reconcileService.downAndResolve(date, this.getStatement(), aliPayConfig, this.getTradeConsumer());
     }
 }
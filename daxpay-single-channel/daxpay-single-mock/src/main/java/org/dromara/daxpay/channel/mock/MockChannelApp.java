@@ -0,0 +1,18 @@
+package org.dromara.daxpay.channel.mock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ComponentScan;
+
+/**
+ * 模拟支付通道实现
+ * 不调用真实的支付网关, 按配置的耗时和结果返回并发送回调, 用于压测和联调. 需要配置
+ * dax-pay.mock-channel.enable=true 才会加载, 生产环境不要开启
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ConditionalOnProperty(prefix = "dax-pay.mock-channel", name = "enable", havingValue = "true")
+@ConfigurationPropertiesScan
+@ComponentScan
+public class MockChannelApp {
+}
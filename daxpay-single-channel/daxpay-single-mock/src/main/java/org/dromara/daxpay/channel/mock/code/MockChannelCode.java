@@ -0,0 +1,33 @@
+package org.dromara.daxpay.channel.mock.code;
+
+/**
+ * 模拟通道参数
+ * @author xxm
+ * @since 2025/1/17
+ */
+public interface MockChannelCode {
+
+    /** 通道编码, 只在引入模拟通道模块时可用, 不加入支付通道枚举 */
+    String CHANNEL = "mock_pay";
+
+    /** 交易号(支付订单号/退款号) */
+    String TRADE_NO = "trade_no";
+
+    /** 通道交易号 */
+    String OUT_TRADE_NO = "out_trade_no";
+
+    /** 交易状态, 使用支付状态/退款状态的编码 */
+    String STATUS = "status";
+
+    /** 交易金额 */
+    String AMOUNT = "amount";
+
+    /** 完成时间 */
+    String FINISH_TIME = "finish_time";
+
+    /** 签名 */
+    String SIGN = "sign";
+
+    /** 通道交易号前缀 */
+    String OUT_TRADE_NO_PREFIX = "MOCK";
+}
@@ -0,0 +1,45 @@
+package org.dromara.daxpay.channel.mock.controller;
+
+import cn.bootx.platform.core.annotation.IgnoreAuth;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.dromara.daxpay.channel.mock.service.MockCallbackService;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 模拟通道回调通知
+ * @author xxm
+ * @since 2025/1/17
+ */
+@IgnoreAuth
+@Tag(name = "模拟通道回调通知")
+@RestController
+@RequestMapping("/unipay/callback/{AppId}/mock")
+@RequiredArgsConstructor
+public class MockCallbackController {
+
+    private final MockCallbackService mockCallbackService;
+
+    private final PaymentAssistService paymentAssistService;
+
+    @Operation(summary = "模拟通道支付回调")
+    @PostMapping("/pay")
+    public String payNotify(@PathVariable("AppId") String appId, HttpServletRequest request) {
+        paymentAssistService.initMchApp(appId);
+        return mockCallbackService.handle(request, TradeTypeEnum.PAY);
+    }
+
+    @Operation(summary = "模拟通道退款回调")
+    @PostMapping("/refund")
+    public String refundNotify(@PathVariable("AppId") String appId, HttpServletRequest request) {
+        paymentAssistService.initMchApp(appId);
+        return mockCallbackService.handle(request, TradeTypeEnum.REFUND);
+    }
+}
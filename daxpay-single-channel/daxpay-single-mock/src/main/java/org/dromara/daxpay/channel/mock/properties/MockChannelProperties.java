@@ -0,0 +1,52 @@
+package org.dromara.daxpay.channel.mock.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 模拟通道配置
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dax-pay.mock-channel")
+public class MockChannelProperties {
+
+    /** 是否启用模拟通道 */
+    private boolean enable = false;
+
+    /** 调用通道的最小耗时(毫秒) */
+    private long minLatency = 50;
+
+    /** 调用通道的最大耗时(毫秒), 每次调用在最小和最大耗时之间随机 */
+    private long maxLatency = 200;
+
+    /** 支付成功的比例(0-1), 其余为支付失败 */
+    private double paySuccessRate = 1.0;
+
+    /** 退款成功的比例(0-1), 其余为退款失败 */
+    private double refundSuccessRate = 1.0;
+
+    /** 支付请求是否直接返回结果(如付款码支付), 否则为支付中, 通过回调或同步获取结果 */
+    private boolean payComplete = false;
+
+    /** 退款请求是否直接返回结果, 否则为退款中, 通过回调或同步获取结果 */
+    private boolean refundComplete = false;
+
+    /** 是否发送回调通知 */
+    private boolean callback = true;
+
+    /** 交易在通道中完成的耗时(毫秒), 到时间后发送回调, 同步也在此之后才能查询到结果 */
+    private long callbackDelay = 500;
+
+    /** 发送回调的线程数 */
+    private int callbackThreads = 4;
+
+    /** 回调签名密钥 */
+    private String callbackSecret = "daxpay-mock";
+
+    /** 模拟通道中交易记录的保留时间(分钟) */
+    private int tradeTtl = 60;
+}
@@ -0,0 +1,74 @@
+package org.dromara.daxpay.channel.mock.service;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.LocalDateTimeUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.channel.mock.code.MockChannelCode;
+import org.dromara.daxpay.core.enums.CallbackStatusEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.core.util.PayUtil;
+import org.dromara.daxpay.service.common.context.CallbackLocal;
+import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 模拟通道回调
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MockCallbackService {
+
+    private final TradeCallbackRecordService tradeCallbackRecordService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
+    private final MockChannelService mockChannelService;
+
+    /**
+     * 回调处理
+     */
+    public String handle(HttpServletRequest request, TradeTypeEnum tradeType){
+        // 解析数据
+        if (this.resolve(request, tradeType)){
+            // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+            tradeCallbackInboxService.handle();
+            return "success";
+        } else {
+            // 保存记录
+            tradeCallbackRecordService.saveCallbackRecord();
+            return "fail";
+        }
+    }
+
+    /**
+     * 解析回调数据并放到上下文中
+     */
+    private boolean resolve(HttpServletRequest request, TradeTypeEnum tradeType) {
+        Map<String, String> callbackParam = PayUtil.toMap(request);
+        CallbackLocal callbackInfo = PaymentContextLocal.get().getCallbackInfo();
+        // 设置类型和通道
+        callbackInfo.setCallbackType(tradeType)
+                .setChannel(MockChannelCode.CHANNEL)
+                .setCallbackData(callbackParam);
+        // 签名校验
+        if (!mockChannelService.verify(callbackParam)){
+            callbackInfo.setCallbackStatus(CallbackStatusEnum.FAIL);
+            return false;
+        }
+        callbackInfo.setOutTradeNo(callbackParam.get(MockChannelCode.OUT_TRADE_NO))
+                .setTradeNo(callbackParam.get(MockChannelCode.TRADE_NO))
+                // 状态直接使用支付状态/退款状态的编码
+                .setTradeStatus(callbackParam.get(MockChannelCode.STATUS))
+                .setAmount(new BigDecimal(callbackParam.get(MockChannelCode.AMOUNT)))
+                .setFinishTime(LocalDateTimeUtil.parse(callbackParam.get(MockChannelCode.FINISH_TIME), DatePattern.PURE_DATETIME_PATTERN));
+        return true;
+    }
+}
@@ -0,0 +1,294 @@
+package org.dromara.daxpay.channel.mock.service;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.map.MapUtil;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import cn.hutool.http.HttpResponse;
+import cn.hutool.http.HttpUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.channel.mock.code.MockChannelCode;
+import org.dromara.daxpay.channel.mock.properties.MockChannelProperties;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.core.enums.RefundStatusEnum;
+import org.dromara.daxpay.core.exception.TradeFailException;
+import org.dromara.daxpay.service.bo.sync.PaySyncResultBo;
+import org.dromara.daxpay.service.bo.sync.RefundSyncResultBo;
+import org.dromara.daxpay.service.bo.trade.PayResultBo;
+import org.dromara.daxpay.service.bo.trade.RefundResultBo;
+import org.dromara.daxpay.service.common.context.MchAppLocal;
+import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.service.config.PlatformConfigService;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟通道
+ * 交易的结果在发起时按配置的成功比例确定, 经过回调延迟后视为在通道中完成, 完成后发送回调, 同步时也返回该结果.
+ * 交易记录只保存在当前实例的内存中, 多实例部署时同步请求需要落到发起交易的实例
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MockChannelService {
+
+    private final MockChannelProperties properties;
+
+    private final PlatformConfigService platformConfigService;
+
+    /** 模拟通道中的交易记录, key为交易号 */
+    private final Map<String, MockTrade> trades = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newScheduledThreadPool(Math.max(properties.getCallbackThreads(), 1),
+                ThreadFactoryBuilder.create().setNamePrefix("mock-channel-").build());
+        // 定时清除过期的交易记录
+        executor.scheduleWithFixedDelay(this::prune, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 支付
+     */
+    public PayResultBo pay(PayOrder payOrder) {
+        this.latency();
+        boolean success = this.hit(properties.getPaySuccessRate());
+        PayStatusEnum status = success ? PayStatusEnum.SUCCESS : PayStatusEnum.FAIL;
+        MockTrade trade = this.create(payOrder.getOrderNo(), status.getCode(), payOrder.getAmount());
+        if (properties.isPayComplete()) {
+            if (!success) {
+                throw new TradeFailException("模拟通道支付失败");
+            }
+            return new PayResultBo()
+                    .setOutOrderNo(trade.outTradeNo())
+                    .setComplete(true)
+                    .setFinishTime(LocalDateTime.now());
+        }
+        this.callback(payOrder.getOrderNo(), this.getNotifyUrl("pay"));
+        return new PayResultBo()
+                .setOutOrderNo(trade.outTradeNo())
+                .setPayBody(trade.outTradeNo());
+    }
+
+    /**
+     * 支付同步, 交易还未在通道中完成时返回支付中
+     */
+    public PaySyncResultBo syncPay(PayOrder payOrder) {
+        this.latency();
+        MockTrade trade = trades.get(payOrder.getOrderNo());
+        if (Objects.isNull(trade)) {
+            return new PaySyncResultBo().setPayStatus(PayStatusEnum.CLOSE);
+        }
+        PaySyncResultBo result = new PaySyncResultBo()
+                .setOutOrderNo(trade.outTradeNo())
+                .setAmount(trade.amount())
+                .setSyncData(trade.toString());
+        if (this.finished(trade)) {
+            return result.setPayStatus(PayStatusEnum.findByCode(trade.status()))
+                    .setFinishTime(trade.finishTime());
+        }
+        return result.setPayStatus(PayStatusEnum.PROGRESS);
+    }
+
+    /**
+     * 关闭支付, 已经关闭的交易不再发送回调
+     */
+    public void close(PayOrder payOrder) {
+        this.latency();
+        trades.computeIfPresent(payOrder.getOrderNo(),
+                (k, v) -> v.withStatus(PayStatusEnum.CLOSE.getCode()));
+    }
+
+    /**
+     * 退款
+     */
+    public RefundResultBo refund(RefundOrder refundOrder) {
+        this.latency();
+        boolean success = this.hit(properties.getRefundSuccessRate());
+        RefundStatusEnum status = success ? RefundStatusEnum.SUCCESS : RefundStatusEnum.FAIL;
+        MockTrade trade = this.create(refundOrder.getRefundNo(), status.getCode(), refundOrder.getAmount());
+        if (properties.isRefundComplete()) {
+            if (!success) {
+                throw new TradeFailException("模拟通道退款失败");
+            }
+            return new RefundResultBo()
+                    .setOutRefundNo(trade.outTradeNo())
+                    .setStatus(RefundStatusEnum.SUCCESS)
+                    .setFinishTime(LocalDateTime.now());
+        }
+        this.callback(refundOrder.getRefundNo(), this.getNotifyUrl("refund"));
+        return new RefundResultBo()
+                .setOutRefundNo(trade.outTradeNo())
+                .setStatus(RefundStatusEnum.PROGRESS);
+    }
+
+    /**
+     * 退款同步, 交易还未在通道中完成时返回退款中
+     */
+    public RefundSyncResultBo syncRefund(RefundOrder refundOrder) {
+        this.latency();
+        MockTrade trade = trades.get(refundOrder.getRefundNo());
+        if (Objects.isNull(trade)) {
+            return new RefundSyncResultBo().setRefundStatus(RefundStatusEnum.CLOSE);
+        }
+        RefundSyncResultBo result = new RefundSyncResultBo()
+                .setOutRefundNo(trade.outTradeNo())
+                .setAmount(trade.amount())
+                .setSyncData(trade.toString());
+        if (this.finished(trade)) {
+            return result.setRefundStatus(RefundStatusEnum.findByCode(trade.status()))
+                    .setFinishTime(trade.finishTime());
+        }
+        return result.setRefundStatus(RefundStatusEnum.PROGRESS);
+    }
+
+    /**
+     * 校验回调签名
+     */
+    public boolean verify(Map<String, String> params) {
+        String sign = params.get(MockChannelCode.SIGN);
+        return StrUtil.isNotBlank(sign) && Objects.equals(sign, this.sign(params));
+    }
+
+    /**
+     * 创建交易记录
+     */
+    private MockTrade create(String tradeNo, String status, BigDecimal amount) {
+        MockTrade trade = new MockTrade(MockChannelCode.OUT_TRADE_NO_PREFIX + IdUtil.getSnowflakeNextIdStr(),
+                status, amount, LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getCallbackDelay())));
+        trades.put(tradeNo, trade);
+        return trade;
+    }
+
+    /**
+     * 交易在通道中完成后发送回调, 发送时读取交易的最新状态
+     */
+    private void callback(String tradeNo, String notifyUrl) {
+        if (!properties.isCallback()) {
+            return;
+        }
+        executor.schedule(() -> {
+            MockTrade trade = trades.get(tradeNo);
+            // 交易已经关闭或被清除, 不发送回调
+            if (Objects.isNull(trade) || Objects.equals(trade.status(), PayStatusEnum.CLOSE.getCode())) {
+                return;
+            }
+            Map<String, String> params = new TreeMap<>();
+            params.put(MockChannelCode.TRADE_NO, tradeNo);
+            params.put(MockChannelCode.OUT_TRADE_NO, trade.outTradeNo());
+            params.put(MockChannelCode.STATUS, trade.status());
+            params.put(MockChannelCode.AMOUNT, trade.amount().toPlainString());
+            params.put(MockChannelCode.FINISH_TIME, LocalDateTimeUtil.format(trade.finishTime(), DatePattern.PURE_DATETIME_PATTERN));
+            params.put(MockChannelCode.SIGN, this.sign(params));
+            try (HttpResponse response = HttpUtil.createPost(notifyUrl)
+                    .formStr(params)
+                    .timeout(5000)
+                    .execute()) {
+                if (!StrUtil.equalsIgnoreCase(response.body(), "success")) {
+                    log.warn("模拟通道回调处理失败, 交易号: {}, 响应: {}", tradeNo, response.body());
+                }
+            } catch (Exception e) {
+                log.warn("模拟通道发送回调失败, 交易号: {}", tradeNo, e);
+            }
+        }, properties.getCallbackDelay(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取回调地址, 需要在请求线程中调用
+     */
+    private String getNotifyUrl(String type) {
+        MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
+        var platformInfo = platformConfigService.getConfig();
+        return StrUtil.format("{}/unipay/callback/{}/mock/{}", platformInfo.getGatewayServiceUrl(), mchAppInfo.getAppId(), type);
+    }
+
+    /**
+     * 签名, 除签名外的参数按参数名排序拼接后使用 HmacSHA256 计算
+     */
+    private String sign(Map<String, String> params) {
+        Map<String, String> sorted = new TreeMap<>(params);
+        sorted.remove(MockChannelCode.SIGN);
+        String data = MapUtil.join(sorted, "&", "=");
+        return SecureUtil.hmacSha256(properties.getCallbackSecret()).digestHex(data);
+    }
+
+    /**
+     * 模拟调用通道的耗时
+     */
+    private void latency() {
+        long min = properties.getMinLatency();
+        long max = Math.max(properties.getMaxLatency(), min);
+        long latency = min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 按比例随机命中
+     */
+    private boolean hit(double rate) {
+        return ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * 交易是否已经在通道中完成
+     */
+    private boolean finished(MockTrade trade) {
+        return !LocalDateTime.now().isBefore(trade.finishTime());
+    }
+
+    /**
+     * 清除过期的交易记录
+     */
+    private void prune() {
+        LocalDateTime expired = LocalDateTime.now().minusMinutes(properties.getTradeTtl());
+        trades.values().removeIf(trade -> trade.finishTime().isBefore(expired));
+    }
+
+    /**
+     * 模拟通道中的交易
+     * @param outTradeNo 通道交易号
+     * @param status 交易结果
+     * @param amount 金额
+     * @param finishTime 在通道中完成的时间
+     */
+    private record MockTrade(String outTradeNo, String status, BigDecimal amount, LocalDateTime finishTime) {
+
+        MockTrade withStatus(String status) {
+            return new MockTrade(outTradeNo, status, amount, finishTime);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.dromara.daxpay.channel.mock.strategy;
+
+import lombok.RequiredArgsConstructor;
+import org.dromara.daxpay.channel.mock.service.MockChannelService;
+import org.dromara.daxpay.channel.mock.code.MockChannelCode;
+import org.dromara.daxpay.core.enums.CloseTypeEnum;
+import org.dromara.daxpay.service.strategy.AbsPayCloseStrategy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+
+/**
+ * 模拟通道关闭支付
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Scope(SCOPE_PROTOTYPE)
+@Component
+@RequiredArgsConstructor
+public class MockPayCloseStrategy extends AbsPayCloseStrategy {
+
+    private final MockChannelService mockChannelService;
+
+    @Override
+    public String getChannel() {
+        return MockChannelCode.CHANNEL;
+    }
+
+    /**
+     * 关闭操作
+     */
+    @Override
+    public CloseTypeEnum doCloseHandler() {
+        mockChannelService.close(this.getOrder());
+        return CloseTypeEnum.CLOSE;
+    }
+}
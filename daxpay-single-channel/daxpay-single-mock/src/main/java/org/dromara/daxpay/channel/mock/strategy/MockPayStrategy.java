@@ -0,0 +1,37 @@
+package org.dromara.daxpay.channel.mock.strategy;
+
+import lombok.RequiredArgsConstructor;
+import org.dromara.daxpay.channel.mock.service.MockChannelService;
+import org.dromara.daxpay.channel.mock.code.MockChannelCode;
+import org.dromara.daxpay.service.bo.trade.PayResultBo;
+import org.dromara.daxpay.service.strategy.AbsPayStrategy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+
+/**
+ * 模拟通道支付
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Scope(SCOPE_PROTOTYPE)
+@Component
+@RequiredArgsConstructor
+public class MockPayStrategy extends AbsPayStrategy {
+
+    private final MockChannelService mockChannelService;
+
+    @Override
+    public String getChannel() {
+        return MockChannelCode.CHANNEL;
+    }
+
+    /**
+     * 发起支付操作
+     */
+    @Override
+    public PayResultBo doPayHandler() {
+        return mockChannelService.pay(this.getOrder());
+    }
+}
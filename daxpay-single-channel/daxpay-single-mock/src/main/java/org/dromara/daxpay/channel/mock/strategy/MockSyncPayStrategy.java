@@ -0,0 +1,34 @@
+package org.dromara.daxpay.channel.mock.strategy;
+
+import lombok.RequiredArgsConstructor;
+import org.dromara.daxpay.channel.mock.service.MockChannelService;
+import org.dromara.daxpay.channel.mock.code.MockChannelCode;
+import org.dromara.daxpay.service.bo.sync.PaySyncResultBo;
+import org.dromara.daxpay.service.strategy.AbsSyncPayOrderStrategy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+
+/**
+ * 模拟通道支付同步
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Scope(SCOPE_PROTOTYPE)
+@Component
+@RequiredArgsConstructor
+public class MockSyncPayStrategy extends AbsSyncPayOrderStrategy {
+
+    private final MockChannelService mockChannelService;
+
+    @Override
+    public String getChannel() {
+        return MockChannelCode.CHANNEL;
+    }
+
+    @Override
+    public PaySyncResultBo doSync() {
+        return mockChannelService.syncPay(this.getOrder());
+    }
+}
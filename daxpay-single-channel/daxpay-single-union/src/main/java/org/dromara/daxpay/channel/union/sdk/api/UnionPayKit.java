@@ -2,7 +2,9 @@ package org.dromara.daxpay.channel.union.sdk.api;
 
 import cn.hutool.core.date.DatePattern;
 import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.channel.union.sdk.bean.*;
@@ -29,6 +31,7 @@ import java.security.cert.*;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 云闪付支付服务类重命名, 避免与系统中类名冲突
@@ -55,10 +58,22 @@ public class UnionPayKit extends BasePayService<UnionPayConfigStorage> {
     private static final String FILE_TRANS_URL = "https://filedownload.%s/";
     private static final String APP_TRANS_URL = "https://gateway.%s/gateway/api/appTransReq.do";
     private static final String CARD_TRANS_URL = "https://gateway.%s/gateway/api/cardTransReq.do";
+    /**
+     * 已经通过证书链校验的银联签名证书, key为信任证书指纹和签名证书指纹, 银联签名证书几个月才会更换一次
+     */
+    private static final Map<String, X509Certificate> VERIFIED_CERTS = new ConcurrentHashMap<>();
+    /**
+     * 缓存的签名证书数量上限
+     */
+    private static final int VERIFIED_CERTS_MAX = 64;
     /**
      * 证书解释器
      */
     private volatile CertDescriptor certDescriptor;
+    /**
+     * 中级证书和根证书的指纹
+     */
+    private volatile String trustFingerprint;
 
     /**
      * 构造函数
@@ -94,8 +109,11 @@ public class UnionPayKit extends BasePayService<UnionPayConfigStorage> {
             certDescriptor.initPrivateSignCert(payConfigStorage.getKeyPrivateCertInputStream(), payConfigStorage.getKeyPrivateCertPwd(), "PKCS12");
             certDescriptor.initPublicCert(payConfigStorage.getAcpMiddleCertInputStream());
             certDescriptor.initRootCert(payConfigStorage.getAcpRootCertInputStream());
+            if (null != certDescriptor.getPublicCert() && null != certDescriptor.getRootCert()) {
+                trustFingerprint = DigestUtil.sha256Hex(ArrayUtil.addAll(certDescriptor.getPublicCert().getEncoded(), certDescriptor.getRootCert().getEncoded()));
+            }
         }
-        catch (IOException e) {
+        catch (IOException | CertificateEncodingException e) {
             log.error("", e);
         }
 
@@ -212,12 +230,14 @@ public class UnionPayKit extends BasePayService<UnionPayConfigStorage> {
         String data = SignTextUtils.parameterText(params, "&", "signature");
         return switch (signUtils) {
             case RSA -> {
+                X509Certificate cert = getVerifiedCertificate((String) params.get(SDKConstants.param_signPubKeyCert));
                 data = SignUtils.SHA1.createSign(data, "", payConfigStorage.getInputCharset());
-                yield RSA.verify(data, sign, verifyCertificate(genCertificateByStr((String) params.get(SDKConstants.param_signPubKeyCert))).getPublicKey(), payConfigStorage.getInputCharset());
+                yield null != cert && RSA.verify(data, sign, cert.getPublicKey(), payConfigStorage.getInputCharset());
             }
             case RSA2 -> {
+                X509Certificate cert = getVerifiedCertificate((String) params.get(SDKConstants.param_signPubKeyCert));
                 data = SignUtils.SHA256.createSign(data, "", payConfigStorage.getInputCharset());
-                yield RSA2.verify(data, sign, verifyCertificate(genCertificateByStr((String) params.get(SDKConstants.param_signPubKeyCert))).getPublicKey(), payConfigStorage.getInputCharset());
+                yield null != cert && RSA2.verify(data, sign, cert.getPublicKey(), payConfigStorage.getInputCharset());
             }
             case SHA1, SHA256, SM3 -> {
                 String before = signUtils.createSign(payConfigStorage.getKeyPublic(), "", payConfigStorage.getInputCharset());
@@ -334,6 +354,34 @@ public class UnionPayKit extends BasePayService<UnionPayConfigStorage> {
     }
 
 
+    /**
+     * 获取通过校验的签名证书, 优先从已校验的证书中获取, 未命中或已过期时重新校验证书链
+     *
+     * @param x509CertString 报文中的签名证书
+     * @return 校验通过的证书, 校验失败返回null
+     */
+    private X509Certificate getVerifiedCertificate(String x509CertString) {
+        if (StrUtil.isBlank(x509CertString)) {
+            return null;
+        }
+        String key = trustFingerprint + ":" + DigestUtil.sha256Hex(x509CertString);
+        X509Certificate cert = VERIFIED_CERTS.get(key);
+        if (null != cert) {
+            if (cert.getNotAfter().after(new Date())) {
+                return cert;
+            }
+            VERIFIED_CERTS.remove(key);
+        }
+        cert = verifyCertificate(genCertificateByStr(x509CertString));
+        if (null != cert && null != trustFingerprint) {
+            if (VERIFIED_CERTS.size() >= VERIFIED_CERTS_MAX) {
+                VERIFIED_CERTS.clear();
+            }
+            VERIFIED_CERTS.put(key, cert);
+        }
+        return cert;
+    }
+
     /**
      * 验证证书链
      *
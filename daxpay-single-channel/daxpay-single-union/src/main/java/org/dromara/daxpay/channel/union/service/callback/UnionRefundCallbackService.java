@@ -18,8 +18,8 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.util.PayUtil;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
 import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
-import org.dromara.daxpay.service.service.trade.refund.RefundCallbackService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -35,8 +35,8 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UnionRefundCallbackService {
 
-    private final RefundCallbackService refundCallbackService;
     private final TradeCallbackRecordService tradeCallbackRecordService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
     private final UnionPayConfigService unionPayConfigService;
 
     /**
@@ -45,10 +45,8 @@ public class UnionRefundCallbackService {
     public String refundHandle(HttpServletRequest request){
         // 解析数据
         if (this.resolve(request)){
-            // 执行回调业务处理
-            refundCallbackService.refundCallback();
-            // 保存记录
-            tradeCallbackRecordService.saveCallbackRecord();
+            // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+            tradeCallbackInboxService.handle();
             return "success";
         } else {
             // 保存记录
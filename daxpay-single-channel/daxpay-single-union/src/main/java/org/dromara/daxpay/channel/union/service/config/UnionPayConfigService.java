@@ -18,6 +18,7 @@ import org.dromara.daxpay.core.exception.ChannelNotEnableException;
 import org.dromara.daxpay.core.exception.ConfigNotEnableException;
 import org.dromara.daxpay.core.exception.DataErrorException;
 import org.dromara.daxpay.service.common.cache.ChannelConfigCacheService;
+import org.dromara.daxpay.service.common.cache.ChannelConfigTypedCacheService;
 import org.dromara.daxpay.service.common.context.MchAppLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
 import org.dromara.daxpay.service.dao.config.ChannelConfigManager;
@@ -42,6 +43,7 @@ public class UnionPayConfigService {
 
     private final ChannelConfigManager channelConfigManager;
     private final ChannelConfigCacheService channelConfigCacheService;
+    private final ChannelConfigTypedCacheService channelConfigTypedCacheService;
     private final PlatformConfigService platformConfigService;
 
     /**
@@ -112,7 +114,7 @@ public class UnionPayConfigService {
     public UnionPayConfig getUnionPayConfig(){
         MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
         ChannelConfig channelConfig = channelConfigCacheService.get(mchAppInfo.getAppId(), ChannelEnum.UNION_PAY.getCode());
-        return UnionPayConfig.convertConfig(channelConfig);
+        return channelConfigTypedCacheService.get(channelConfig, UnionPayConfig.class, UnionPayConfig::convertConfig);
     }
 
 
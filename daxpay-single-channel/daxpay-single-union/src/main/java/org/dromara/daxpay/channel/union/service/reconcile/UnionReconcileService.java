@@ -1,11 +1,8 @@
 package org.dromara.daxpay.channel.union.service.reconcile;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.codec.Base64;
-import cn.hutool.core.compress.Deflate;
 import cn.hutool.core.date.DatePattern;
 import cn.hutool.core.date.LocalDateTimeUtil;
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,15 +20,18 @@ import org.dromara.daxpay.core.util.PayUtil;
 import org.dromara.daxpay.service.bo.reconcile.ChannelReconcileTradeBo;
 import org.dromara.daxpay.service.bo.reconcile.ReconcileResolveResultBo;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
-import org.dromara.x.file.storage.core.FileInfo;
+import org.dromara.daxpay.service.util.ReconcileFileReader;
 import org.dromara.x.file.storage.core.FileStorageService;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.zip.InflaterInputStream;
 
 /**
  * 云闪付对账
@@ -48,8 +48,10 @@ public class UnionReconcileService {
 
     /**
      * 下载对账单
+     * @param consumer 解析出的通道交易的处理
      */
-    public ReconcileResolveResultBo downAndResolve(ReconcileStatement statement, Date date, UnionPayKit unionPayKit){
+    public ReconcileResolveResultBo downAndResolve(ReconcileStatement statement, Date date, UnionPayKit unionPayKit,
+                                                   Consumer<ChannelReconcileTradeBo> consumer){
         // 下载对账单
         Map<String, Object> map = unionPayKit.downloadBill(date, UnionPayCode.RECONCILE_BILL_TYPE);
         Object o = map.get(UnionPayCode.FILE_CONTENT);
@@ -64,50 +66,39 @@ public class UnionReconcileService {
             throw new OperationFailException("云闪付获取对账文件失败");
         }
 
-        try {
-            // 先解base64，再DEFLATE解压为zip流
-            byte[] decode = Base64.decode(fileContent);
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            Deflate deflate = Deflate.of(new ByteArrayInputStream(decode), out, false);
-            deflate.inflater();
-            deflate.close();
-
+        // 先解base64, 再DEFLATE解压为zip流, 以流的方式逐层解码, 不再缓存中间结果
+        String originalFile = null;
+        InputStream base64In = new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.ISO_8859_1));
+        try (var zipArchiveInputStream = new ZipArchiveInputStream(
+                new InflaterInputStream(Base64.getMimeDecoder().wrap(base64In)), "GBK")) {
             // 读取zip文件, 解析出对账单内容
-            byte[] zipBytes = out.toByteArray();
-            ZipArchiveInputStream zipArchiveInputStream = new ZipArchiveInputStream(new ByteArrayInputStream(zipBytes),"GBK");
             ZipArchiveEntry entry;
-            List<UnionReconcileBillDetail> billDetails = new ArrayList<>();
-            byte[] bytes = null;
-            while ((entry= zipArchiveInputStream.getNextZipEntry()) != null){
+            while ((entry = zipArchiveInputStream.getNextZipEntry()) != null){
                 if (StrUtil.startWith(entry.getName(), UnionPayCode.RECONCILE_FILE_PREFIX)){
-                    bytes = IoUtil.readBytes(zipArchiveInputStream);
-                    BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes),"GBK"));
-                    // 明细解析
-                    List<String> strings = IoUtil.readLines(bufferedReader, new ArrayList<>());
-                    billDetails = this.parseDetail(strings);
+                    try (var reader = ReconcileFileReader.of(zipArchiveInputStream, Charset.forName("GBK"))) {
+                        // 明细解析
+                        reader.lines(line -> {
+                            if (StrUtil.isBlank(line)) {
+                                return;
+                            }
+                            var tradeBo = this.convert(this.convertDetail(line), statement);
+                            // 只处理支付和退款的对账记录
+                            if (Objects.nonNull(tradeBo)) {
+                                consumer.accept(tradeBo);
+                            }
+                        });
+                        // 保存原始对账文件
+                        originalFile = reader.upload(fileStorageService, this.getFileName(statement));
+                    }
                 }
             }
-            // 保存原始对账文件
-            String originalFile = this.saveOriginalFile(statement, bytes);
-            // 解析账单文件
-            var tradeBos = this.convertAndSave(billDetails, statement);
             return new ReconcileResolveResultBo()
-                    .setOriginalFileUrl(originalFile)
-                    .setChannelTrades(tradeBos);
+                    .setOriginalFileUrl(originalFile);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    /**
-     * 解析对账单明细
-     */
-    private List<UnionReconcileBillDetail> parseDetail(List<String> list){
-        return list.stream()
-                .map(this::convertDetail)
-                .collect(Collectors.toList());
-    }
-
     /**
      * 解析明细条目
      */
@@ -130,18 +121,6 @@ public class UnionReconcileService {
         return BeanUtil.toBean(zmDataMap, UnionReconcileBillDetail.class);
     }
 
-    /**
-     * 转换为通用对账记录对象
-     */
-    private List<ChannelReconcileTradeBo> convertAndSave(List<UnionReconcileBillDetail> billDetails, ReconcileStatement statement){
-        // 只处理支付和退款的对账记录
-        return billDetails.stream()
-                .map(billDetail->this.convert(billDetail, statement))
-                // 只处理支付和退款的对账记录
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
     /**
      * 转换为通用对账记录对象
      */
@@ -176,18 +155,10 @@ public class UnionReconcileService {
     }
 
     /**
-     * 保存下载的原始对账文件
+     * 原始对账文件名称 通道-日期
      */
-    private String saveOriginalFile(ReconcileStatement statement, byte[] bytes) {
-
+    private String getFileName(ReconcileStatement statement) {
         String date = LocalDateTimeUtil.format(statement.getDate(), DatePattern.PURE_DATE_PATTERN);
-        // 将原始文件进行保存 通道-日期
-        String fileName = StrUtil.format("交易对账单-云闪付-{}.csv",date);
-        var uploadPretreatment = fileStorageService.of(bytes);
-        if (StrUtil.isNotBlank(fileName)) {
-            uploadPretreatment.setOriginalFilename(fileName);
-        }
-        FileInfo upload = uploadPretreatment.upload();
-        return upload.getUrl();
+        return StrUtil.format("交易对账单-云闪付-{}.csv",date);
     }
 }
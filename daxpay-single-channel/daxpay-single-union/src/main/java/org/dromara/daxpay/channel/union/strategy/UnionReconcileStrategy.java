@@ -1,5 +1,6 @@
 package org.dromara.daxpay.channel.union.strategy;
 
+import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.date.DateUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,8 +43,9 @@ public class UnionReconcileStrategy extends AbsReconcileStrategy {
     @Override
     public void doBeforeHandler() {
         UnionPayConfig config = unionPayConfigService.getAndCheckConfig();
-        // 测试环境使用测试号
+        // 测试环境使用测试号, 复制一份再修改, 缓存的配置对象不可修改
         if (config.isSandbox()) {
+            config = BeanUtil.copyProperties(config, UnionPayConfig.class);
             config.setUnionMachId("700000000000001");
         }
         this.config = config;
@@ -58,7 +60,7 @@ public class UnionReconcileStrategy extends AbsReconcileStrategy {
     public ReconcileResolveResultBo downAndResolve() {
         Date date = DateUtil.date(this.getStatement().getDate());
         UnionPayKit unionPayKit = unionPayConfigService.initPayKit(config);
-        return reconcileService.downAndResolve(this.getStatement(), date, unionPayKit);
+        return reconcileService.downAndResolve(this.getStatement(), date, unionPayKit, this.getTradeConsumer());
     }
 
     @Override
@@ -24,8 +24,8 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.util.PayUtil;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
 import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
-import org.dromara.daxpay.service.service.trade.pay.PayCallbackService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -43,8 +43,8 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class WechatPayCallbackService {
     private final WechatPayConfigService wechatPayConfigService;
-    private final PayCallbackService payCallbackService;
     private final TradeCallbackRecordService tradeCallbackRecordService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
 
     /**
      * 支付回调处理
@@ -52,10 +52,8 @@ public class WechatPayCallbackService {
     public String payHandle(HttpServletRequest request, boolean isv){
         // 解析数据
         if (this.resolve(request,isv)){
-            // 执行回调业务处理
-            payCallbackService.payCallback();
-            // 保存记录
-            tradeCallbackRecordService.saveCallbackRecord();
+            // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+            tradeCallbackInboxService.handle();
             return WxPayNotifyResponse.success("OK");
         } else {
             // 保存记录
@@ -26,8 +26,8 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.util.PayUtil;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
 import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
-import org.dromara.daxpay.service.service.trade.refund.RefundCallbackService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -44,8 +44,8 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class WechatRefundCallbackService {
     private final WechatPayConfigService wechatPayConfigService;
-    private final RefundCallbackService refundCallbackService;
     private final TradeCallbackRecordService tradeCallbackRecordService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
 
     /**
      * 退款回调处理
@@ -53,10 +53,8 @@ public class WechatRefundCallbackService {
     public String refundHandle(HttpServletRequest request, boolean isv){
         // 解析数据
         if (this.resolve(request,isv)){
-            // 执行回调业务处理
-            refundCallbackService.refundCallback();
-            // 保存记录
-            tradeCallbackRecordService.saveCallbackRecord();
+            // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+            tradeCallbackInboxService.handle();
             return WxPayNotifyResponse.success("OK");
         } else {
             // 保存记录
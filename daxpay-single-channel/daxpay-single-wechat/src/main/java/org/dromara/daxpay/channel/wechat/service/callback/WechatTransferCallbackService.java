@@ -19,8 +19,8 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.enums.TransferStatusEnum;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
 import org.dromara.daxpay.service.service.record.callback.TradeCallbackRecordService;
-import org.dromara.daxpay.service.service.trade.transfer.TransferCallbackService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -38,8 +38,8 @@ public class WechatTransferCallbackService {
 
 
     private final WechatPayConfigService wechatPayConfigService;
-    private final TransferCallbackService transferCallbackService;
     private final TradeCallbackRecordService tradeCallbackRecordService;
+    private final TradeCallbackInboxService tradeCallbackInboxService;
 
     /**
      * 回调处理
@@ -47,10 +47,8 @@ public class WechatTransferCallbackService {
     public String transferHandle(HttpServletRequest request, boolean isv) {
         // 解析数据
         if (this.resolve(request,isv)){
-            // 执行回调业务处理
-            transferCallbackService.transferCallback();
-            // 保存记录
-            tradeCallbackRecordService.saveCallbackRecord();
+            // 执行回调业务处理, 开启回调收件箱时只保存回调内容, 由后台异步处理
+            tradeCallbackInboxService.handle();
             return WxPayNotifyResponse.success("OK");
         } else {
             // 保存记录
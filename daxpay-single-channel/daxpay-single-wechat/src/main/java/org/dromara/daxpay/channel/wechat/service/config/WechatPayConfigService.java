@@ -18,6 +18,7 @@ import org.dromara.daxpay.core.exception.ChannelNotEnableException;
 import org.dromara.daxpay.core.exception.ConfigNotEnableException;
 import org.dromara.daxpay.core.exception.DataErrorException;
 import org.dromara.daxpay.service.common.cache.ChannelConfigCacheService;
+import org.dromara.daxpay.service.common.cache.ChannelConfigTypedCacheService;
 import org.dromara.daxpay.service.common.context.MchAppLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
 import org.dromara.daxpay.service.dao.config.ChannelConfigManager;
@@ -37,6 +38,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class WechatPayConfigService {
     private final ChannelConfigManager channelConfigManager;
     private final ChannelConfigCacheService channelConfigCacheService;
+    private final ChannelConfigTypedCacheService channelConfigTypedCacheService;
     private final PlatformConfigService platformConfigService;
 
     /**
@@ -137,7 +139,7 @@ public class WechatPayConfigService {
     public WechatPayConfig getWechatPayConfig(boolean isv){
         MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
         ChannelConfig channelConfig = channelConfigCacheService.get(mchAppInfo.getAppId(), isv? ChannelEnum.WECHAT_ISV.getCode():ChannelEnum.WECHAT.getCode());
-        return WechatPayConfig.convertConfig(channelConfig);
+        return channelConfigTypedCacheService.get(channelConfig, WechatPayConfig.class, WechatPayConfig::convertConfig);
     }
 
     /**
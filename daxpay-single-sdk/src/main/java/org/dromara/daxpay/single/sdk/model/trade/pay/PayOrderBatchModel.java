@@ -0,0 +1,17 @@
+package org.dromara.daxpay.single.sdk.model.trade.pay;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 支付订单批量查询响应参数
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+public class PayOrderBatchModel {
+
+    /** 支付订单列表 */
+    private List<PayOrderModel> orders;
+}
@@ -0,0 +1,17 @@
+package org.dromara.daxpay.single.sdk.model.trade.refund;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 退款订单批量查询响应参数
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+public class RefundOrderBatchModel {
+
+    /** 退款订单列表 */
+    private List<RefundOrderModel> orders;
+}
@@ -0,0 +1,17 @@
+package org.dromara.daxpay.single.sdk.model.trade.transfer;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 转账订单批量查询响应参数
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+public class TransferOrderBatchModel {
+
+    /** 转账订单列表 */
+    private List<TransferOrderModel> orders;
+}
@@ -0,0 +1,46 @@
+package org.dromara.daxpay.single.sdk.param.trade.refund;
+
+import lombok.experimental.Accessors;
+import org.dromara.daxpay.single.sdk.net.DaxPayRequest;
+import org.dromara.daxpay.single.sdk.response.DaxPayResult;
+import org.dromara.daxpay.single.sdk.model.trade.refund.RefundOrderBatchModel;
+import org.dromara.daxpay.single.sdk.util.JsonUtil;
+import cn.hutool.core.lang.TypeReference;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * 退款订单批量查询参数
+ * 两种单号可以同时传入, 每种单号单次不超过100个, 不存在的订单不返回
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+public class RefundQueryBatchParam extends DaxPayRequest<RefundOrderBatchModel> {
+
+    /** 退款号列表 */
+    private List<String> refundNos;
+
+    /** 商户退款号列表 */
+    private List<String> bizRefundNos;
+
+    /**
+     * 方法请求路径
+     */
+    @Override
+    public String path() {
+        return "/unipay/query/refundOrder/batch";
+    }
+
+    /**
+     * 将请求返回结果反序列化为实体类
+     */
+    @Override
+    public DaxPayResult<RefundOrderBatchModel> toModel(String json) {
+        return JsonUtil.toBean(json, new TypeReference<DaxPayResult<RefundOrderBatchModel>>() {});
+    }
+}
@@ -0,0 +1,312 @@
+package org.dromara.daxpay.single.sdk.test.loadtest;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.single.sdk.code.PayMethodEnum;
+import org.dromara.daxpay.single.sdk.code.PayStatusEnum;
+import org.dromara.daxpay.single.sdk.code.SignTypeEnum;
+import org.dromara.daxpay.single.sdk.model.trade.pay.PayResultModel;
+import org.dromara.daxpay.single.sdk.model.trade.pay.PaySyncModel;
+import org.dromara.daxpay.single.sdk.model.trade.refund.RefundModel;
+import org.dromara.daxpay.single.sdk.net.DaxPayConfig;
+import org.dromara.daxpay.single.sdk.net.DaxPayKit;
+import org.dromara.daxpay.single.sdk.param.trade.pay.PayParam;
+import org.dromara.daxpay.single.sdk.param.trade.pay.PaySyncParam;
+import org.dromara.daxpay.single.sdk.param.trade.refund.RefundParam;
+import org.dromara.daxpay.single.sdk.response.DaxPayResult;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 交易压测
+ * 使用模拟通道(mock_pay)按比例混合发起支付、同步和退款请求, 支付和退款的结果由模拟通道回调通知网关,
+ * 结束后输出各类请求的吞吐量和 p50/p99 耗时, 错误率超过上限时测试失败.
+ * <p>
+ * 默认跳过, 通过 -Dloadtest=true 开启. 需要先启动开启模拟通道的网关服务(使用 mock 配置打包, 并设置
+ * dax-pay.mock-channel.enable=true), 通道耗时、成功比例和回调延迟在服务端配置.
+ * 压测参数通过系统属性传入, 如 -Dloadtest.threads=64 -Dloadtest.seconds=120 -Dloadtest.mix=60,30,10 -Dloadtest.maxErrorRate=0.01.
+ * 对比虚拟线程时, 分别在服务端关闭和开启 spring.threads.virtual.enabled 后执行一次
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+public class TradeLoadTest {
+
+    /** 模拟通道编码 */
+    private static final String MOCK_CHANNEL = "mock_pay";
+
+    private static final String PAY = "pay";
+    private static final String SYNC = "sync";
+    private static final String REFUND = "refund";
+
+    /** 并发线程数 */
+    private int threads;
+
+    /** 压测时长(秒) */
+    private int seconds;
+
+    /** 支付, 同步, 退款 请求的比例 */
+    private int[] mix;
+
+    /** 允许的错误率 */
+    private double maxErrorRate;
+
+    /** 已发起未确认结果的支付订单 */
+    private final Queue<String> payingOrders = new ConcurrentLinkedQueue<>();
+
+    /** 已支付成功可以退款的支付订单 */
+    private final Queue<String> paidOrders = new ConcurrentLinkedQueue<>();
+
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+
+    /** 第一个请求错误, 用于失败时定位原因 */
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    @Before
+    public void init() {
+        Assume.assumeTrue("压测默认跳过, 通过 -Dloadtest=true 开启", Boolean.getBoolean("loadtest"));
+        // 初始化支付配置
+        DaxPayConfig config = DaxPayConfig.builder()
+                .serviceUrl(System.getProperty("loadtest.serviceUrl", "http://127.0.0.1:9999"))
+                .signSecret(System.getProperty("loadtest.signSecret", "123456"))
+                .appId(System.getProperty("loadtest.appId", "M8207639754663343"))
+                .signType(SignTypeEnum.HMAC_SHA256)
+                .build();
+        DaxPayKit.initConfig(config);
+        threads = Integer.getInteger("loadtest.threads", 32);
+        seconds = Integer.getInteger("loadtest.seconds", 60);
+        mix = Arrays.stream(System.getProperty("loadtest.mix", "60,30,10").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0"));
+        stats.put(PAY, new Stats());
+        stats.put(SYNC, new Stats());
+        stats.put(REFUND, new Stats());
+    }
+
+    /**
+     * 混合交易压测
+     */
+    @Test
+    public void mixed() throws InterruptedException {
+        // 预热, 不计入统计
+        for (int i = 0; i < threads; i++) {
+            this.pay();
+        }
+        // 预热全部失败时网关未启动或未开启模拟通道, 直接结束, 不再空跑整个压测时长
+        Assert.assertTrue(StrUtil.format("预热支付请求全部失败, 请确认网关已启动并开启模拟通道, 首个错误: {}", firstError.get()),
+                stats.get(PAY).errors.get() < threads);
+        stats.values().forEach(Stats::reset);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    this.next();
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue("压测线程未在超时时间内结束", executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS));
+        this.report();
+
+        Assert.assertFalse("压测期间没有完成任何支付请求", stats.get(PAY).sorted().isEmpty());
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats stat = entry.getValue();
+            long count = stat.sorted().size();
+            double errorRate = count == 0 ? 0 : stat.errors.get() / (double) count;
+            Assert.assertTrue(StrUtil.format("{} 请求错误率 {} 超过上限 {}, 首个错误: {}", entry.getKey(),
+                            errorRate, maxErrorRate, firstError.get()),
+                    errorRate <= maxErrorRate);
+        }
+    }
+
+    /**
+     * 按比例选择下一个请求, 没有可同步或可退款的订单时发起支付
+     */
+    private void next() {
+        int total = mix[0] + mix[1] + mix[2];
+        int r = ThreadLocalRandom.current().nextInt(total);
+        if (r >= mix[0] + mix[1]) {
+            String bizOrderNo = paidOrders.poll();
+            if (Objects.nonNull(bizOrderNo)) {
+                this.refund(bizOrderNo);
+                return;
+            }
+        } else if (r >= mix[0]) {
+            String bizOrderNo = payingOrders.poll();
+            if (Objects.nonNull(bizOrderNo)) {
+                this.sync(bizOrderNo);
+                return;
+            }
+        }
+        this.pay();
+    }
+
+    /**
+     * 支付
+     */
+    private void pay() {
+        PayParam param = new PayParam();
+        param.setClientIp("127.0.0.1");
+        param.setBizOrderNo("LT_" + System.nanoTime() + "_" + ThreadLocalRandom.current().nextInt(1000));
+        param.setTitle("压测支付");
+        param.setAmount(BigDecimal.valueOf(0.01));
+        param.setChannel(MOCK_CHANNEL);
+        param.setMethod(PayMethodEnum.QRCODE.getCode());
+        param.setAllocation(false);
+        DaxPayResult<PayResultModel> result = this.execute(PAY, () -> DaxPayKit.execute(param));
+        if (Objects.nonNull(result) && Objects.nonNull(result.getData())) {
+            if (Objects.equals(result.getData().getStatus(), PayStatusEnum.SUCCESS.getCode())) {
+                paidOrders.offer(param.getBizOrderNo());
+            } else {
+                payingOrders.offer(param.getBizOrderNo());
+            }
+        }
+    }
+
+    /**
+     * 支付同步, 还在支付中的订单重新放回队列, 等待回调或下次同步
+     */
+    private void sync(String bizOrderNo) {
+        PaySyncParam param = new PaySyncParam();
+        param.setBizOrderNo(bizOrderNo);
+        DaxPayResult<PaySyncModel> result = this.execute(SYNC, () -> DaxPayKit.execute(param));
+        if (Objects.nonNull(result) && Objects.nonNull(result.getData())) {
+            String status = result.getData().getOrderStatus();
+            if (Objects.equals(status, PayStatusEnum.SUCCESS.getCode())) {
+                paidOrders.offer(bizOrderNo);
+            } else if (Objects.equals(status, PayStatusEnum.PROGRESS.getCode())) {
+                payingOrders.offer(bizOrderNo);
+            }
+        }
+    }
+
+    /**
+     * 全额退款
+     */
+    private void refund(String bizOrderNo) {
+        RefundParam param = new RefundParam();
+        param.setBizOrderNo(bizOrderNo);
+        param.setBizRefundNo("LTR_" + System.nanoTime() + "_" + ThreadLocalRandom.current().nextInt(1000));
+        param.setAmount(BigDecimal.valueOf(0.01));
+        param.setClientIp("127.0.0.1");
+        this.<RefundModel>execute(REFUND, () -> DaxPayKit.execute(param));
+    }
+
+    /**
+     * 执行请求并记录耗时, 请求异常或响应码不为0时记为错误
+     */
+    private <T> DaxPayResult<T> execute(String type, Request<T> request) {
+        Stats stat = stats.get(type);
+        long start = System.nanoTime();
+        try {
+            DaxPayResult<T> result = request.execute();
+            stat.record(System.nanoTime() - start, result.getCode() == 0);
+            if (result.getCode() != 0 && firstError.compareAndSet(null, type + ": " + result.getMsg())) {
+                log.warn("压测请求失败, 类型: {}, 错误码: {}, 错误信息: {}", type, result.getCode(), result.getMsg());
+            }
+            return result;
+        } catch (Exception e) {
+            stat.record(System.nanoTime() - start, false);
+            if (firstError.compareAndSet(null, type + ": " + e.getMessage())) {
+                log.warn("压测请求异常, 类型: {}", type, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 输出统计结果
+     */
+    private void report() {
+        log.info("线程数: {}, 时长: {}s, 比例(支付/同步/退款): {}", threads, seconds, Arrays.toString(mix));
+        log.info(StrUtil.format("{}{}{}{}{}{}",
+                StrUtil.fillAfter("type", ' ', 10), StrUtil.fillAfter("count", ' ', 10), StrUtil.fillAfter("error", ' ', 10),
+                StrUtil.fillAfter("tps", ' ', 10), StrUtil.fillAfter("p50(ms)", ' ', 10), "p99(ms)"));
+        long count = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats stat = entry.getValue();
+            List<Long> latencies = stat.sorted();
+            count += latencies.size();
+            log.info(StrUtil.format("{}{}{}{}{}{}",
+                    StrUtil.fillAfter(entry.getKey(), ' ', 10),
+                    StrUtil.fillAfter(String.valueOf(latencies.size()), ' ', 10),
+                    StrUtil.fillAfter(String.valueOf(stat.errors.get()), ' ', 10),
+                    StrUtil.fillAfter(String.format("%.1f", latencies.size() / (double) seconds), ' ', 10),
+                    StrUtil.fillAfter(String.format("%.1f", percentile(latencies, 0.50)), ' ', 10),
+                    String.format("%.1f", percentile(latencies, 0.99))));
+        }
+        log.info("总吞吐量: {} 请求/秒", String.format("%.1f", count / (double) seconds));
+    }
+
+    /**
+     * 百分位耗时(毫秒)
+     */
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    /**
+     * 请求
+     */
+    private interface Request<T> {
+        DaxPayResult<T> execute();
+    }
+
+    /**
+     * 单类请求的统计
+     */
+    private static class Stats {
+
+        /** 耗时(纳秒) */
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long latency, boolean success) {
+            latencies.add(latency);
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void reset() {
+            latencies.clear();
+            errors.set(0);
+        }
+
+        List<Long> sorted() {
+            List<Long> sorted;
+            synchronized (latencies) {
+                sorted = new ArrayList<>(latencies);
+            }
+            Collections.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -2,14 +2,18 @@ package org.dromara.daxpay.single.sdk.test.query;
 
 import org.dromara.daxpay.single.sdk.code.SignTypeEnum;
 import org.dromara.daxpay.single.sdk.model.trade.pay.PayOrderModel;
+import org.dromara.daxpay.single.sdk.model.trade.pay.PayOrderBatchModel;
 import org.dromara.daxpay.single.sdk.net.DaxPayConfig;
 import org.dromara.daxpay.single.sdk.net.DaxPayKit;
 import org.dromara.daxpay.single.sdk.param.trade.pay.PayQueryParam;
+import org.dromara.daxpay.single.sdk.param.trade.pay.PayQueryBatchParam;
 import org.dromara.daxpay.single.sdk.response.DaxPayResult;
 import org.dromara.daxpay.single.sdk.util.JsonUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 /**
  * 查询支付订单测试类
  * @author xxm
@@ -40,4 +44,16 @@ public class QueryPayOrderTest {
         System.out.println(JsonUtil.toJsonStr(execute));
 
     }
+
+    @Test
+    public void testPayBatch() {
+        PayQueryBatchParam param = new PayQueryBatchParam();
+
+        param.setBizOrderNos(Arrays.asList("P17141882417921", "P17141882417922"));
+        param.setClientIp("127.0.0.1");
+
+        DaxPayResult<PayOrderBatchModel> execute = DaxPayKit.execute(param);
+        System.out.println(JsonUtil.toJsonStr(execute));
+
+    }
 }
@@ -2,14 +2,18 @@ package org.dromara.daxpay.single.sdk.test.query;
 
 import org.dromara.daxpay.single.sdk.code.SignTypeEnum;
 import org.dromara.daxpay.single.sdk.model.trade.refund.RefundOrderModel;
+import org.dromara.daxpay.single.sdk.model.trade.refund.RefundOrderBatchModel;
 import org.dromara.daxpay.single.sdk.net.DaxPayConfig;
 import org.dromara.daxpay.single.sdk.net.DaxPayKit;
 import org.dromara.daxpay.single.sdk.param.trade.refund.RefundQueryParam;
+import org.dromara.daxpay.single.sdk.param.trade.refund.RefundQueryBatchParam;
 import org.dromara.daxpay.single.sdk.response.DaxPayResult;
 import org.dromara.daxpay.single.sdk.util.JsonUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 /**
  * 退款订单查询接口
  * @author xxm
@@ -40,4 +44,16 @@ public class QueryRefundOrderTest {
         System.out.println(JsonUtil.toJsonStr(execute));
 
     }
+
+    @Test
+    public void testRefundBatch() {
+        RefundQueryBatchParam param = new RefundQueryBatchParam();
+
+        param.setRefundNos(Arrays.asList("DEVR24051020531763000014", "DEVR24051020531763000015"));
+        param.setClientIp("127.0.0.1");
+
+        DaxPayResult<RefundOrderBatchModel> execute = DaxPayKit.execute(param);
+        System.out.println(JsonUtil.toJsonStr(execute));
+
+    }
 }
@@ -0,0 +1,34 @@
+package org.dromara.daxpay.core.param.trade.transfer;
+
+import org.dromara.daxpay.core.param.PaymentCommonParam;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+
+/**
+ * 转账订单批量查询参数
+ * 两种单号可以同时传入, 返回结果为查到的订单合集, 不存在的订单不返回
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@Schema(title = "转账订单批量查询参数")
+public class QueryTransferBatchParam extends PaymentCommonParam {
+
+    /** 转账号列表 */
+    @Schema(description = "转账号列表")
+    @Size(max = 100, message = "转账号单次不可超过100个")
+    private List<@Size(max = 32, message = "转账号不可超过32位") String> transferNos;
+
+    /** 商户转账号列表 */
+    @Schema(description = "商户转账号列表")
+    @Size(max = 100, message = "商户转账号单次不可超过100个")
+    private List<@Size(max = 100, message = "商户转账号不可超过100位") String> bizTransferNos;
+}
@@ -0,0 +1,22 @@
+package org.dromara.daxpay.core.result.trade.pay;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 支付订单批量查询结果
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+@Accessors(chain = true)
+@Schema(title = "支付订单批量查询结果")
+public class PayOrderBatchResult {
+
+    /** 支付订单列表 */
+    @Schema(description = "支付订单列表")
+    private List<PayOrderResult> orders;
+}
@@ -0,0 +1,22 @@
+package org.dromara.daxpay.core.result.trade.refund;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 退款订单批量查询结果
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+@Accessors(chain = true)
+@Schema(title = "退款订单批量查询结果")
+public class RefundOrderBatchResult {
+
+    /** 退款订单列表 */
+    @Schema(description = "退款订单列表")
+    private List<RefundOrderResult> orders;
+}
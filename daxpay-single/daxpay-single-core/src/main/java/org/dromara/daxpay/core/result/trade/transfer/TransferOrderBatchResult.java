@@ -0,0 +1,22 @@
+package org.dromara.daxpay.core.result.trade.transfer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 转账订单批量查询结果
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+@Accessors(chain = true)
+@Schema(title = "转账订单批量查询结果")
+public class TransferOrderBatchResult {
+
+    /** 转账订单列表 */
+    @Schema(description = "转账订单列表")
+    private List<TransferOrderResult> orders;
+}
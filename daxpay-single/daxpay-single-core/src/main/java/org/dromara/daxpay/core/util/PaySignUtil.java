@@ -8,6 +8,7 @@ import cn.hutool.core.util.StrUtil;
 import cn.hutool.crypto.SecureUtil;
 import cn.hutool.crypto.SmUtil;
 import cn.hutool.crypto.digest.HmacAlgorithm;
+import cn.hutool.json.JSONUtil;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
@@ -84,7 +85,13 @@ public class PaySignUtil {
                     // 集合类型
                     else if (Collection.class.isAssignableFrom(field.getType())) {
                         Collection<?> collection = (Collection<?>) fieldValue;
-                        if (!collection.isEmpty()) {
+                        // 字符串和基础类型的集合转换为json数组
+                        if (!collection.isEmpty() && collection.stream().filter(Objects::nonNull)
+                                .allMatch(item -> item instanceof String || ClassUtil.isBasicType(item.getClass()))) {
+                            List<?> items = collection.stream().filter(Objects::nonNull).toList();
+                            // JsonUtil 会将集合作为对象序列化, 需要按数组处理
+                            map.put(fieldName, JSONUtil.toJsonStr(JSONUtil.parseArray(items)));
+                        } else if (!collection.isEmpty()) {
                             List<Map<String, String>> maps = collection.stream()
                                     .filter(Objects::nonNull)
                                     .map(item -> {
@@ -1,16 +1,29 @@
 package org.dromara.daxpay.core.util;
 
 import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.util.StrUtil;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.concurrent.atomic.AtomicLong;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 
 /**
  * 各类型订单号生成工具类
  *
- * 前缀(5)+业务类型(1)+机器码(2)+日期(14)+流水号(6)
+ * 前缀(5)+业务类型(1)+日期(14)+机器码(2)+流水号(6)
+ *
+ * 流水号按秒分配, 每秒的流水号空间被分成多个分段, 不同线程从各自的分段中获取, 降低并发争用.
+ * 当前秒的流水号用尽时借用下一秒继续生成, 系统时钟回拨时沿用已经使用过的最大秒数, 保证同一机器号下不会重复.
+ * 交易号中的时间最多领先系统时钟 {@link #MAX_AHEAD_SECONDS} 秒, 超出时等待时钟追上后再生成,
+ * 按交易号时间推算创建时间范围的查询依赖这个上限
  *
  * @author yxc
  * @since 2024/4/15
@@ -18,8 +31,32 @@ import java.util.concurrent.atomic.AtomicLong;
 @Slf4j
 public class TradeNoGenerateUtil {
 
-    private static final AtomicLong ATOMIC_LONG = new AtomicLong();
-    private final static long ORDER_MAX_LIMIT = 999999L;
+    /** 每秒可用的流水号数量 */
+    private static final int SEQUENCE_LIMIT = 1000000;
+    /** 流水号分段数量 */
+    private static final int STRIPES = 8;
+    /** 每个分段的流水号数量 */
+    private static final int STRIPE_SIZE = SEQUENCE_LIMIT / STRIPES;
+    /** 分段计数器之间的间隔, 避免多个计数器处于同一缓存行 */
+    private static final int PADDING = 16;
+    /** 流水号长度 */
+    private static final int SEQUENCE_LENGTH = 6;
+    /** 日期长度 */
+    private static final int DATE_LENGTH = 14;
+    /** 可以解析出的最早时间 */
+    private static final LocalDateTime EARLIEST_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+    /** 交易号中的时间领先系统时钟的最大秒数, 借用后续秒或时钟回拨时不会超过这个值 */
+    public static final int MAX_AHEAD_SECONDS = 30;
+    /** 等待时钟追上时每次等待的时间(纳秒) */
+    private static final long WAIT_NANOS = 1_000_000L;
+
+    /** 时钟, 返回当前毫秒数, 测试时用于模拟流水号用尽和时钟回拨 */
+    @Setter
+    private static LongSupplier clock = System::currentTimeMillis;
+
+    /** 当前使用中的秒 */
+    private static final AtomicReference<SecondBlock> CURRENT = new AtomicReference<>(new SecondBlock(currentSecond()));
+
     /** 机器号 两位 */
     @Setter
     private static String machineNo;
@@ -31,65 +68,191 @@ public class TradeNoGenerateUtil {
      * 生成支付订单号
      */
     public static String pay() {
-        StringBuilder orderNo = new StringBuilder();
-        String dateStr = LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
-        long id = ATOMIC_LONG.incrementAndGet();
-        orderNo.append(env).append("P").append(dateStr).append(machineNo).append(String.format("%06d", Math.abs(id) % ORDER_MAX_LIMIT));
-        return orderNo.toString();
+        return generate('P');
     }
 
     /**
      * 生成退款订单号
      */
     public static String refund() {
-        StringBuilder orderNo = new StringBuilder();
-        String dateStr = LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
-        long id = ATOMIC_LONG.incrementAndGet();
-        orderNo.append(env).append("R").append(dateStr).append(machineNo).append(String.format("%06d", Math.abs(id) % ORDER_MAX_LIMIT));
-        return orderNo.toString();
+        return generate('R');
     }
 
     /**
      * 生成转账订单号
      */
     public static String transfer() {
-        StringBuilder orderNo = new StringBuilder();
-        String dateStr = LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
-        long id = ATOMIC_LONG.incrementAndGet();
-        orderNo.append(env).append("T").append(dateStr).append(machineNo).append(String.format("%06d", Math.abs(id) % ORDER_MAX_LIMIT));
-        return orderNo.toString();
+        return generate('T');
     }
 
     /**
      * 生成分账订单号
      */
     public static String allocation() {
-        StringBuilder orderNo = new StringBuilder();
-        String dateStr = LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
-        long id = ATOMIC_LONG.incrementAndGet();
-        orderNo.append(env).append("A").append(dateStr).append(machineNo).append(String.format("%06d", Math.abs(id) % ORDER_MAX_LIMIT));
-        return orderNo.toString();
+        return generate('A');
     }
 
     /**
      * 生成对账订单号
      */
     public static String reconciliation() {
-        StringBuilder orderNo = new StringBuilder();
-        String dateStr = LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
-        long id = ATOMIC_LONG.incrementAndGet();
-        orderNo.append(env).append("C").append(dateStr).append(machineNo).append(String.format("%06d", Math.abs(id) % ORDER_MAX_LIMIT));
-        return orderNo.toString();
+        return generate('C');
     }
 
     /**
      * 生成修复单号
      */
     public static String repair() {
-        StringBuilder orderNo = new StringBuilder();
-        String dateStr = LocalDateTime.now().format(DatePattern.PURE_DATETIME_FORMATTER);
-        long id = ATOMIC_LONG.incrementAndGet();
-        orderNo.append(env).append("X").append(dateStr).append(machineNo).append(String.format("%06d", Math.abs(id) % ORDER_MAX_LIMIT));
-        return orderNo.toString();
+        return generate('X');
+    }
+
+    /**
+     * 解析交易号中的日期时间, 交易号格式不符或时间不在合理范围内时返回null
+     * 日期位于 环境前缀 + 业务类型 之后, 与各节点的机器号长度无关
+     */
+    public static LocalDateTime parseTime(String tradeNo) {
+        String env = StrUtil.nullToEmpty(TradeNoGenerateUtil.env);
+        int start = env.length() + 1;
+        int end = start + DATE_LENGTH;
+        if (StrUtil.length(tradeNo) < end + SEQUENCE_LENGTH || !tradeNo.startsWith(env)) {
+            return null;
+        }
+        LocalDateTime time;
+        try {
+            time = LocalDateTime.parse(tradeNo.substring(start, end), DatePattern.PURE_DATETIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        // 其他格式的单号可能恰好解析出日期, 超出范围的视为无法解析
+        if (time.isBefore(EARLIEST_TIME) || time.isAfter(LocalDateTime.now().plusDays(1))) {
+            return null;
+        }
+        return time;
+    }
+
+    /**
+     * 生成订单号, 直接写入定长的字符数组, 不使用格式化
+     */
+    private static String generate(char type) {
+        String env = StrUtil.nullToEmpty(TradeNoGenerateUtil.env);
+        String machineNo = StrUtil.nullToEmpty(TradeNoGenerateUtil.machineNo);
+        SecondBlock block;
+        int sequence;
+        do {
+            block = current();
+            sequence = Objects.isNull(block) ? -1 : block.next();
+        } while (sequence < 0);
+
+        char[] chars = new char[env.length() + 1 + DATE_LENGTH + machineNo.length() + SEQUENCE_LENGTH];
+        int pos = 0;
+        env.getChars(0, env.length(), chars, pos);
+        pos += env.length();
+        chars[pos++] = type;
+        System.arraycopy(block.date, 0, chars, pos, DATE_LENGTH);
+        pos += DATE_LENGTH;
+        machineNo.getChars(0, machineNo.length(), chars, pos);
+        pos += machineNo.length();
+        for (int i = pos + SEQUENCE_LENGTH - 1; i >= pos; i--) {
+            chars[i] = (char) ('0' + sequence % 10);
+            sequence /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 获取当前可用的秒, 时钟前进时切换到新的秒, 时钟回拨时继续使用原来的秒,
+     * 使用的秒超出系统时钟 {@link #MAX_AHEAD_SECONDS} 秒时等待一段时间后返回空, 由调用方重新获取
+     */
+    private static SecondBlock current() {
+        SecondBlock block = CURRENT.get();
+        long now = currentSecond();
+        if (now > block.second && !block.exhausted) {
+            SecondBlock next = new SecondBlock(now);
+            // 切换失败说明其他线程已经切换, 使用最新的即可
+            return CURRENT.compareAndSet(block, next) ? next : CURRENT.get();
+        }
+        if (block.exhausted) {
+            // 当前秒的流水号已经用尽, 借用后续的秒
+            long second = Math.max(now, block.second + 1);
+            if (second - now > MAX_AHEAD_SECONDS) {
+                return waitClock(block, second);
+            }
+            SecondBlock next = new SecondBlock(second);
+            if (CURRENT.compareAndSet(block, next)) {
+                if (next.second > now) {
+                    log.warn("订单号流水号用尽, 借用后续时间 {} 生成", next.second);
+                }
+                return next;
+            }
+            return CURRENT.get();
+        }
+        if (block.second - now > MAX_AHEAD_SECONDS) {
+            // 时钟回拨超出上限
+            return waitClock(block, block.second);
+        }
+        return block;
+    }
+
+    /**
+     * 需要使用的秒超出系统时钟的上限, 等待时钟追上
+     */
+    private static SecondBlock waitClock(SecondBlock block, long second) {
+        if (!block.waiting) {
+            block.waiting = true;
+            log.warn("订单号时间 {} 超出系统时钟 {} 秒以上, 等待时钟追上后继续生成", second, MAX_AHEAD_SECONDS);
+        }
+        LockSupport.parkNanos(WAIT_NANOS);
+        return null;
+    }
+
+    /**
+     * 当前时间的秒数
+     */
+    private static long currentSecond() {
+        return clock.getAsLong() / 1000;
+    }
+
+    /**
+     * 一秒内的流水号分配
+     */
+    private static class SecondBlock {
+        /** 秒数 */
+        private final long second;
+        /** 已经格式化好的日期 */
+        private final char[] date;
+        /** 各分段已经分配的数量 */
+        private final AtomicLongArray counters = new AtomicLongArray(STRIPES * PADDING);
+        /** 全部分段都已经用尽 */
+        private volatile boolean exhausted;
+        /** 已经开始等待时钟追上, 只记录一次日志 */
+        private volatile boolean waiting;
+
+        private SecondBlock(long second) {
+            this.second = second;
+            this.date = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault())
+                    .format(DatePattern.PURE_DATETIME_FORMATTER)
+                    .toCharArray();
+        }
+
+        /**
+         * 获取下一个流水号, 优先使用当前线程对应的分段, 分段用尽时依次尝试其他分段, 全部用尽时返回-1
+         */
+        private int next() {
+            int first = (int) (Thread.currentThread().threadId() % STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                int stripe = (first + i) % STRIPES;
+                int index = stripe * PADDING;
+                // 已经用尽的分段不再自增, 避免计数溢出
+                if (counters.get(index) >= STRIPE_SIZE) {
+                    continue;
+                }
+                long count = counters.getAndIncrement(index);
+                if (count < STRIPE_SIZE) {
+                    return (int) (stripe * STRIPE_SIZE + count);
+                }
+            }
+            exhausted = true;
+            return -1;
+        }
     }
 }
@@ -0,0 +1,95 @@
+package org.dromara.daxpay.core.util;
+
+import org.dromara.daxpay.core.param.PaymentCommonParam;
+import org.dromara.daxpay.core.param.trade.pay.QueryPayBatchParam;
+import org.dromara.daxpay.core.param.trade.refund.RefundParam;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 签名工具测试, 固定待签名字符串的格式, 格式变化会导致商户侧签名无法通过
+ * @author xxm
+ * @since 2025/1/17
+ */
+class PaySignUtilTest {
+
+    private static final String SIGN_KEY = "123456";
+
+    private static final String APP_ID = "M7934041241299655";
+
+    private static final LocalDateTime REQ_TIME = LocalDateTime.of(2025, 1, 17, 10, 30, 5);
+
+    /**
+     * 字符串集合按json数组参与签名, 空集合、空值和sign字段不参与签名, 末尾追加签名key
+     */
+    @Test
+    void collectionSignString() {
+        QueryPayBatchParam param = new QueryPayBatchParam();
+        param.setOrderNos(List.of("DEVP25011710300063001", "DEVP25011710300063002"));
+        param.setBizOrderNos(List.of());
+        this.common(param);
+        param.setSign("ignored");
+
+        assertEquals("appId=" + APP_ID
+                        + "&nonceStr=abc"
+                        + "&orderNos=[DEVP25011710300063001,DEVP25011710300063002]"
+                        + "&reqTime=2025-01-17 10:30:05"
+                        + "&key=" + SIGN_KEY,
+                PaySignUtil.signString(param, SIGN_KEY));
+    }
+
+    /**
+     * 金额去除末尾的0后参与签名
+     */
+    @Test
+    void decimalSignString() {
+        RefundParam param = new RefundParam();
+        param.setOrderNo("DEVP25011710300063001");
+        param.setBizRefundNo("R0001");
+        param.setAmount(new BigDecimal("10.50"));
+        this.common(param);
+
+        assertEquals("amount=10.5"
+                        + "&appId=" + APP_ID
+                        + "&bizRefundNo=R0001"
+                        + "&nonceStr=abc"
+                        + "&orderNo=DEVP25011710300063001"
+                        + "&reqTime=2025-01-17 10:30:05"
+                        + "&key=" + SIGN_KEY,
+                PaySignUtil.signString(param, SIGN_KEY));
+    }
+
+    /**
+     * 签名后验签通过, 参数变化后验签失败
+     */
+    @Test
+    void signAndVerify() {
+        QueryPayBatchParam param = new QueryPayBatchParam();
+        param.setBizOrderNos(List.of("B0001", "B0002"));
+        this.common(param);
+
+        String md5 = PaySignUtil.md5Sign(param, SIGN_KEY);
+        String hmac = PaySignUtil.hmacSha256Sign(param, SIGN_KEY);
+        String sm3 = PaySignUtil.sm3Sign(param, SIGN_KEY);
+        param.setSign(md5);
+        assertTrue(PaySignUtil.verifyMd5Sign(param, SIGN_KEY, md5));
+        assertTrue(PaySignUtil.verifyHmacSha256Sign(param, SIGN_KEY, hmac));
+        assertTrue(PaySignUtil.verifySm3Sign(param, SIGN_KEY, sm3));
+
+        param.setBizOrderNos(List.of("B0002", "B0001"));
+        assertFalse(PaySignUtil.verifyMd5Sign(param, SIGN_KEY, md5));
+    }
+
+    private void common(PaymentCommonParam param) {
+        param.setAppId(APP_ID);
+        param.setNonceStr("abc");
+        param.setReqTime(REQ_TIME);
+    }
+}
@@ -0,0 +1,185 @@
+package org.dromara.daxpay.core.util;
+
+import cn.hutool.core.date.DatePattern;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 交易号生成测试, 使用模拟时钟覆盖流水号用尽、借用后续秒和时钟回拨的情况
+ * @author xxm
+ * @since 2025/1/17
+ */
+class TradeNoGenerateUtilTest {
+
+    /** 每秒可用的流水号数量 */
+    private static final int SEQUENCE_LIMIT = 1000000;
+
+    private static final String ENV = "DEV";
+
+    private static final String MACHINE_NO = "60";
+
+    /** 模拟时钟(毫秒) */
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    /** 各测试使用的起始时间(秒), 生成器的状态在测试之间共享, 每个测试使用更晚的时间避免互相影响 */
+    private static final AtomicLong NEXT_BASE = new AtomicLong(System.currentTimeMillis() / 1000 + 3600);
+
+    @BeforeAll
+    static void init() {
+        TradeNoGenerateUtil.setEnv(ENV);
+        TradeNoGenerateUtil.setMachineNo(MACHINE_NO);
+        TradeNoGenerateUtil.setClock(CLOCK::get);
+    }
+
+    @AfterAll
+    static void close() {
+        TradeNoGenerateUtil.setClock(System::currentTimeMillis);
+    }
+
+    /**
+     * 一秒内的流水号用尽后借用下一秒, 同一秒内流水号不重复
+     */
+    @Test
+    void exhaustionBorrowsNextSecond() {
+        long base = this.nextBase();
+        BitSet sequences = new BitSet(SEQUENCE_LIMIT);
+        for (int i = 0; i < SEQUENCE_LIMIT; i++) {
+            String tradeNo = TradeNoGenerateUtil.pay();
+            assertEquals(base, second(tradeNo));
+            int sequence = sequence(tradeNo);
+            assertFalse(sequences.get(sequence), tradeNo);
+            sequences.set(sequence);
+        }
+        assertEquals(base + 1, second(TradeNoGenerateUtil.pay()));
+    }
+
+    /**
+     * 多个线程同时生成超过一秒上限的交易号, 全部不重复
+     */
+    @Test
+    void concurrentUnique() throws Exception {
+        long base = this.nextBase();
+        int threads = 8;
+        int perThread = SEQUENCE_LIMIT / 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    long[] keys = new long[perThread];
+                    for (int j = 0; j < perThread; j++) {
+                        String tradeNo = TradeNoGenerateUtil.pay();
+                        keys[j] = (second(tradeNo) - base) * SEQUENCE_LIMIT + sequence(tradeNo);
+                    }
+                    return keys;
+                }, executor));
+            }
+            long[] all = new long[threads * perThread];
+            for (int i = 0; i < threads; i++) {
+                System.arraycopy(futures.get(i).get(1, TimeUnit.MINUTES), 0, all, i * perThread, perThread);
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertNotEquals(all[i - 1], all[i]);
+            }
+            assertEquals(0, all[0] / SEQUENCE_LIMIT);
+            assertEquals(1, all[all.length - 1] / SEQUENCE_LIMIT);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 借用后续秒最多领先时钟上限秒数, 超出时等待时钟前进
+     */
+    @Test
+    void borrowCapped() throws Exception {
+        long base = this.nextBase();
+        int seconds = TradeNoGenerateUtil.MAX_AHEAD_SECONDS + 1;
+        String last = null;
+        for (long i = 0; i < (long) seconds * SEQUENCE_LIMIT; i++) {
+            last = TradeNoGenerateUtil.pay();
+        }
+        assertEquals(base + TradeNoGenerateUtil.MAX_AHEAD_SECONDS, second(last));
+
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(TradeNoGenerateUtil::pay);
+        assertThrows(TimeoutException.class, () -> next.get(200, TimeUnit.MILLISECONDS));
+        CLOCK.addAndGet(1000);
+        assertEquals(base + seconds, second(next.get(10, TimeUnit.SECONDS)));
+    }
+
+    /**
+     * 时钟回拨时沿用已经使用过的秒, 回拨超出上限时等待时钟追上
+     */
+    @Test
+    void rollbackHoldsSecond() throws Exception {
+        long base = this.nextBase();
+        assertEquals(base, second(TradeNoGenerateUtil.pay()));
+
+        CLOCK.set((base - 10) * 1000);
+        assertEquals(base, second(TradeNoGenerateUtil.pay()));
+
+        CLOCK.set((base - 120) * 1000);
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(TradeNoGenerateUtil::pay);
+        assertThrows(TimeoutException.class, () -> next.get(200, TimeUnit.MILLISECONDS));
+        CLOCK.set((base - TradeNoGenerateUtil.MAX_AHEAD_SECONDS) * 1000);
+        assertEquals(base, second(next.get(10, TimeUnit.SECONDS)));
+    }
+
+    /**
+     * 交易号中的时间可以被解析
+     */
+    @Test
+    void parseTime() {
+        long base = this.nextBase();
+        String tradeNo = TradeNoGenerateUtil.refund();
+        assertEquals(base, TradeNoGenerateUtil.parseTime(tradeNo).atZone(ZoneId.systemDefault()).toEpochSecond());
+        assertTrue(tradeNo.startsWith(ENV + "R"));
+    }
+
+    /**
+     * 取一个新的起始时间并设置模拟时钟
+     */
+    private long nextBase() {
+        long base = NEXT_BASE.getAndAdd(1000);
+        CLOCK.set(base * 1000);
+        return base;
+    }
+
+    /**
+     * 交易号中的秒数
+     */
+    private static long second(String tradeNo) {
+        int start = ENV.length() + 1;
+        return LocalDateTime.parse(tradeNo.substring(start, start + 14), DatePattern.PURE_DATETIME_FORMATTER)
+                .atZone(ZoneId.systemDefault())
+                .toEpochSecond();
+    }
+
+    /**
+     * 交易号中的流水号
+     */
+    private static int sequence(String tradeNo) {
+        return Integer.parseInt(tradeNo.substring(tradeNo.length() - 6));
+    }
+}
@@ -0,0 +1,128 @@
+package org.dromara.daxpay.service.aop;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.dromara.daxpay.service.service.report.ChannelMetricsService;
+import org.dromara.daxpay.service.strategy.AbsPayCloseStrategy;
+import org.dromara.daxpay.service.strategy.AbsPayStrategy;
+import org.dromara.daxpay.service.strategy.AbsSyncPayOrderStrategy;
+import org.dromara.daxpay.service.strategy.PaymentStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * 通道调用监控切面, 记录各类策略调用通道接口的耗时、异常和并发数
+ * 策略类由 PaymentStrategyFactory 从容器中获取, 获取到的是代理后的对象
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Aspect
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChannelMetricsAspect {
+
+    private static final String STRATEGY = "org.dromara.daxpay.service.strategy.";
+
+    private final ChannelMetricsService channelMetricsService;
+
+    @Around("execution(* " + STRATEGY + "AbsPayStrategy+.doPayHandler())")
+    public Object pay(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "pay");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsSyncPayOrderStrategy+.doSync())")
+    public Object paySync(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "pay_sync");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsPayCloseStrategy+.doCloseHandler())")
+    public Object close(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "close");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsRefundStrategy+.doRefundHandler())")
+    public Object refund(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "refund");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsSyncRefundOrderStrategy+.doSync())")
+    public Object refundSync(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "refund_sync");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsTransferStrategy+.doTransferHandler())")
+    public Object transfer(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "transfer");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsSyncTransferOrderStrategy+.doSync())")
+    public Object transferSync(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "transfer_sync");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsAllocationStrategy+.start())")
+    public Object allocation(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "allocation");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsAllocationStrategy+.finish())")
+    public Object allocationFinish(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "allocation_finish");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsAllocationStrategy+.doSync())")
+    public Object allocationSync(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "allocation_sync");
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsAllocReceiverStrategy+.bind()) || execution(* " + STRATEGY + "AbsAllocReceiverStrategy+.unbind())")
+    public Object receiver(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "receiver_" + pjp.getSignature().getName());
+    }
+
+    @Around("execution(* " + STRATEGY + "AbsReconcileStrategy+.downAndResolve())")
+    public Object reconcile(ProceedingJoinPoint pjp) throws Throwable {
+        return this.record(pjp, "reconcile");
+    }
+
+    /**
+     * 记录调用耗时, 异常类型和执行中的数量
+     * @param operation 操作类型
+     */
+    private Object record(ProceedingJoinPoint pjp, String operation) throws Throwable {
+        PaymentStrategy strategy = (PaymentStrategy) pjp.getTarget();
+        String channel = strategy.getChannel();
+        String method = this.getMethod(strategy);
+        var inFlight = channelMetricsService.getInFlight(channel, operation);
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            channelMetricsService.record(channel, operation, method, System.nanoTime() - start, error);
+        }
+    }
+
+    /**
+     * 获取支付方式, 只有支付相关的操作有支付方式
+     */
+    private String getMethod(PaymentStrategy strategy) {
+        String method = switch (strategy) {
+            case AbsPayStrategy o -> Objects.nonNull(o.getPayParam()) ? o.getPayParam().getMethod() : null;
+            case AbsSyncPayOrderStrategy o -> Objects.nonNull(o.getOrder()) ? o.getOrder().getMethod() : null;
+            case AbsPayCloseStrategy o -> Objects.nonNull(o.getOrder()) ? o.getOrder().getMethod() : null;
+            default -> null;
+        };
+        return Objects.requireNonNullElse(method, ChannelMetricsService.NONE);
+    }
+}
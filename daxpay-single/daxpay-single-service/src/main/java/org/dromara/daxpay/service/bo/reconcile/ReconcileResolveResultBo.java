@@ -15,7 +15,7 @@ import java.util.List;
 public class ReconcileResolveResultBo {
 
     /**
-     * 通道交易明细
+     * 通道交易明细, 流式解析的通道直接交给对账策略的 tradeConsumer 处理, 不在此返回
      */
     private List<ChannelReconcileTradeBo> channelTrades;
 
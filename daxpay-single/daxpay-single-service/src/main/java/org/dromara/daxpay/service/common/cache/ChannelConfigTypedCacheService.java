@@ -0,0 +1,73 @@
+package org.dromara.daxpay.service.common.cache;
+
+import org.dromara.daxpay.core.exception.ConfigNotEnableException;
+import org.dromara.daxpay.service.entity.config.ChannelConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 通道配置解析结果缓存
+ * 通道配置的扩展信息(ext)按通道解析为具体的配置对象, 解析结果按 (应用号, 通道, 版本号) 缓存在当前实例中,
+ * 配置修改后版本号变化会重新解析, 在本实例修改时与 cache:channelConfig 同时清除.
+ * 缓存的配置对象会被多个请求共享, 调用方不可修改其中的属性
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+public class ChannelConfigTypedCacheService {
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取解析后的通道配置, 版本号或类型不一致时重新解析
+     * @param channelConfig 通道配置
+     * @param type 配置类型
+     * @param decoder 解析方法
+     */
+    public <T> T get(ChannelConfig channelConfig, Class<T> type, Function<ChannelConfig, T> decoder) {
+        String key = key(channelConfig.getAppId(), channelConfig.getChannel());
+        Integer version = channelConfig.getVersion();
+        Entry entry = cache.get(key);
+        if (Objects.isNull(entry) || !Objects.equals(entry.version(), version) || !type.isInstance(entry.config())) {
+            T config = decoder.apply(channelConfig);
+            if (Objects.isNull(config)) {
+                throw new ConfigNotEnableException("通道配置解析失败");
+            }
+            entry = new Entry(version, config);
+            cache.put(key, entry);
+        }
+        return type.cast(entry.config());
+    }
+
+    /**
+     * 清除指定通道的缓存
+     */
+    public void evict(String appId, String channel) {
+        cache.remove(key(appId, channel));
+    }
+
+    /**
+     * 清除全部缓存
+     */
+    public void evictAll() {
+        cache.clear();
+    }
+
+    private static String key(String appId, String channel) {
+        return appId + ":" + channel;
+    }
+
+    /**
+     * 缓存项
+     * @param version 通道配置版本号
+     * @param config 解析后的配置
+     */
+    private record Entry(Integer version, Object config) {
+    }
+}
@@ -0,0 +1,69 @@
+package org.dromara.daxpay.service.common.cache;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 支付订单终态本地缓存
+ * 商户重复发起已经完成的订单时, 直接根据缓存的状态拒绝, 不需要获取分布式锁和查询数据库.
+ * 缓存只保存在当前实例中, 订单在本实例更新时清除, 其他实例更新的订单在缓存过期后生效
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+public class PayOrderStatusCacheService {
+
+    /** 缓存时长(毫秒) */
+    private static final long TIMEOUT = 10 * 1000L;
+
+    private final TimedCache<String, String> cache = CacheUtil.newTimedCache(TIMEOUT);
+
+    public PayOrderStatusCacheService() {
+        cache.schedulePrune(TIMEOUT);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        cache.cancelPruneSchedule();
+    }
+
+    /**
+     * 获取缓存的订单终态, 不存在时返回空
+     */
+    public String get(String appId, String bizOrderNo) {
+        return cache.get(key(appId, bizOrderNo), false);
+    }
+
+    /**
+     * 缓存订单终态
+     */
+    public void put(String appId, String bizOrderNo, String status) {
+        cache.put(key(appId, bizOrderNo), status);
+    }
+
+    /**
+     * 清除缓存, 在事务中时提交后再清除一次, 避免提交前其他请求读取到旧状态后重新写入缓存
+     */
+    public void evict(String appId, String bizOrderNo) {
+        String key = key(appId, bizOrderNo);
+        cache.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(key);
+                }
+            });
+        }
+    }
+
+    private static String key(String appId, String bizOrderNo) {
+        return appId + ":" + bizOrderNo;
+    }
+}
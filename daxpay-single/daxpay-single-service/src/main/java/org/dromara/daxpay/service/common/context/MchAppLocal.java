@@ -1,64 +1,103 @@
 package org.dromara.daxpay.service.common.context;
 
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
 import org.dromara.daxpay.core.enums.MerchantNotifyTypeEnum;
+import org.dromara.daxpay.service.entity.merchant.MchApp;
 import org.dromara.daxpay.service.enums.MchAppStatusEnum;
-import lombok.Data;
-import lombok.experimental.Accessors;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 /**
  * 商户应用
+ * 不可变的应用信息快照, 同一版本的应用配置在各请求的上下文中共享同一个实例
  * @author xxm
  * @since 2024/6/27
  */
-@Data
-@Accessors(chain = true)
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class MchAppLocal {
 
+    /** 未初始化应用信息时使用的空实例 */
+    public static final MchAppLocal EMPTY = new MchAppLocal(null, null, null, null, false, null, null, null, null, null, null);
+
     /** 应用号 */
-    private String appId;
+    private final String appId;
 
     /** 签名方式 */
-    private String signType;
+    private final String signType;
 
     /** 签名秘钥 */
-    private String signSecret;
+    private final String signSecret;
+
+    /** 签名密钥版本, 由签名方式和秘钥摘要生成, 更换签名方式或秘钥后发生变化 */
+    private final String signKeyVersion;
 
     /** 是否对请求进行验签 */
-    private Boolean reqSign;
+    private final boolean reqSign;
 
     /** 支付限额 */
-    private BigDecimal limitAmount;
+    private final BigDecimal limitAmount;
 
     /** 订单默认超时时间(分钟) */
-    private Integer orderTimeout;
+    private final Integer orderTimeout;
 
     /**
      * 请求有效时长(秒)
      * 如果传输的请求时间早于当前服务时间, 而且差值超过配置的时长, 将会请求失败
      * 如果传输的请求时间比服务时间大于配置的时长(超过一分钟), 将会请求失败
      */
-    private Integer reqTimeout;
+    private final Integer reqTimeout;
 
     /**
      * 应用状态
      * @see MchAppStatusEnum
      */
-    private String status;
+    private final String status;
 
     /**
      * 异步消息通知类型, 当前只支持http方式
      * @see MerchantNotifyTypeEnum
      */
-    private String notifyType;
+    private final String notifyType;
 
     /**
      * 地址, http/WebSocket 需要配置
      */
-    private String notifyUrl;
+    private final String notifyUrl;
+
+    /**
+     * 根据应用配置创建快照, 应用配置中没有请求有效时长, 保持为空
+     */
+    public static MchAppLocal of(MchApp mchApp) {
+        return new MchAppLocal(mchApp.getAppId(),
+                mchApp.getSignType(),
+                mchApp.getSignSecret(),
+                signKeyVersion(mchApp.getSignType(), mchApp.getSignSecret()),
+                mchApp.isReqSign(),
+                mchApp.getLimitAmount(),
+                mchApp.getOrderTimeout(),
+                null,
+                mchApp.getStatus(),
+                mchApp.getNotifyType(),
+                mchApp.getNotifyUrl());
+    }
+
+    /**
+     * 生成签名密钥版本, 只保留摘要的前16位, 不暴露秘钥本身
+     */
+    private static String signKeyVersion(String signType, String signSecret) {
+        if (Objects.isNull(signType) || Objects.isNull(signSecret)) {
+            return null;
+        }
+        return StrUtil.sub(SecureUtil.sha256(signType + ":" + signSecret), 0, 16);
+    }
 
     public Boolean getReqSign() {
-        return Boolean.TRUE.equals(reqSign);
+        return reqSign;
     }
 }
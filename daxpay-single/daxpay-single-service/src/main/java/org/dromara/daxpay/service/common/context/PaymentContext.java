@@ -1,6 +1,7 @@
 package org.dromara.daxpay.service.common.context;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 
 /**
@@ -16,8 +17,10 @@ public class PaymentContext {
      * 统一支付相关接口调用时，会进行初始化
      * 接收到回调时，会进行初始化
      * 接收到消息通知时是, 会进行初始化
+     * 应用信息为不可变的快照, 初始化时直接替换引用
      */
-    private final MchAppLocal mchAppInfo = new MchAppLocal();
+    @Setter
+    private volatile MchAppLocal mchAppInfo = MchAppLocal.EMPTY;
 
     /** 请求终端信息 */
     private final ClientLocal clientInfo = new ClientLocal();
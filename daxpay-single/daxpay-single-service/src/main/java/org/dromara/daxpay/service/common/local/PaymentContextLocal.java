@@ -5,6 +5,7 @@ import com.alibaba.ttl.TransmittableThreadLocal;
 import lombok.experimental.UtilityClass;
 
 import java.util.Objects;
+import java.util.concurrent.Callable;
 
 /**
  * 支付上下文线程变量
@@ -34,4 +35,49 @@ public final class PaymentContextLocal {
     public static void clear() {
         THREAD_LOCAL.remove();
     }
+
+    /**
+     * 包装任务, 执行时使用提交任务时线程中的支付上下文, 执行完成后恢复执行线程原有的上下文
+     * 只传递支付上下文这一个变量, 不需要捕获和回放全部的线程变量, 适用于每个任务新建一个虚拟线程
+     * 并且不继承线程变量的执行器
+     */
+    public Runnable wrap(Runnable task) {
+        PaymentContext captured = THREAD_LOCAL.get();
+        return () -> {
+            PaymentContext previous = replay(captured);
+            try {
+                task.run();
+            } finally {
+                replay(previous);
+            }
+        };
+    }
+
+    /**
+     * 包装有返回值的任务, 同 {@link #wrap(Runnable)}
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        PaymentContext captured = THREAD_LOCAL.get();
+        return () -> {
+            PaymentContext previous = replay(captured);
+            try {
+                return task.call();
+            } finally {
+                replay(previous);
+            }
+        };
+    }
+
+    /**
+     * 设置支付上下文, 返回原有的上下文
+     */
+    private PaymentContext replay(PaymentContext context) {
+        PaymentContext previous = THREAD_LOCAL.get();
+        if (Objects.isNull(context)) {
+            THREAD_LOCAL.remove();
+        } else {
+            THREAD_LOCAL.set(context);
+        }
+        return previous;
+    }
 }
@@ -0,0 +1,11 @@
+package org.dromara.daxpay.service.common.lock;
+
+/**
+ * 交易锁
+ * @param key 锁的键
+ * @param value 锁的值, 释放时校验, 避免释放其他线程持有的锁
+ * @author xxm
+ * @since 2025/1/17
+ */
+public record TradeLock(String key, String value) {
+}
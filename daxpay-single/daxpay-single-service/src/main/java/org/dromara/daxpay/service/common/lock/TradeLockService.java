@@ -0,0 +1,187 @@
+package org.dromara.daxpay.service.common.lock;
+
+import cn.hutool.core.util.IdUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 交易锁服务
+ * 订单级别的两级锁, 先获取本实例内按键区分的本地锁, 再获取 Redis 分布式锁. 同一实例内竞争同一订单的请求
+ * 在本地锁上排队, 同一时刻每个实例只有一个线程去竞争 Redis 锁. 分布式锁释放时通过 Redis 发布订阅通知
+ * 其他实例中等待的线程, 不需要轮询重试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeLockService {
+
+    /** 锁释放通知的频道 */
+    private static final String RELEASE_CHANNEL = "daxpay:lock:release";
+
+    /** 等待分布式锁时单次最长等待时间(毫秒), 锁持有方异常退出未发送通知时, 到时间后重新尝试获取 */
+    private static final long MAX_WAIT_INTERVAL = 1000;
+
+    /** 释放锁, 值一致时删除并发布释放通知 */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "redis.call('del', KEYS[1]); " +
+            "redis.call('publish', ARGV[2], KEYS[1]); " +
+            "return 1 " +
+            "else return 0 end", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    /** 本地锁, 没有线程持有或等待时移除 */
+    private final Map<String, LocalLock> localLocks = new ConcurrentHashMap<>();
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 订阅锁释放通知, 唤醒本实例中等待该锁的线程
+     */
+    @PostConstruct
+    public void init() {
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String key = new String(message.getBody(), StandardCharsets.UTF_8);
+            LocalLock localLock = localLocks.get(key);
+            if (Objects.nonNull(localLock)) {
+                localLock.released.release();
+            }
+        }, new ChannelTopic(RELEASE_CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+
+    /**
+     * 加锁, 在等待时间内未获取到锁时返回空
+     * @param key 锁的键
+     * @param expire 锁的过期时间(毫秒)
+     * @param acquireTimeout 获取锁的等待时间(毫秒)
+     */
+    public TradeLock lock(String key, long expire, long acquireTimeout) {
+        long deadline = System.currentTimeMillis() + acquireTimeout;
+        LocalLock localLock = this.retain(key);
+        boolean locked = false;
+        TradeLock tradeLock = null;
+        try {
+            // 本实例内的竞争在本地锁上排队, 获取到本地锁后再竞争分布式锁
+            locked = localLock.lock.tryLock(acquireTimeout, TimeUnit.MILLISECONDS);
+            if (locked) {
+                String value = IdUtil.fastSimpleUUID();
+                if (this.acquire(key, value, expire, deadline, localLock)) {
+                    tradeLock = new TradeLock(key, value);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // 获取成功时本地锁保留到释放锁时一起释放
+            if (Objects.isNull(tradeLock)) {
+                this.releaseLocal(key, localLock, locked);
+            }
+        }
+        return tradeLock;
+    }
+
+    /**
+     * 释放锁
+     */
+    public void unlock(TradeLock lock) {
+        if (Objects.isNull(lock)) {
+            return;
+        }
+        LocalLock localLock = localLocks.get(lock.key());
+        try {
+            Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(lock.key()), lock.value(), RELEASE_CHANNEL);
+            if (!Objects.equals(released, 1L)) {
+                log.warn("锁已过期或被其他线程持有, 键: {}", lock.key());
+            }
+        } finally {
+            if (Objects.nonNull(localLock)) {
+                this.releaseLocal(lock.key(), localLock, true);
+            }
+        }
+    }
+
+    /**
+     * 获取分布式锁, 获取失败时等待释放通知后重试, 直到超过等待时间
+     */
+    private boolean acquire(String key, String value, long expire, long deadline, LocalLock localLock) throws InterruptedException {
+        while (true) {
+            // 先清空之前的通知, 再尝试获取, 避免错过获取失败后到开始等待之间的释放通知
+            localLock.released.drainPermits();
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, expire, TimeUnit.MILLISECONDS))) {
+                return true;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            localLock.released.tryAcquire(Math.min(remaining, MAX_WAIT_INTERVAL), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 增加本地锁的引用, 不存在时创建
+     */
+    private LocalLock retain(String key) {
+        return localLocks.compute(key, (k, v) -> {
+            LocalLock localLock = Objects.isNull(v) ? new LocalLock() : v;
+            localLock.holders++;
+            return localLock;
+        });
+    }
+
+    /**
+     * 释放本地锁并减少引用, 没有引用时移除
+     */
+    private void releaseLocal(String key, LocalLock localLock, boolean locked) {
+        if (locked && localLock.lock.isHeldByCurrentThread()) {
+            localLock.lock.unlock();
+        }
+        localLocks.computeIfPresent(key, (k, v) -> --v.holders == 0 ? null : v);
+    }
+
+    /**
+     * 本地锁
+     */
+    private static class LocalLock {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** 分布式锁释放通知 */
+        private final Semaphore released = new Semaphore(0);
+
+        /** 持有和等待的线程数, 只在 compute 中修改 */
+        private int holders;
+    }
+}
@@ -0,0 +1,47 @@
+package org.dromara.daxpay.service.common.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 自动分账批量处理配置
+ * 开启后支付完成时不再为每笔订单注册自动分账和分账同步的延时任务, 改为定时分批处理
+ * @author xxm
+ * @since 2025/1/16
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dax-pay.allocation-batch")
+public class AllocationBatchProperties {
+
+    /** 是否启用批量分账 */
+    private boolean enable = false;
+
+    /** 每批查询的订单数量 */
+    private int pageSize = 200;
+
+    /** 并行处理的线程数 */
+    private int parallelism = 8;
+
+    /** 分账发起后多久进行同步(分钟) */
+    private int syncDelayMinutes = 2;
+
+    /** 发起或同步失败后最多处理的次数, 达到后不再自动处理 */
+    private int maxRetryCount = 10;
+
+    /** 首次失败后的重试间隔(分钟), 之后每次失败翻倍 */
+    private int retryIntervalMinutes = 1;
+
+    /** 最大重试间隔(分钟) */
+    private int maxRetryIntervalMinutes = 120;
+
+    /** 通道默认每秒请求数 */
+    private int defaultChannelRate = 20;
+
+    /** 各通道每秒请求数, key为通道编码 */
+    private Map<String, Integer> channelRates = new HashMap<>();
+}
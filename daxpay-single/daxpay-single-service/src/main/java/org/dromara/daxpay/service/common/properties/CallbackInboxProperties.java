@@ -0,0 +1,38 @@
+package org.dromara.daxpay.service.common.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 通道回调收件箱配置
+ * 开启后通道回调验签通过即保存到收件箱并直接响应成功, 业务处理由后台异步执行
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dax-pay.callback-inbox")
+public class CallbackInboxProperties {
+
+    /** 是否启用回调收件箱 */
+    private boolean enable = false;
+
+    /** 处理回调的线程数 */
+    private int parallelism = 4;
+
+    /** 每次获取的待处理回调数量 */
+    private int batchSize = 100;
+
+    /** 最大重试次数, 超过后不再处理 */
+    private int maxRetry = 5;
+
+    /** 首次失败后的重试间隔(秒), 之后每次失败翻倍 */
+    private int retryIntervalSeconds = 10;
+
+    /** 最大重试间隔(秒) */
+    private int maxRetryIntervalSeconds = 600;
+
+    /** 处理超时时间(分钟), 超时后重新处理 */
+    private int timeoutMinutes = 5;
+}
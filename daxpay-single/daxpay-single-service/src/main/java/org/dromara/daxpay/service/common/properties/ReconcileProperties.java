@@ -0,0 +1,29 @@
+package org.dromara.daxpay.service.common.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.dromara.daxpay.service.enums.ReconcileCompareModeEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 对账配置
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dax-pay.reconcile")
+public class ReconcileProperties {
+
+    /** 差异比对方式, 交易量较大时建议使用数据库比对 */
+    private ReconcileCompareModeEnum compareMode = ReconcileCompareModeEnum.JAVA;
+
+    /** 是否启用日间对账, 定时核对当天变更的订单, 累计每日汇总数据 */
+    private boolean intradayEnable = false;
+
+    /** 日间对账每批查询的订单数量 */
+    private int intradayBatchSize = 500;
+
+    /** 日间对账执行间隔(毫秒) */
+    private long intradayInterval = 60000;
+}
@@ -0,0 +1,48 @@
+package org.dromara.daxpay.service.common.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.dromara.daxpay.service.enums.PartitionDbTypeEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * 交易数据按月分区配置
+ * 启用前需要先执行 _config 目录下对应数据库的分区改造脚本
+ * @author xxm
+ * @since 2025/1/14
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dax-pay.partition")
+public class TradePartitionProperties {
+
+    /** 是否启用分区维护和查询路由 */
+    private boolean enable = false;
+
+    /** 数据库类型 */
+    private PartitionDbTypeEnum dbType = PartitionDbTypeEnum.POSTGRESQL;
+
+    /** 提前创建分区的月数 */
+    private int preCreateMonths = 2;
+
+    /** 热数据保留月数(包含当月), 更早的分区会被归档 */
+    private int hotMonths = 12;
+
+    /** 是否自动归档冷数据分区 */
+    private boolean archive = false;
+
+    /** 归档位置, PostgreSQL为模式(schema), MySQL为数据库 */
+    private String archiveSchema = "daxpay_archive";
+
+    /** 按月分区的表, 分区字段为 create_time */
+    private List<String> tables = List.of(
+            "pay_order",
+            "pay_refund_order",
+            "pay_transfer_order",
+            "pay_trade_flow_record",
+            "pay_trade_sync_record",
+            "pay_trade_callback_record",
+            "pay_merchant_notify_record");
+}
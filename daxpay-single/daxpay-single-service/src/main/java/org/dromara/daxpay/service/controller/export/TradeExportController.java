@@ -0,0 +1,96 @@
+package org.dromara.daxpay.service.controller.export;
+
+import cn.bootx.platform.core.annotation.RequestGroup;
+import cn.bootx.platform.core.annotation.RequestPath;
+import cn.bootx.platform.core.rest.Res;
+import cn.bootx.platform.core.rest.param.PageParam;
+import cn.bootx.platform.core.rest.result.PageResult;
+import cn.bootx.platform.core.rest.result.Result;
+import org.dromara.daxpay.service.enums.ExportFormatEnum;
+import org.dromara.daxpay.service.param.order.pay.PayOrderQuery;
+import org.dromara.daxpay.service.param.order.refund.RefundOrderQuery;
+import org.dromara.daxpay.service.param.record.TradeFlowRecordQuery;
+import org.dromara.daxpay.service.result.export.ExportTaskResult;
+import org.dromara.daxpay.service.service.export.TradeExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 交易数据导出
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Validated
+@Tag(name = "交易数据导出")
+@RestController
+@RequestMapping("/export")
+@RequestGroup(moduleCode = "TradeExport", moduleName = "数据导出", groupCode = "TradeExport", groupName = "交易数据导出")
+@RequiredArgsConstructor
+public class TradeExportController {
+    private final TradeExportService exportService;
+
+    @RequestPath("导出支付订单")
+    @Operation(summary = "导出支付订单")
+    @GetMapping("/payOrder")
+    public void exportPayOrder(PayOrderQuery query, @RequestParam(defaultValue = "csv") String format, HttpServletResponse response){
+        exportService.exportPayOrder(query, ExportFormatEnum.findByCode(format), response);
+    }
+
+    @RequestPath("导出退款订单")
+    @Operation(summary = "导出退款订单")
+    @GetMapping("/refundOrder")
+    public void exportRefundOrder(RefundOrderQuery query, @RequestParam(defaultValue = "csv") String format, HttpServletResponse response){
+        exportService.exportRefundOrder(query, ExportFormatEnum.findByCode(format), response);
+    }
+
+    @RequestPath("导出交易流水")
+    @Operation(summary = "导出交易流水")
+    @GetMapping("/tradeFlow")
+    public void exportTradeFlow(TradeFlowRecordQuery query, @RequestParam(defaultValue = "csv") String format, HttpServletResponse response){
+        exportService.exportTradeFlow(query, ExportFormatEnum.findByCode(format), response);
+    }
+
+    @RequestPath("后台导出支付订单")
+    @Operation(summary = "后台导出支付订单")
+    @PostMapping("/task/payOrder")
+    public Result<Long> createPayOrderTask(PayOrderQuery query, @RequestParam(defaultValue = "csv") String format){
+        return Res.ok(exportService.createPayOrderTask(query, ExportFormatEnum.findByCode(format)));
+    }
+
+    @RequestPath("后台导出退款订单")
+    @Operation(summary = "后台导出退款订单")
+    @PostMapping("/task/refundOrder")
+    public Result<Long> createRefundOrderTask(RefundOrderQuery query, @RequestParam(defaultValue = "csv") String format){
+        return Res.ok(exportService.createRefundOrderTask(query, ExportFormatEnum.findByCode(format)));
+    }
+
+    @RequestPath("后台导出交易流水")
+    @Operation(summary = "后台导出交易流水")
+    @PostMapping("/task/tradeFlow")
+    public Result<Long> createTradeFlowTask(TradeFlowRecordQuery query, @RequestParam(defaultValue = "csv") String format){
+        return Res.ok(exportService.createTradeFlowTask(query, ExportFormatEnum.findByCode(format)));
+    }
+
+    @RequestPath("导出任务分页")
+    @Operation(summary = "导出任务分页")
+    @GetMapping("/task/page")
+    public Result<PageResult<ExportTaskResult>> pageTask(PageParam pageParam){
+        return Res.ok(exportService.pageTask(pageParam));
+    }
+
+    @RequestPath("查询导出任务")
+    @Operation(summary = "查询导出任务")
+    @GetMapping("/task/findById")
+    public Result<ExportTaskResult> findTaskById(@NotNull(message = "任务ID不可为空") Long id){
+        return Res.ok(exportService.findTaskById(id));
+    }
+}
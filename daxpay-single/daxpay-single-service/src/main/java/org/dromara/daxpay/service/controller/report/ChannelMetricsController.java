@@ -0,0 +1,36 @@
+package org.dromara.daxpay.service.controller.report;
+
+import cn.bootx.platform.core.annotation.RequestPath;
+import cn.bootx.platform.core.rest.Res;
+import cn.bootx.platform.core.rest.result.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.dromara.daxpay.service.result.report.ChannelMetricsResult;
+import org.dromara.daxpay.service.service.report.ChannelMetricsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 通道调用监控
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Tag(name = "通道调用监控")
+@RestController
+@RequestMapping("/report/channel/metrics")
+@RequiredArgsConstructor
+public class ChannelMetricsController {
+
+    private final ChannelMetricsService channelMetricsService;
+
+    @RequestPath("当前实例通道调用指标")
+    @Operation(summary = "当前实例通道调用指标")
+    @GetMapping("/summary")
+    public Result<List<ChannelMetricsResult>> summary(){
+        return Res.ok(channelMetricsService.summary());
+    }
+}
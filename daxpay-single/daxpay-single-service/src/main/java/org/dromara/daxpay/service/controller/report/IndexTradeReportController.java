@@ -9,7 +9,10 @@ import lombok.RequiredArgsConstructor;
 import org.dromara.daxpay.service.param.report.TradeReportQuery;
 import org.dromara.daxpay.service.result.report.TradeReportResult;
 import org.dromara.daxpay.service.service.report.IndexTradeReportService;
+import org.dromara.daxpay.service.service.report.TradeReportRollupService;
+import cn.hutool.core.date.LocalDateTimeUtil;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,6 +31,8 @@ public class IndexTradeReportController {
 
     private final IndexTradeReportService tradeReportService;
 
+    private final TradeReportRollupService rollupService;
+
 
     @RequestPath("支付交易信息统计")
     @Operation(summary = "支付交易信息统计")
@@ -63,4 +68,13 @@ public class IndexTradeReportController {
     public Result<List<TradeReportResult>> payMethodReport(TradeReportQuery query){
         return Res.ok(tradeReportService.payMethodReport(query));
     }
+
+    @RequestPath("重新生成交易小时汇总")
+    @Operation(summary = "重新生成交易小时汇总")
+    @PostMapping("/rollup")
+    public Result<Void> rollup(TradeReportQuery query){
+        rollupService.rollupRange(LocalDateTimeUtil.beginOfDay(query.getStartDate()),
+                LocalDateTimeUtil.beginOfDay(query.getEndDate().plusDays(1)));
+        return Res.ok();
+    }
 }
@@ -1,12 +1,18 @@
 package org.dromara.daxpay.service.controller.unipay;
 
 import cn.bootx.platform.core.annotation.IgnoreAuth;
+import org.dromara.daxpay.core.param.trade.pay.QueryPayBatchParam;
 import org.dromara.daxpay.core.param.trade.pay.QueryPayParam;
+import org.dromara.daxpay.core.param.trade.refund.QueryRefundBatchParam;
 import org.dromara.daxpay.core.param.trade.refund.QueryRefundParam;
+import org.dromara.daxpay.core.param.trade.transfer.QueryTransferBatchParam;
 import org.dromara.daxpay.core.param.trade.transfer.QueryTransferParam;
 import org.dromara.daxpay.core.result.DaxResult;
+import org.dromara.daxpay.core.result.trade.pay.PayOrderBatchResult;
 import org.dromara.daxpay.core.result.trade.pay.PayOrderResult;
+import org.dromara.daxpay.core.result.trade.refund.RefundOrderBatchResult;
 import org.dromara.daxpay.core.result.trade.refund.RefundOrderResult;
+import org.dromara.daxpay.core.result.trade.transfer.TransferOrderBatchResult;
 import org.dromara.daxpay.core.result.trade.transfer.TransferOrderResult;
 import org.dromara.daxpay.core.util.DaxRes;
 import org.dromara.daxpay.service.common.anno.PaymentVerify;
@@ -56,4 +62,22 @@ public class UniQueryController {
         return DaxRes.ok(transferOrderQueryService.queryTransferOrder(param));
     }
 
+    @Operation(summary = "支付订单批量查询接口")
+    @PostMapping("/payOrder/batch")
+    public DaxResult<PayOrderBatchResult> queryPayOrders(@RequestBody QueryPayBatchParam param){
+        return DaxRes.ok(payOrderQueryService.queryPayOrders(param));
+    }
+
+    @Operation(summary = "退款订单批量查询接口")
+    @PostMapping("/refundOrder/batch")
+    public DaxResult<RefundOrderBatchResult> queryRefundOrders(@RequestBody QueryRefundBatchParam param){
+        return DaxRes.ok(refundOrderQueryService.queryRefundOrders(param));
+    }
+
+    @Operation(summary = "转账订单批量查询接口")
+    @PostMapping("/transferOrder/batch")
+    public DaxResult<TransferOrderBatchResult> queryTransferOrders(@RequestBody QueryTransferBatchParam param){
+        return DaxRes.ok(transferOrderQueryService.queryTransferOrders(param));
+    }
+
 }
@@ -0,0 +1,21 @@
+package org.dromara.daxpay.service.convert.export;
+
+import org.dromara.daxpay.service.entity.export.ExportTask;
+import org.dromara.daxpay.service.result.export.ExportTaskResult;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * 数据导出任务
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Mapper
+public interface ExportTaskConvert {
+    ExportTaskConvert CONVERT = Mappers.getMapper(ExportTaskConvert.class);
+
+    /**
+     * 转换
+     */
+    ExportTaskResult convert(ExportTask in);
+}
@@ -1,12 +1,14 @@
 package org.dromara.daxpay.service.dao.allocation;
 
 import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import cn.bootx.platform.core.annotation.IgnoreTenant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.service.common.entity.MchAppBaseEntity;
 import org.dromara.daxpay.service.entity.allocation.AllocConfig;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,4 +34,14 @@ public class AllocConfigManager extends BaseManager<AllocConfigMapper, AllocConf
     public Optional<AllocConfig> findByAppId(String appId) {
         return findByField(MchAppBaseEntity::getAppId, appId);
     }
+
+    /**
+     * 查询全部开启自动分账的配置
+     */
+    @IgnoreTenant
+    public List<AllocConfig> findAllAutoAlloc() {
+        return lambdaQuery()
+                .eq(AllocConfig::getAutoAlloc, true)
+                .list();
+    }
 }
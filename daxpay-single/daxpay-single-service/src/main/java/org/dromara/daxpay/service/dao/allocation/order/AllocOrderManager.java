@@ -3,16 +3,21 @@ package org.dromara.daxpay.service.dao.allocation.order;
 import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
 import cn.bootx.platform.common.mybatisplus.query.generator.QueryGenerator;
 import cn.bootx.platform.common.mybatisplus.util.MpUtil;
+import cn.bootx.platform.core.annotation.IgnoreTenant;
 import cn.bootx.platform.core.rest.param.PageParam;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.enums.AllocationStatusEnum;
 import org.dromara.daxpay.service.common.entity.MchAppBaseEntity;
 import org.dromara.daxpay.service.entity.allocation.order.AllocOrder;
 import org.dromara.daxpay.service.param.order.allocation.AllocOrderQuery;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -53,4 +58,35 @@ public class AllocOrderManager extends BaseManager<AllocOrderMapper, AllocOrder>
                 .eq(MchAppBaseEntity::getAppId, appId)
                 .oneOpt();
     }
+
+    /**
+     * 查询指定时间之前更新过的分账处理中订单, 按主键顺序分批获取
+     * @param maxRetryCount 同步失败次数达到该值的订单不再查询
+     * @param lastId 上一批最后一条记录的主键
+     */
+    @IgnoreTenant
+    public List<AllocOrder> findProcessing(LocalDateTime lastModifiedTime, int maxRetryCount, Long lastId, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        return lambdaQuery()
+                .eq(AllocOrder::getStatus, AllocationStatusEnum.PROCESSING.getCode())
+                .le(AllocOrder::getLastModifiedTime, lastModifiedTime)
+                .lt(AllocOrder::getSyncRetryCount, maxRetryCount)
+                .and(o -> o.isNull(AllocOrder::getSyncNextRetryTime).or().le(AllocOrder::getSyncNextRetryTime, now))
+                .gt(Objects.nonNull(lastId), AllocOrder::getId, lastId)
+                .orderByAsc(AllocOrder::getId)
+                .page(new Page<>(1, size, false))
+                .getRecords();
+    }
+
+    /**
+     * 记录同步失败次数和下次重试时间
+     */
+    @IgnoreTenant
+    public void updateSyncRetry(Long id, int retryCount, LocalDateTime nextRetryTime) {
+        lambdaUpdate()
+                .set(AllocOrder::getSyncRetryCount, retryCount)
+                .set(AllocOrder::getSyncNextRetryTime, nextRetryTime)
+                .eq(AllocOrder::getId, id)
+                .update();
+    }
 }
@@ -12,6 +12,7 @@ import org.dromara.daxpay.service.entity.allocation.receiver.AllocGroup;
 import org.dromara.daxpay.service.param.allocation.group.AllocGroupQuery;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -66,6 +67,21 @@ public class AllocGroupManager extends BaseManager<AllocGroupMapper, AllocGroup>
                 .oneOpt();
     }
 
+    /**
+     * 获取应用下设置了默认分账组的通道
+     */
+    public List<String> findDefaultGroupChannels(String appId) {
+        return this.lambdaQuery()
+                .select(AllocGroup::getChannel)
+                .eq(AllocGroup::isDefaultGroup,true)
+                .eq(AllocGroup::getAppId,appId)
+                .list()
+                .stream()
+                .map(AllocGroup::getChannel)
+                .distinct()
+                .toList();
+    }
+
     /**
      * 分账组编号是否存在
      */
@@ -2,6 +2,7 @@ package org.dromara.daxpay.service.dao.config;
 
 import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
 import cn.bootx.platform.common.mybatisplus.util.MpUtil;
+import org.dromara.daxpay.service.common.cache.ChannelConfigTypedCacheService;
 import org.dromara.daxpay.service.entity.config.ChannelConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,12 +23,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ChannelConfigManager extends BaseManager<ChannelConfigMapper, ChannelConfig> {
 
+    private final ChannelConfigTypedCacheService channelConfigTypedCacheService;
+
     /**
      * 根据id进行更新
      */
     @Override
     @CacheEvict(value = "cache:channelConfig", key = "#channelConfig.appId + ':' + #channelConfig.channel")
     public int updateById(ChannelConfig channelConfig) {
+        channelConfigTypedCacheService.evict(channelConfig.getAppId(), channelConfig.getChannel());
         return super.updateById(channelConfig);
     }
 
@@ -37,6 +41,7 @@ public class ChannelConfigManager extends BaseManager<ChannelConfigMapper, Chann
     @Override
     @CacheEvict(value = "cache:channelConfig", allEntries = true)
     public boolean updateAllById(Collection<ChannelConfig> entityList) {
+        channelConfigTypedCacheService.evictAll();
         return super.updateAllById(entityList);
     }
 
@@ -0,0 +1,31 @@
+package org.dromara.daxpay.service.dao.export;
+
+import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import cn.bootx.platform.common.mybatisplus.util.MpUtil;
+import cn.bootx.platform.core.rest.param.PageParam;
+import org.dromara.daxpay.service.entity.export.ExportTask;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 数据导出任务
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ExportTaskManager extends BaseManager<ExportTaskMapper, ExportTask> {
+
+    /**
+     * 分页, 新创建的任务在前
+     */
+    public Page<ExportTask> page(PageParam pageParam) {
+        Page<ExportTask> mpPage = MpUtil.getMpPage(pageParam);
+        return lambdaQuery()
+                .orderByDesc(ExportTask::getId)
+                .page(mpPage);
+    }
+}
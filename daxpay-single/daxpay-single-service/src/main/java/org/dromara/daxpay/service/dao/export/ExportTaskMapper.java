@@ -0,0 +1,14 @@
+package org.dromara.daxpay.service.dao.export;
+
+import org.dromara.daxpay.service.entity.export.ExportTask;
+import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 数据导出任务
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Mapper
+public interface ExportTaskMapper extends MPJBaseMapper<ExportTask> {
+}
@@ -7,17 +7,23 @@ import cn.bootx.platform.core.annotation.IgnoreTenant;
 import cn.bootx.platform.core.rest.param.PageParam;
 import org.dromara.daxpay.core.enums.PayAllocStatusEnum;
 import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.service.common.cache.PayOrderStatusCacheService;
+import org.dromara.daxpay.service.dao.partition.TradePartitionRoute;
 import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.param.order.pay.PayOrderQuery;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -30,11 +36,40 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PayOrderManager extends BaseManager<PayOrderMapper, PayOrder> {
 
+    private final TradePartitionRoute partitionRoute;
+
+    private final PayOrderStatusCacheService payOrderStatusCacheService;
+
+    /**
+     * 更新订单, 同时清除本地缓存的订单终态
+     */
+    @Override
+    public int updateById(PayOrder payOrder) {
+        payOrderStatusCacheService.evict(payOrder.getAppId(), payOrder.getBizOrderNo());
+        return super.updateById(payOrder);
+    }
+
+    /**
+     * 根据主键和订单状态更新订单, 订单状态不在指定的状态中或版本号与读取时不一致时不进行更新, 同时清除本地缓存的订单终态
+     * @param statuses 允许更新的订单状态
+     * @return 是否更新成功
+     */
+    public boolean updateByIdAndStatus(PayOrder payOrder, Collection<String> statuses) {
+        payOrderStatusCacheService.evict(payOrder.getAppId(), payOrder.getBizOrderNo());
+        return lambdaUpdate()
+                .eq(PayOrder::getId, payOrder.getId())
+                .in(PayOrder::getStatus, statuses)
+                .update(payOrder);
+    }
+
     /**
      * 根据订单号查询
      */
     public Optional<PayOrder> findByOrderNo(String orderNo) {
-        return findByField(PayOrder::getOrderNo,orderNo);
+        // 根据交易号中的时间进行分区裁剪
+        return partitionRoute.byTradeNo(lambdaQuery(), orderNo)
+                .eq(PayOrder::getOrderNo, orderNo)
+                .oneOpt();
     }
 
     /**
@@ -48,25 +83,63 @@ public class PayOrderManager extends BaseManager<PayOrderMapper, PayOrder> {
     }
 
     /**
-     * 分页
+     * 根据订单号批量查询, 只返回属于该应用的订单
+     */
+    public List<PayOrder> findAllByOrderNos(Collection<String> orderNos, String appId) {
+        // 根据交易号中的时间进行分区裁剪
+        return partitionRoute.byTradeNos(lambdaQuery(), orderNos)
+                .in(PayOrder::getOrderNo, orderNos)
+                .eq(PayOrder::getAppId, appId)
+                .list();
+    }
+
+    /**
+     * 根据商户订单号批量查询
+     */
+    public List<PayOrder> findAllByBizOrderNos(Collection<String> bizOrderNos, String appId) {
+        return lambdaQuery()
+                .in(PayOrder::getBizOrderNo, bizOrderNos)
+                .eq(PayOrder::getAppId, appId)
+                .list();
+    }
+
+    /**
+     * 分页, 开启游标分页时按创建时间倒序翻页
      */
     public Page<PayOrder> page(PageParam pageParam, PayOrderQuery query){
+        if (pageParam.isKeyset()) {
+            return keysetPage(pageParam, () -> QueryGenerator.generator(query));
+        }
         Page<PayOrder> mpPage = MpUtil.getMpPage(pageParam);
         QueryWrapper<PayOrder> generator = QueryGenerator.generator(query);
         return page(mpPage, generator);
     }
 
     /**
-     * 查询对账用订单记录(指定时间和状态的订单)
+     * 查询对账用订单记录(指定应用、时间和状态的订单)
      */
-    public List<PayOrder> findReconcile(String channel, LocalDateTime startTime, LocalDateTime endTime) {
+    public List<PayOrder> findReconcile(String appId, String channel, LocalDateTime startTime, LocalDateTime endTime) {
         return this.lambdaQuery()
+                .eq(PayOrder::getAppId, appId)
                 .eq(PayOrder::getChannel, channel)
                 .between(PayOrder::getPayTime, startTime, endTime)
                 .eq(PayOrder::getStatus, PayStatusEnum.SUCCESS.getCode())
                 .list();
     }
 
+    /**
+     * 根据订单号批量查询指定应用的订单
+     */
+    public List<PayOrder> findAllByOrderNos(String appId, Collection<String> orderNos) {
+        if (orderNos.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        return this.lambdaQuery()
+                .eq(PayOrder::getAppId, appId)
+                .in(PayOrder::getOrderNo, orderNos)
+                .list();
+    }
+
     /**
      * 查询自动分账的订单记录(指定时间和状态的订单)
      */
@@ -100,4 +173,72 @@ public class PayOrderManager extends BaseManager<PayOrderMapper, PayOrder> {
                 .list();
     }
 
+    /**
+     * 查询指定应用下到期待自动分账的订单, 按主键顺序分批获取
+     * @param channels 只查询这些通道的订单
+     * @param payTime 支付时间早于该时间的订单
+     * @param maxRetryCount 自动分账失败次数达到该值的订单不再查询
+     * @param lastId 上一批最后一条记录的主键
+     */
+    @IgnoreTenant
+    public List<PayOrder> findAutoAllocWaiting(String appId, Collection<String> channels, LocalDateTime payTime,
+                                               int maxRetryCount, Long lastId, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        return lambdaQuery()
+                .eq(PayOrder::getAppId, appId)
+                .in(PayOrder::getChannel, channels)
+                .eq(PayOrder::getStatus, PayStatusEnum.SUCCESS.getCode())
+                .eq(PayOrder::getAllocation, true)
+                .eq(PayOrder::getAutoAllocation, true)
+                .eq(PayOrder::getAllocStatus, PayAllocStatusEnum.WAITING.getCode())
+                .le(PayOrder::getPayTime, payTime)
+                .lt(PayOrder::getAllocRetryCount, maxRetryCount)
+                .and(o -> o.isNull(PayOrder::getAllocNextRetryTime).or().le(PayOrder::getAllocNextRetryTime, now))
+                .gt(Objects.nonNull(lastId), PayOrder::getId, lastId)
+                .orderByAsc(PayOrder::getId)
+                .page(new Page<>(1, size, false))
+                .getRecords();
+    }
+
+    /**
+     * 记录自动分账失败次数和下次重试时间
+     */
+    @IgnoreTenant
+    public void updateAllocRetry(Long id, int retryCount, LocalDateTime nextRetryTime) {
+        lambdaUpdate()
+                .set(PayOrder::getAllocRetryCount, retryCount)
+                .set(PayOrder::getAllocNextRetryTime, nextRetryTime)
+                .eq(PayOrder::getId, id)
+                .update();
+    }
+
+    /**
+     * 按最后修改时间和主键分批查询变更的支付订单, 只查询对账需要的字段
+     * @param lastTime 上一批最后一条记录的修改时间
+     * @param lastId 上一批最后一条记录的主键
+     * @param endTime 修改时间的上限
+     */
+    @IgnoreTenant
+    public List<PayOrder> findChangedSince(LocalDateTime lastTime, Long lastId, LocalDateTime endTime, int size) {
+        return lambdaQuery()
+                .select(PayOrder::getId, PayOrder::getAppId, PayOrder::getChannel, PayOrder::getCreateTime,
+                        PayOrder::getPayTime, PayOrder::getLastModifiedTime)
+                .le(PayOrder::getLastModifiedTime, endTime)
+                .and(w -> w.gt(PayOrder::getLastModifiedTime, lastTime)
+                        .or(o -> o.eq(PayOrder::getLastModifiedTime, lastTime).gt(PayOrder::getId, lastId)))
+                .orderByAsc(PayOrder::getLastModifiedTime, PayOrder::getId)
+                .page(new Page<>(1, size, false))
+                .getRecords();
+    }
+
+    /**
+     * 按查询条件流式读取支付订单, 按主键倒序
+     */
+    public void exportStream(PayOrderQuery query, ResultHandler<PayOrder> handler) {
+        QueryWrapper<PayOrder> generator = QueryGenerator.generator(query);
+        // 自定义查询不会自动添加逻辑删除条件
+        generator.eq(MpUtil.getColumnName(PayOrder::isDeleted), false);
+        generator.orderByDesc(MpUtil.getColumnName(PayOrder::getId));
+        baseMapper.exportStream(generator, handler);
+    }
 }
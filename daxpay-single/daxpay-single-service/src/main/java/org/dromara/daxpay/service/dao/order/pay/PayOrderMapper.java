@@ -5,8 +5,12 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.github.yulichang.base.MPJBaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.math.BigDecimal;
 
@@ -21,4 +25,13 @@ public interface PayOrderMapper extends MPJBaseMapper<PayOrder> {
 
     @Select("select sum(amount) from pay_order ${ew.customSqlSegment}")
     BigDecimal getTotalAmount(@Param(Constants.WRAPPER) QueryWrapper<PayOrder> param);
+
+    /**
+     * 流式查询, 按批次从数据库读取并逐条交给处理器, 不在内存中保留整个结果集
+     * MySQL 需要在连接参数中开启 useCursorFetch, PostgreSQL 需要在事务中执行
+     */
+    @Select("select * from pay_order ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(PayOrder.class)
+    void exportStream(@Param(Constants.WRAPPER) QueryWrapper<PayOrder> param, ResultHandler<PayOrder> handler);
 }
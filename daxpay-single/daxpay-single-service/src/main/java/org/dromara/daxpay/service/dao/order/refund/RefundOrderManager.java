@@ -7,16 +7,20 @@ import cn.bootx.platform.common.mybatisplus.util.MpUtil;
 import cn.bootx.platform.core.annotation.IgnoreTenant;
 import cn.bootx.platform.core.rest.param.PageParam;
 import org.dromara.daxpay.core.enums.RefundStatusEnum;
+import org.dromara.daxpay.service.dao.partition.TradePartitionRoute;
 import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
 import org.dromara.daxpay.service.param.order.refund.RefundOrderQuery;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,10 +34,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RefundOrderManager extends BaseManager<RefundOrderMapper, RefundOrder> {
 
+    private final TradePartitionRoute partitionRoute;
+
     /**
-     * 分页
+     * 分页, 开启游标分页时按创建时间倒序翻页
      */
     public Page<RefundOrder> page(PageParam pageParam, RefundOrderQuery query) {
+        if (pageParam.isKeyset()) {
+            return keysetPage(pageParam, () -> QueryGenerator.generator(query));
+        }
         Page<RefundOrder> mpPage = MpUtil.getMpPage(pageParam);
         QueryWrapper<RefundOrder> generator = QueryGenerator.generator(query);
         return page(mpPage,generator);
@@ -43,7 +52,10 @@ public class RefundOrderManager extends BaseManager<RefundOrderMapper, RefundOrd
      * 根据退款号查询
      */
     public Optional<RefundOrder> findByRefundNo(String refundNo) {
-        return findByField(RefundOrder::getRefundNo, refundNo);
+        // 根据交易号中的时间进行分区裁剪
+        return partitionRoute.byTradeNo(lambdaQuery(), refundNo)
+                .eq(RefundOrder::getRefundNo, refundNo)
+                .oneOpt();
     }
 
 
@@ -57,6 +69,27 @@ public class RefundOrderManager extends BaseManager<RefundOrderMapper, RefundOrd
                 .oneOpt();
     }
 
+    /**
+     * 根据退款号批量查询, 只返回属于该应用的订单
+     */
+    public List<RefundOrder> findAllByRefundNos(Collection<String> refundNos, String appId) {
+        // 根据交易号中的时间进行分区裁剪
+        return partitionRoute.byTradeNos(lambdaQuery(), refundNos)
+                .in(RefundOrder::getRefundNo, refundNos)
+                .eq(RefundOrder::getAppId, appId)
+                .list();
+    }
+
+    /**
+     * 根据商户退款号批量查询
+     */
+    public List<RefundOrder> findAllByBizRefundNos(Collection<String> bizRefundNos, String appId) {
+        return lambdaQuery()
+                .in(RefundOrder::getBizRefundNo, bizRefundNos)
+                .eq(RefundOrder::getAppId, appId)
+                .list();
+    }
+
     /**
      * 查询支付号是否重复
      */
@@ -77,13 +110,27 @@ public class RefundOrderManager extends BaseManager<RefundOrderMapper, RefundOrd
     }
 
     /**
-     * 查询对账用订单记录(指定时间和状态的订单)
+     * 查询对账用订单记录(指定应用、时间和状态的订单)
      */
-    public List<RefundOrder> findSuccessReconcile(String channel, LocalDateTime startTime, LocalDateTime endTime) {
+    public List<RefundOrder> findSuccessReconcile(String appId, String channel, LocalDateTime startTime, LocalDateTime endTime) {
         return this.lambdaQuery()
+                .eq(RefundOrder::getAppId, appId)
                 .eq(RefundOrder::getChannel, channel)
                 .between(RefundOrder::getFinishTime, startTime, endTime)
-                .eq(RefundOrder::getStatus, RefundStatusEnum.SUCCESS)
+                .eq(RefundOrder::getStatus, RefundStatusEnum.SUCCESS.getCode())
+                .list();
+    }
+
+    /**
+     * 根据退款号批量查询指定应用的退款订单
+     */
+    public List<RefundOrder> findAllByRefundNos(String appId, Collection<String> refundNos) {
+        if (refundNos.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        return this.lambdaQuery()
+                .eq(RefundOrder::getAppId, appId)
+                .in(RefundOrder::getRefundNo, refundNos)
                 .list();
     }
 
@@ -95,4 +142,34 @@ public class RefundOrderManager extends BaseManager<RefundOrderMapper, RefundOrd
         generator.eq(MpUtil.getColumnName(RefundOrder::getStatus), RefundStatusEnum.SUCCESS.getCode());
         return baseMapper.getTotalAmount(generator);
     }
+
+    /**
+     * 按最后修改时间和主键分批查询变更的退款订单, 只查询对账需要的字段
+     * @param lastTime 上一批最后一条记录的修改时间
+     * @param lastId 上一批最后一条记录的主键
+     * @param endTime 修改时间的上限
+     */
+    @IgnoreTenant
+    public List<RefundOrder> findChangedSince(LocalDateTime lastTime, Long lastId, LocalDateTime endTime, int size) {
+        return lambdaQuery()
+                .select(RefundOrder::getId, RefundOrder::getAppId, RefundOrder::getChannel, RefundOrder::getCreateTime,
+                        RefundOrder::getFinishTime, RefundOrder::getLastModifiedTime)
+                .le(RefundOrder::getLastModifiedTime, endTime)
+                .and(w -> w.gt(RefundOrder::getLastModifiedTime, lastTime)
+                        .or(o -> o.eq(RefundOrder::getLastModifiedTime, lastTime).gt(RefundOrder::getId, lastId)))
+                .orderByAsc(RefundOrder::getLastModifiedTime, RefundOrder::getId)
+                .page(new Page<>(1, size, false))
+                .getRecords();
+    }
+
+    /**
+     * 按查询条件流式读取退款订单, 按主键倒序
+     */
+    public void exportStream(RefundOrderQuery query, ResultHandler<RefundOrder> handler) {
+        QueryWrapper<RefundOrder> generator = QueryGenerator.generator(query);
+        // 自定义查询不会自动添加逻辑删除条件
+        generator.eq(MpUtil.getColumnName(RefundOrder::isDeleted), false);
+        generator.orderByDesc(MpUtil.getColumnName(RefundOrder::getId));
+        baseMapper.exportStream(generator, handler);
+    }
 }
@@ -7,6 +7,7 @@ import cn.bootx.platform.common.mybatisplus.util.MpUtil;
 import cn.bootx.platform.core.annotation.IgnoreTenant;
 import cn.bootx.platform.core.rest.param.PageParam;
 import org.dromara.daxpay.core.enums.TransferStatusEnum;
+import org.dromara.daxpay.service.dao.partition.TradePartitionRoute;
 import org.dromara.daxpay.service.entity.order.transfer.TransferOrder;
 import org.dromara.daxpay.service.param.order.transfer.TransferOrderQuery;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,11 +32,16 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TransferOrderManager extends BaseManager<TransferOrderMapper, TransferOrder> {
 
+    private final TradePartitionRoute partitionRoute;
+
 
     /**
-     * 分页
+     * 分页, 开启游标分页时按创建时间倒序翻页
      */
     public Page<TransferOrder> page(PageParam pageParam, TransferOrderQuery query) {
+        if (pageParam.isKeyset()) {
+            return keysetPage(pageParam, () -> QueryGenerator.generator(query));
+        }
         Page<TransferOrder> mpPage = MpUtil.getMpPage(pageParam, TransferOrder.class);
         QueryWrapper<TransferOrder> generator = QueryGenerator.generator(query);
         return page(mpPage,generator);
@@ -56,7 +63,10 @@ public class TransferOrderManager extends BaseManager<TransferOrderMapper, Trans
      * 根据转账号查询
      */
     public Optional<TransferOrder> findByTransferNo(String transferNo) {
-        return findByField(TransferOrder::getTransferNo, transferNo);
+        // 根据交易号中的时间进行分区裁剪
+        return partitionRoute.byTradeNo(lambdaQuery(), transferNo)
+                .eq(TransferOrder::getTransferNo, transferNo)
+                .oneOpt();
     }
 
     /**
@@ -69,6 +79,27 @@ public class TransferOrderManager extends BaseManager<TransferOrderMapper, Trans
                 .oneOpt();
     }
 
+    /**
+     * 根据转账号批量查询, 只返回属于该应用的订单
+     */
+    public List<TransferOrder> findAllByTransferNos(Collection<String> transferNos, String appId) {
+        // 根据交易号中的时间进行分区裁剪
+        return partitionRoute.byTradeNos(lambdaQuery(), transferNos)
+                .in(TransferOrder::getTransferNo, transferNos)
+                .eq(TransferOrder::getAppId, appId)
+                .list();
+    }
+
+    /**
+     * 根据商户转账号批量查询
+     */
+    public List<TransferOrder> findAllByBizTransferNos(Collection<String> bizTransferNos, String appId) {
+        return lambdaQuery()
+                .in(TransferOrder::getBizTransferNo, bizTransferNos)
+                .eq(TransferOrder::getAppId, appId)
+                .list();
+    }
+
     /**
      * 查询汇总金额
      */
@@ -0,0 +1,48 @@
+package org.dromara.daxpay.service.dao.partition;
+
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * 交易表分区维护
+ * @author xxm
+ * @since 2025/1/14
+ */
+@Mapper
+public interface TradePartitionMapper {
+
+    /**
+     * 查询PostgreSQL分区表下的子表名称
+     */
+    @Select("""
+        select c.relname
+        from pg_inherits i
+        join pg_class c on i.inhrelid = c.oid
+        where i.inhparent = to_regclass(#{table})
+    """)
+    List<String> findPgPartitions(@Param("table") String table);
+
+    /**
+     * 查询MySQL分区表下的分区名称
+     */
+    @Select("""
+        select partition_name
+        from information_schema.partitions
+        where table_schema = database()
+          and table_name = #{table}
+          and partition_name is not null
+    """)
+    List<String> findMySqlPartitions(@Param("table") String table);
+
+    /**
+     * 执行分区维护语句, 语句由分区服务拼接, 表名需经过校验
+     */
+    @InterceptorIgnore(blockAttack = "true")
+    @Update("${sql}")
+    void execute(@Param("sql") String sql);
+}
@@ -0,0 +1,71 @@
+package org.dromara.daxpay.service.dao.partition;
+
+import cn.bootx.platform.common.mybatisplus.base.MpCreateEntity;
+import com.baomidou.mybatisplus.extension.conditions.query.LambdaQueryChainWrapper;
+import lombok.RequiredArgsConstructor;
+import org.dromara.daxpay.core.util.TradeNoGenerateUtil;
+import org.dromara.daxpay.service.common.properties.TradePartitionProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 交易数据分区查询路由
+ * 交易号中包含生成时的时间, 订单在生成交易号后立即保存, 据此推算创建时间的范围,
+ * 给查询条件加上创建时间的限定, 让数据库只扫描对应月份的分区.
+ * 交易号中的时间可能因为借用后续秒或时钟回拨领先创建时间, 最多领先 {@link TradeNoGenerateUtil#MAX_AHEAD_SECONDS} 秒
+ * @author xxm
+ * @since 2025/1/14
+ */
+@Component
+@RequiredArgsConstructor
+public class TradePartitionRoute {
+
+    /**
+     * 创建时间下限相对交易号时间的提前量, 交易号时间最多领先的秒数,
+     * 再预留服务器之间的时钟误差和交易号生成到保存之间的耗时
+     */
+    private static final Duration LOWER_TOLERANCE = Duration.ofSeconds(TradeNoGenerateUtil.MAX_AHEAD_SECONDS).plusMinutes(1);
+
+    private final TradePartitionProperties properties;
+
+    /**
+     * 根据交易号添加创建时间范围条件, 未启用分区或交易号无法解析时不做处理
+     */
+    public <T extends MpCreateEntity> LambdaQueryChainWrapper<T> byTradeNo(LambdaQueryChainWrapper<T> wrapper, String tradeNo) {
+        if (!properties.isEnable()) {
+            return wrapper;
+        }
+        LocalDateTime time = TradeNoGenerateUtil.parseTime(tradeNo);
+        if (Objects.isNull(time)) {
+            return wrapper;
+        }
+        return wrapper.ge(MpCreateEntity::getCreateTime, time.minus(LOWER_TOLERANCE))
+                .lt(MpCreateEntity::getCreateTime, time.plusDays(1));
+    }
+
+    /**
+     * 根据多个交易号添加覆盖全部交易号的创建时间范围条件, 未启用分区或存在无法解析的交易号时不做处理
+     */
+    public <T extends MpCreateEntity> LambdaQueryChainWrapper<T> byTradeNos(LambdaQueryChainWrapper<T> wrapper, Collection<String> tradeNos) {
+        if (!properties.isEnable() || tradeNos.isEmpty()) {
+            return wrapper;
+        }
+        List<LocalDateTime> times = new ArrayList<>(tradeNos.size());
+        for (String tradeNo : tradeNos) {
+            LocalDateTime time = TradeNoGenerateUtil.parseTime(tradeNo);
+            if (Objects.isNull(time)) {
+                return wrapper;
+            }
+            times.add(time);
+        }
+        return wrapper.ge(MpCreateEntity::getCreateTime, Collections.min(times).minus(LOWER_TOLERANCE))
+                .lt(MpCreateEntity::getCreateTime, Collections.max(times).plusDays(1));
+    }
+}
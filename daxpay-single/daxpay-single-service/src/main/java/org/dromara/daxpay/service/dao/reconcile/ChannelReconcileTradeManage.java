@@ -2,6 +2,7 @@ package org.dromara.daxpay.service.dao.reconcile;
 
 import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
 import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
@@ -24,4 +25,18 @@ public class ChannelReconcileTradeManage extends BaseManager<ChannelReconcileTra
     public List<ChannelReconcileTrade> findAllByReconcileId(Long reconcileId){
         return this.findAllByField(ChannelReconcileTrade::getReconcileId, reconcileId);
     }
+
+    /**
+     * 汇总对账单关联的通道交易, 返回对象只包含通道支付和退款的笔数和金额
+     */
+    public ReconcileStatement total(Long reconcileId){
+        return baseMapper.total(reconcileId);
+    }
+
+    /**
+     * 删除对账单关联的通道交易记录
+     */
+    public void deleteByReconcileId(Long reconcileId){
+        this.deleteByField(ChannelReconcileTrade::getReconcileId, reconcileId);
+    }
 }
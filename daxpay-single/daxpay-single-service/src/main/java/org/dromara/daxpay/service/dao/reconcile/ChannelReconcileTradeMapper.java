@@ -1,8 +1,15 @@
 package org.dromara.daxpay.service.dao.reconcile;
 
 import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  *
@@ -11,4 +18,35 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ChannelReconcileTradeMapper extends MPJBaseMapper<ChannelReconcileTrade> {
+
+    /**
+     * 多行批量插入, 一条语句写入整批数据, 不经过自动填充, 主键等字段需提前设置
+     */
+    @Insert("""
+        <script>
+        insert into pay_channel_reconcile_trade
+            (id, creator, create_time, app_id, reconcile_id, trade_type, trade_no, out_trade_no, amount, trade_status, trade_time)
+        values
+        <foreach collection="list" item="o" separator=",">
+            (#{o.id}, #{o.creator}, #{o.createTime}, #{o.appId}, #{o.reconcileId}, #{o.tradeType}, #{o.tradeNo},
+             #{o.outTradeNo}, #{o.amount}, #{o.tradeStatus}, #{o.tradeTime})
+        </foreach>
+        </script>
+    """)
+    int insertRows(@Param("list") List<ChannelReconcileTrade> list);
+
+    /**
+     * 统计对账单关联的通道支付和退款交易, 结果写入对账单的通道汇总字段
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            count(case when trade_type = 'pay' then 1 end) as channelOrderCount,
+            coalesce(sum(case when trade_type = 'pay' then amount end), 0) as channelOrderAmount,
+            count(case when trade_type = 'refund' then 1 end) as channelRefundCount,
+            coalesce(sum(case when trade_type = 'refund' then amount end), 0) as channelRefundAmount
+        from pay_channel_reconcile_trade
+        where reconcile_id = #{reconcileId}
+    """)
+    ReconcileStatement total(@Param("reconcileId") Long reconcileId);
 }
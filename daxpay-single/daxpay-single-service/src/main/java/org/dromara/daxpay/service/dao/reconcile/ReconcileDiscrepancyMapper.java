@@ -1,14 +1,115 @@
 package org.dromara.daxpay.service.dao.reconcile;
 
 import org.dromara.daxpay.service.entity.reconcile.ReconcileDiscrepancy;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.github.yulichang.base.MPJBaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- *
+ * 对账差异
+ * 数据库比对时差异记录由查询直接生成, 只返回有差异的记录, 对账单信息和主键在保存时设置,
+ * 订单状态到交易状态的转换与 ReconcileAssistService 保持一致
  * @author xxm
  * @since 2024/8/5
  */
 @Mapper
 public interface ReconcileDiscrepancyMapper extends MPJBaseMapper<ReconcileDiscrepancy> {
+
+    /**
+     * 以通道交易为主比对, 查询本地短单和信息不一致的差异记录
+     * 按交易号关联支付订单和退款订单, 不限定订单时间和状态
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            case when t.trade_no is null then 'local_not_exists' else 'not_match' end as discrepancy_type,
+            t.trade_no, t.biz_trade_no, t.out_trade_no, t.trade_type, t.trade_amount, t.trade_status, t.trade_time,
+            t.channel_trade_no, t.channel_out_trade_no, t.channel_trade_type, t.channel_trade_amount, t.channel_trade_status, t.channel_trade_time
+        from (
+            select
+                coalesce(p.order_no, r.refund_no) as trade_no,
+                coalesce(p.biz_order_no, r.biz_refund_no) as biz_trade_no,
+                coalesce(p.out_order_no, r.out_refund_no) as out_trade_no,
+                case when p.id is not null then 'pay' when r.id is not null then 'refund' end as trade_type,
+                coalesce(p.amount, r.amount) as trade_amount,
+                case
+                    when p.id is not null then
+                        case p.status when 'progress' then 'progress' when 'timeout' then 'progress' when 'success' then 'success'
+                            when 'close' then 'closed' when 'cancel' then 'revoked' when 'fail' then 'fail' end
+                    when r.id is not null then
+                        case r.status when 'progress' then 'progress' when 'success' then 'success'
+                            when 'close' then 'closed' when 'fail' then 'fail' end
+                end as trade_status,
+                coalesce(p.pay_time, r.finish_time) as trade_time,
+                c.trade_no as channel_trade_no,
+                c.out_trade_no as channel_out_trade_no,
+                c.trade_type as channel_trade_type,
+                c.amount as channel_trade_amount,
+                c.trade_status as channel_trade_status,
+                c.trade_time as channel_trade_time
+            from pay_channel_reconcile_trade c
+            left join pay_order p
+                on p.order_no = c.out_trade_no and p.app_id = #{s.appId} and p.deleted = false
+            left join pay_refund_order r
+                on p.id is null and r.refund_no = c.out_trade_no and r.app_id = #{s.appId} and r.deleted = false
+            where c.reconcile_id = #{s.id}
+        ) t
+        where t.trade_no is null
+           or coalesce(t.trade_type, '') <> coalesce(t.channel_trade_type, '')
+           or coalesce(t.trade_amount, -1) <> coalesce(t.channel_trade_amount, -1)
+           or coalesce(t.trade_status, '') <> coalesce(t.channel_trade_status, '')
+    """)
+    List<ReconcileDiscrepancy> selectChannelDiscrepancy(@Param("s") ReconcileStatement statement);
+
+    /**
+     * 以对账日期内成功的支付订单为主比对, 查询远程短单的差异记录
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            'remote_not_exists' as discrepancy_type,
+            p.order_no as trade_no, p.biz_order_no as biz_trade_no, p.out_order_no as out_trade_no,
+            'pay' as trade_type, p.amount as trade_amount, 'success' as trade_status, p.pay_time as trade_time
+        from pay_order p
+        where p.app_id = #{s.appId}
+          and p.channel = #{s.channel}
+          and p.pay_time between #{start} and #{end}
+          and p.status = 'success'
+          and p.deleted = false
+          and not exists (
+              select 1 from pay_channel_reconcile_trade c
+              where c.reconcile_id = #{s.id} and c.out_trade_no = p.order_no
+          )
+    """)
+    List<ReconcileDiscrepancy> selectPayDiscrepancy(@Param("s") ReconcileStatement statement, @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+
+    /**
+     * 以对账日期内成功的退款订单为主比对, 查询远程短单的差异记录
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            'remote_not_exists' as discrepancy_type,
+            r.refund_no as trade_no, r.biz_refund_no as biz_trade_no, r.out_refund_no as out_trade_no,
+            'refund' as trade_type, r.amount as trade_amount, 'success' as trade_status, r.finish_time as trade_time
+        from pay_refund_order r
+        where r.app_id = #{s.appId}
+          and r.channel = #{s.channel}
+          and r.finish_time between #{start} and #{end}
+          and r.status = 'success'
+          and r.deleted = false
+          and not exists (
+              select 1 from pay_channel_reconcile_trade c
+              where c.reconcile_id = #{s.id} and c.out_trade_no = r.refund_no
+          )
+    """)
+    List<ReconcileDiscrepancy> selectRefundDiscrepancy(@Param("s") ReconcileStatement statement, @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
 }
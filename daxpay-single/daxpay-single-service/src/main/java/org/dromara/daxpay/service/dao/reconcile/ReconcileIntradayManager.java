@@ -0,0 +1,34 @@
+package org.dromara.daxpay.service.dao.reconcile;
+
+import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import cn.bootx.platform.core.annotation.IgnoreTenant;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntraday;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 日间对账汇总
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ReconcileIntradayManager extends BaseManager<ReconcileIntradayMapper, ReconcileIntraday> {
+
+    /**
+     * 查询应用通道指定日期的汇总
+     */
+    @IgnoreTenant
+    public Optional<ReconcileIntraday> findByDate(String appId, String channel, LocalDate tradeDate) {
+        return lambdaQuery()
+                .eq(ReconcileIntraday::getAppId, appId)
+                .eq(ReconcileIntraday::getChannel, channel)
+                .eq(ReconcileIntraday::getTradeDate, tradeDate)
+                .oneOpt();
+    }
+}
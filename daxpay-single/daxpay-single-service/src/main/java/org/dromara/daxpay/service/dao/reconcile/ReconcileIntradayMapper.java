@@ -0,0 +1,101 @@
+package org.dromara.daxpay.service.dao.reconcile;
+
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntraday;
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+
+/**
+ * 日间对账汇总
+ * 统计口径与对账时获取平台交易记录的条件保持一致, 支付按支付成功时间, 退款按退款完成时间
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Mapper
+public interface ReconcileIntradayMapper extends MPJBaseMapper<ReconcileIntraday> {
+
+    /**
+     * 统计时间范围内成功的支付订单
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            count(amount) as orderCount,
+            coalesce(sum(amount), 0) as orderAmount
+        from pay_order
+        where app_id = #{appId}
+          and channel = #{channel}
+          and pay_time between #{start} and #{end}
+          and status = 'success'
+          and deleted = false
+    """)
+    ReconcileIntraday totalPay(@Param("appId") String appId, @Param("channel") String channel,
+                               @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 统计时间范围内成功的退款订单
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            count(amount) as refundCount,
+            coalesce(sum(amount), 0) as refundAmount
+        from pay_refund_order
+        where app_id = #{appId}
+          and channel = #{channel}
+          and finish_time between #{start} and #{end}
+          and status = 'success'
+          and deleted = false
+    """)
+    ReconcileIntraday totalRefund(@Param("appId") String appId, @Param("channel") String channel,
+                                  @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 统计时间范围内创建的支付和退款订单中, 最近一次同步到的通道状态与本地状态不一致的笔数
+     * 同步记录的主键为雪花算法生成, 先按交易号分组取主键最大的即为最近一次同步, 再与订单关联,
+     * 订单的同步记录不会早于订单创建时间, 分组时只统计时间范围开始之后的同步记录
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    @Select("""
+        select
+            (select count(*)
+             from pay_order p
+             join (select trade_no, max(id) as id
+                   from pay_trade_sync_record
+                   where app_id = #{appId}
+                     and channel = #{channel}
+                     and trade_type = 'pay'
+                     and out_trade_status is not null
+                     and create_time >= #{start}
+                   group by trade_no) m on m.trade_no = p.order_no
+             join pay_trade_sync_record s on s.id = m.id
+             where p.app_id = #{appId}
+               and p.channel = #{channel}
+               and p.create_time between #{start} and #{end}
+               and p.deleted = false
+               and s.out_trade_status <> p.status)
+            +
+            (select count(*)
+             from pay_refund_order r
+             join (select trade_no, max(id) as id
+                   from pay_trade_sync_record
+                   where app_id = #{appId}
+                     and channel = #{channel}
+                     and trade_type = 'refund'
+                     and out_trade_status is not null
+                     and create_time >= #{start}
+                   group by trade_no) m on m.trade_no = r.refund_no
+             join pay_trade_sync_record s on s.id = m.id
+             where r.app_id = #{appId}
+               and r.channel = #{channel}
+               and r.create_time between #{start} and #{end}
+               and r.deleted = false
+               and s.out_trade_status <> r.status)
+    """)
+    int countMismatch(@Param("appId") String appId, @Param("channel") String channel,
+                      @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,27 @@
+package org.dromara.daxpay.service.dao.reconcile;
+
+import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntradayWatermark;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 日间对账扫描进度
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ReconcileIntradayWatermarkManager extends BaseManager<ReconcileIntradayWatermarkMapper, ReconcileIntradayWatermark> {
+
+    /**
+     * 查询交易类型的扫描进度
+     */
+    public Optional<ReconcileIntradayWatermark> findByTradeType(String tradeType) {
+        return findByField(ReconcileIntradayWatermark::getTradeType, tradeType);
+    }
+}
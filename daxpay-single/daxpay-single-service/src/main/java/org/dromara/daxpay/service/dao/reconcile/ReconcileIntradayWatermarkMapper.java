@@ -0,0 +1,14 @@
+package org.dromara.daxpay.service.dao.reconcile;
+
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntradayWatermark;
+import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 日间对账扫描进度
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Mapper
+public interface ReconcileIntradayWatermarkMapper extends MPJBaseMapper<ReconcileIntradayWatermark> {
+}
@@ -0,0 +1,63 @@
+package org.dromara.daxpay.service.dao.record.callback;
+
+import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import cn.bootx.platform.core.annotation.IgnoreTenant;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.entity.record.callback.TradeCallbackInbox;
+import org.dromara.daxpay.service.enums.CallbackInboxStatusEnum;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 回调收件箱
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TradeCallbackInboxManager extends BaseManager<TradeCallbackInboxMapper, TradeCallbackInbox> {
+
+    /**
+     * 查询待处理的回调, 失败后未到下次重试时间的不查询
+     */
+    @IgnoreTenant
+    public List<TradeCallbackInbox> findWaiting(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        return lambdaQuery()
+                .eq(TradeCallbackInbox::getStatus, CallbackInboxStatusEnum.WAITING.getCode())
+                .and(o -> o.isNull(TradeCallbackInbox::getNextRetryTime).or().le(TradeCallbackInbox::getNextRetryTime, now))
+                .orderByAsc(TradeCallbackInbox::getId)
+                .page(new Page<>(1, size, false))
+                .getRecords();
+    }
+
+    /**
+     * 领取待处理的回调, 多个实例同时领取时只有一个可以成功
+     */
+    @IgnoreTenant
+    public boolean claim(Long id) {
+        return lambdaUpdate()
+                .set(TradeCallbackInbox::getStatus, CallbackInboxStatusEnum.PROCESSING.getCode())
+                .set(TradeCallbackInbox::getLastModifiedTime, LocalDateTime.now())
+                .eq(TradeCallbackInbox::getId, id)
+                .eq(TradeCallbackInbox::getStatus, CallbackInboxStatusEnum.WAITING.getCode())
+                .update();
+    }
+
+    /**
+     * 将处理超时(如处理过程中服务停止)的回调重置为待处理
+     */
+    @IgnoreTenant
+    public void resetTimeout(LocalDateTime lastModifiedTime) {
+        lambdaUpdate()
+                .set(TradeCallbackInbox::getStatus, CallbackInboxStatusEnum.WAITING.getCode())
+                .eq(TradeCallbackInbox::getStatus, CallbackInboxStatusEnum.PROCESSING.getCode())
+                .lt(TradeCallbackInbox::getLastModifiedTime, lastModifiedTime)
+                .update();
+    }
+}
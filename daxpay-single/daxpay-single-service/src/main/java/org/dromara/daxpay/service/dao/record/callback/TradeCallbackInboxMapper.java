@@ -0,0 +1,14 @@
+package org.dromara.daxpay.service.dao.record.callback;
+
+import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.dromara.daxpay.service.entity.record.callback.TradeCallbackInbox;
+
+/**
+ * 回调收件箱
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Mapper
+public interface TradeCallbackInboxMapper extends MPJBaseMapper<TradeCallbackInbox> {
+}
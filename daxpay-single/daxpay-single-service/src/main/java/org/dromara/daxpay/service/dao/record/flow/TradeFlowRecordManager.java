@@ -11,6 +11,7 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -43,4 +44,12 @@ public class TradeFlowRecordManager extends BaseManager<TradeFlowRecordMapper, T
         return baseMapper.getTotalAmount(generator);
     }
 
+    /**
+     * 按查询条件流式读取交易流水, 按主键倒序
+     */
+    public void exportStream(TradeFlowRecordQuery query, ResultHandler<TradeFlowRecord> handler) {
+        QueryWrapper<TradeFlowRecord> generator = QueryGenerator.generator(query);
+        generator.orderByDesc(MpUtil.getColumnName(TradeFlowRecord::getId));
+        baseMapper.exportStream(generator, handler);
+    }
 }
@@ -0,0 +1,30 @@
+package org.dromara.daxpay.service.dao.report;
+
+import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.entity.report.TradeReportHour;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 交易小时汇总统计
+ * @author xxm
+ * @since 2025/1/15
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TradeReportHourManager extends BaseManager<TradeReportHourMapper, TradeReportHour> {
+
+    /**
+     * 删除指定小时的汇总数据
+     */
+    public void deleteByReportTime(LocalDateTime reportTime, String tradeType) {
+        lambdaUpdate()
+                .eq(TradeReportHour::getReportTime, reportTime)
+                .eq(TradeReportHour::getTradeType, tradeType)
+                .remove();
+    }
+}
@@ -0,0 +1,66 @@
+package org.dromara.daxpay.service.dao.report;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.dromara.daxpay.service.entity.report.TradeReportHour;
+import org.dromara.daxpay.service.result.report.TradeReportResult;
+
+import java.util.List;
+
+/**
+ * 交易小时汇总统计
+ * @author xxm
+ * @since 2025/1/15
+ */
+@Mapper
+public interface TradeReportHourMapper extends MPJBaseMapper<TradeReportHour> {
+
+    /**
+     * 从支付订单汇总, 需按 app_id, channel, method 分组
+     */
+    @Select("""
+        select
+            app_id as appId,
+            channel,
+            method,
+            count(amount) as tradeCount,
+            sum(amount) as tradeAmount,
+            max(amount) as maxAmount
+        from pay_order
+        ${ew.customSqlSegment}
+    """)
+    List<TradeReportHour> rollupPay(@Param(Constants.WRAPPER) QueryWrapper<?> param);
+
+    /**
+     * 从退款订单汇总, 需按 app_id, channel 分组
+     */
+    @Select("""
+        select
+            app_id as appId,
+            channel,
+            count(amount) as tradeCount,
+            sum(amount) as tradeAmount,
+            max(amount) as maxAmount
+        from pay_refund_order
+        ${ew.customSqlSegment}
+    """)
+    List<TradeReportHour> rollupRefund(@Param(Constants.WRAPPER) QueryWrapper<?> param);
+
+    /**
+     * 汇总统计数据, 可按通道或支付方式分组
+     */
+    @Select("""
+        select
+            ${title} as title,
+            sum(trade_amount) as tradeAmount,
+            sum(trade_count) as tradeCount,
+            max(max_amount) as maxAmount
+        from pay_trade_report_hour
+        ${ew.customSqlSegment}
+    """)
+    List<TradeReportResult> report(@Param("title") String title, @Param(Constants.WRAPPER) QueryWrapper<TradeReportHour> param);
+}
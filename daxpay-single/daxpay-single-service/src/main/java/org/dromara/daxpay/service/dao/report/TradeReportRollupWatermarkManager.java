@@ -0,0 +1,27 @@
+package org.dromara.daxpay.service.dao.report;
+
+import cn.bootx.platform.common.mybatisplus.impl.BaseManager;
+import org.dromara.daxpay.service.entity.report.TradeReportRollupWatermark;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 交易小时汇总扫描进度
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TradeReportRollupWatermarkManager extends BaseManager<TradeReportRollupWatermarkMapper, TradeReportRollupWatermark> {
+
+    /**
+     * 查询交易类型的扫描进度
+     */
+    public Optional<TradeReportRollupWatermark> findByTradeType(String tradeType) {
+        return findByField(TradeReportRollupWatermark::getTradeType, tradeType);
+    }
+}
@@ -0,0 +1,14 @@
+package org.dromara.daxpay.service.dao.report;
+
+import org.dromara.daxpay.service.entity.report.TradeReportRollupWatermark;
+import com.github.yulichang.base.MPJBaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 交易小时汇总扫描进度
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Mapper
+public interface TradeReportRollupWatermarkMapper extends MPJBaseMapper<TradeReportRollupWatermark> {
+}
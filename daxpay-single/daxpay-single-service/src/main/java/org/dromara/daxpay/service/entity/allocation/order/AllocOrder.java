@@ -102,6 +102,12 @@ public class AllocOrder extends MchAppBaseEntity implements ToResult<AllocOrderV
     /** 错误信息 */
     private String errorMsg;
 
+    /** 同步失败次数 */
+    private Integer syncRetryCount;
+
+    /** 同步下次重试时间 */
+    private LocalDateTime syncNextRetryTime;
+
     /**
      * 转换
      */
@@ -0,0 +1,72 @@
+package org.dromara.daxpay.service.entity.export;
+
+import cn.bootx.platform.common.mybatisplus.base.MpBaseEntity;
+import cn.bootx.platform.common.mybatisplus.function.ToResult;
+import org.dromara.daxpay.service.convert.export.ExportTaskConvert;
+import org.dromara.daxpay.service.enums.ExportFormatEnum;
+import org.dromara.daxpay.service.enums.ExportTaskStatusEnum;
+import org.dromara.daxpay.service.enums.TradeExportTypeEnum;
+import org.dromara.daxpay.service.result.export.ExportTaskResult;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 数据导出任务
+ * 数据量较大的导出在后台执行, 导出文件保存到文件存储中
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@TableName("pay_export_task")
+public class ExportTask extends MpBaseEntity implements ToResult<ExportTaskResult> {
+
+    /** 任务名称 */
+    private String name;
+
+    /**
+     * 导出数据类型
+     * @see TradeExportTypeEnum
+     */
+    private String type;
+
+    /**
+     * 文件格式
+     * @see ExportFormatEnum
+     */
+    private String format;
+
+    /** 查询条件 */
+    private String queryParam;
+
+    /**
+     * 任务状态
+     * @see ExportTaskStatusEnum
+     */
+    private String status;
+
+    /** 导出条数 */
+    private Integer total;
+
+    /** 文件地址 */
+    private String fileUrl;
+
+    /** 错误信息 */
+    private String errorMsg;
+
+    /** 完成时间 */
+    private LocalDateTime finishTime;
+
+    /**
+     * 转换
+     */
+    @Override
+    public ExportTaskResult toResult() {
+        return ExportTaskConvert.CONVERT.convert(this);
+    }
+}
@@ -40,6 +40,12 @@ public class MerchantNotifyTask extends MchAppBaseEntity implements ToResult<Mer
     /** 消息内容 */
     private String content;
 
+    /** 通知报文, 注册时生成并签名, 重发时直接发送 */
+    private String body;
+
+    /** 通知报文签名时使用的签名密钥版本, 与应用当前的版本不一致时重新生成报文 */
+    private String signKeyVersion;
+
     /** 是否发送成功 */
     private boolean success;
 
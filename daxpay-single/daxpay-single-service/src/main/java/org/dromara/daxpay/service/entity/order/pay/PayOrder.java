@@ -96,6 +96,12 @@ public class PayOrder extends MchAppBaseEntity implements ToResult<PayOrderVo> {
     /** 关闭时间 */
     private LocalDateTime closeTime;
 
+    /** 自动分账失败次数 */
+    private Integer allocRetryCount;
+
+    /** 自动分账下次重试时间 */
+    private LocalDateTime allocNextRetryTime;
+
     /** 同步跳转地址, 以最后一次为准 */
     @TableField(updateStrategy = FieldStrategy.ALWAYS)
     private String returnUrl;
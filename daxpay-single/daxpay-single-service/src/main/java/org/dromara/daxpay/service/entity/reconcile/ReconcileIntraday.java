@@ -0,0 +1,51 @@
+package org.dromara.daxpay.service.entity.reconcile;
+
+import org.dromara.daxpay.core.enums.ChannelEnum;
+import org.dromara.daxpay.service.common.entity.MchAppRecordEntity;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 日间对账汇总, 按应用/通道/交易日期记录平台成功交易的累计数据和与通道同步结果不一致的笔数
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@TableName("pay_reconcile_intraday")
+public class ReconcileIntraday extends MchAppRecordEntity {
+
+    /**
+     * 支付通道
+     * @see ChannelEnum#getCode()
+     */
+    private String channel;
+
+    /** 交易日期 */
+    private LocalDate tradeDate;
+
+    /** 支付成功笔数 */
+    private Integer orderCount;
+
+    /** 支付成功金额 */
+    private BigDecimal orderAmount;
+
+    /** 退款成功笔数 */
+    private Integer refundCount;
+
+    /** 退款成功金额 */
+    private BigDecimal refundAmount;
+
+    /** 与通道同步结果不一致的笔数 */
+    private Integer mismatchCount;
+
+    /** 最后核对时间 */
+    private LocalDateTime checkedTime;
+}
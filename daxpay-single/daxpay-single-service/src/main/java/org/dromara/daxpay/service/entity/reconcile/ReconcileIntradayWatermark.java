@@ -0,0 +1,34 @@
+package org.dromara.daxpay.service.entity.reconcile;
+
+import cn.bootx.platform.common.mybatisplus.base.MpIdEntity;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 日间对账扫描进度, 每种交易类型一条, 记录已扫描到的订单修改时间和主键, 重启或切换实例后从该位置继续扫描
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@TableName("pay_reconcile_intraday_watermark")
+public class ReconcileIntradayWatermark extends MpIdEntity {
+
+    /**
+     * 交易类型
+     * @see TradeTypeEnum#getCode()
+     */
+    private String tradeType;
+
+    /** 已扫描到的订单最后修改时间 */
+    private LocalDateTime scanTime;
+
+    /** 已扫描到的订单主键, 修改时间相同的订单按主键区分 */
+    private Long scanId;
+}
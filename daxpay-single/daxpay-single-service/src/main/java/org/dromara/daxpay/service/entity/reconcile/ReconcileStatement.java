@@ -98,6 +98,9 @@ public class ReconcileStatement extends MchAppBaseEntity implements ToResult<Rec
     @TableField(updateStrategy = FieldStrategy.ALWAYS)
     private String errorMsg;
 
+    /** 已导入的通道交易记录数, 导入中断后从该位置继续 */
+    private Integer ingestCount;
+
     /**
      * 转换
      */
@@ -0,0 +1,76 @@
+package org.dromara.daxpay.service.entity.record.callback;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+import org.dromara.daxpay.core.enums.ChannelEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.common.entity.MchAppBaseEntity;
+import org.dromara.daxpay.service.enums.CallbackInboxStatusEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 回调收件箱, 已经通过验签的通道回调先保存在这里, 再由后台异步进行业务处理
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@TableName("pay_trade_callback_inbox")
+public class TradeCallbackInbox extends MchAppBaseEntity {
+
+    /** 平台交易号 */
+    private String tradeNo;
+
+    /** 通道交易号 */
+    private String outTradeNo;
+
+    /**
+     * 支付通道
+     * @see ChannelEnum
+     */
+    private String channel;
+
+    /**
+     * 回调类型
+     * @see TradeTypeEnum
+     */
+    private String callbackType;
+
+    /** 交易状态 */
+    private String tradeStatus;
+
+    /** 交易错误信息 */
+    private String tradeErrorMsg;
+
+    /** 金额(元) */
+    private BigDecimal amount;
+
+    /** 完成时间 */
+    private LocalDateTime finishTime;
+
+    /** 通知消息内容 */
+    private String notifyInfo;
+
+    /** 去重标识, 通道+交易号+交易状态 */
+    private String dedupKey;
+
+    /**
+     * 处理状态
+     * @see CallbackInboxStatusEnum
+     */
+    private String status;
+
+    /** 重试次数 */
+    private Integer retryCount;
+
+    /** 下次重试时间, 为空时立即处理 */
+    private LocalDateTime nextRetryTime;
+
+    /** 错误信息 */
+    private String errorMsg;
+}
@@ -0,0 +1,47 @@
+package org.dromara.daxpay.service.entity.report;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.common.entity.MchAppRecordEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 交易小时汇总统计, 按应用/通道/支付方式/小时汇总支付和退款的笔数与金额
+ * @author xxm
+ * @since 2025/1/15
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@TableName("pay_trade_report_hour")
+public class TradeReportHour extends MchAppRecordEntity {
+
+    /** 统计小时(整点) */
+    private LocalDateTime reportTime;
+
+    /**
+     * 交易类型, 只统计支付和退款
+     * @see TradeTypeEnum
+     */
+    private String tradeType;
+
+    /** 支付通道 */
+    private String channel;
+
+    /** 支付方式, 退款没有支付方式 */
+    private String method;
+
+    /** 交易笔数 */
+    private Integer tradeCount;
+
+    /** 交易金额 */
+    private BigDecimal tradeAmount;
+
+    /** 最大单笔金额 */
+    private BigDecimal maxAmount;
+}
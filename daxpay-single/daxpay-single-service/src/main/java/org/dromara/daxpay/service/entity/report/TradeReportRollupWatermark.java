@@ -0,0 +1,34 @@
+package org.dromara.daxpay.service.entity.report;
+
+import cn.bootx.platform.common.mybatisplus.base.MpIdEntity;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 交易小时汇总扫描进度, 每种交易类型一条, 记录已扫描到的订单修改时间和主键, 用于找出延迟完成的订单所在的小时重新汇总
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@TableName("pay_trade_report_rollup_watermark")
+public class TradeReportRollupWatermark extends MpIdEntity {
+
+    /**
+     * 交易类型
+     * @see TradeTypeEnum#getCode()
+     */
+    private String tradeType;
+
+    /** 已扫描到的订单最后修改时间 */
+    private LocalDateTime scanTime;
+
+    /** 已扫描到的订单主键, 修改时间相同的订单按主键区分 */
+    private Long scanId;
+}
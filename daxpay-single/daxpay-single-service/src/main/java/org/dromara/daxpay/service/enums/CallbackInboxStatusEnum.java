@@ -0,0 +1,26 @@
+package org.dromara.daxpay.service.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 回调收件箱处理状态
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@AllArgsConstructor
+public enum CallbackInboxStatusEnum {
+
+    /** 待处理 */
+    WAITING("waiting", "待处理"),
+    /** 处理中 */
+    PROCESSING("processing", "处理中"),
+    /** 处理完成 */
+    SUCCESS("success", "处理完成"),
+    /** 处理失败, 超过重试次数 */
+    FAIL("fail", "处理失败");
+
+    private final String code;
+    private final String name;
+}
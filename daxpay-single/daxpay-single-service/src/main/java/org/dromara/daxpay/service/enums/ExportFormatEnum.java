@@ -0,0 +1,33 @@
+package org.dromara.daxpay.service.enums;
+
+import cn.bootx.platform.core.exception.ValidationFailedException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 导出文件格式
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormatEnum {
+
+    CSV("csv", "text/csv", ".csv"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx"),
+    ;
+
+    private final String code;
+    private final String contentType;
+    private final String suffix;
+
+    public static ExportFormatEnum findByCode(String code){
+        return Arrays.stream(values())
+                .filter(value -> Objects.equals(value.getCode(), code))
+                .findFirst()
+                .orElseThrow(() -> new ValidationFailedException("未知的导出文件格式"));
+    }
+}
@@ -0,0 +1,24 @@
+package org.dromara.daxpay.service.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 导出任务状态
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportTaskStatusEnum {
+
+    /** 导出中 */
+    RUNNING("running", "导出中"),
+    /** 导出完成 */
+    SUCCESS("success", "导出完成"),
+    /** 导出失败 */
+    FAIL("fail", "导出失败");
+
+    private final String code;
+    private final String name;
+}
@@ -0,0 +1,25 @@
+package org.dromara.daxpay.service.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 交易表分区所使用的数据库类型
+ * @author xxm
+ * @since 2025/1/14
+ */
+@Getter
+@AllArgsConstructor
+public enum PartitionDbTypeEnum {
+    /**
+     * PostgreSQL, 使用声明式分区, 每个月为一张子表
+     */
+    POSTGRESQL("postgresql", "PostgreSQL"),
+    /**
+     * MySQL, 使用RANGE COLUMNS分区, 每个月为一个分区
+     */
+    MYSQL("mysql", "MySQL");
+
+    private final String code;
+    private final String name;
+}
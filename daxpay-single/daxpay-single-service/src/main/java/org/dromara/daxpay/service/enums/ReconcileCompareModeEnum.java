@@ -0,0 +1,25 @@
+package org.dromara.daxpay.service.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 对账比对方式
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@AllArgsConstructor
+public enum ReconcileCompareModeEnum {
+    /**
+     * 查询出通道和平台交易后在内存中比对
+     */
+    JAVA("java", "内存比对"),
+    /**
+     * 在数据库中通过关联查询比对, 差异记录直接写入差异表
+     */
+    SQL("sql", "数据库比对");
+
+    private final String code;
+    private final String name;
+}
@@ -0,0 +1,22 @@
+package org.dromara.daxpay.service.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 交易数据导出类型
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Getter
+@AllArgsConstructor
+public enum TradeExportTypeEnum {
+
+    PAY_ORDER("pay_order", "支付订单"),
+    REFUND_ORDER("refund_order", "退款订单"),
+    TRADE_FLOW("trade_flow", "交易流水"),
+    ;
+
+    private final String code;
+    private final String name;
+}
@@ -0,0 +1,69 @@
+package org.dromara.daxpay.service.result.export;
+
+import cn.bootx.platform.core.result.BaseResult;
+import org.dromara.daxpay.service.enums.ExportFormatEnum;
+import org.dromara.daxpay.service.enums.ExportTaskStatusEnum;
+import org.dromara.daxpay.service.enums.TradeExportTypeEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 数据导出任务
+ * @author xxm
+ * @since 2025/1/17
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Accessors(chain = true)
+@Schema(title = "数据导出任务")
+public class ExportTaskResult extends BaseResult {
+
+    /** 任务名称 */
+    @Schema(description = "任务名称")
+    private String name;
+
+    /**
+     * 导出数据类型
+     * @see TradeExportTypeEnum
+     */
+    @Schema(description = "导出数据类型")
+    private String type;
+
+    /**
+     * 文件格式
+     * @see ExportFormatEnum
+     */
+    @Schema(description = "文件格式")
+    private String format;
+
+    /** 查询条件 */
+    @Schema(description = "查询条件")
+    private String queryParam;
+
+    /**
+     * 任务状态
+     * @see ExportTaskStatusEnum
+     */
+    @Schema(description = "任务状态")
+    private String status;
+
+    /** 导出条数 */
+    @Schema(description = "导出条数")
+    private Integer total;
+
+    /** 文件地址 */
+    @Schema(description = "文件地址")
+    private String fileUrl;
+
+    /** 错误信息 */
+    @Schema(description = "错误信息")
+    private String errorMsg;
+
+    /** 完成时间 */
+    @Schema(description = "完成时间")
+    private LocalDateTime finishTime;
+}
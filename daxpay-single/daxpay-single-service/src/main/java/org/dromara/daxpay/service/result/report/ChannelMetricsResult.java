@@ -0,0 +1,49 @@
+package org.dromara.daxpay.service.result.report;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 通道调用指标
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Data
+@Accessors(chain = true)
+@Schema(title = "通道调用指标")
+public class ChannelMetricsResult {
+
+    @Schema(title = "通道")
+    private String channel;
+
+    @Schema(title = "操作类型")
+    private String operation;
+
+    @Schema(title = "支付方式")
+    private String method;
+
+    @Schema(title = "异常类型, 正常返回为none")
+    private String exception;
+
+    @Schema(title = "调用次数")
+    private Long count;
+
+    @Schema(title = "平均耗时(毫秒)")
+    private Double meanMs;
+
+    @Schema(title = "最大耗时(毫秒)")
+    private Double maxMs;
+
+    @Schema(title = "50%耗时(毫秒)")
+    private Double p50Ms;
+
+    @Schema(title = "95%耗时(毫秒)")
+    private Double p95Ms;
+
+    @Schema(title = "99%耗时(毫秒)")
+    private Double p99Ms;
+
+    @Schema(title = "执行中的调用数量")
+    private Integer inFlight;
+}
@@ -0,0 +1,292 @@
+package org.dromara.daxpay.service.service.allocation;
+
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import com.baomidou.lock.LockInfo;
+import com.baomidou.lock.LockTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.exception.DataErrorException;
+import org.dromara.daxpay.core.param.allocation.order.AllocationParam;
+import org.dromara.daxpay.core.util.TradeNoGenerateUtil;
+import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.common.properties.AllocationBatchProperties;
+import org.dromara.daxpay.service.dao.allocation.AllocConfigManager;
+import org.dromara.daxpay.service.dao.allocation.order.AllocOrderManager;
+import org.dromara.daxpay.service.dao.allocation.receiver.AllocGroupManager;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.entity.allocation.AllocConfig;
+import org.dromara.daxpay.service.entity.allocation.order.AllocOrder;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 批量分账处理
+ * 分批查询到期的自动分账订单, 按通道限制请求速率并行发起分账, 分账同步同样分批统一处理, 不再为每笔订单注册延时任务
+ * @author xxm
+ * @since 2025/1/16
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AllocationBatchService {
+
+    private final AllocationBatchProperties properties;
+
+    private final AllocConfigManager allocConfigManager;
+
+    private final PayOrderManager payOrderManager;
+
+    private final AllocOrderManager allocOrderManager;
+
+    private final AllocGroupManager allocGroupManager;
+
+    private final AllocationService allocationService;
+
+    private final AllocationSyncService allocationSyncService;
+
+    private final PaymentAssistService paymentAssistService;
+
+    private final LockTemplate lockTemplate;
+
+    /** 各通道的请求速率限制 */
+    private final Map<String, ChannelRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        if (properties.isEnable()) {
+            executor = Executors.newFixedThreadPool(Math.max(properties.getParallelism(), 1),
+                    ThreadFactoryBuilder.create().setNamePrefix("alloc-batch-").build());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(executor)) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 发起到期的自动分账
+     */
+    public void start() {
+        if (!properties.isEnable()) {
+            return;
+        }
+        // 多实例部署时只有一个实例执行
+        LockInfo lock = lockTemplate.lock("payment:allocation:batch:start", 30 * 60 * 1000L, 0);
+        if (Objects.isNull(lock)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (AllocConfig config : allocConfigManager.findAllAutoAlloc()) {
+                // 如果未设置默认为一天后进行分账
+                int delayTime = Optional.ofNullable(config.getDelayTime()).orElse(24 * 60);
+                LocalDateTime payTime = now.minusMinutes(delayTime);
+                // 自动分账使用默认分账组, 没有默认分账组的通道无法分账, 订单保持待分账, 设置默认分账组后再处理
+                List<String> channels = allocGroupManager.findDefaultGroupChannels(config.getAppId());
+                if (channels.isEmpty()) {
+                    continue;
+                }
+                int count = this.batch(lastId -> payOrderManager.findAutoAllocWaiting(config.getAppId(), channels, payTime, properties.getMaxRetryCount(), lastId, properties.getPageSize()),
+                        PayOrder::getId, PayOrder::getChannel, this::start);
+                if (count > 0) {
+                    log.info("应用 {} 批量发起自动分账 {} 笔", config.getAppId(), count);
+                }
+            }
+        } finally {
+            lockTemplate.releaseLock(lock);
+        }
+    }
+
+    /**
+     * 同步分账处理中的订单
+     */
+    public void sync() {
+        if (!properties.isEnable()) {
+            return;
+        }
+        LockInfo lock = lockTemplate.lock("payment:allocation:batch:sync", 30 * 60 * 1000L, 0);
+        if (Objects.isNull(lock)) {
+            return;
+        }
+        try {
+            LocalDateTime modifiedTime = LocalDateTime.now().minusMinutes(properties.getSyncDelayMinutes());
+            int count = this.batch(lastId -> allocOrderManager.findProcessing(modifiedTime, properties.getMaxRetryCount(), lastId, properties.getPageSize()),
+                    AllocOrder::getId, AllocOrder::getChannel, this::sync);
+            if (count > 0) {
+                log.info("批量同步分账订单 {} 笔", count);
+            }
+        } finally {
+            lockTemplate.releaseLock(lock);
+        }
+    }
+
+    /**
+     * 分批查询并行处理, 每批全部处理完成后再查询下一批
+     * @param query 根据上一批最后的主键查询下一批
+     * @return 处理的数量
+     */
+    private <T> int batch(Function<Long, List<T>> query, Function<T, Long> idGetter,
+                          Function<T, String> channelGetter, Consumer<T> handler) {
+        int count = 0;
+        Long lastId = null;
+        while (true) {
+            List<T> list = query.apply(lastId);
+            if (list.isEmpty()) {
+                break;
+            }
+            CompletableFuture<?>[] futures = list.stream()
+                    .map(o -> CompletableFuture.runAsync(() -> {
+                        this.getRateLimiter(channelGetter.apply(o)).acquire();
+                        // 线程池中的线程可能继承了创建时的上下文, 处理前先清除
+                        PaymentContextLocal.clear();
+                        try {
+                            handler.accept(o);
+                        } finally {
+                            PaymentContextLocal.clear();
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+            count += list.size();
+            lastId = idGetter.apply(list.getLast());
+            if (list.size() < properties.getPageSize()) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 发起单笔自动分账
+     */
+    private void start(PayOrder payOrder) {
+        try {
+            paymentAssistService.initMchApp(payOrder.getAppId());
+            AllocationParam param = new AllocationParam()
+                    .setBizAllocNo("B" + TradeNoGenerateUtil.allocation());
+            param.setAppId(payOrder.getAppId());
+            allocationService.start(param, payOrder, false);
+        } catch (DataErrorException e) {
+            // 查询订单后默认分账组被删除, 会触发分账失败, 下次执行时不再查询该通道的订单
+            log.warn("自动分账失败, 订单号: {}", payOrder.getOrderNo(), e);
+            this.startFailed(payOrder);
+        } catch (Exception e) {
+            log.error("自动分账失败, 订单号: {}", payOrder.getOrderNo(), e);
+            this.startFailed(payOrder);
+        }
+    }
+
+    /**
+     * 记录自动分账失败, 按失败次数延后下次发起, 达到最多次数后不再自动发起
+     */
+    private void startFailed(PayOrder payOrder) {
+        int retryCount = Optional.ofNullable(payOrder.getAllocRetryCount()).orElse(0) + 1;
+        if (retryCount >= properties.getMaxRetryCount()) {
+            log.error("自动分账失败 {} 次, 不再自动发起, 订单号: {}", retryCount, payOrder.getOrderNo());
+        }
+        try {
+            payOrderManager.updateAllocRetry(payOrder.getId(), retryCount, this.nextRetryTime(retryCount));
+        } catch (Exception e) {
+            log.error("记录自动分账失败次数失败, 订单号: {}", payOrder.getOrderNo(), e);
+        }
+    }
+
+    /**
+     * 同步单笔分账订单
+     */
+    private void sync(AllocOrder allocOrder) {
+        try {
+            paymentAssistService.initMchApp(allocOrder.getAppId());
+            allocationSyncService.sync(allocOrder);
+            // 同步成功后清除之前的失败次数
+            if (Optional.ofNullable(allocOrder.getSyncRetryCount()).orElse(0) > 0) {
+                allocOrderManager.updateSyncRetry(allocOrder.getId(), 0, null);
+            }
+        } catch (Exception e) {
+            log.warn("分账同步失败, 分账号: {}", allocOrder.getAllocNo(), e);
+            this.syncFailed(allocOrder);
+        }
+    }
+
+    /**
+     * 记录分账同步失败, 按失败次数延后下次同步, 达到最多次数后不再自动同步
+     */
+    private void syncFailed(AllocOrder allocOrder) {
+        int retryCount = Optional.ofNullable(allocOrder.getSyncRetryCount()).orElse(0) + 1;
+        if (retryCount >= properties.getMaxRetryCount()) {
+            log.error("分账同步失败 {} 次, 不再自动同步, 分账号: {}", retryCount, allocOrder.getAllocNo());
+        }
+        try {
+            allocOrderManager.updateSyncRetry(allocOrder.getId(), retryCount, this.nextRetryTime(retryCount));
+        } catch (Exception e) {
+            log.error("记录分账同步失败次数失败, 分账号: {}", allocOrder.getAllocNo(), e);
+        }
+    }
+
+    /**
+     * 计算下次重试时间, 重试间隔随失败次数翻倍, 不超过最大重试间隔
+     * @param retryCount 失败次数
+     */
+    private LocalDateTime nextRetryTime(int retryCount) {
+        long minutes = (long) properties.getRetryIntervalMinutes() << Math.min(retryCount - 1, 20);
+        return LocalDateTime.now().plusMinutes(Math.min(minutes, properties.getMaxRetryIntervalMinutes()));
+    }
+
+    /**
+     * 获取通道的请求速率限制
+     */
+    private ChannelRateLimiter getRateLimiter(String channel) {
+        return rateLimiters.computeIfAbsent(Objects.toString(channel, ""), key -> {
+            int rate = properties.getChannelRates().getOrDefault(key, properties.getDefaultChannelRate());
+            return new ChannelRateLimiter(rate);
+        });
+    }
+
+    /**
+     * 通道请求速率限制, 按固定间隔依次发放请求许可
+     */
+    private static class ChannelRateLimiter {
+        /** 两次请求的间隔(纳秒) */
+        private final long interval;
+        /** 下一个可用许可的时间 */
+        private final AtomicLong next = new AtomicLong(System.nanoTime());
+
+        private ChannelRateLimiter(int rate) {
+            this.interval = 1_000_000_000L / Math.max(rate, 1);
+        }
+
+        /**
+         * 获取许可, 没有可用许可时等待
+         */
+        private void acquire() {
+            long now = System.nanoTime();
+            long previous = next.getAndAccumulate(now, (prev, current) -> Math.max(prev, current) + interval);
+            long wait = previous - now;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+}
@@ -3,8 +3,8 @@ package org.dromara.daxpay.service.service.allocation;
 import cn.bootx.platform.core.exception.DataNotExistException;
 import cn.bootx.platform.core.exception.RepetitiveOperationException;
 import cn.bootx.platform.starter.redis.delay.service.DelayJobService;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.AllocationResultEnum;
@@ -19,6 +19,7 @@ import org.dromara.daxpay.core.result.allocation.AllocationResult;
 import org.dromara.daxpay.core.result.allocation.order.AllocOrderResult;
 import org.dromara.daxpay.service.bo.allocation.AllocStartResultBo;
 import org.dromara.daxpay.service.code.DaxPayCode;
+import org.dromara.daxpay.service.common.properties.AllocationBatchProperties;
 import org.dromara.daxpay.service.convert.allocation.AllocOrderConvert;
 import org.dromara.daxpay.service.dao.allocation.order.AllocDetailManager;
 import org.dromara.daxpay.service.dao.allocation.order.AllocOrderManager;
@@ -60,7 +61,7 @@ public class AllocationService {
 
     private final AllocDetailManager allocOrderDetailManager;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
 
     private final PaymentAssistService paymentAssistService;
 
@@ -74,6 +75,8 @@ public class AllocationService {
 
     private final AllocConfigManager allocConfigManager;
 
+    private final AllocationBatchProperties allocationBatchProperties;
+
     /**
      * 开启分账 多次请求只会分账一次
      * 优先级 分账接收方列表 > 分账组编号 > 默认分账组
@@ -95,7 +98,15 @@ public class AllocationService {
      * 开启分账  优先级 分账接收方列表 > 分账组编号 > 默认分账组
      */
     public AllocationResult start(AllocationParam param, PayOrder payOrder) {
-        LockInfo lock = lockTemplate.lock("payment:allocation:" + payOrder.getId(),10000,200);
+        return this.start(param, payOrder, true);
+    }
+
+    /**
+     * 开启分账  优先级 分账接收方列表 > 分账组编号 > 默认分账组
+     * @param registerSync 是否注册分账同步事件, 批量分账时由定时任务统一进行同步
+     */
+    public AllocationResult start(AllocationParam param, PayOrder payOrder, boolean registerSync) {
+        TradeLock lock = tradeLockService.lock("payment:allocation:" + payOrder.getId(),10000,200);
         if (Objects.isNull(lock)){
             throw new RepetitiveOperationException("分账发起处理中，请勿重复操作");
         }
@@ -133,15 +144,17 @@ public class AllocationService {
                         .setErrorMsg(e.getMessage());
             }
             allocationOrderManager.updateById(order);
-            // 注册两分钟后的分账同步事件
-            delayJobService.registerByTransaction(order.getId(), DaxPayCode.Event.ORDER_ALLOC_SYNC, 2*60*1000L);
+            if (registerSync) {
+                // 注册两分钟后的分账同步事件
+                delayJobService.registerByTransaction(order.getId(), DaxPayCode.Event.ORDER_ALLOC_SYNC, 2*60*1000L);
+            }
             return new AllocationResult()
                     .setAllocNo(order.getAllocNo())
                     .setBizAllocNo(order.getBizAllocNo())
                     .setStatus(order.getStatus())
                     .setResult(order.getResult());
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -153,6 +166,10 @@ public class AllocationService {
         if (!Objects.equals(payOrder.getStatus(), PayStatusEnum.SUCCESS.getCode())){
             return;
         }
+        // 开启批量分账时由定时任务统一发起
+        if (allocationBatchProperties.isEnable()){
+            return;
+        }
         // 是否开启自动分账
         if (payOrder.getAllocation() && payOrder.getAutoAllocation()){
             AllocConfig allocConfig = allocConfigManager.findByAppId(payOrder.getAppId()).orElse(null);
@@ -181,7 +198,7 @@ public class AllocationService {
      * 重新分账
      */
     private AllocationResult retryAlloc(AllocationParam param, AllocOrder order){
-        LockInfo lock = lockTemplate.lock("payment:allocation:" + order.getOrderId(),10000,200);
+        TradeLock lock = tradeLockService.lock("payment:allocation:" + order.getOrderId(),10000,200);
         if (Objects.isNull(lock)){
             throw new RepetitiveOperationException("分账发起处理中，请勿重复操作");
         }
@@ -219,7 +236,7 @@ public class AllocationService {
                     .setStatus(order.getStatus())
                     .setResult(order.getResult());
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -3,8 +3,8 @@ package org.dromara.daxpay.service.service.allocation;
 import cn.bootx.platform.core.exception.DataNotExistException;
 import cn.bootx.platform.core.exception.RepetitiveOperationException;
 import cn.bootx.platform.starter.redis.delay.service.DelayJobService;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.AllocDetailResultEnum;
@@ -51,7 +51,7 @@ public class AllocationSyncService {
 
     private final TradeSyncRecordService paySyncRecordService;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final PaymentAssistService paymentAssistService;
     private final MerchantNoticeService merchantNoticeService;
     private final AllocConfigManager allocConfigManager;
@@ -103,7 +103,7 @@ public class AllocationSyncService {
      */
     @Transactional(rollbackFor = Exception.class)
     public void sync(AllocOrder allocOrder){
-        LockInfo lock = lockTemplate.lock("payment:allocation:" + allocOrder.getOrderId(),10000,200);
+        TradeLock lock = tradeLockService.lock("payment:allocation:" + allocOrder.getOrderId(),10000,200);
         if (Objects.isNull(lock)){
             throw new RepetitiveOperationException("分账同步中，请勿重复操作");
         }
@@ -123,7 +123,7 @@ public class AllocationSyncService {
             allocOrder.setErrorMsg(null).setErrorCode(null);
             this.updateOrderStatus(allocOrder, detailList,beforeStatus);
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -8,8 +8,8 @@ import cn.bootx.platform.core.rest.param.PageParam;
 import cn.bootx.platform.core.rest.result.PageResult;
 import cn.hutool.core.lang.UUID;
 import cn.hutool.core.util.IdUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.exception.DataErrorException;
@@ -52,7 +52,7 @@ public class AllocReceiverService {
 
     private final ChannelConstManager channelConstManager;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
 
     /**
      * 分页
@@ -105,7 +105,7 @@ public class AllocReceiverService {
     @Transactional(rollbackFor = Exception.class)
     public void addAndSync(AllocReceiverAddParam param) {
         // 判断是否已经添加
-        LockInfo lock = lockTemplate.lock("payment:receiver:" + param.getReceiverNo(), 10000, 200);
+        TradeLock lock = tradeLockService.lock("payment:receiver:" + param.getReceiverNo(), 10000, 200);
         if (Objects.isNull(lock)) {
             throw new OperationProcessingException("分账方处理中，请勿重复操作");
         }
@@ -129,7 +129,7 @@ public class AllocReceiverService {
             receiverStrategy.bind();
             allocReceiverManager.save(receiver);
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -146,7 +146,7 @@ public class AllocReceiverService {
         }
         // 获取策略
         var receiverStrategy = PaymentStrategyFactory.create(receiver.getChannel(), AbsAllocReceiverStrategy.class);
-        LockInfo lock = lockTemplate.lock("payment:receiver:" + param.getReceiverNo(), 10000, 200);
+        TradeLock lock = tradeLockService.lock("payment:receiver:" + param.getReceiverNo(), 10000, 200);
         if (Objects.isNull(lock)) {
             throw new OperationProcessingException("分账方处理中，请勿重复操作");
         }
@@ -160,7 +160,7 @@ public class AllocReceiverService {
             receiverStrategy.unbind();
             allocReceiverManager.deleteById(receiver.getId());
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -2,7 +2,6 @@ package org.dromara.daxpay.service.service.assist;
 
 import cn.bootx.platform.core.exception.ValidationFailedException;
 import cn.bootx.platform.core.util.DateTimeUtil;
-import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.date.LocalDateTimeUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +20,9 @@ import org.dromara.daxpay.service.enums.MchAppStatusEnum;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 支付、退款等各类操作支持服务
@@ -36,6 +37,9 @@ public class PaymentAssistService {
 
     private final MchAppCacheService mchAppCacheService;
 
+    /** 应用信息快照, 应用配置的主键和版本未变化时复用 */
+    private final Map<String, MchAppSnapshot> mchAppSnapshots = new ConcurrentHashMap<>();
+
     /**
      * 初始化请求相关信息上下文
      */
@@ -136,8 +140,30 @@ public class PaymentAssistService {
         if (!Objects.equals(mchApp.getStatus(), MchAppStatusEnum.ENABLE.getCode())){
             throw new ConfigNotEnableException("商户应用未启用");
         }
-        // 初始化支付上下文信息
-        MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
-        BeanUtil.copyProperties(mchApp, mchAppInfo);
+        // 初始化支付上下文信息, 直接替换为共享的快照
+        PaymentContextLocal.get().setMchAppInfo(this.getSnapshot(mchApp));
+    }
+
+    /**
+     * 获取应用信息快照, 应用配置变更后重新创建
+     */
+    private MchAppLocal getSnapshot(MchApp mchApp) {
+        MchAppSnapshot snapshot = mchAppSnapshots.get(mchApp.getAppId());
+        if (Objects.nonNull(snapshot) && snapshot.isCurrent(mchApp)) {
+            return snapshot.mchAppInfo();
+        }
+        snapshot = new MchAppSnapshot(mchApp.getId(), mchApp.getVersion(), MchAppLocal.of(mchApp));
+        mchAppSnapshots.put(mchApp.getAppId(), snapshot);
+        return snapshot.mchAppInfo();
+    }
+
+    /**
+     * 应用信息快照及创建时应用配置的主键和版本
+     */
+    private record MchAppSnapshot(Long id, Integer version, MchAppLocal mchAppInfo) {
+
+        private boolean isCurrent(MchApp mchApp) {
+            return Objects.equals(id, mchApp.getId()) && Objects.equals(version, mchApp.getVersion());
+        }
     }
 }
@@ -3,8 +3,8 @@ package org.dromara.daxpay.service.service.checkout;
 import cn.bootx.platform.common.spring.util.WebServletUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.servlet.JakartaServletUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.CheckoutCallTypeEnum;
@@ -46,7 +46,7 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class CheckoutService {
     private final CheckoutAssistService checkoutAssistService;
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final PlatformConfigService platformConfigService;
     private final PaymentAssistService paymentAssistService;
     private final CheckoutItemConfigManager checkoutItemConfigManager;
@@ -64,7 +64,7 @@ public class CheckoutService {
         // 获取商户订单号
         String bizOrderNo = checkoutParam.getBizOrderNo();
         // 加锁
-        LockInfo lock = lockTemplate.lock("payment:pay:" + bizOrderNo,10000,200);
+        TradeLock lock = tradeLockService.lock("payment:pay:" + bizOrderNo,10000,200);
         if (Objects.isNull(lock)){
             log.warn("正在发起调起收银台中，请勿重复操作");
             throw new TradeProcessingException("正在发起调起收银台中，请勿重复操作");
@@ -80,7 +80,7 @@ public class CheckoutService {
             String checkoutUrl = this.getCheckoutUrl(payOrder.getOrderNo(), checkoutParam.getCheckoutType());
             return new CheckoutUrlResult().setUrl(checkoutUrl);
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -0,0 +1,297 @@
+package org.dromara.daxpay.service.service.export;
+
+import cn.bootx.platform.common.mybatisplus.util.MpUtil;
+import cn.bootx.platform.core.exception.DataNotExistException;
+import cn.bootx.platform.core.rest.param.PageParam;
+import cn.bootx.platform.core.rest.result.PageResult;
+import cn.bootx.platform.core.util.JsonUtil;
+import org.dromara.daxpay.service.dao.export.ExportTaskManager;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
+import org.dromara.daxpay.service.dao.record.flow.TradeFlowRecordManager;
+import org.dromara.daxpay.service.entity.export.ExportTask;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.entity.record.flow.TradeFlowRecord;
+import org.dromara.daxpay.service.enums.ExportFormatEnum;
+import org.dromara.daxpay.service.enums.ExportTaskStatusEnum;
+import org.dromara.daxpay.service.enums.TradeExportTypeEnum;
+import org.dromara.daxpay.service.param.order.pay.PayOrderQuery;
+import org.dromara.daxpay.service.param.order.refund.RefundOrderQuery;
+import org.dromara.daxpay.service.param.record.TradeFlowRecordQuery;
+import org.dromara.daxpay.service.result.export.ExportTaskResult;
+import org.dromara.daxpay.service.util.TradeExportWriter;
+import org.dromara.daxpay.service.util.TradeExportWriter.Column;
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ResultHandler;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.dromara.x.file.storage.core.upload.UploadPretreatment;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * 交易数据导出
+ * 通过数据库游标逐条读取查询结果并直接写入输出流, 不经过分页和总数查询, 内存占用与导出的数据量无关.
+ * 数据量较小时直接写入响应, 数据量较大时创建后台任务, 导出完成后将文件保存到文件存储
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeExportService {
+
+    private static final List<Column<PayOrder>> PAY_ORDER_COLUMNS = List.of(
+            new Column<>("应用号", PayOrder::getAppId),
+            new Column<>("订单号", PayOrder::getOrderNo),
+            new Column<>("商户订单号", PayOrder::getBizOrderNo),
+            new Column<>("通道订单号", PayOrder::getOutOrderNo),
+            new Column<>("标题", PayOrder::getTitle),
+            new Column<>("支付通道", PayOrder::getChannel),
+            new Column<>("支付方式", PayOrder::getMethod),
+            new Column<>("金额", PayOrder::getAmount),
+            new Column<>("可退款金额", PayOrder::getRefundableBalance),
+            new Column<>("支付状态", PayOrder::getStatus),
+            new Column<>("退款状态", PayOrder::getRefundStatus),
+            new Column<>("分账状态", PayOrder::getAllocStatus),
+            new Column<>("支付时间", PayOrder::getPayTime),
+            new Column<>("关闭时间", PayOrder::getCloseTime),
+            new Column<>("创建时间", PayOrder::getCreateTime));
+
+    private static final List<Column<RefundOrder>> REFUND_ORDER_COLUMNS = List.of(
+            new Column<>("应用号", RefundOrder::getAppId),
+            new Column<>("退款号", RefundOrder::getRefundNo),
+            new Column<>("商户退款号", RefundOrder::getBizRefundNo),
+            new Column<>("通道退款交易号", RefundOrder::getOutRefundNo),
+            new Column<>("订单号", RefundOrder::getOrderNo),
+            new Column<>("商户订单号", RefundOrder::getBizOrderNo),
+            new Column<>("通道订单号", RefundOrder::getOutOrderNo),
+            new Column<>("标题", RefundOrder::getTitle),
+            new Column<>("支付通道", RefundOrder::getChannel),
+            new Column<>("订单金额", RefundOrder::getOrderAmount),
+            new Column<>("退款金额", RefundOrder::getAmount),
+            new Column<>("退款原因", RefundOrder::getReason),
+            new Column<>("退款状态", RefundOrder::getStatus),
+            new Column<>("退款完成时间", RefundOrder::getFinishTime),
+            new Column<>("创建时间", RefundOrder::getCreateTime));
+
+    private static final List<Column<TradeFlowRecord>> TRADE_FLOW_COLUMNS = List.of(
+            new Column<>("应用号", TradeFlowRecord::getAppId),
+            new Column<>("交易号", TradeFlowRecord::getTradeNo),
+            new Column<>("商户交易号", TradeFlowRecord::getBizTradeNo),
+            new Column<>("通道交易号", TradeFlowRecord::getOutTradeNo),
+            new Column<>("标题", TradeFlowRecord::getTitle),
+            new Column<>("业务类型", TradeFlowRecord::getType),
+            new Column<>("支付通道", TradeFlowRecord::getChannel),
+            new Column<>("金额", TradeFlowRecord::getAmount),
+            new Column<>("创建时间", TradeFlowRecord::getCreateTime));
+
+    private final PayOrderManager payOrderManager;
+
+    private final RefundOrderManager refundOrderManager;
+
+    private final TradeFlowRecordManager tradeFlowRecordManager;
+
+    private final ExportTaskManager exportTaskManager;
+
+    private final FileStorageService fileStorageService;
+
+    /**
+     * 导出支付订单到响应
+     */
+    public void exportPayOrder(PayOrderQuery query, ExportFormatEnum format, HttpServletResponse response) {
+        this.download(TradeExportTypeEnum.PAY_ORDER, format, response, writer -> self().writePayOrder(query, writer));
+    }
+
+    /**
+     * 导出退款订单到响应
+     */
+    public void exportRefundOrder(RefundOrderQuery query, ExportFormatEnum format, HttpServletResponse response) {
+        this.download(TradeExportTypeEnum.REFUND_ORDER, format, response, writer -> self().writeRefundOrder(query, writer));
+    }
+
+    /**
+     * 导出交易流水到响应
+     */
+    public void exportTradeFlow(TradeFlowRecordQuery query, ExportFormatEnum format, HttpServletResponse response) {
+        this.download(TradeExportTypeEnum.TRADE_FLOW, format, response, writer -> self().writeTradeFlow(query, writer));
+    }
+
+    /**
+     * 创建支付订单后台导出任务
+     * @return 任务ID
+     */
+    public Long createPayOrderTask(PayOrderQuery query, ExportFormatEnum format) {
+        return this.createTask(TradeExportTypeEnum.PAY_ORDER, format, query, writer -> self().writePayOrder(query, writer));
+    }
+
+    /**
+     * 创建退款订单后台导出任务
+     * @return 任务ID
+     */
+    public Long createRefundOrderTask(RefundOrderQuery query, ExportFormatEnum format) {
+        return this.createTask(TradeExportTypeEnum.REFUND_ORDER, format, query, writer -> self().writeRefundOrder(query, writer));
+    }
+
+    /**
+     * 创建交易流水后台导出任务
+     * @return 任务ID
+     */
+    public Long createTradeFlowTask(TradeFlowRecordQuery query, ExportFormatEnum format) {
+        return this.createTask(TradeExportTypeEnum.TRADE_FLOW, format, query, writer -> self().writeTradeFlow(query, writer));
+    }
+
+    /**
+     * 写入支付订单, 游标需要在事务中读取
+     * @return 导出条数
+     */
+    @Transactional(readOnly = true)
+    public int writePayOrder(PayOrderQuery query, TradeExportWriter writer) {
+        return this.write(writer, PAY_ORDER_COLUMNS, handler -> payOrderManager.exportStream(query, handler));
+    }
+
+    /**
+     * 写入退款订单, 游标需要在事务中读取
+     * @return 导出条数
+     */
+    @Transactional(readOnly = true)
+    public int writeRefundOrder(RefundOrderQuery query, TradeExportWriter writer) {
+        return this.write(writer, REFUND_ORDER_COLUMNS, handler -> refundOrderManager.exportStream(query, handler));
+    }
+
+    /**
+     * 写入交易流水, 游标需要在事务中读取
+     * @return 导出条数
+     */
+    @Transactional(readOnly = true)
+    public int writeTradeFlow(TradeFlowRecordQuery query, TradeExportWriter writer) {
+        return this.write(writer, TRADE_FLOW_COLUMNS, handler -> tradeFlowRecordManager.exportStream(query, handler));
+    }
+
+    /**
+     * 执行后台导出任务, 先写入临时文件, 完成后上传到文件存储
+     */
+    @Async
+    public void runTask(ExportTask task, ExportFormatEnum format, ToIntFunction<TradeExportWriter> action) {
+        File tempFile = null;
+        try {
+            tempFile = Files.createTempFile("export-", format.getSuffix()).toFile();
+            int total;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()));
+                 TradeExportWriter writer = TradeExportWriter.of(out, format)) {
+                total = action.applyAsInt(writer);
+            }
+            UploadPretreatment uploadPretreatment = fileStorageService.of(tempFile);
+            uploadPretreatment.setPath(LocalDateTimeUtil.format(LocalDateTime.now(), "yyyy/MM/dd/"));
+            uploadPretreatment.setOriginalFilename(task.getName());
+            task.setTotal(total)
+                    .setFileUrl(uploadPretreatment.upload().getUrl())
+                    .setStatus(ExportTaskStatusEnum.SUCCESS.getCode());
+        } catch (Exception e) {
+            log.error("数据导出失败, 任务ID: {}", task.getId(), e);
+            task.setStatus(ExportTaskStatusEnum.FAIL.getCode())
+                    .setErrorMsg(StrUtil.sub(e.getMessage(), 0, 500));
+        } finally {
+            task.setFinishTime(LocalDateTime.now());
+            exportTaskManager.updateById(task);
+            FileUtil.del(tempFile);
+        }
+    }
+
+    /**
+     * 导出任务分页
+     */
+    public PageResult<ExportTaskResult> pageTask(PageParam pageParam) {
+        return MpUtil.toPageResult(exportTaskManager.page(pageParam));
+    }
+
+    /**
+     * 查询导出任务
+     */
+    public ExportTaskResult findTaskById(Long id) {
+        return exportTaskManager.findById(id)
+                .map(ExportTask::toResult)
+                .orElseThrow(() -> new DataNotExistException("导出任务不存在"));
+    }
+
+    /**
+     * 写入表头和查询到的每一行数据
+     */
+    private <T> int write(TradeExportWriter writer, List<Column<T>> columns, Consumer<ResultHandler<T>> stream) {
+        writer.header(columns);
+        AtomicInteger count = new AtomicInteger();
+        stream.accept(context -> {
+            writer.row(columns, context.getResultObject());
+            count.incrementAndGet();
+        });
+        return count.get();
+    }
+
+    /**
+     * 直接写入响应输出流
+     */
+    @SneakyThrows
+    private void download(TradeExportTypeEnum type, ExportFormatEnum format, HttpServletResponse response,
+                          ToIntFunction<TradeExportWriter> action) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(this.fileName(type, format), StandardCharsets.UTF_8)
+                .build();
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        try (TradeExportWriter writer = TradeExportWriter.of(response.getOutputStream(), format)) {
+            action.applyAsInt(writer);
+        }
+    }
+
+    /**
+     * 保存导出任务并在后台执行
+     */
+    private Long createTask(TradeExportTypeEnum type, ExportFormatEnum format, Object query,
+                            ToIntFunction<TradeExportWriter> action) {
+        ExportTask task = new ExportTask()
+                .setName(this.fileName(type, format))
+                .setType(type.getCode())
+                .setFormat(format.getCode())
+                .setQueryParam(JsonUtil.toJsonStr(query))
+                .setStatus(ExportTaskStatusEnum.RUNNING.getCode());
+        exportTaskManager.save(task);
+        self().runTask(task, format, action);
+        return task.getId();
+    }
+
+    /**
+     * 导出文件名称
+     */
+    private String fileName(TradeExportTypeEnum type, ExportFormatEnum format) {
+        return type.getName() + "_" + LocalDateTimeUtil.format(LocalDateTime.now(), DatePattern.PURE_DATETIME_PATTERN) + format.getSuffix();
+    }
+
+    /**
+     * 获取代理对象, 使事务和异步注解生效
+     */
+    private TradeExportService self() {
+        return SpringUtil.getBean(TradeExportService.class);
+    }
+}
@@ -1,11 +1,19 @@
 package org.dromara.daxpay.service.service.notice;
 
+import cn.bootx.platform.core.util.JsonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.result.DaxResult;
+import org.dromara.daxpay.core.util.DaxRes;
+import org.dromara.daxpay.service.common.context.MchAppLocal;
+import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyTask;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 客户系统消息通知任务支撑服务
@@ -19,6 +27,8 @@ public class MerchantNoticeAssistService {
 
     private static final Map<Integer,Integer> DELAY_TIME = new HashMap<>();
 
+    private final PaymentAssistService paymentAssistService;
+
     /*
      * key: 当前通知次数, value 下次通知的时间间隔
      * 初始化延迟时间表, 总共会发起16次通知吗, 总计 24h4m
@@ -48,4 +58,23 @@ public class MerchantNoticeAssistService {
     public int getDelayTime(int delayCount){
         return DELAY_TIME.get(delayCount);
     }
+
+    /**
+     * 生成订阅通知报文并使用应用当前的签名密钥签名, 同时记录签名密钥版本
+     */
+    public void renderNotify(MerchantNotifyTask task){
+        MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
+        DaxResult<Map<String, Object>> daxResult = DaxRes.ok(JsonUtil.parseObj(task.getContent()));
+        paymentAssistService.sign(daxResult);
+        task.setBody(JsonUtil.toJsonStr(daxResult))
+                .setSignKeyVersion(mchAppInfo.getSignKeyVersion());
+    }
+
+    /**
+     * 判断通知报文是否需要重新生成, 未生成或者商户更换了签名密钥时需要重新生成
+     */
+    public boolean isNotifyExpired(MerchantNotifyTask task){
+        MchAppLocal mchAppInfo = PaymentContextLocal.get().getMchAppInfo();
+        return Objects.isNull(task.getBody()) || !Objects.equals(task.getSignKeyVersion(), mchAppInfo.getSignKeyVersion());
+    }
 }
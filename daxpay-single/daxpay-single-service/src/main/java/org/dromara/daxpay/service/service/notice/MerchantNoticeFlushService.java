@@ -0,0 +1,228 @@
+package org.dromara.daxpay.service.service.notice;
+
+import cn.bootx.platform.core.util.JsonUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.dao.notice.callback.MerchantCallbackRecordManager;
+import org.dromara.daxpay.service.dao.notice.callback.MerchantCallbackTaskManager;
+import org.dromara.daxpay.service.dao.notice.notify.MerchantNotifyRecordManager;
+import org.dromara.daxpay.service.dao.notice.notify.MerchantNotifyTaskManager;
+import org.dromara.daxpay.service.entity.notice.callback.MerchantCallbackRecord;
+import org.dromara.daxpay.service.entity.notice.callback.MerchantCallbackTask;
+import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyRecord;
+import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyTask;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 商户通知发送结果批量落库服务
+ * 发送记录和任务状态先暂存在内存中, 定时通过批量方式写入数据库, 应用关闭时会将剩余数据全部写入
+ * 批量写入失败时逐条写入, 单条数据多次写入失败后记录错误日志并丢弃, 避免一条异常数据阻塞后续所有数据落库
+ * @author xxm
+ * @since 2025/1/13
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MerchantNoticeFlushService {
+
+    /** 单次批量提交数量 */
+    private static final int BATCH_SIZE = 500;
+
+    /** 单条数据最多写入次数 */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MerchantNotifyRecordManager notifyRecordManager;
+
+    private final MerchantNotifyTaskManager notifyTaskManager;
+
+    private final MerchantCallbackRecordManager callbackRecordManager;
+
+    private final MerchantCallbackTaskManager callbackTaskManager;
+
+    /** 待保存的通知发送记录 */
+    private final Queue<Pending<MerchantNotifyRecord>> notifyRecords = new ConcurrentLinkedQueue<>();
+
+    /** 待更新的通知任务, 同一任务多次更新只保留最后一次 */
+    private final Map<Long, Pending<MerchantNotifyTask>> notifyTasks = new ConcurrentHashMap<>();
+
+    /** 待保存的回调发送记录 */
+    private final Queue<Pending<MerchantCallbackRecord>> callbackRecords = new ConcurrentLinkedQueue<>();
+
+    /** 待更新的回调任务, 同一任务多次更新只保留最后一次 */
+    private final Map<Long, Pending<MerchantCallbackTask>> callbackTasks = new ConcurrentHashMap<>();
+
+    /** 防止定时写入和关闭时写入并发执行 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 暂存通知发送结果
+     */
+    public void notifySend(MerchantNotifyRecord record, MerchantNotifyTask task){
+        // 落库时不在请求上下文中, 应用号需要提前设置
+        record.setAppId(task.getAppId());
+        notifyRecords.add(new Pending<>(record, 0));
+        notifyTasks.put(task.getId(), new Pending<>(task, 0));
+    }
+
+    /**
+     * 暂存回调发送结果
+     */
+    public void callbackSend(MerchantCallbackRecord record, MerchantCallbackTask task){
+        // 落库时不在请求上下文中, 应用号需要提前设置
+        record.setAppId(task.getAppId());
+        callbackRecords.add(new Pending<>(record, 0));
+        callbackTasks.put(task.getId(), new Pending<>(task, 0));
+    }
+
+    /**
+     * 定时将暂存的发送结果写入数据库, 默认一秒一次
+     */
+    @Scheduled(fixedDelayString = "${dax-pay.notice-flush-interval:1000}")
+    public void flush(){
+        flushLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            int notifyCount = this.flushNotify();
+            int callbackCount = this.flushCallback();
+            int total = notifyCount + callbackCount;
+            if (total > 0){
+                long cost = Math.max(System.currentTimeMillis() - start, 1);
+                log.debug("通知发送结果落库完成, 订阅通知: {}条, 回调通知: {}条, 耗时: {}ms, 吞吐量: {}条/秒",
+                        notifyCount, callbackCount, cost, total * 1000L / cost);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 应用关闭时将剩余的数据写入数据库
+     */
+    @PreDestroy
+    public void destroy(){
+        log.info("应用关闭, 写入剩余的通知发送结果");
+        this.flush();
+    }
+
+    /**
+     * 写入订阅通知的发送记录和任务
+     */
+    private int flushNotify(){
+        int count = this.saveRecords(notifyRecords, records -> notifyRecordManager.saveBatch(records, BATCH_SIZE),
+                notifyRecordManager::save, "订阅通知发送记录");
+        count += this.updateTasks(notifyTasks, tasks -> notifyTaskManager.updateBatchById(tasks, BATCH_SIZE),
+                notifyTaskManager::updateById, MerchantNotifyTask::getId, "订阅通知任务");
+        return count;
+    }
+
+    /**
+     * 写入回调通知的发送记录和任务
+     */
+    private int flushCallback(){
+        int count = this.saveRecords(callbackRecords, records -> callbackRecordManager.saveBatch(records, BATCH_SIZE),
+                callbackRecordManager::save, "回调通知发送记录");
+        count += this.updateTasks(callbackTasks, tasks -> callbackTaskManager.updateBatchById(tasks, BATCH_SIZE),
+                callbackTaskManager::updateById, MerchantCallbackTask::getId, "回调通知任务");
+        return count;
+    }
+
+    /**
+     * 保存发送记录, 批量保存失败时逐条保存, 保存失败的记录放回队列等待下次重试
+     * @return 保存成功的数量
+     */
+    private <T> int saveRecords(Queue<Pending<T>> queue, Consumer<List<T>> batch, Consumer<T> single, String name){
+        List<Pending<T>> pendings = drain(queue);
+        return this.write(pendings, batch, single, name, queue::add);
+    }
+
+    /**
+     * 更新任务, 批量更新失败时逐条更新, 更新失败的任务在没有更新的状态时放回等待下次重试
+     * @return 更新成功的数量
+     */
+    private <T> int updateTasks(Map<Long, Pending<T>> map, Consumer<List<T>> batch, Consumer<T> single,
+                                Function<T, Long> idGetter, String name){
+        List<Pending<T>> pendings = drain(map);
+        // 已经有更新的任务状态时, 不使用旧的数据进行覆盖
+        return this.write(pendings, batch, single, name, pending -> map.putIfAbsent(idGetter.apply(pending.data()), pending));
+    }
+
+    /**
+     * 写入数据库, 先批量写入, 失败后逐条写入, 逐条写入失败的数据超过最多写入次数后丢弃
+     * @param retry 放回待写入数据的操作
+     * @return 写入成功的数量
+     */
+    private <T> int write(List<Pending<T>> pendings, Consumer<List<T>> batch, Consumer<T> single,
+                          String name, Consumer<Pending<T>> retry){
+        if (pendings.isEmpty()){
+            return 0;
+        }
+        try {
+            batch.accept(pendings.stream().map(Pending::data).toList());
+            return pendings.size();
+        } catch (Exception e) {
+            log.warn("{}批量落库失败, 改为逐条写入", name, e);
+        }
+        int count = 0;
+        for (Pending<T> pending : pendings) {
+            try {
+                single.accept(pending.data());
+                count++;
+            } catch (Exception e) {
+                int attempts = pending.attempts() + 1;
+                if (attempts < MAX_ATTEMPTS) {
+                    log.warn("{}落库失败, 等待下次重试, 已尝试{}次", name, attempts, e);
+                    retry.accept(new Pending<>(pending.data(), attempts));
+                } else {
+                    log.error("{}落库失败{}次, 不再重试, 数据: {}", name, attempts, JsonUtil.toJsonStr(pending.data()), e);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 取出队列中当前的全部数据
+     */
+    private <T> List<T> drain(Queue<T> queue){
+        List<T> list = new ArrayList<>();
+        T item;
+        while ((item = queue.poll()) != null){
+            list.add(item);
+        }
+        return list;
+    }
+
+    /**
+     * 取出待更新任务中当前的全部数据
+     */
+    private <T> List<T> drain(Map<Long, T> map){
+        List<T> list = new ArrayList<>(map.size());
+        for (Long id : map.keySet()) {
+            T task = map.remove(id);
+            if (task != null){
+                list.add(task);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 待写入的数据
+     * @param data 数据
+     * @param attempts 已经失败的写入次数
+     */
+    private record Pending<T>(T data, int attempts) {
+    }
+}
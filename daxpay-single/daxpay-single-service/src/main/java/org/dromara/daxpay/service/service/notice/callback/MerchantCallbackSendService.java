@@ -5,13 +5,13 @@ import cn.bootx.platform.core.util.JsonUtil;
 import org.dromara.daxpay.core.result.DaxResult;
 import org.dromara.daxpay.core.util.DaxRes;
 import org.dromara.daxpay.service.code.DaxPayCode;
-import org.dromara.daxpay.service.dao.notice.callback.MerchantCallbackRecordManager;
 import org.dromara.daxpay.service.dao.notice.callback.MerchantCallbackTaskManager;
 import org.dromara.daxpay.service.entity.notice.callback.MerchantCallbackRecord;
 import org.dromara.daxpay.service.entity.notice.callback.MerchantCallbackTask;
 import org.dromara.daxpay.service.enums.NoticeSendTypeEnum;
 import org.dromara.daxpay.service.service.assist.PaymentAssistService;
 import org.dromara.daxpay.service.service.notice.MerchantNoticeAssistService;
+import org.dromara.daxpay.service.service.notice.MerchantNoticeFlushService;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.http.ContentType;
 import cn.hutool.http.HttpResponse;
@@ -35,11 +35,10 @@ import java.util.Objects;
 public class MerchantCallbackSendService {
     private final MerchantNoticeAssistService merchantNoticeAssistService;
 
-    private final MerchantCallbackRecordManager recordManager;
-
     private final MerchantCallbackTaskManager taskManager;
 
     private final PaymentAssistService paymentAssistService;
+    private final MerchantNoticeFlushService flushService;
     private final DelayJobService delayJobService;
 
 
@@ -90,10 +89,8 @@ public class MerchantCallbackSendService {
                 record.setErrorMsg(StrUtil.sub(body,0,300));
             }
         }
-        // 保存请求记录更新任务
-        recordManager.save(record);
-        // 更新任务信息
-        taskManager.updateById(task);
+        // 保存请求记录更新任务, 由批量落库服务异步写入
+        flushService.callbackSend(record, task);
     }
 
     /**
@@ -1,14 +1,10 @@
 package org.dromara.daxpay.service.service.notice.notify;
 
 import cn.bootx.platform.starter.redis.delay.service.DelayJobService;
-import cn.bootx.platform.core.util.JsonUtil;
 import org.dromara.daxpay.core.enums.MerchantNotifyTypeEnum;
-import org.dromara.daxpay.core.result.DaxResult;
-import org.dromara.daxpay.core.util.DaxRes;
 import org.dromara.daxpay.service.code.DaxPayCode;
 import org.dromara.daxpay.service.common.context.MchAppLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
-import org.dromara.daxpay.service.dao.notice.notify.MerchantNotifyRecordManager;
 import org.dromara.daxpay.service.dao.notice.notify.MerchantNotifyTaskManager;
 import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyRecord;
 import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyTask;
@@ -16,6 +12,7 @@ import org.dromara.daxpay.service.enums.NoticeSendTypeEnum;
 import org.dromara.daxpay.service.service.assist.PaymentAssistService;
 import org.dromara.daxpay.service.service.config.MerchantNotifyConfigService;
 import org.dromara.daxpay.service.service.notice.MerchantNoticeAssistService;
+import org.dromara.daxpay.service.service.notice.MerchantNoticeFlushService;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.http.ContentType;
 import cn.hutool.http.HttpResponse;
@@ -25,7 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -40,12 +36,12 @@ public class MerchantNotifySendService {
 
     private final MerchantNoticeAssistService merchantNoticeAssistService;
 
-    private final MerchantNotifyRecordManager recordManager;
-
     private final MerchantNotifyTaskManager taskManager;
 
     private final PaymentAssistService paymentAssistService;
 
+    private final MerchantNoticeFlushService flushService;
+
     private final DelayJobService delayJobService;
 
     private final MerchantNotifyConfigService notifyConfigService;
@@ -66,12 +62,12 @@ public class MerchantNotifySendService {
                 .setReqCount(task.getSendCount()+1);
         String body = null;
         try {
-            // 构造通知消息并签名
-            DaxResult<Map<String, Object>> daxResult = DaxRes.ok(JsonUtil.parseObj(task.getContent()));
-            paymentAssistService.sign(daxResult);
-
+            // 通知报文在注册时已经生成并签名, 只有未生成或商户更换签名密钥时才重新生成
+            if (merchantNoticeAssistService.isNotifyExpired(task)){
+                merchantNoticeAssistService.renderNotify(task);
+            }
             HttpResponse execute = HttpUtil.createPost(url)
-                    .body(JsonUtil.toJsonStr(daxResult), ContentType.JSON.getValue())
+                    .body(task.getBody(), ContentType.JSON.getValue())
                     .timeout(5000)
                     .execute();
             body = execute.body();
@@ -99,10 +95,8 @@ public class MerchantNotifySendService {
                 record.setErrorMsg(StrUtil.sub(body,0,300));
             }
         }
-        // 保存请求记录更新任务
-        recordManager.save(record);
-        // 更新任务信息
-        taskManager.updateById(task);
+        // 保存请求记录更新任务, 由批量落库服务异步写入
+        flushService.notifySend(record, task);
     }
 
     /**
@@ -20,6 +20,7 @@ import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
 import org.dromara.daxpay.service.entity.order.transfer.TransferOrder;
 import org.dromara.daxpay.service.enums.NotifyContentTypeEnum;
 import org.dromara.daxpay.service.service.config.MerchantNotifyConfigService;
+import org.dromara.daxpay.service.service.notice.MerchantNoticeAssistService;
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +45,8 @@ public class MerchantNotifyTaskService {
 
     private final DelayJobService delayJobService;
 
+    private final MerchantNoticeAssistService merchantNoticeAssistService;
+
     /**
      * 注册支付通知
      */
@@ -60,6 +63,7 @@ public class MerchantNotifyTaskService {
                 .setSendCount(0)
                 .setTradeId(order.getId())
                 .setTradeNo(order.getOrderNo());
+        this.renderNotify(task);
         taskManager.save(task);
         delayJobService.registerByTransaction(task.getId(), DaxPayCode.Event.MERCHANT_NOTIFY_SENDER, 0);
         log.info("注册支付通知");
@@ -81,6 +85,7 @@ public class MerchantNotifyTaskService {
                 .setSendCount(0)
                 .setTradeId(order.getId())
                 .setTradeNo(order.getRefundNo());
+        this.renderNotify(task);
         taskManager.save(task);
         delayJobService.registerByTransaction(task.getId(), DaxPayCode.Event.MERCHANT_NOTIFY_SENDER, 0);
         log.info("注册退款通知");
@@ -102,6 +107,7 @@ public class MerchantNotifyTaskService {
                 .setSendCount(0)
                 .setTradeId(order.getId())
                 .setTradeNo(order.getTransferNo());
+        this.renderNotify(task);
         taskManager.save(task);
         delayJobService.registerByTransaction(task.getId(), DaxPayCode.Event.MERCHANT_NOTIFY_SENDER, 0);
         log.info("注册转账通知");
@@ -125,11 +131,23 @@ public class MerchantNotifyTaskService {
                 .setSendCount(0)
                 .setTradeId(order.getId())
                 .setTradeNo(order.getAllocNo());
+        this.renderNotify(task);
         taskManager.save(task);
         delayJobService.registerByTransaction(task.getId(), DaxPayCode.Event.MERCHANT_NOTIFY_SENDER, 0);
         log.info("注册分账通知");
     }
 
+    /**
+     * 预先生成并签名通知报文, 发送和重试时直接使用, 生成失败时在发送时重新生成
+     */
+    private void renderNotify(MerchantNotifyTask task){
+        try {
+            merchantNoticeAssistService.renderNotify(task);
+        } catch (Exception e) {
+            log.warn("通知报文生成失败, 发送时重新生成, 交易号：{}", task.getTradeNo(), e);
+        }
+    }
+
     /**
      * 判断是否 不需要注册通知
      * true 不需要
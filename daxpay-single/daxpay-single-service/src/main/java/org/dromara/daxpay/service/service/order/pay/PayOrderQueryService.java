@@ -5,13 +5,16 @@ import cn.bootx.platform.core.exception.ValidationFailedException;
 import cn.bootx.platform.core.rest.param.PageParam;
 import cn.bootx.platform.core.rest.result.PageResult;
 import org.dromara.daxpay.core.exception.TradeNotExistException;
+import org.dromara.daxpay.core.param.trade.pay.QueryPayBatchParam;
 import org.dromara.daxpay.core.param.trade.pay.QueryPayParam;
+import org.dromara.daxpay.core.result.trade.pay.PayOrderBatchResult;
 import org.dromara.daxpay.core.result.trade.pay.PayOrderResult;
 import org.dromara.daxpay.service.convert.order.pay.PayOrderConvert;
 import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
 import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.param.order.pay.PayOrderQuery;
 import org.dromara.daxpay.service.result.order.pay.PayOrderVo;
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
@@ -19,8 +22,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 支付查询服务
@@ -89,6 +97,31 @@ public class PayOrderQueryService {
                 .orElseThrow(() -> new TradeNotExistException("支付订单不存在"));
     }
 
+    /**
+     * 批量查询支付订单, 两种单号各使用一次 IN 查询, 按订单ID去重后返回
+     */
+    public PayOrderBatchResult queryPayOrders(QueryPayBatchParam param) {
+        Set<String> orderNos = this.distinctNos(param.getOrderNos());
+        Set<String> bizOrderNos = this.distinctNos(param.getBizOrderNos());
+        // 校验参数
+        if (orderNos.isEmpty() && bizOrderNos.isEmpty()){
+            throw new ValidationFailedException("订单号或商户订单号不能都为空");
+        }
+        Map<Long, PayOrder> orders = new LinkedHashMap<>();
+        if (!orderNos.isEmpty()){
+            payOrderManager.findAllByOrderNos(orderNos, param.getAppId())
+                    .forEach(o -> orders.put(o.getId(), o));
+        }
+        if (!bizOrderNos.isEmpty()){
+            payOrderManager.findAllByBizOrderNos(bizOrderNos, param.getAppId())
+                    .forEach(o -> orders.putIfAbsent(o.getId(), o));
+        }
+        var results = orders.values().stream()
+                .map(PayOrderConvert.CONVERT::toResult)
+                .toList();
+        return new PayOrderBatchResult().setOrders(results);
+    }
+
 
     /**
      * 查询支付总金额
@@ -96,4 +129,16 @@ public class PayOrderQueryService {
     public BigDecimal getTotalAmount(PayOrderQuery param) {
         return payOrderManager.getTotalAmount(param);
     }
+
+    /**
+     * 去除空白和重复的单号
+     */
+    private Set<String> distinctNos(List<String> nos) {
+        if (CollUtil.isEmpty(nos)) {
+            return Set.of();
+        }
+        return nos.stream()
+                .filter(StrUtil::isNotBlank)
+                .collect(Collectors.toSet());
+    }
 }
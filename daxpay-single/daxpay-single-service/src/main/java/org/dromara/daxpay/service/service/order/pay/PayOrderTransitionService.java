@@ -0,0 +1,118 @@
+package org.dromara.daxpay.service.service.order.pay;
+
+import cn.hutool.core.util.StrUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.core.exception.TradeStatusErrorException;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.dromara.daxpay.core.enums.PayStatusEnum.*;
+
+/**
+ * 支付订单状态变更
+ * 按状态机校验变更是否允许, 使用 状态 + 版本号 作为条件更新订单, 多个请求同时变更同一订单时只有一个会成功,
+ * 不需要依赖分布式锁. 变更结果通过 Micrometer 计数, 冲突次数可以反映订单的并发竞争情况
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayOrderTransitionService {
+
+    /** 支付订单状态变更次数 */
+    public static final String TRANSITION_METRIC = "daxpay.pay.transition";
+
+    /** 变更成功 */
+    private static final String RESULT_SUCCESS = "success";
+
+    /** 订单已被其他请求修改 */
+    private static final String RESULT_CONFLICT = "conflict";
+
+    /** 状态机不允许的变更 */
+    private static final String RESULT_REJECTED = "rejected";
+
+    /** 状态机, key为当前状态, value为允许变更到的状态 */
+    private static final Map<PayStatusEnum, Set<PayStatusEnum>> TRANSITIONS = new EnumMap<>(PayStatusEnum.class);
+
+    static {
+        TRANSITIONS.put(WAIT, EnumSet.of(PROGRESS, CLOSE, CANCEL));
+        TRANSITIONS.put(PROGRESS, EnumSet.of(SUCCESS, CLOSE, CANCEL, FAIL, TIMEOUT));
+        // 同步失败的订单可以通过再次同步修正
+        TRANSITIONS.put(FAIL, EnumSet.of(SUCCESS, CLOSE, FAIL));
+        TRANSITIONS.put(TIMEOUT, EnumSet.of(SUCCESS, CLOSE));
+        TRANSITIONS.put(SUCCESS, EnumSet.noneOf(PayStatusEnum.class));
+        TRANSITIONS.put(CLOSE, EnumSet.noneOf(PayStatusEnum.class));
+        TRANSITIONS.put(CANCEL, EnumSet.noneOf(PayStatusEnum.class));
+    }
+
+    private final PayOrderManager payOrderManager;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 判断状态变更是否允许
+     */
+    public static boolean allowed(PayStatusEnum source, PayStatusEnum target) {
+        return TRANSITIONS.get(source).contains(target);
+    }
+
+    /**
+     * 变更订单状态并更新订单其他已修改的信息
+     * 订单当前状态不允许变更到目标状态时抛出异常, 订单在读取后已被其他请求修改时不进行更新并返回false
+     * @param order 读取后修改过的订单, 状态仍为读取时的状态
+     * @param target 目标状态
+     * @return 是否变更成功
+     */
+    public boolean transit(PayOrder order, PayStatusEnum target) {
+        PayStatusEnum source = PayStatusEnum.findByCode(order.getStatus());
+        if (!allowed(source, target)) {
+            this.count(source, target, RESULT_REJECTED);
+            throw new TradeStatusErrorException(StrUtil.format("支付订单状态不允许从{}变更为{}", source.getName(), target.getName()));
+        }
+        order.setStatus(target.getCode());
+        boolean updated = payOrderManager.updateByIdAndStatus(order, this.sources(target));
+        if (updated) {
+            this.count(source, target, RESULT_SUCCESS);
+        } else {
+            // 恢复为读取时的状态, 调用方可根据订单状态判断
+            order.setStatus(source.getCode());
+            this.count(source, target, RESULT_CONFLICT);
+            log.warn("支付订单状态变更冲突, 订单已被其他请求修改, 订单号: {}, {} -> {}", order.getOrderNo(), source.getCode(), target.getCode());
+        }
+        return updated;
+    }
+
+    /**
+     * 可以变更到目标状态的状态
+     */
+    private List<String> sources(PayStatusEnum target) {
+        return Arrays.stream(PayStatusEnum.values())
+                .filter(source -> allowed(source, target))
+                .map(PayStatusEnum::getCode)
+                .toList();
+    }
+
+    /**
+     * 记录状态变更结果
+     */
+    private void count(PayStatusEnum source, PayStatusEnum target, String result) {
+        Counter.builder(TRANSITION_METRIC)
+                .description("支付订单状态变更次数")
+                .tags("from", source.getCode(), "to", target.getCode(), "result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
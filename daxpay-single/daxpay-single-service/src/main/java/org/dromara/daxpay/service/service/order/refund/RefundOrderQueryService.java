@@ -6,13 +6,16 @@ import cn.bootx.platform.core.exception.ValidationFailedException;
 import cn.bootx.platform.core.rest.param.PageParam;
 import cn.bootx.platform.core.rest.result.PageResult;
 import org.dromara.daxpay.core.exception.TradeNotExistException;
+import org.dromara.daxpay.core.param.trade.refund.QueryRefundBatchParam;
 import org.dromara.daxpay.core.param.trade.refund.QueryRefundParam;
+import org.dromara.daxpay.core.result.trade.refund.RefundOrderBatchResult;
 import org.dromara.daxpay.core.result.trade.refund.RefundOrderResult;
 import org.dromara.daxpay.service.convert.order.refund.RefundOrderConvert;
 import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
 import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
 import org.dromara.daxpay.service.param.order.refund.RefundOrderQuery;
 import org.dromara.daxpay.service.result.order.refund.RefundOrderVo;
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +23,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 退款查询接口
@@ -87,10 +95,47 @@ public class RefundOrderQueryService {
         return RefundOrderConvert.CONVERT.toResult(refundOrder);
     }
 
+    /**
+     * 批量查询退款订单, 两种单号各使用一次 IN 查询, 按订单ID去重后返回
+     */
+    public RefundOrderBatchResult queryRefundOrders(QueryRefundBatchParam param) {
+        Set<String> refundNos = this.distinctNos(param.getRefundNos());
+        Set<String> bizRefundNos = this.distinctNos(param.getBizRefundNos());
+        // 校验参数
+        if (refundNos.isEmpty() && bizRefundNos.isEmpty()){
+            throw new ValidationFailedException("退款号或商户退款号不能都为空");
+        }
+        Map<Long, RefundOrder> orders = new LinkedHashMap<>();
+        if (!refundNos.isEmpty()){
+            refundOrderManager.findAllByRefundNos(refundNos, param.getAppId())
+                    .forEach(o -> orders.put(o.getId(), o));
+        }
+        if (!bizRefundNos.isEmpty()){
+            refundOrderManager.findAllByBizRefundNos(bizRefundNos, param.getAppId())
+                    .forEach(o -> orders.putIfAbsent(o.getId(), o));
+        }
+        var results = orders.values().stream()
+                .map(RefundOrderConvert.CONVERT::toResult)
+                .toList();
+        return new RefundOrderBatchResult().setOrders(results);
+    }
+
     /**
      * 查询退款总金额
      */
     public BigDecimal getTotalAmount(RefundOrderQuery param) {
         return refundOrderManager.getTotalAmount(param);
     }
+
+    /**
+     * 去除空白和重复的单号
+     */
+    private Set<String> distinctNos(List<String> nos) {
+        if (CollUtil.isEmpty(nos)) {
+            return Set.of();
+        }
+        return nos.stream()
+                .filter(StrUtil::isNotBlank)
+                .collect(Collectors.toSet());
+    }
 }
@@ -6,13 +6,16 @@ import cn.bootx.platform.core.exception.ValidationFailedException;
 import cn.bootx.platform.core.rest.param.PageParam;
 import cn.bootx.platform.core.rest.result.PageResult;
 import org.dromara.daxpay.core.exception.TradeNotExistException;
+import org.dromara.daxpay.core.param.trade.transfer.QueryTransferBatchParam;
 import org.dromara.daxpay.core.param.trade.transfer.QueryTransferParam;
+import org.dromara.daxpay.core.result.trade.transfer.TransferOrderBatchResult;
 import org.dromara.daxpay.core.result.trade.transfer.TransferOrderResult;
 import org.dromara.daxpay.service.convert.order.transfer.TransferOrderConvert;
 import org.dromara.daxpay.service.dao.order.transfer.TransferOrderManager;
 import org.dromara.daxpay.service.entity.order.transfer.TransferOrder;
 import org.dromara.daxpay.service.param.order.transfer.TransferOrderQuery;
 import org.dromara.daxpay.service.result.order.transfer.TransferOrderVo;
+import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +23,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 转账订单查询服务
@@ -88,6 +96,31 @@ public class TransferOrderQueryService {
         return TransferOrderConvert.CONVERT.toResult(transferOrder);
     }
 
+    /**
+     * 批量查询转账订单, 两种单号各使用一次 IN 查询, 按订单ID去重后返回
+     */
+    public TransferOrderBatchResult queryTransferOrders(QueryTransferBatchParam param) {
+        Set<String> transferNos = this.distinctNos(param.getTransferNos());
+        Set<String> bizTransferNos = this.distinctNos(param.getBizTransferNos());
+        // 校验参数
+        if (transferNos.isEmpty() && bizTransferNos.isEmpty()){
+            throw new ValidationFailedException("转账号或商户转账号不能都为空");
+        }
+        Map<Long, TransferOrder> orders = new LinkedHashMap<>();
+        if (!transferNos.isEmpty()){
+            transferOrderManager.findAllByTransferNos(transferNos, param.getAppId())
+                    .forEach(o -> orders.put(o.getId(), o));
+        }
+        if (!bizTransferNos.isEmpty()){
+            transferOrderManager.findAllByBizTransferNos(bizTransferNos, param.getAppId())
+                    .forEach(o -> orders.putIfAbsent(o.getId(), o));
+        }
+        var results = orders.values().stream()
+                .map(TransferOrderConvert.CONVERT::toResult)
+                .toList();
+        return new TransferOrderBatchResult().setOrders(results);
+    }
+
 
     /**
      * 查询支付总金额
@@ -95,4 +128,16 @@ public class TransferOrderQueryService {
     public BigDecimal getTotalAmount(TransferOrderQuery param) {
         return transferOrderManager.getTotalAmount(param);
     }
+
+    /**
+     * 去除空白和重复的单号
+     */
+    private Set<String> distinctNos(List<String> nos) {
+        if (CollUtil.isEmpty(nos)) {
+            return Set.of();
+        }
+        return nos.stream()
+                .filter(StrUtil::isNotBlank)
+                .collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,184 @@
+package org.dromara.daxpay.service.service.partition;
+
+import cn.bootx.platform.core.exception.DangerSqlException;
+import cn.hutool.core.util.ReUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.common.properties.TradePartitionProperties;
+import org.dromara.daxpay.service.dao.partition.TradePartitionMapper;
+import org.dromara.daxpay.service.enums.PartitionDbTypeEnum;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 交易数据分区维护服务
+ * 按创建时间每月一个分区, 提前创建后续月份的分区, 将超出热数据保留期的分区移动到归档位置
+ * PostgreSQL 分区名称为 表名_yyyyMM, MySQL 分区名称为 pyyyyMM, 不符合命名规则的分区(如改造时的历史分区)不做处理
+ * @author xxm
+ * @since 2025/1/14
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradePartitionService {
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /** 表名和归档位置只允许字母数字和下划线, 防止拼接出危险SQL */
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[A-Za-z0-9_]+$");
+
+    /** MySQL 兜底分区名称 */
+    private static final String MYSQL_MAX_PARTITION = "p_max";
+
+    private final TradePartitionProperties properties;
+
+    private final TradePartitionMapper partitionMapper;
+
+    /**
+     * 执行分区维护, 创建后续分区, 并按配置归档冷数据分区
+     */
+    public void maintain() {
+        if (!properties.isEnable()) {
+            return;
+        }
+        YearMonth now = YearMonth.now();
+        for (String table : properties.getTables()) {
+            try {
+                this.checkName(table);
+                this.createPartitions(table, now);
+                if (properties.isArchive()) {
+                    this.archivePartitions(table, now);
+                }
+            } catch (Exception e) {
+                log.error("交易表 {} 分区维护失败", table, e);
+            }
+        }
+    }
+
+    /**
+     * 创建当月以及后续指定月数的分区
+     */
+    public void createPartitions(String table, YearMonth now) {
+        List<YearMonth> months = this.findPartitionMonths(table);
+        for (int i = 0; i <= properties.getPreCreateMonths(); i++) {
+            YearMonth month = now.plusMonths(i);
+            if (months.contains(month)) {
+                continue;
+            }
+            if (properties.getDbType() == PartitionDbTypeEnum.MYSQL) {
+                // MySQL 的 RANGE 分区只能在末尾追加, 早于已有最大分区的月份会落在已有分区中
+                YearMonth max = months.stream().max(YearMonth::compareTo).orElse(null);
+                if (Objects.nonNull(max) && !month.isAfter(max)) {
+                    continue;
+                }
+            }
+            try {
+                if (properties.getDbType() == PartitionDbTypeEnum.POSTGRESQL) {
+                    partitionMapper.execute(StrUtil.format(
+                            "create table if not exists {} partition of {} for values from ('{}') to ('{}')",
+                            this.pgPartitionName(table, month), table, this.monthStart(month), this.monthStart(month.plusMonths(1))));
+                } else {
+                    partitionMapper.execute(StrUtil.format(
+                            "alter table {} reorganize partition {} into (partition {} values less than ('{}'), partition {} values less than (maxvalue))",
+                            table, MYSQL_MAX_PARTITION, this.mysqlPartitionName(month), this.monthStart(month.plusMonths(1)), MYSQL_MAX_PARTITION));
+                }
+            } catch (Exception e) {
+                // 改造时的历史分区会覆盖当月, 此时创建会失败, 跳过继续处理后续月份
+                log.warn("交易表 {} 创建 {} 分区失败, 可能已被历史分区覆盖: {}", table, month, e.getMessage());
+                continue;
+            }
+            months.add(month);
+            log.info("交易表 {} 创建 {} 分区", table, month);
+        }
+    }
+
+    /**
+     * 将早于热数据保留期的分区移动到归档位置
+     */
+    public void archivePartitions(String table, YearMonth now) {
+        String archive = properties.getArchiveSchema();
+        this.checkName(archive);
+        YearMonth hotStart = now.minusMonths(Math.max(properties.getHotMonths(), 1) - 1L);
+        List<YearMonth> coldMonths = this.findPartitionMonths(table).stream()
+                .filter(month -> month.isBefore(hotStart))
+                .sorted()
+                .toList();
+        for (YearMonth month : coldMonths) {
+            if (properties.getDbType() == PartitionDbTypeEnum.POSTGRESQL) {
+                String partition = this.pgPartitionName(table, month);
+                partitionMapper.execute(StrUtil.format("create schema if not exists {}", archive));
+                partitionMapper.execute(StrUtil.format("alter table {} detach partition {}", table, partition));
+                partitionMapper.execute(StrUtil.format("alter table {} set schema {}", partition, archive));
+            } else {
+                // 先将分区数据交换到归档库的普通表中, 再删除已经为空的分区
+                String partition = this.mysqlPartitionName(month);
+                String archiveTable = archive + "." + table + "_" + month.format(MONTH_FORMATTER);
+                partitionMapper.execute(StrUtil.format("create database if not exists {}", archive));
+                partitionMapper.execute(StrUtil.format("create table if not exists {} like {}", archiveTable, table));
+                partitionMapper.execute(StrUtil.format("alter table {} remove partitioning", archiveTable));
+                partitionMapper.execute(StrUtil.format("alter table {} exchange partition {} with table {}", table, partition, archiveTable));
+                partitionMapper.execute(StrUtil.format("alter table {} drop partition {}", table, partition));
+            }
+            log.info("交易表 {} 的 {} 分区已归档到 {}", table, month, archive);
+        }
+    }
+
+    /**
+     * 查询表中已经存在的按月分区
+     */
+    private List<YearMonth> findPartitionMonths(String table) {
+        List<String> partitions;
+        String regex;
+        if (properties.getDbType() == PartitionDbTypeEnum.POSTGRESQL) {
+            partitions = partitionMapper.findPgPartitions(table);
+            regex = "^" + table + "_(\\d{6})$";
+        } else {
+            partitions = partitionMapper.findMySqlPartitions(table);
+            regex = "^p(\\d{6})$";
+        }
+        Pattern pattern = Pattern.compile(regex);
+        return partitions.stream()
+                .map(name -> ReUtil.get(pattern, name, 1))
+                .filter(Objects::nonNull)
+                .map(month -> YearMonth.parse(month, MONTH_FORMATTER))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * PostgreSQL 分区子表名称
+     */
+    private String pgPartitionName(String table, YearMonth month) {
+        return table + "_" + month.format(MONTH_FORMATTER);
+    }
+
+    /**
+     * MySQL 分区名称
+     */
+    private String mysqlPartitionName(YearMonth month) {
+        return "p" + month.format(MONTH_FORMATTER);
+    }
+
+    /**
+     * 月份开始时间
+     */
+    private String monthStart(YearMonth month) {
+        return month.atDay(1) + " 00:00:00";
+    }
+
+    /**
+     * 校验表名等拼接到SQL中的名称
+     */
+    private void checkName(String name) {
+        if (StrUtil.isBlank(name) || !NAME_PATTERN.matcher(name).matches()) {
+            throw new DangerSqlException("分区维护中存在非法的名称: " + name);
+        }
+    }
+}
@@ -48,8 +48,8 @@ public class ReconcileAssistService {
         LocalDateTime end = LocalDateTimeUtil.endOfDay(localDateTime);
 
         // 支付订单
-        List<PayOrder> payOrders = payOrderManager.findReconcile(statement.getChannel(), start, end);
-        List<RefundOrder> refundOrders = refundOrderManager.findSuccessReconcile(statement.getChannel(), start, end);
+        List<PayOrder> payOrders = payOrderManager.findReconcile(statement.getAppId(), statement.getChannel(), start, end);
+        List<RefundOrder> refundOrders = refundOrderManager.findSuccessReconcile(statement.getAppId(), statement.getChannel(), start, end);
         for (PayOrder payOrder : payOrders) {
             reconcileTradeBos.add(new PlatformReconcileTradeBo()
                     .setTradeNo(payOrder.getOrderNo())
@@ -78,11 +78,11 @@ public class ReconcileAssistService {
     /**
      * 获取通用对账对象, 将支付/退款订单转换为对账对象, 针对本地短单的交易进行二次查询
      */
-    public List<PlatformReconcileTradeBo> getPlatformTradesByTradeNo(List<String> tradeNos){
+    public List<PlatformReconcileTradeBo> getPlatformTradesByTradeNo(String appId, List<String> tradeNos){
         List<PlatformReconcileTradeBo> reconcileTradeBos = new ArrayList<>();
         // 支付订单
-        List<PayOrder> payOrders = payOrderManager.findAllByFields(PayOrder::getOrderNo, tradeNos);
-        List<RefundOrder> refundOrders = refundOrderManager.findAllByFields(RefundOrder::getOrderNo, tradeNos);
+        List<PayOrder> payOrders = payOrderManager.findAllByOrderNos(appId, tradeNos);
+        List<RefundOrder> refundOrders = refundOrderManager.findAllByRefundNos(appId, tradeNos);
         for (PayOrder payOrder : payOrders) {
             var tradeBo = new PlatformReconcileTradeBo()
                     .setTradeNo(payOrder.getOrderNo())
@@ -172,7 +172,7 @@ public class ReconcileAssistService {
                 .setOutTradeNo(localTrade.getOutTradeNo())
                 .setTradeType(localTrade.getTradeType())
                 .setTradeAmount(localTrade.getAmount())
-                .setChannelTradeStatus(localTrade.getTradeStatus())
+                .setTradeStatus(localTrade.getTradeStatus())
                 .setTradeTime(localTrade.getTradeTime())
                 .setChannelTradeNo(channelDetail.getTradeNo())
                 .setChannelOutTradeNo(channelDetail.getOutTradeNo())
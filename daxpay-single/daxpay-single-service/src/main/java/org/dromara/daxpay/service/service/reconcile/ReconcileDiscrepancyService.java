@@ -5,8 +5,11 @@ import cn.bootx.platform.common.mybatisplus.util.MpUtil;
 import cn.bootx.platform.core.exception.DataNotExistException;
 import cn.bootx.platform.core.rest.param.PageParam;
 import cn.bootx.platform.core.rest.result.PageResult;
+import cn.bootx.platform.core.util.DateTimeUtil;
+import cn.hutool.core.date.LocalDateTimeUtil;
 import org.dromara.daxpay.service.bo.reconcile.PlatformReconcileTradeBo;
 import org.dromara.daxpay.service.dao.reconcile.ReconcileDiscrepancyManager;
+import org.dromara.daxpay.service.dao.reconcile.ReconcileDiscrepancyMapper;
 import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileDiscrepancy;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
@@ -16,6 +19,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +39,7 @@ import java.util.stream.Collectors;
 public class ReconcileDiscrepancyService {
     private final ReconcileDiscrepancyManager reconcileDiscrepancyManager;
     private final ReconcileAssistService reconcileAssistService;
+    private final ReconcileDiscrepancyMapper reconcileDiscrepancyMapper;
 
     /**
      * 分页
@@ -79,7 +85,7 @@ public class ReconcileDiscrepancyService {
                 .filter(o-> !localTradeMap.containsKey(o))
                 .toList();
         // 针对本地短单的交易进行二次查询, 不限定交易状态, 然后追加到到本地交易记录中
-        var localShortTrades = reconcileAssistService.getPlatformTradesByTradeNo(localShortTradeNos);
+        var localShortTrades = reconcileAssistService.getPlatformTradesByTradeNo(statement.getAppId(), localShortTradeNos);
         localTrades.addAll(localShortTrades);
         var finalLocalTradeMap = localTrades.stream()
                 .collect(Collectors.toMap(PlatformReconcileTradeBo::getTradeNo, Function.identity(), CollectorsFunction::retainLatest));
@@ -108,6 +114,33 @@ public class ReconcileDiscrepancyService {
         return discrepancies;
     }
 
+    /**
+     * 在数据库中比对生成对账差异单, 比对规则与内存比对一致, 只将有差异的记录查询出来, 不加载全部交易
+     * 通道交易需要已经全部导入到通道对账交易表中
+     *
+     * @param statement 对账单
+     * @return 生成的差异记录, 未保存
+     */
+    public List<ReconcileDiscrepancy> generateDiscrepancyBySql(ReconcileStatement statement){
+        LocalDateTime localDateTime = DateTimeUtil.date2DateTime(statement.getDate());
+        LocalDateTime start = LocalDateTimeUtil.beginOfDay(localDateTime);
+        LocalDateTime end = LocalDateTimeUtil.endOfDay(localDateTime);
+        List<ReconcileDiscrepancy> discrepancies = new ArrayList<>(reconcileDiscrepancyMapper.selectChannelDiscrepancy(statement));
+        int channelCount = discrepancies.size();
+        discrepancies.addAll(reconcileDiscrepancyMapper.selectPayDiscrepancy(statement, start, end));
+        discrepancies.addAll(reconcileDiscrepancyMapper.selectRefundDiscrepancy(statement, start, end));
+        log.info("对账单 {} 数据库比对完成, 本地短单和不一致: {}, 远程短单: {}",
+                statement.getReconcileNo(), channelCount, discrepancies.size() - channelCount);
+        // 对账单信息与内存比对保持一致, 主键在保存时生成
+        for (ReconcileDiscrepancy discrepancy : discrepancies) {
+            discrepancy.setReconcileId(statement.getId())
+                    .setReconcileNo(statement.getReconcileNo())
+                    .setReconcileDate(statement.getDate())
+                    .setChannel(statement.getChannel());
+        }
+        return discrepancies;
+    }
+
     /**
      * 判断订单之间存是否有差异, 没有差异返回true, 有差异返回false
      * @param outDetail 下载的对账订单(通道交易)
@@ -117,16 +150,26 @@ public class ReconcileDiscrepancyService {
 
         // 判断类型是否相同
         if (!Objects.equals(outDetail.getTradeType(), localTrade.getTradeType())){
-            return true;
+            return false;
         }
-        // 判断金额是否一致
-        if (!Objects.equals(outDetail.getAmount(), localTrade.getAmount())){
-            return true;
+        // 判断金额是否一致, 忽略小数位数的差异
+        if (!this.amountEquals(outDetail.getAmount(), localTrade.getAmount())){
+            return false;
         }
         // 判断状态是否一致
         if (!Objects.equals(outDetail.getTradeStatus(), localTrade.getTradeStatus())){
-            return true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 金额是否一致
+     */
+    private boolean amountEquals(BigDecimal a, BigDecimal b){
+        if (Objects.isNull(a) || Objects.isNull(b)){
+            return Objects.isNull(a) && Objects.isNull(b);
         }
-        return false;
+        return a.compareTo(b) == 0;
     }
 }
@@ -0,0 +1,240 @@
+package org.dromara.daxpay.service.service.reconcile;
+
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import com.baomidou.lock.LockInfo;
+import com.baomidou.lock.LockTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.common.properties.ReconcileProperties;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
+import org.dromara.daxpay.service.dao.reconcile.ReconcileIntradayManager;
+import org.dromara.daxpay.service.dao.reconcile.ReconcileIntradayMapper;
+import org.dromara.daxpay.service.dao.reconcile.ReconcileIntradayWatermarkManager;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntraday;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntradayWatermark;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 日间对账
+ * 按最后修改时间分批扫描变更的支付和退款订单, 重新统计受影响的应用/通道/日期的成功交易汇总,
+ * 并根据交易同步记录中最近一次同步到的通道状态统计不一致的笔数, 扫描进度保存在数据库中,
+ * 每日对账时只需要补齐扫描进度之后的变更, 没有变更的汇总直接使用保存的数据
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconcileIntradayService {
+
+    /** 扫描时修改时间的上限与当前时间的间隔(秒), 避开还未提交的事务 */
+    private static final int SCAN_DELAY_SECONDS = 5;
+
+    private static final String LOCK_KEY = "payment:reconcile:intraday";
+
+    private final ReconcileProperties properties;
+
+    private final PayOrderManager payOrderManager;
+
+    private final RefundOrderManager refundOrderManager;
+
+    private final ReconcileIntradayMapper intradayMapper;
+
+    private final ReconcileIntradayManager intradayManager;
+
+    private final ReconcileIntradayWatermarkManager watermarkManager;
+
+    private final LockTemplate lockTemplate;
+
+    /**
+     * 核对上次扫描之后变更的订单
+     */
+    public void run() {
+        if (!properties.isIntradayEnable()) {
+            return;
+        }
+        // 多实例部署时只有一个实例执行
+        LockInfo lock = lockTemplate.lock(LOCK_KEY, 10 * 60 * 1000L, 0);
+        if (Objects.isNull(lock)) {
+            return;
+        }
+        try {
+            this.catchUp();
+        } finally {
+            lockTemplate.releaseLock(lock);
+        }
+    }
+
+    /**
+     * 获取指定应用通道和日期的平台汇总, 用于每日对账
+     * 先补齐扫描进度之后变更的订单, 汇总已经是最新时直接使用保存的数据, 不再重新统计
+     */
+    public ReconcileIntraday current(String appId, String channel, LocalDate date) {
+        if (properties.isIntradayEnable()) {
+            // 等待正在执行的日间对账完成
+            LockInfo lock = lockTemplate.lock(LOCK_KEY, 10 * 60 * 1000L, 60 * 1000L);
+            if (Objects.nonNull(lock)) {
+                boolean complete;
+                try {
+                    complete = this.catchUp();
+                } finally {
+                    lockTemplate.releaseLock(lock);
+                }
+                var intraday = intradayManager.findByDate(appId, channel, date);
+                if (complete && intraday.isPresent()) {
+                    return intraday.get();
+                }
+            }
+        }
+        // 未开启日间对账, 或者汇总不是最新的, 重新统计
+        return self().refresh(appId, channel, date);
+    }
+
+    /**
+     * 扫描进度之后变更的订单, 重新统计受影响的汇总, 全部统计成功后保存扫描进度, 失败时下次重新扫描
+     * @return 是否全部统计成功
+     */
+    private boolean catchUp() {
+        var payWatermark = this.findWatermark(TradeTypeEnum.PAY);
+        var refundWatermark = this.findWatermark(TradeTypeEnum.REFUND);
+        LocalDateTime endTime = LocalDateTime.now().minusSeconds(SCAN_DELAY_SECONDS);
+        Set<Key> keys = new LinkedHashSet<>();
+        this.scanPay(payWatermark, endTime, keys);
+        this.scanRefund(refundWatermark, endTime, keys);
+        boolean complete = true;
+        for (Key key : keys) {
+            try {
+                self().refresh(key.appId(), key.channel(), key.date());
+            } catch (Exception e) {
+                complete = false;
+                log.error("日间对账汇总失败, 应用: {} 通道: {} 日期: {}", key.appId(), key.channel(), key.date(), e);
+            }
+        }
+        if (complete) {
+            watermarkManager.saveOrUpdate(payWatermark);
+            watermarkManager.saveOrUpdate(refundWatermark);
+        }
+        if (!keys.isEmpty()) {
+            log.debug("日间对账完成, 重新汇总 {} 组", keys.size());
+        }
+        return complete;
+    }
+
+    /**
+     * 查询扫描进度, 首次执行时从前一天开始, 覆盖每日对账之前的变更
+     */
+    private ReconcileIntradayWatermark findWatermark(TradeTypeEnum tradeType) {
+        return watermarkManager.findByTradeType(tradeType.getCode())
+                .orElseGet(() -> new ReconcileIntradayWatermark()
+                        .setTradeType(tradeType.getCode())
+                        .setScanTime(LocalDate.now().minusDays(1).atStartOfDay())
+                        .setScanId(0L));
+    }
+
+    /**
+     * 扫描变更的支付订单, 按创建日期和支付日期记录受影响的汇总
+     */
+    private void scanPay(ReconcileIntradayWatermark watermark, LocalDateTime endTime, Set<Key> keys) {
+        int size = properties.getIntradayBatchSize();
+        while (true) {
+            List<PayOrder> list = payOrderManager.findChangedSince(watermark.getScanTime(), watermark.getScanId(), endTime, size);
+            for (PayOrder order : list) {
+                keys.add(new Key(order.getAppId(), order.getChannel(), order.getCreateTime().toLocalDate()));
+                if (Objects.nonNull(order.getPayTime())) {
+                    keys.add(new Key(order.getAppId(), order.getChannel(), order.getPayTime().toLocalDate()));
+                }
+            }
+            if (!list.isEmpty()) {
+                PayOrder last = list.getLast();
+                watermark.setScanTime(last.getLastModifiedTime())
+                        .setScanId(last.getId());
+            }
+            if (list.size() < size) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 扫描变更的退款订单, 按创建日期和完成日期记录受影响的汇总
+     */
+    private void scanRefund(ReconcileIntradayWatermark watermark, LocalDateTime endTime, Set<Key> keys) {
+        int size = properties.getIntradayBatchSize();
+        while (true) {
+            List<RefundOrder> list = refundOrderManager.findChangedSince(watermark.getScanTime(), watermark.getScanId(), endTime, size);
+            for (RefundOrder order : list) {
+                keys.add(new Key(order.getAppId(), order.getChannel(), order.getCreateTime().toLocalDate()));
+                if (Objects.nonNull(order.getFinishTime())) {
+                    keys.add(new Key(order.getAppId(), order.getChannel(), order.getFinishTime().toLocalDate()));
+                }
+            }
+            if (!list.isEmpty()) {
+                RefundOrder last = list.getLast();
+                watermark.setScanTime(last.getLastModifiedTime())
+                        .setScanId(last.getId());
+            }
+            if (list.size() < size) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 重新统计指定应用通道和日期的汇总数据, 重复执行结果相同, 每组汇总单独提交
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public ReconcileIntraday refresh(String appId, String channel, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = LocalDateTimeUtil.endOfDay(start);
+        ReconcileIntraday pay = intradayMapper.totalPay(appId, channel, start, end);
+        ReconcileIntraday refund = intradayMapper.totalRefund(appId, channel, start, end);
+        int mismatchCount = intradayMapper.countMismatch(appId, channel, start, end);
+
+        ReconcileIntraday intraday = intradayManager.findByDate(appId, channel, date)
+                .orElseGet(() -> {
+                    ReconcileIntraday o = new ReconcileIntraday()
+                            .setChannel(channel)
+                            .setTradeDate(date);
+                    o.setAppId(appId);
+                    return o;
+                });
+        intraday.setOrderCount(pay.getOrderCount())
+                .setOrderAmount(pay.getOrderAmount())
+                .setRefundCount(refund.getRefundCount())
+                .setRefundAmount(refund.getRefundAmount())
+                .setMismatchCount(mismatchCount)
+                .setCheckedTime(LocalDateTime.now());
+        intradayManager.saveOrUpdate(intraday);
+        if (mismatchCount > 0) {
+            log.warn("日间对账发现通道状态不一致, 应用: {} 通道: {} 日期: {} 笔数: {}", appId, channel, date, mismatchCount);
+        }
+        return intraday;
+    }
+
+    /**
+     * 获取代理对象, 使事务注解生效
+     */
+    private ReconcileIntradayService self() {
+        return SpringUtil.getBean(ReconcileIntradayService.class);
+    }
+
+    /**
+     * 汇总维度
+     */
+    private record Key(String appId, String channel, LocalDate date) {
+    }
+}
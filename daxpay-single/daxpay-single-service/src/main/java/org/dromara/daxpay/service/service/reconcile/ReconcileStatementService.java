@@ -7,13 +7,15 @@ import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.core.exception.OperationFailException;
 import org.dromara.daxpay.core.util.TradeNoGenerateUtil;
 import org.dromara.daxpay.service.bo.reconcile.*;
-import org.dromara.daxpay.service.convert.reconcile.ReconcileConvert;
+import org.dromara.daxpay.service.common.properties.ReconcileProperties;
 import org.dromara.daxpay.service.dao.reconcile.ChannelReconcileTradeManage;
 import org.dromara.daxpay.service.dao.reconcile.ReconcileDiscrepancyManager;
 import org.dromara.daxpay.service.dao.reconcile.ReconcileStatementManager;
 import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileDiscrepancy;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileIntraday;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
+import org.dromara.daxpay.service.enums.ReconcileCompareModeEnum;
 import org.dromara.daxpay.service.enums.ReconcileDiscrepancyTypeEnum;
 import org.dromara.daxpay.service.enums.ReconcileFileTypeEnum;
 import org.dromara.daxpay.service.enums.ReconcileResultEnum;
@@ -27,7 +29,6 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.date.DatePattern;
 import cn.hutool.core.date.LocalDateTimeUtil;
 import cn.hutool.core.io.resource.ResourceUtil;
-import cn.hutool.extra.spring.SpringUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -41,7 +42,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
@@ -65,6 +65,9 @@ public class ReconcileStatementService {
     private final ReconcileAssistService reconcileAssistService;
     private final FileStorageService fileStorageService;
     private final ChannelConstService channelConstService;
+    private final ReconcileTradeIngestService reconcileTradeIngestService;
+    private final ReconcileProperties reconcileProperties;
+    private final ReconcileIntradayService reconcileIntradayService;
 
     /**
      * 创建对账订单
@@ -107,10 +110,12 @@ public class ReconcileStatementService {
         reconcileStrategy.setStatement(statement);
         reconcileStrategy.doBeforeHandler();
         try {
-            // 下载
+            // 下载, 解析出的交易记录分块导入, 之前中断时从断点继续
+            var ingest = reconcileTradeIngestService.resume(statement);
+            reconcileStrategy.setTradeConsumer(ingest);
             var resolveResultBo = reconcileStrategy.downAndResolve();
             // 解析返回的交易记录, 并是对账单文件进行保存
-            SpringUtil.getBean(this.getClass()).resolveAndSave(statement, resolveResultBo);
+            this.resolveAndSave(statement, resolveResultBo, ingest);
         } catch (Exception e) {
             log.error("解析对账单异常", e);
             statement.setErrorMsg("原因: " + e.getMessage());
@@ -138,9 +143,12 @@ public class ReconcileStatementService {
         // 上传类型
         ReconcileFileTypeEnum fileType = ReconcileFileTypeEnum.findByCode(param.getFileType());
         try {
+            // 上传的文件可能与之前的不同, 重新开始导入
+            var ingest = reconcileTradeIngestService.restart(statement);
+            reconcileStrategy.setTradeConsumer(ingest);
             var resolveResultBo = reconcileStrategy.uploadAndResolve(file, fileType);
             // 解析返回的交易记录, 并是对账单文件进行保存
-            SpringUtil.getBean(this.getClass()).resolveAndSave(statement, resolveResultBo);
+            this.resolveAndSave(statement, resolveResultBo, ingest);
 
         } catch (Exception e) {
             log.error("上传对账单异常", e);
@@ -152,21 +160,22 @@ public class ReconcileStatementService {
 
 
     /**
-     * 转换为对账交易并保存
+     * 导入剩余的对账交易, 并更新对账单状态
+     * 交易记录在解析过程中已经分块导入并提交, 这里只处理未流式解析的通道返回的记录
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void resolveAndSave(ReconcileStatement statement, ReconcileResolveResultBo resolveResultBo) {
+    private void resolveAndSave(ReconcileStatement statement, ReconcileResolveResultBo resolveResultBo,
+                                ReconcileTradeIngestService.Ingest ingest) {
         List<ChannelReconcileTradeBo> channelTrades = resolveResultBo.getChannelTrades();
-        List<ChannelReconcileTrade> list = ReconcileConvert.CONVERT.toList(channelTrades);
-        for (var trade : list) {
-            trade.setReconcileId(statement.getId());
+        if (CollUtil.isNotEmpty(channelTrades)){
+            channelTrades.forEach(ingest);
         }
+        int count = ingest.finish();
+        log.info("对账单 {} 导入通道交易记录 {} 条", statement.getReconcileNo(), count);
         statement.setChannelFileUrl(resolveResultBo.getOriginalFileUrl())
                 .setDownOrUpload(true)
                 .setErrorCode(null)
                 .setErrorMsg(null);
         reconcileStatementManager.updateById(statement);
-        reconcileTradeManage.saveAll(list);
     }
 
     /**
@@ -193,16 +202,25 @@ public class ReconcileStatementService {
         }
         paymentAssistService.initMchApp(statement.getAppId());
 
-        // 获取通道交易记录
-        var channelTrades = reconcileTradeManage.findAllByReconcileId(statement.getId());
-        // 获取平台交易记录
-        var platformTrades = reconcileAssistService.getPlatformTrades(statement);
+        // 平台汇总数据使用日间对账汇总, 只补齐扫描进度之后的变更
+        var intraday = reconcileIntradayService.current(statement.getAppId(), statement.getChannel(), statement.getDate());
         // 汇总类数据计算
-        this.calculationTotal(statement, channelTrades, platformTrades);
-        // 进行比对并生成交易差异
-        var discrepancies = this.compare(statement, channelTrades, platformTrades);
-        // 生成对账单文件并保存
-        this.genReconcileFile(statement, discrepancies, platformTrades, channelTrades);
+        this.calculationTotal(statement, intraday);
+        if (reconcileProperties.getCompareMode() == ReconcileCompareModeEnum.SQL){
+            // 数据库比对不加载通道和平台的交易明细, 对账文件中只包含差异交易
+            var discrepancies = reconcileDiscrepancyService.generateDiscrepancyBySql(statement);
+            this.saveDiscrepancies(statement, discrepancies);
+            this.genReconcileFile(statement, discrepancies, List.of(), List.of());
+        } else {
+            // 获取通道交易记录
+            var channelTrades = reconcileTradeManage.findAllByReconcileId(statement.getId());
+            // 获取平台交易记录
+            var platformTrades = reconcileAssistService.getPlatformTrades(statement);
+            // 进行比对并生成交易差异
+            var discrepancies = this.compare(statement, channelTrades, platformTrades);
+            // 生成对账单文件并保存
+            this.genReconcileFile(statement, discrepancies, platformTrades, channelTrades);
+        }
         // 更新记录
         reconcileStatementManager.updateById(statement);
     }
@@ -212,9 +230,17 @@ public class ReconcileStatementService {
      */
     @Transactional(rollbackFor = Exception.class)
     public List<ReconcileDiscrepancy> compare(ReconcileStatement statement, List<ChannelReconcileTrade> channelTrades, List<PlatformReconcileTradeBo> platformTrades){
-
         // 执行比对任务, 获取对账差异记录并保存
         var discrepancies = reconcileDiscrepancyService.generateDiscrepancy(statement, platformTrades, channelTrades);
+        this.saveDiscrepancies(statement, discrepancies);
+        return discrepancies;
+    }
+
+    /**
+     * 保存对账差异记录, 并根据是否有差异设置对账结果
+     */
+    private void saveDiscrepancies(ReconcileStatement statement, List<ReconcileDiscrepancy> discrepancies){
+        discrepancyManager.saveAll(discrepancies);
         // 判断是否有差异
         if (CollUtil.isNotEmpty(discrepancies)){
             statement.setResult(ReconcileResultEnum.INCONSISTENT.getCode());
@@ -222,8 +248,6 @@ public class ReconcileStatementService {
             statement.setResult(ReconcileResultEnum.CONSISTENT.getCode());
         }
         statement.setCompare(true);
-        discrepancyManager.saveAll(discrepancies);
-        return discrepancies;
     }
 
     /**
@@ -256,49 +280,21 @@ public class ReconcileStatementService {
 
     /**
      * 计算汇总数据
+     * @param intraday 日间对账汇总, 提供平台的支付和退款汇总
      */
-    public void calculationTotal(ReconcileStatement statement, List<ChannelReconcileTrade> channelTrades, List<PlatformReconcileTradeBo> platformTrades){
+    public void calculationTotal(ReconcileStatement statement, ReconcileIntraday intraday){
         // 平台支付
-        BigDecimal tradeAmount = platformTrades.stream()
-                .filter(o-> Objects.equals(o.getTradeType(), TradeTypeEnum.PAY.getCode()))
-                .map(PlatformReconcileTradeBo::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long tradeCount = platformTrades.stream()
-                .filter(o -> Objects.equals(o.getTradeType(), TradeTypeEnum.PAY.getCode()))
-                .count();
-        statement.setOrderCount(Math.toIntExact(tradeCount))
-                .setOrderAmount(tradeAmount);
+        statement.setOrderCount(intraday.getOrderCount())
+                .setOrderAmount(intraday.getOrderAmount());
         // 平台退款
-        BigDecimal refundAmount = platformTrades.stream()
-                .filter(o-> Objects.equals(o.getTradeType(), TradeTypeEnum.REFUND.getCode()))
-                .map(PlatformReconcileTradeBo::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long refundCount = platformTrades.stream()
-                .filter(o -> Objects.equals(o.getTradeType(), TradeTypeEnum.REFUND.getCode()))
-                .count();
-        statement.setRefundCount(Math.toIntExact(refundCount))
-                .setRefundAmount(refundAmount);
-        // 通道支付
-        BigDecimal channelTradeAmount = channelTrades.stream()
-                .filter(o-> Objects.equals(o.getTradeType(), TradeTypeEnum.PAY.getCode()))
-                .map(ChannelReconcileTrade::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long channelTradeCount = channelTrades.stream()
-                .filter(o -> Objects.equals(o.getTradeType(), TradeTypeEnum.PAY.getCode()))
-                .count();
-        statement.setChannelOrderCount(Math.toIntExact(channelTradeCount))
-                .setChannelOrderAmount(channelTradeAmount);
-
-        // 通道退款
-        BigDecimal channelRefundAmount = channelTrades.stream()
-                .filter(o-> Objects.equals(o.getTradeType(), TradeTypeEnum.REFUND.getCode()))
-                .map(ChannelReconcileTrade::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long channelRefundCount = channelTrades.stream()
-                .filter(o -> Objects.equals(o.getTradeType(), TradeTypeEnum.REFUND.getCode()))
-                .count();
-        statement.setChannelRefundCount(Math.toIntExact(channelRefundCount))
-                .setChannelRefundAmount(channelRefundAmount);
+        statement.setRefundCount(intraday.getRefundCount())
+                .setRefundAmount(intraday.getRefundAmount());
+        // 通道支付和退款, 在数据库中汇总
+        var channelTotal = reconcileTradeManage.total(statement.getId());
+        statement.setChannelOrderCount(channelTotal.getChannelOrderCount())
+                .setChannelOrderAmount(channelTotal.getChannelOrderAmount())
+                .setChannelRefundCount(channelTotal.getChannelRefundCount())
+                .setChannelRefundAmount(channelTotal.getChannelRefundAmount());
     }
 
 
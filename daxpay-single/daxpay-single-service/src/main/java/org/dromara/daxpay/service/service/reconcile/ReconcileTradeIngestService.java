@@ -0,0 +1,142 @@
+package org.dromara.daxpay.service.service.reconcile;
+
+import cn.hutool.extra.spring.SpringUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.bo.reconcile.ChannelReconcileTradeBo;
+import org.dromara.daxpay.service.convert.reconcile.ReconcileConvert;
+import org.dromara.daxpay.service.dao.reconcile.ChannelReconcileTradeManage;
+import org.dromara.daxpay.service.dao.reconcile.ChannelReconcileTradeMapper;
+import org.dromara.daxpay.service.dao.reconcile.ReconcileStatementManager;
+import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 通道对账交易批量导入
+ * 解析出的通道交易按块使用多行插入写入, 每块单独提交, 并在对账单上记录已导入的数量,
+ * 导入中断后重新下载解析时跳过已导入的记录, 从断点继续导入
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconcileTradeIngestService {
+
+    /** 每块的记录数量 */
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ChannelReconcileTradeMapper reconcileTradeMapper;
+
+    private final ChannelReconcileTradeManage reconcileTradeManage;
+
+    private final ReconcileStatementManager reconcileStatementManager;
+
+    /**
+     * 开始导入, 从对账单记录的断点继续
+     */
+    public Ingest resume(ReconcileStatement statement) {
+        return new Ingest(statement);
+    }
+
+    /**
+     * 重新开始导入, 清除已导入的记录和断点
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public Ingest restart(ReconcileStatement statement) {
+        reconcileTradeManage.deleteByReconcileId(statement.getId());
+        this.updateIngestCount(statement, 0);
+        return new Ingest(statement);
+    }
+
+    /**
+     * 写入一块记录并更新断点, 单独提交
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void saveChunk(ReconcileStatement statement, List<ChannelReconcileTrade> trades, int ingestCount) {
+        reconcileTradeMapper.insertRows(trades);
+        this.updateIngestCount(statement, ingestCount);
+    }
+
+    /**
+     * 更新断点, 只更新导入数量字段, 不影响对账单的版本号
+     */
+    private void updateIngestCount(ReconcileStatement statement, int ingestCount) {
+        reconcileStatementManager.lambdaUpdate()
+                .set(ReconcileStatement::getIngestCount, ingestCount)
+                .eq(ReconcileStatement::getId, statement.getId())
+                .update();
+        statement.setIngestCount(ingestCount);
+    }
+
+    /**
+     * 一次导入过程, 接收解析出的通道交易, 攒满一块后写入
+     */
+    public static class Ingest implements Consumer<ChannelReconcileTradeBo> {
+
+        private final ReconcileStatement statement;
+
+        /** 断点, 之前的记录已经导入 */
+        private final int skip;
+
+        /** 已接收的记录数量 */
+        private int count;
+
+        private final LocalDateTime createTime = LocalDateTime.now();
+
+        private final List<ChannelReconcileTrade> buffer = new ArrayList<>(CHUNK_SIZE);
+
+        private Ingest(ReconcileStatement statement) {
+            this.statement = statement;
+            this.skip = Objects.requireNonNullElse(statement.getIngestCount(), 0);
+        }
+
+        @Override
+        public void accept(ChannelReconcileTradeBo tradeBo) {
+            count++;
+            if (count <= skip) {
+                return;
+            }
+            // 多行插入不经过自动填充, 需要手动设置
+            ChannelReconcileTrade trade = ReconcileConvert.CONVERT.toEntity(tradeBo);
+            trade.setReconcileId(statement.getId());
+            trade.setAppId(statement.getAppId());
+            trade.setId(IdWorker.getId());
+            trade.setCreateTime(createTime);
+            buffer.add(trade);
+            if (buffer.size() >= CHUNK_SIZE) {
+                this.flush();
+            }
+        }
+
+        /**
+         * 写入剩余的记录
+         * @return 导入的总数量
+         */
+        public int finish() {
+            this.flush();
+            if (skip > 0) {
+                log.info("对账单 {} 从第 {} 条记录继续导入, 共 {} 条", statement.getReconcileNo(), skip + 1, count);
+            }
+            return count;
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            SpringUtil.getBean(ReconcileTradeIngestService.class).saveChunk(statement, new ArrayList<>(buffer), count);
+            buffer.clear();
+        }
+    }
+}
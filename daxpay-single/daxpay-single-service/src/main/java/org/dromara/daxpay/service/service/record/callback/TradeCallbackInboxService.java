@@ -0,0 +1,202 @@
+package org.dromara.daxpay.service.service.record.callback;
+
+import cn.bootx.platform.core.util.JsonUtil;
+import cn.hutool.core.thread.ThreadFactoryBuilder;
+import cn.hutool.core.util.StrUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.enums.CallbackStatusEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.common.context.CallbackLocal;
+import org.dromara.daxpay.service.common.local.PaymentContextLocal;
+import org.dromara.daxpay.service.common.properties.CallbackInboxProperties;
+import org.dromara.daxpay.service.dao.record.callback.TradeCallbackInboxManager;
+import org.dromara.daxpay.service.entity.record.callback.TradeCallbackInbox;
+import org.dromara.daxpay.service.enums.CallbackInboxStatusEnum;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
+import org.dromara.daxpay.service.service.trade.pay.PayCallbackService;
+import org.dromara.daxpay.service.service.trade.refund.RefundCallbackService;
+import org.dromara.daxpay.service.service.trade.transfer.TransferCallbackService;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 通道回调收件箱
+ * 开启后验签通过的回调只保存到收件箱, 直接响应通道成功, 由后台按 通道+交易号+交易状态 去重后异步执行业务处理
+ * 未开启时与原有逻辑一致, 同步执行业务处理并保存回调记录
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeCallbackInboxService {
+
+    private final CallbackInboxProperties properties;
+
+    private final TradeCallbackInboxManager inboxManager;
+
+    private final TradeCallbackRecordService callbackRecordService;
+
+    private final PayCallbackService payCallbackService;
+
+    private final RefundCallbackService refundCallbackService;
+
+    private final TransferCallbackService transferCallbackService;
+
+    private final PaymentAssistService paymentAssistService;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        if (properties.isEnable()) {
+            executor = Executors.newFixedThreadPool(Math.max(properties.getParallelism(), 1),
+                    ThreadFactoryBuilder.create().setNamePrefix("callback-inbox-").build());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(executor)) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 回调业务处理, 需要先将解析后的回调数据放到上下文中
+     */
+    public void handle() {
+        CallbackLocal callbackInfo = PaymentContextLocal.get().getCallbackInfo();
+        if (properties.isEnable() && callbackInfo.getCallbackStatus() == CallbackStatusEnum.SUCCESS) {
+            this.receive(callbackInfo);
+        } else {
+            this.process(callbackInfo);
+        }
+    }
+
+    /**
+     * 保存到收件箱, 重复的回调直接忽略
+     */
+    private void receive(CallbackLocal callbackInfo) {
+        String dedupKey = StrUtil.join(":", callbackInfo.getChannel(), callbackInfo.getCallbackType().getCode(),
+                callbackInfo.getTradeNo(), callbackInfo.getTradeStatus());
+        TradeCallbackInbox inbox = new TradeCallbackInbox()
+                .setTradeNo(callbackInfo.getTradeNo())
+                .setOutTradeNo(callbackInfo.getOutTradeNo())
+                .setChannel(callbackInfo.getChannel())
+                .setCallbackType(callbackInfo.getCallbackType().getCode())
+                .setTradeStatus(callbackInfo.getTradeStatus())
+                .setTradeErrorMsg(callbackInfo.getTradeErrorMsg())
+                .setAmount(callbackInfo.getAmount())
+                .setFinishTime(callbackInfo.getFinishTime())
+                .setNotifyInfo(JsonUtil.toJsonStr(callbackInfo.getCallbackData()))
+                .setDedupKey(dedupKey)
+                .setStatus(CallbackInboxStatusEnum.WAITING.getCode())
+                .setRetryCount(0);
+        try {
+            inboxManager.save(inbox);
+        } catch (DuplicateKeyException e) {
+            log.debug("重复的回调通知, 已忽略: {}", dedupKey);
+        }
+    }
+
+    /**
+     * 执行回调业务处理并保存回调记录
+     */
+    private void process(CallbackLocal callbackInfo) {
+        switch (callbackInfo.getCallbackType()) {
+            case PAY -> payCallbackService.payCallback();
+            case REFUND -> refundCallbackService.refundCallback();
+            case TRANSFER -> transferCallbackService.transferCallback();
+            default -> log.warn("不支持的回调类型: {}", callbackInfo.getCallbackType());
+        }
+        callbackRecordService.saveCallbackRecord();
+    }
+
+    /**
+     * 领取并处理收件箱中待处理的回调, 每批全部处理完成后再获取下一批
+     */
+    public void dispatch() {
+        if (!properties.isEnable()) {
+            return;
+        }
+        while (true) {
+            List<TradeCallbackInbox> list = inboxManager.findWaiting(properties.getBatchSize());
+            CompletableFuture<?>[] futures = list.stream()
+                    .filter(inbox -> inboxManager.claim(inbox.getId()))
+                    .map(inbox -> CompletableFuture.runAsync(() -> this.process(inbox), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+            if (list.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 重新处理超时未完成的回调
+     */
+    public void resetTimeout() {
+        if (!properties.isEnable()) {
+            return;
+        }
+        inboxManager.resetTimeout(LocalDateTime.now().minusMinutes(properties.getTimeoutMinutes()));
+    }
+
+    /**
+     * 处理单条回调, 还原回调上下文后执行与同步处理相同的逻辑
+     */
+    @SuppressWarnings("unchecked")
+    private void process(TradeCallbackInbox inbox) {
+        // 线程池中的线程可能继承了创建时的上下文, 处理前先清除
+        PaymentContextLocal.clear();
+        try {
+            paymentAssistService.initMchApp(inbox.getAppId());
+            CallbackLocal callbackInfo = PaymentContextLocal.get().getCallbackInfo();
+            callbackInfo.setChannel(inbox.getChannel())
+                    .setCallbackType(TradeTypeEnum.findByCode(inbox.getCallbackType()))
+                    .setCallbackData(JsonUtil.toBean(inbox.getNotifyInfo(), Map.class))
+                    .setTradeNo(inbox.getTradeNo())
+                    .setOutTradeNo(inbox.getOutTradeNo())
+                    .setTradeStatus(inbox.getTradeStatus())
+                    .setTradeErrorMsg(inbox.getTradeErrorMsg())
+                    .setAmount(inbox.getAmount())
+                    .setFinishTime(inbox.getFinishTime());
+            this.process(callbackInfo);
+            inbox.setStatus(CallbackInboxStatusEnum.SUCCESS.getCode())
+                    .setErrorMsg(null);
+        } catch (Exception e) {
+            log.error("回调处理失败, 交易号: {}", inbox.getTradeNo(), e);
+            int retryCount = Objects.requireNonNullElse(inbox.getRetryCount(), 0) + 1;
+            CallbackInboxStatusEnum status = retryCount >= properties.getMaxRetry()
+                    ? CallbackInboxStatusEnum.FAIL : CallbackInboxStatusEnum.WAITING;
+            inbox.setStatus(status.getCode())
+                    .setRetryCount(retryCount)
+                    .setNextRetryTime(this.nextRetryTime(retryCount))
+                    .setErrorMsg(StrUtil.sub(e.getMessage(), 0, 500));
+        } finally {
+            PaymentContextLocal.clear();
+        }
+        inboxManager.updateById(inbox);
+    }
+
+    /**
+     * 计算下次重试时间, 重试间隔随失败次数翻倍, 不超过最大重试间隔
+     * @param retryCount 失败次数
+     */
+    private LocalDateTime nextRetryTime(int retryCount) {
+        long seconds = (long) properties.getRetryIntervalSeconds() << Math.min(retryCount - 1, 20);
+        return LocalDateTime.now().plusSeconds(Math.min(seconds, properties.getMaxRetryIntervalSeconds()));
+    }
+}
@@ -0,0 +1,124 @@
+package org.dromara.daxpay.service.service.report;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.result.report.ChannelMetricsResult;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 通道调用监控指标
+ * 耗时按通道/支付方式/操作/异常类型记录直方图, 异常按类型计数, 执行中的调用数量按通道/操作记录,
+ * 指标通过 Micrometer 注册, 可以由 /actuator/prometheus 采集
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChannelMetricsService {
+
+    /** 通道调用耗时 */
+    public static final String CALL_METRIC = "daxpay.channel.call";
+
+    /** 通道调用异常次数 */
+    public static final String ERROR_METRIC = "daxpay.channel.errors";
+
+    /** 执行中的通道调用数量 */
+    public static final String IN_FLIGHT_METRIC = "daxpay.channel.inflight";
+
+    /** 标签无值时的占位 */
+    public static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    /** 执行中的调用数量, key为 通道:操作 */
+    private final Map<String, AtomicInteger> inFlights = new ConcurrentHashMap<>();
+
+    /**
+     * 获取执行中的调用数量计数器, 首次获取时注册指标
+     */
+    public AtomicInteger getInFlight(String channel, String operation) {
+        return inFlights.computeIfAbsent(channel + ":" + operation, key -> {
+            AtomicInteger inFlight = new AtomicInteger();
+            Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                    .description("执行中的通道调用数量")
+                    .tags("channel", channel, "operation", operation)
+                    .register(meterRegistry);
+            return inFlight;
+        });
+    }
+
+    /**
+     * 记录一次通道调用
+     * @param nanos 耗时(纳秒)
+     * @param error 调用抛出的异常, 正常返回时为空
+     */
+    public void record(String channel, String operation, String method, long nanos, Throwable error) {
+        String exception = Objects.isNull(error) ? NONE : error.getClass().getSimpleName();
+        Timer.builder(CALL_METRIC)
+                .description("通道调用耗时")
+                .tags("channel", channel, "operation", operation, "method", method, "exception", exception)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (Objects.nonNull(error)) {
+            Counter.builder(ERROR_METRIC)
+                    .description("通道调用异常次数")
+                    .tags("channel", channel, "operation", operation, "exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * 汇总当前实例的通道调用指标, 用于管理端查看
+     */
+    public List<ChannelMetricsResult> summary() {
+        return meterRegistry.find(CALL_METRIC).timers().stream()
+                .map(timer -> {
+                    String channel = timer.getId().getTag("channel");
+                    String operation = timer.getId().getTag("operation");
+                    var snapshot = timer.takeSnapshot();
+                    var result = new ChannelMetricsResult()
+                            .setChannel(channel)
+                            .setOperation(operation)
+                            .setMethod(timer.getId().getTag("method"))
+                            .setException(timer.getId().getTag("exception"))
+                            .setCount(snapshot.count())
+                            .setMeanMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                            .setMaxMs(snapshot.max(TimeUnit.MILLISECONDS));
+                    for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                        double value = percentile.value(TimeUnit.MILLISECONDS);
+                        if (percentile.percentile() == 0.5) {
+                            result.setP50Ms(value);
+                        } else if (percentile.percentile() == 0.95) {
+                            result.setP95Ms(value);
+                        } else if (percentile.percentile() == 0.99) {
+                            result.setP99Ms(value);
+                        }
+                    }
+                    AtomicInteger inFlight = inFlights.get(channel + ":" + operation);
+                    result.setInFlight(Objects.isNull(inFlight) ? 0 : inFlight.get());
+                    return result;
+                })
+                .sorted(Comparator.comparing(ChannelMetricsResult::getChannel)
+                        .thenComparing(ChannelMetricsResult::getOperation)
+                        .thenComparing(ChannelMetricsResult::getMethod)
+                        .thenComparing(ChannelMetricsResult::getException))
+                .toList();
+    }
+}
@@ -7,17 +7,30 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.PayStatusEnum;
 import org.dromara.daxpay.core.enums.RefundStatusEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
 import org.dromara.daxpay.service.dao.report.IndexTradeReportMapper;
+import org.dromara.daxpay.service.dao.report.TradeReportHourMapper;
 import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.entity.report.TradeReportHour;
 import org.dromara.daxpay.service.param.report.TradeReportQuery;
 import org.dromara.daxpay.service.result.report.TradeReportResult;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * 交易类报表
+ * 已经完成汇总的小时从交易小时汇总表中获取, 只有最近未汇总的部分从订单表中实时统计
  * @author xxm
  * @since 2024/11/16
  */
@@ -27,76 +40,146 @@ import java.util.List;
 public class IndexTradeReportService {
     private final IndexTradeReportMapper tradeReportMapper;
 
+    private final TradeReportHourMapper tradeReportHourMapper;
+
+    private final TradeReportRollupService rollupService;
+
     /**
      * 支付交易统计: 笔数, 金额
      */
     public TradeReportResult pryTradeReport(TradeReportQuery query){
-        QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
-        // 获取开始时间和结束时间
-        var startTime = LocalDateTimeUtil.beginOfDay(query.getStartDate());
-        var endTime = LocalDateTimeUtil.endOfDay(query.getEndDate());
-
-        param.between(MpUtil.getColumnName(PayOrder::getPayTime), startTime, endTime)
-                .eq(MpUtil.getColumnName(PayOrder::getStatus), PayStatusEnum.SUCCESS);
-        return tradeReportMapper.payTradeReport(param);
+        var list = this.payReport(query, null, param -> Collections.singletonList(tradeReportMapper.payTradeReport(param)));
+        return list.isEmpty() ? new TradeReportResult() : list.getFirst().setTitle(null);
     }
 
     /**
      * 退款交易统计: 笔数, 金额
      */
     public TradeReportResult refundTradeReport(TradeReportQuery query){
-        QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
-        // 获取开始时间和结束时间
-        var startTime = LocalDateTimeUtil.beginOfDay(query.getStartDate());
-        var endTime = LocalDateTimeUtil.endOfDay(query.getEndDate());
-
-        param.between(MpUtil.getColumnName(RefundOrder::getFinishTime),startTime, endTime)
-                .eq(MpUtil.getColumnName(RefundOrder::getStatus), RefundStatusEnum.SUCCESS);
-        return tradeReportMapper.refundTradeReport(param);
+        var list = this.refundReport(query, null, param -> Collections.singletonList(tradeReportMapper.refundTradeReport(param)));
+        return list.isEmpty() ? new TradeReportResult() : list.getFirst().setTitle(null);
     }
 
     /**
      * 支付通道统计
      */
     public List<TradeReportResult> payChannelReport(TradeReportQuery query){
-        QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
-        // 获取开始时间和结束时间
-        var startTime = LocalDateTimeUtil.beginOfDay(query.getStartDate());
-        var endTime = LocalDateTimeUtil.endOfDay(query.getEndDate());
-
-        param.between(MpUtil.getColumnName(PayOrder::getPayTime),startTime, endTime)
-                .eq(MpUtil.getColumnName(PayOrder::getStatus), PayStatusEnum.SUCCESS)
-                .groupBy(MpUtil.getColumnName(PayOrder::getChannel));
-        return tradeReportMapper.payChannelReport(param);
+        return this.payReport(query, MpUtil.getColumnName(PayOrder::getChannel), tradeReportMapper::payChannelReport);
     }
 
     /**
      * 退款通道统计
      */
     public List<TradeReportResult> refundChannelReport(TradeReportQuery query){
-        QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
-        // 获取开始时间和结束时间
+        return this.refundReport(query, MpUtil.getColumnName(RefundOrder::getChannel), tradeReportMapper::refundChannelReport);
+    }
+
+    /**
+     * 支付方式统计
+     */
+    public List<TradeReportResult> payMethodReport(TradeReportQuery query){
+        return this.payReport(query, MpUtil.getColumnName(PayOrder::getMethod), tradeReportMapper::payMethodReport);
+    }
+
+    /**
+     * 支付统计, 按支付成功时间
+     * @param groupColumn 分组字段, 为空时统计总数
+     * @param rawQuery 实时统计订单表的查询
+     */
+    private List<TradeReportResult> payReport(TradeReportQuery query, String groupColumn,
+                                              Function<QueryWrapper<TradeReportQuery>, List<TradeReportResult>> rawQuery){
         var startTime = LocalDateTimeUtil.beginOfDay(query.getStartDate());
         var endTime = LocalDateTimeUtil.endOfDay(query.getEndDate());
+        var boundary = rollupService.getRollupBoundary();
 
-        param.between(MpUtil.getColumnName(RefundOrder::getFinishTime),startTime, endTime)
-                .groupBy(MpUtil.getColumnName(RefundOrder::getChannel))
-                .eq(MpUtil.getColumnName(RefundOrder::getStatus), RefundStatusEnum.SUCCESS);
-        return tradeReportMapper.refundChannelReport(param);
+        List<TradeReportResult> results = new ArrayList<>(this.rollupReport(TradeTypeEnum.PAY, groupColumn, startTime, endTime, boundary));
+        // 汇总截止时间之后的数据实时统计
+        var rawStartTime = startTime.isAfter(boundary) ? startTime : boundary;
+        if (!rawStartTime.isAfter(endTime)){
+            QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
+            param.ge(MpUtil.getColumnName(PayOrder::getPayTime), rawStartTime)
+                    .le(MpUtil.getColumnName(PayOrder::getPayTime), endTime)
+                    .eq(MpUtil.getColumnName(PayOrder::getStatus), PayStatusEnum.SUCCESS.getCode())
+                    .groupBy(Objects.nonNull(groupColumn), groupColumn);
+            results.addAll(rawQuery.apply(param));
+        }
+        return this.merge(results);
     }
 
     /**
-     * 支付方式统计
+     * 退款统计, 按退款完成时间
+     * @param groupColumn 分组字段, 为空时统计总数
+     * @param rawQuery 实时统计订单表的查询
      */
-    public List<TradeReportResult> payMethodReport(TradeReportQuery query){
-        QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
-        // 获取开始时间和结束时间
+    private List<TradeReportResult> refundReport(TradeReportQuery query, String groupColumn,
+                                                 Function<QueryWrapper<TradeReportQuery>, List<TradeReportResult>> rawQuery){
         var startTime = LocalDateTimeUtil.beginOfDay(query.getStartDate());
         var endTime = LocalDateTimeUtil.endOfDay(query.getEndDate());
+        var boundary = rollupService.getRollupBoundary();
 
-        param.between(MpUtil.getColumnName(PayOrder::getPayTime),startTime, endTime)
-                .eq(MpUtil.getColumnName(PayOrder::getStatus), PayStatusEnum.SUCCESS)
-                .groupBy(MpUtil.getColumnName(PayOrder::getMethod));
-        return tradeReportMapper.payMethodReport(param);
+        List<TradeReportResult> results = new ArrayList<>(this.rollupReport(TradeTypeEnum.REFUND, groupColumn, startTime, endTime, boundary));
+        // 汇总截止时间之后的数据实时统计
+        var rawStartTime = startTime.isAfter(boundary) ? startTime : boundary;
+        if (!rawStartTime.isAfter(endTime)){
+            QueryWrapper<TradeReportQuery> param = new QueryWrapper<>();
+            param.ge(MpUtil.getColumnName(RefundOrder::getFinishTime), rawStartTime)
+                    .le(MpUtil.getColumnName(RefundOrder::getFinishTime), endTime)
+                    .eq(MpUtil.getColumnName(RefundOrder::getStatus), RefundStatusEnum.SUCCESS.getCode())
+                    .groupBy(Objects.nonNull(groupColumn), groupColumn);
+            results.addAll(rawQuery.apply(param));
+        }
+        return this.merge(results);
+    }
+
+    /**
+     * 从交易小时汇总表中统计汇总截止时间之前的数据
+     */
+    private List<TradeReportResult> rollupReport(TradeTypeEnum tradeType, String groupColumn,
+                                                 LocalDateTime startTime, LocalDateTime endTime, LocalDateTime boundary){
+        if (!startTime.isBefore(boundary)){
+            return List.of();
+        }
+        // 没有分组字段时按交易类型分组, 只会有一条结果
+        String titleColumn = Objects.nonNull(groupColumn) ? groupColumn : MpUtil.getColumnName(TradeReportHour::getTradeType);
+        QueryWrapper<TradeReportHour> param = new QueryWrapper<>();
+        param.eq(MpUtil.getColumnName(TradeReportHour::getTradeType), tradeType.getCode())
+                .ge(MpUtil.getColumnName(TradeReportHour::getReportTime), startTime)
+                .lt(MpUtil.getColumnName(TradeReportHour::getReportTime), endTime.isBefore(boundary) ? endTime : boundary)
+                .groupBy(titleColumn);
+        List<TradeReportResult> list = tradeReportHourMapper.report(titleColumn, param);
+        // 统计总数时标题与实时统计的结果保持一致
+        if (Objects.isNull(groupColumn)){
+            list.forEach(o -> o.setTitle(null));
+        }
+        return list;
+    }
+
+    /**
+     * 合并汇总数据和实时统计数据, 按标题合并后重新计算平均金额
+     */
+    private List<TradeReportResult> merge(List<TradeReportResult> results){
+        Map<String, TradeReportResult> map = new LinkedHashMap<>();
+        for (TradeReportResult result : results) {
+            // 没有数据时聚合函数返回空值
+            if (Objects.isNull(result) || Objects.isNull(result.getTradeCount()) || result.getTradeCount() == 0){
+                continue;
+            }
+            String key = Objects.toString(result.getTitle(), "");
+            TradeReportResult merged = map.get(key);
+            if (Objects.isNull(merged)){
+                map.put(key, new TradeReportResult()
+                        .setTitle(result.getTitle())
+                        .setTradeAmount(result.getTradeAmount())
+                        .setTradeCount(result.getTradeCount())
+                        .setMaxAmount(result.getMaxAmount()));
+            } else {
+                merged.setTradeAmount(merged.getTradeAmount().add(result.getTradeAmount()))
+                        .setTradeCount(merged.getTradeCount() + result.getTradeCount())
+                        .setMaxAmount(merged.getMaxAmount().max(result.getMaxAmount()));
+            }
+        }
+        map.values().forEach(o -> o.setAvgAmount(o.getTradeAmount()
+                .divide(BigDecimal.valueOf(o.getTradeCount()), 2, RoundingMode.HALF_UP)));
+        return new ArrayList<>(map.values());
     }
 }
@@ -0,0 +1,246 @@
+package org.dromara.daxpay.service.service.report;
+
+import cn.bootx.platform.common.mybatisplus.util.MpUtil;
+import cn.bootx.platform.core.exception.RepetitiveOperationException;
+import cn.hutool.extra.spring.SpringUtil;
+import com.baomidou.lock.LockInfo;
+import com.baomidou.lock.LockTemplate;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.core.enums.RefundStatusEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
+import org.dromara.daxpay.service.dao.report.TradeReportHourManager;
+import org.dromara.daxpay.service.dao.report.TradeReportHourMapper;
+import org.dromara.daxpay.service.dao.report.TradeReportRollupWatermarkManager;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.entity.report.TradeReportHour;
+import org.dromara.daxpay.service.entity.report.TradeReportRollupWatermark;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 交易小时汇总统计服务
+ * 按小时从支付订单和退款订单中汇总数据, 同一小时重复汇总时会覆盖之前的结果.
+ * 覆盖时先删除再写入, 并发汇总会产生重复数据, 所以定时任务和手动汇总在多个实例之间使用同一个锁互斥执行.
+ * 定时汇总时按最后修改时间扫描上次汇总之后变更的订单, 支付或退款完成时间落在已汇总小时的订单, 会重新汇总所在的小时
+ * @author xxm
+ * @since 2025/1/15
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradeReportRollupService {
+
+    /**
+     * 汇总延迟时间(分钟), 整点后超过这个时间的小时才会使用汇总数据,
+     * 需要大于定时汇总任务的执行间隔, 保证统计时上一个小时已经完成了汇总
+     */
+    public static final int ROLLUP_DELAY_MINUTES = 15;
+
+    /** 扫描时修改时间的上限与当前时间的间隔(秒), 避开还未提交的事务 */
+    private static final int SCAN_DELAY_SECONDS = 5;
+
+    /** 扫描变更订单时每批的数量 */
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private static final String LOCK_KEY = "payment:report:rollup";
+
+    private final TradeReportHourMapper reportHourMapper;
+
+    private final TradeReportHourManager reportHourManager;
+
+    private final TradeReportRollupWatermarkManager watermarkManager;
+
+    private final PayOrderManager payOrderManager;
+
+    private final RefundOrderManager refundOrderManager;
+
+    private final LockTemplate lockTemplate;
+
+    /**
+     * 获取汇总数据的截止时间, 早于该时间的数据从汇总表中获取, 之后的从订单中实时统计
+     */
+    public LocalDateTime getRollupBoundary() {
+        return LocalDateTime.now().minusMinutes(ROLLUP_DELAY_MINUTES).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /**
+     * 汇总指定时间范围内已经结束的小时 [startTime, endTime), 每个小时在单独的事务中汇总
+     */
+    public void rollupRange(LocalDateTime startTime, LocalDateTime endTime) {
+        // 其他实例正在汇总时等待, 等待超时则不进行汇总
+        LockInfo lock = lockTemplate.lock(LOCK_KEY, 30 * 60 * 1000L, 60 * 1000L);
+        if (Objects.isNull(lock)) {
+            throw new RepetitiveOperationException("交易小时汇总正在执行, 请稍后重试");
+        }
+        try {
+            LocalDateTime hour = startTime.truncatedTo(ChronoUnit.HOURS);
+            // 当前小时还未结束, 不进行汇总
+            LocalDateTime end = endTime.isAfter(LocalDateTime.now()) ? LocalDateTime.now() : endTime;
+            while (!hour.plusHours(1).isAfter(end)) {
+                self().rollupHour(hour);
+                hour = hour.plusHours(1);
+            }
+        } finally {
+            lockTemplate.releaseLock(lock);
+        }
+    }
+
+    /**
+     * 定时汇总, 汇总最近两个已经结束的小时, 以及扫描进度之后变更的订单所在的已结束小时,
+     * 全部汇总成功后保存扫描进度, 失败时下次重新扫描
+     */
+    public void rollupChanged() {
+        // 多实例部署时只有一个实例执行
+        LockInfo lock = lockTemplate.lock(LOCK_KEY, 30 * 60 * 1000L, 0);
+        if (Objects.isNull(lock)) {
+            return;
+        }
+        try {
+            LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+            Set<LocalDateTime> hours = new TreeSet<>();
+            // 兼顾整点前后提交的事务
+            hours.add(currentHour.minusHours(2));
+            hours.add(currentHour.minusHours(1));
+            var payWatermark = this.findWatermark(TradeTypeEnum.PAY);
+            var refundWatermark = this.findWatermark(TradeTypeEnum.REFUND);
+            LocalDateTime endTime = LocalDateTime.now().minusSeconds(SCAN_DELAY_SECONDS);
+            this.scanPay(payWatermark, endTime, hours);
+            this.scanRefund(refundWatermark, endTime, hours);
+            boolean complete = true;
+            for (LocalDateTime hour : hours) {
+                // 当前小时还未结束, 结束后按最近的小时汇总
+                if (!hour.isBefore(currentHour)) {
+                    continue;
+                }
+                try {
+                    self().rollupHour(hour);
+                } catch (Exception e) {
+                    complete = false;
+                    log.error("交易小时汇总失败: {}", hour, e);
+                }
+            }
+            if (complete) {
+                watermarkManager.saveOrUpdate(payWatermark);
+                watermarkManager.saveOrUpdate(refundWatermark);
+            }
+        } finally {
+            lockTemplate.releaseLock(lock);
+        }
+    }
+
+    /**
+     * 查询扫描进度, 首次执行时从前一天开始
+     */
+    private TradeReportRollupWatermark findWatermark(TradeTypeEnum tradeType) {
+        return watermarkManager.findByTradeType(tradeType.getCode())
+                .orElseGet(() -> new TradeReportRollupWatermark()
+                        .setTradeType(tradeType.getCode())
+                        .setScanTime(LocalDate.now().minusDays(1).atStartOfDay())
+                        .setScanId(0L));
+    }
+
+    /**
+     * 扫描变更的支付订单, 记录支付时间所在的小时
+     */
+    private void scanPay(TradeReportRollupWatermark watermark, LocalDateTime endTime, Set<LocalDateTime> hours) {
+        while (true) {
+            List<PayOrder> list = payOrderManager.findChangedSince(watermark.getScanTime(), watermark.getScanId(), endTime, SCAN_BATCH_SIZE);
+            for (PayOrder order : list) {
+                if (Objects.nonNull(order.getPayTime())) {
+                    hours.add(order.getPayTime().truncatedTo(ChronoUnit.HOURS));
+                }
+            }
+            if (!list.isEmpty()) {
+                PayOrder last = list.getLast();
+                watermark.setScanTime(last.getLastModifiedTime())
+                        .setScanId(last.getId());
+            }
+            if (list.size() < SCAN_BATCH_SIZE) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 扫描变更的退款订单, 记录退款完成时间所在的小时
+     */
+    private void scanRefund(TradeReportRollupWatermark watermark, LocalDateTime endTime, Set<LocalDateTime> hours) {
+        while (true) {
+            List<RefundOrder> list = refundOrderManager.findChangedSince(watermark.getScanTime(), watermark.getScanId(), endTime, SCAN_BATCH_SIZE);
+            for (RefundOrder order : list) {
+                if (Objects.nonNull(order.getFinishTime())) {
+                    hours.add(order.getFinishTime().truncatedTo(ChronoUnit.HOURS));
+                }
+            }
+            if (!list.isEmpty()) {
+                RefundOrder last = list.getLast();
+                watermark.setScanTime(last.getLastModifiedTime())
+                        .setScanId(last.getId());
+            }
+            if (list.size() < SCAN_BATCH_SIZE) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 汇总指定小时的支付和退款数据
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void rollupHour(LocalDateTime reportTime) {
+        LocalDateTime start = reportTime.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = start.plusHours(1);
+
+        // 支付订单按支付成功时间统计
+        QueryWrapper<PayOrder> payParam = new QueryWrapper<>();
+        payParam.ge(MpUtil.getColumnName(PayOrder::getPayTime), start)
+                .lt(MpUtil.getColumnName(PayOrder::getPayTime), end)
+                .eq(MpUtil.getColumnName(PayOrder::getStatus), PayStatusEnum.SUCCESS.getCode())
+                .groupBy(MpUtil.getColumnName(PayOrder::getAppId),
+                        MpUtil.getColumnName(PayOrder::getChannel),
+                        MpUtil.getColumnName(PayOrder::getMethod));
+        List<TradeReportHour> pays = reportHourMapper.rollupPay(payParam);
+        this.save(pays, start, TradeTypeEnum.PAY);
+
+        // 退款订单按退款完成时间统计
+        QueryWrapper<RefundOrder> refundParam = new QueryWrapper<>();
+        refundParam.ge(MpUtil.getColumnName(RefundOrder::getFinishTime), start)
+                .lt(MpUtil.getColumnName(RefundOrder::getFinishTime), end)
+                .eq(MpUtil.getColumnName(RefundOrder::getStatus), RefundStatusEnum.SUCCESS.getCode())
+                .groupBy(MpUtil.getColumnName(RefundOrder::getAppId),
+                        MpUtil.getColumnName(RefundOrder::getChannel));
+        List<TradeReportHour> refunds = reportHourMapper.rollupRefund(refundParam);
+        this.save(refunds, start, TradeTypeEnum.REFUND);
+        log.debug("交易小时汇总完成: {}, 支付: {}组, 退款: {}组", start, pays.size(), refunds.size());
+    }
+
+    /**
+     * 覆盖保存指定小时的汇总数据
+     */
+    private void save(List<TradeReportHour> list, LocalDateTime reportTime, TradeTypeEnum tradeType) {
+        reportHourManager.deleteByReportTime(reportTime, tradeType.getCode());
+        list.forEach(o -> o.setReportTime(reportTime).setTradeType(tradeType.getCode()));
+        reportHourManager.saveAll(list);
+    }
+
+    /**
+     * 获取代理对象, 使事务注解生效
+     */
+    private TradeReportRollupService self() {
+        return SpringUtil.getBean(TradeReportRollupService.class);
+    }
+}
@@ -19,6 +19,7 @@ import org.dromara.daxpay.core.util.PayUtil;
 import org.dromara.daxpay.core.util.TradeNoGenerateUtil;
 import org.dromara.daxpay.service.bo.trade.PayResultBo;
 import org.dromara.daxpay.service.code.DaxPayCode;
+import org.dromara.daxpay.service.common.cache.PayOrderStatusCacheService;
 import org.dromara.daxpay.service.common.context.MchAppLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
 import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
@@ -45,6 +46,14 @@ public class PayAssistService {
     private final PayOrderQueryService payOrderQueryService;
     private final PaySyncService paySyncService;
     private final DelayJobService delayJobService;
+    private final PayOrderStatusCacheService payOrderStatusCacheService;
+
+    /** 已经完成的支付状态 */
+    private static final List<String> SETTLED_STATUS = List.of(
+            PayStatusEnum.SUCCESS.getCode(),
+            PayStatusEnum.FAIL.getCode(),
+            PayStatusEnum.CLOSE.getCode(),
+            PayStatusEnum.CANCEL.getCode());
 
     /**
      * 创建支付订单并保存, 返回支付订单
@@ -93,6 +102,30 @@ public class PayAssistService {
         payOrderManager.updateById(order);
     }
 
+    /**
+     * 根据本地缓存的订单终态校验, 订单已经完成时直接抛出对应的异常, 不需要加锁和查询数据库
+     */
+    public void checkSettledCache(PayParam param) {
+        String status = payOrderStatusCacheService.get(param.getAppId(), param.getBizOrderNo());
+        if (Objects.nonNull(status)) {
+            this.checkSettled(status);
+        }
+    }
+
+    /**
+     * 已经完成的订单抛出对应的异常
+     */
+    private void checkSettled(String status) {
+        // 已经支付状态
+        if (PayStatusEnum.SUCCESS.getCode().equals(status)) {
+            throw new TradeStatusErrorException("已经支付成功，请勿重新支付");
+        }
+        // 支付失败类型状态
+        if (SETTLED_STATUS.contains(status)) {
+            throw new TradeStatusErrorException("支付失败或已经被关闭");
+        }
+    }
+
     /**
      * 校验支付状态，支付成功则返回，支付失败则抛出对应的异常
      */
@@ -110,18 +143,10 @@ public class PayAssistService {
                 }
                 return payOrder;
             }
-            // 已经支付状态
-            if (PayStatusEnum.SUCCESS.getCode()
-                    .equals(payOrder.getStatus())) {
-                throw new TradeStatusErrorException("已经支付成功，请勿重新支付");
-            }
-            // 支付失败类型状态
-            List<String> tradesStatus = List.of(
-                    PayStatusEnum.FAIL.getCode(),
-                    PayStatusEnum.CLOSE.getCode(),
-                    PayStatusEnum.CANCEL.getCode());
-            if (tradesStatus.contains(payOrder.getStatus())) {
-                throw new TradeStatusErrorException("支付失败或已经被关闭");
+            // 已经完成的订单, 缓存终态后重复请求时直接拒绝
+            if (SETTLED_STATUS.contains(payOrder.getStatus())) {
+                payOrderStatusCacheService.put(param.getAppId(), param.getBizOrderNo(), payOrder.getStatus());
+                this.checkSettled(payOrder.getStatus());
             }
             // 退款类型状态
             if (Objects.equals(payOrder.getRefundStatus(), PayRefundStatusEnum.REFUNDING.getCode())) {
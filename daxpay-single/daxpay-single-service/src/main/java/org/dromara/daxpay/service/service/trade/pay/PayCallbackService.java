@@ -5,14 +5,12 @@ import org.dromara.daxpay.core.enums.CallbackStatusEnum;
 import org.dromara.daxpay.core.enums.PayStatusEnum;
 import org.dromara.daxpay.service.common.context.CallbackLocal;
 import org.dromara.daxpay.service.common.local.PaymentContextLocal;
-import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
 import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.service.allocation.AllocationService;
 import org.dromara.daxpay.service.service.notice.MerchantNoticeService;
 import org.dromara.daxpay.service.service.order.pay.PayOrderQueryService;
+import org.dromara.daxpay.service.service.order.pay.PayOrderTransitionService;
 import org.dromara.daxpay.service.service.record.flow.TradeFlowRecordService;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,9 +31,7 @@ public class PayCallbackService {
 
     private final PayOrderQueryService payOrderQueryService;
 
-    private final LockTemplate lockTemplate;
-
-    private final PayOrderManager payOrderManager;
+    private final PayOrderTransitionService payOrderTransitionService;
 
     private final TradeFlowRecordService tradeFlowRecordService;
 
@@ -47,34 +43,23 @@ public class PayCallbackService {
      */
     public void payCallback() {
         var callbackInfo = PaymentContextLocal.get().getCallbackInfo();
-        // 加锁
-        LockInfo lock = lockTemplate.lock("callback:payment:" + callbackInfo.getTradeNo(),10000, 200);
-        if (Objects.isNull(lock)){
-            callbackInfo.setCallbackStatus(CallbackStatusEnum.IGNORE).setCallbackErrorMsg("回调正在处理中，忽略本次回调请求");
-            log.warn("订单号: {} 回调正在处理中，忽略本次回调请求", callbackInfo.getTradeNo());
+        // 获取支付单, 不加锁, 并发的回调和同步通过订单状态变更时的条件更新保证只有一个生效
+        PayOrder payOrder = payOrderQueryService.findByOrderNo(callbackInfo.getTradeNo()).orElse(null);
+        // 本地支付单不存在,记录回调记录, TODO 需要补单或进行退款
+        if (Objects.isNull(payOrder)) {
+            callbackInfo.setCallbackStatus(CallbackStatusEnum.NOT_FOUND).setCallbackErrorMsg("支付单不存在,记录回调记录");
             return;
         }
-        try {
-            // 获取支付单
-            PayOrder payOrder = payOrderQueryService.findByOrderNo(callbackInfo.getTradeNo()).orElse(null);
-            // 本地支付单不存在,记录回调记录, TODO 需要补单或进行退款
-            if (Objects.isNull(payOrder)) {
-                callbackInfo.setCallbackStatus(CallbackStatusEnum.NOT_FOUND).setCallbackErrorMsg("支付单不存在,记录回调记录");
-                return;
-            }
-            // 设置订单关联网关订单号
-            payOrder.setOutOrderNo(callbackInfo.getOutTradeNo());
+        // 设置订单关联网关订单号
+        payOrder.setOutOrderNo(callbackInfo.getOutTradeNo());
 
-            // 成功状态
-            if (Objects.equals(CallbackStatusEnum.SUCCESS.getCode(), callbackInfo.getTradeStatus())) {
-                // 支付成功处理
-                this.success(payOrder);
-            } else {
-                // 失败状态
-                this.fail(payOrder);
-            }
-        } finally {
-            lockTemplate.releaseLock(lock);
+        // 成功状态
+        if (Objects.equals(CallbackStatusEnum.SUCCESS.getCode(), callbackInfo.getTradeStatus())) {
+            // 支付成功处理
+            this.success(payOrder);
+        } else {
+            // 失败状态
+            this.fail(payOrder);
         }
     }
 
@@ -100,11 +85,13 @@ public class PayCallbackService {
             return;
         }
         // 修改订单支付状态为成功
-        payOrder.setStatus(PayStatusEnum.SUCCESS.getCode())
-                .setPayTime(callbackInfo.getFinishTime())
+        payOrder.setPayTime(callbackInfo.getFinishTime())
                 .setOutOrderNo(callbackInfo.getOutTradeNo())
                 .setCloseTime(null);
-        payOrderManager.updateById(payOrder);
+        if (!payOrderTransitionService.transit(payOrder, PayStatusEnum.SUCCESS)) {
+            callbackInfo.setCallbackStatus(CallbackStatusEnum.IGNORE).setCallbackErrorMsg("支付单已被其他请求处理,不进行处理");
+            return;
+        }
         tradeFlowRecordService.savePay(payOrder);
         merchantNoticeService.registerPayNotice(payOrder);
         allocationService.registerAutoAlloc(payOrder);
@@ -127,10 +114,12 @@ public class PayCallbackService {
         }
         // 执行支付关闭的调整逻辑
         // 执行策略的关闭方法
-        payOrder.setStatus(PayStatusEnum.CLOSE.getCode())
-                .setErrorMsg(callbackInfo.getTradeErrorMsg())
+        payOrder.setErrorMsg(callbackInfo.getTradeErrorMsg())
                 .setCloseTime(LocalDateTime.now());
-        payOrderManager.updateById(payOrder);
+        if (!payOrderTransitionService.transit(payOrder, PayStatusEnum.CLOSE)) {
+            callbackInfo.setCallbackStatus(CallbackStatusEnum.IGNORE).setCallbackErrorMsg("支付单已被其他请求处理,不进行处理");
+            return;
+        }
         merchantNoticeService.registerPayNotice(payOrder);
     }
 
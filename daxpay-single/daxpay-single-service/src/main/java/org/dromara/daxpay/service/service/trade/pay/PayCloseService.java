@@ -14,8 +14,8 @@ import org.dromara.daxpay.service.service.record.close.PayCloseRecordService;
 import org.dromara.daxpay.service.strategy.AbsPayCloseStrategy;
 import org.dromara.daxpay.service.util.PaymentStrategyFactory;
 import cn.hutool.core.util.StrUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -40,7 +40,7 @@ public class PayCloseService {
 
     private final MerchantNoticeService merchantNoticeService;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
 
     /**
      * 关闭支付
@@ -60,7 +60,7 @@ public class PayCloseService {
         if (!Objects.equals(payOrder.getStatus(), PayStatusEnum.PROGRESS.getCode())) {
             throw new TradeStatusErrorException("订单不是支付中, 无法进行关闭订单");
         }
-        LockInfo lock = lockTemplate.lock("payment:close:" + payOrder.getId(),10000, 50);
+        TradeLock lock = tradeLockService.lock("payment:close:" + payOrder.getId(),10000, 50);
         if (Objects.isNull(lock)){
             throw new TradeProcessingException("支付订单已在关闭中，请勿重复发起");
         }
@@ -91,7 +91,7 @@ public class PayCloseService {
             }
             throw new OperationFailException("关闭订单失败");
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
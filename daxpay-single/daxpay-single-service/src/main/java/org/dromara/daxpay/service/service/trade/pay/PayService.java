@@ -2,6 +2,7 @@ package org.dromara.daxpay.service.service.trade.pay;
 
 import org.dromara.daxpay.core.enums.PayStatusEnum;
 import org.dromara.daxpay.core.exception.PayFailureException;
+import org.dromara.daxpay.core.exception.TradeNotExistException;
 import org.dromara.daxpay.core.exception.TradeProcessingException;
 import org.dromara.daxpay.core.param.trade.pay.PayParam;
 import org.dromara.daxpay.core.result.trade.pay.PayResult;
@@ -10,12 +11,13 @@ import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
 import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.service.allocation.AllocationService;
 import org.dromara.daxpay.service.service.notice.MerchantNoticeService;
+import org.dromara.daxpay.service.service.order.pay.PayOrderTransitionService;
 import org.dromara.daxpay.service.service.record.flow.TradeFlowRecordService;
 import org.dromara.daxpay.service.strategy.AbsPayStrategy;
 import org.dromara.daxpay.service.util.PaymentStrategyFactory;
 import cn.hutool.extra.spring.SpringUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,8 +37,9 @@ public class PayService {
 
     private final PayAssistService payAssistService;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final PayOrderManager payOrderManager;
+    private final PayOrderTransitionService payOrderTransitionService;
     private final TradeFlowRecordService tradeFlowRecordService;
     private final MerchantNoticeService merchantNoticeService;
     private final AllocationService allocationService;
@@ -49,10 +52,12 @@ public class PayService {
         payAssistService.validationLimitAmount(payParam);
         // 校验超时时间, 不可早于当前
         payAssistService.validationExpiredTime(payParam);
+        // 重复请求已经完成的订单时, 根据本地缓存直接拒绝
+        payAssistService.checkSettledCache(payParam);
         // 获取商户订单号
         String bizOrderNo = payParam.getBizOrderNo();
         // 加锁
-        LockInfo lock = lockTemplate.lock("payment:pay:" + bizOrderNo,10000,200);
+        TradeLock lock = tradeLockService.lock("payment:pay:" + bizOrderNo,10000,200);
         if (Objects.isNull(lock)){
             log.warn("正在支付中，请勿重复支付");
             throw new TradeProcessingException("正在支付中，请勿重复支付");
@@ -70,7 +75,7 @@ public class PayService {
             log.error("支付异常",e);
             throw e;
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -81,7 +86,7 @@ public class PayService {
         // 获取商户订单号
         String bizOrderNo = payOrder.getBizOrderNo();
         // 加锁
-        LockInfo lock = lockTemplate.lock("payment:pay:" + bizOrderNo,10000,200);
+        TradeLock lock = tradeLockService.lock("payment:pay:" + bizOrderNo,10000,200);
         if (Objects.isNull(lock)){
             log.warn("正在支付中，请勿重复支付");
             throw new TradeProcessingException("正在支付中，请勿重复支付");
@@ -92,7 +97,7 @@ public class PayService {
             log.error("支付异常",e);
             throw e;
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -133,15 +138,19 @@ public class PayService {
      */
     @Transactional(rollbackFor = Exception.class)
     public PayResult firstPaySuccess(PayOrder payOrder, PayResultBo result){
+        payOrder.setErrorCode(null);
+        payOrder.setErrorMsg(null);
         // 如果支付完成, 进行订单完成处理, 同时发送回调消息
         if (result.isComplete()) {
             payOrder.setOutOrderNo(result.getOutOrderNo())
-                    .setStatus(PayStatusEnum.SUCCESS.getCode())
                     .setPayTime(result.getFinishTime());
+            // 订单已被回调或同步处理时, 不重复记录流水和发送通知, 返回数据库中的最新状态
+            if (!payOrderTransitionService.transit(payOrder, PayStatusEnum.SUCCESS)) {
+                return payAssistService.buildResult(this.reload(payOrder), result);
+            }
+        } else {
+            payOrderManager.updateById(payOrder);
         }
-        payOrder.setErrorCode(null);
-        payOrder.setErrorMsg(null);
-        payOrderManager.updateById(payOrder);
         // 如果支付完成 发送通知, 记录流水
         if (Objects.equals(payOrder.getStatus(), PayStatusEnum.SUCCESS.getCode())){
             tradeFlowRecordService.savePay(payOrder);
@@ -184,16 +193,20 @@ public class PayService {
      */
     @Transactional(rollbackFor = Exception.class)
     public PayResult repeatPaySuccess(PayOrder payOrder, PayResultBo payResultBo) {
+        // 扩展记录更新
+        payOrder.setErrorMsg(null);
+        payOrder.setErrorCode(null);
         // 如果支付完成, 进行订单完成处理, 同时发送回调消息
         if (payResultBo.isComplete()) {
             payOrder.setOutOrderNo(payResultBo.getOutOrderNo())
-                    .setStatus(PayStatusEnum.SUCCESS.getCode())
                     .setPayTime(payResultBo.getFinishTime());
+            // 订单已被回调或同步处理时, 不重复记录流水和发送通知, 返回数据库中的最新状态
+            if (!payOrderTransitionService.transit(payOrder, PayStatusEnum.SUCCESS)) {
+                return payAssistService.buildResult(this.reload(payOrder), payResultBo);
+            }
+        } else {
+            payOrderManager.updateById(payOrder);
         }
-        // 扩展记录更新
-        payOrder.setErrorMsg(null);
-        payOrder.setErrorCode(null);
-        payOrderManager.updateById(payOrder);
         // 如果支付完成 发送通知, 记录流水
         if (Objects.equals(payOrder.getStatus(), PayStatusEnum.SUCCESS.getCode())){
             tradeFlowRecordService.savePay(payOrder);
@@ -202,4 +215,12 @@ public class PayService {
         }
         return payAssistService.buildResult(payOrder, payResultBo);
     }
+
+    /**
+     * 重新读取订单, 状态变更冲突时内存中的订单仍为读取时的状态
+     */
+    private PayOrder reload(PayOrder payOrder) {
+        return payOrderManager.findById(payOrder.getId())
+                .orElseThrow(() -> new TradeNotExistException("支付订单不存在"));
+    }
 }
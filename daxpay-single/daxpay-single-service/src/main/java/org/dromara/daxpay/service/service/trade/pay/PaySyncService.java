@@ -2,8 +2,8 @@ package org.dromara.daxpay.service.service.trade.pay;
 
 import cn.bootx.platform.core.exception.RepetitiveOperationException;
 import cn.bootx.platform.core.util.DateTimeUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.PayStatusEnum;
@@ -18,6 +18,7 @@ import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.entity.record.sync.TradeSyncRecord;
 import org.dromara.daxpay.service.service.notice.MerchantNoticeService;
 import org.dromara.daxpay.service.service.order.pay.PayOrderQueryService;
+import org.dromara.daxpay.service.service.order.pay.PayOrderTransitionService;
 import org.dromara.daxpay.service.service.record.sync.TradeSyncRecordService;
 import org.dromara.daxpay.service.strategy.AbsPayCloseStrategy;
 import org.dromara.daxpay.service.strategy.AbsSyncPayOrderStrategy;
@@ -47,7 +48,9 @@ public class PaySyncService {
 
     private final TradeSyncRecordService tradeSyncRecordService;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
+
+    private final PayOrderTransitionService payOrderTransitionService;
 
     private final MerchantNoticeService merchantNoticeService;
 
@@ -73,7 +76,7 @@ public class PaySyncService {
             throw new TradeStatusErrorException("订单未开始支付, 请重新确认支付状态");
         }
         // 加锁
-        LockInfo lock = lockTemplate.lock("sync:pay" + payOrder.getId(),10000,200);
+        TradeLock lock = tradeLockService.lock("sync:pay" + payOrder.getId(),10000,200);
         if (Objects.isNull(lock)){
             throw new RepetitiveOperationException("支付同步处理中，请勿重复操作");
         }
@@ -110,7 +113,7 @@ public class PaySyncService {
                     .setOrderStatus(payOrder.getStatus())
                     .setAdjust(statusSync);
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -171,10 +174,9 @@ public class PaySyncService {
      */
     private void success(PayOrder order, PaySyncResultBo param) {
         // 修改订单支付状态为成功
-        order.setStatus(SUCCESS.getCode())
-                .setPayTime(param.getFinishTime())
+        order.setPayTime(param.getFinishTime())
                 .setCloseTime(null);
-        payOrderManager.updateById(order);
+        this.transit(order, SUCCESS);
         merchantNoticeService.registerPayNotice(order);
     }
 
@@ -184,9 +186,8 @@ public class PaySyncService {
      */
     private void closeLocal(PayOrder order) {
         // 执行策略的关闭方法
-        order.setStatus(CLOSE.getCode())
-                .setCloseTime(LocalDateTime.now());
-        payOrderManager.updateById(order);
+        order.setCloseTime(LocalDateTime.now());
+        this.transit(order, CLOSE);
         merchantNoticeService.registerPayNotice(order);
     }
 
@@ -196,8 +197,8 @@ public class PaySyncService {
      */
     private void failLocal(PayOrder order, PaySyncResultBo syncResult) {
         // 执行策略的关闭方法
-        order.setStatus(FAIL.getCode()).setErrorMsg(syncResult.getSyncErrorMsg());
-        payOrderManager.updateById(order);
+        order.setErrorMsg(syncResult.getSyncErrorMsg());
+        this.transit(order, FAIL);
     }
 
     /**
@@ -211,12 +212,20 @@ public class PaySyncService {
         strategy.doBeforeCloseHandler();
         // 执行策略的关闭方法
         strategy.doCloseHandler();
-        order.setStatus(CLOSE.getCode())
-                .setCloseTime(LocalDateTime.now());
-        payOrderManager.updateById(order);
+        order.setCloseTime(LocalDateTime.now());
+        this.transit(order, CLOSE);
         merchantNoticeService.registerPayNotice(order);
     }
 
+    /**
+     * 变更订单状态, 订单已被回调等其他请求修改时抛出异常, 记录为同步失败
+     */
+    private void transit(PayOrder order, PayStatusEnum target) {
+        if (!payOrderTransitionService.transit(order, target)) {
+            throw new TradeProcessingException("支付订单已被其他请求修改, 请重新同步");
+        }
+    }
+
     /**
      * 保存同步记录
      * @param payOrder 支付单
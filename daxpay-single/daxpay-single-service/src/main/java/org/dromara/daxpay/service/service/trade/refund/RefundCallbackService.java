@@ -14,8 +14,8 @@ import org.dromara.daxpay.service.entity.order.pay.PayOrder;
 import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
 import org.dromara.daxpay.service.service.notice.MerchantNoticeService;
 import org.dromara.daxpay.service.service.record.flow.TradeFlowRecordService;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -34,7 +34,7 @@ import java.util.Objects;
 public class RefundCallbackService {
     private final RefundOrderManager refundOrderManager;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final TradeFlowRecordService tradeFlowRecordService;
     private final PayOrderManager payOrderManager;
     private final MerchantNoticeService merchantNoticeService;
@@ -46,7 +46,7 @@ public class RefundCallbackService {
 
         CallbackLocal callbackInfo = PaymentContextLocal.get().getCallbackInfo();
         // 加锁
-        LockInfo lock = lockTemplate.lock("callback:refund:" + callbackInfo.getTradeNo(),10000, 200);
+        TradeLock lock = tradeLockService.lock("callback:refund:" + callbackInfo.getTradeNo(),10000, 200);
         if (Objects.isNull(lock)){
             callbackInfo.setCallbackStatus(CallbackStatusEnum.IGNORE).setCallbackErrorMsg("回调正在处理中，忽略本次回调请求");
             log.warn("订单号: {} 回调正在处理中，忽略本次回调请求", callbackInfo.getTradeNo());
@@ -79,7 +79,7 @@ public class RefundCallbackService {
                 this.close(refundOrder);
             }
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -5,8 +5,8 @@ import cn.bootx.platform.core.util.BigDecimalUtil;
 import cn.bootx.platform.core.util.ValidationUtil;
 import cn.bootx.platform.starter.redis.delay.service.DelayJobService;
 import cn.hutool.extra.spring.SpringUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.PayRefundStatusEnum;
@@ -48,7 +48,7 @@ public class RefundService {
 
     private final PayOrderQueryService payOrderQueryService;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
 
     private final RefundAssistService refundAssistService;
 
@@ -70,7 +70,7 @@ public class RefundService {
         // 参数校验
         ValidationUtil.validateParam(param);
         // 加锁
-        LockInfo lock = lockTemplate.lock("payment:refund:" + param.getBizRefundNo(),10000,200);
+        TradeLock lock = tradeLockService.lock("payment:refund:" + param.getBizRefundNo(),10000,200);
         if (Objects.isNull(lock)){
             throw new TradeProcessingException("退款处理中，请勿重复操作");
         }
@@ -83,7 +83,7 @@ public class RefundService {
                 return this.firstRefund(param);
             }
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
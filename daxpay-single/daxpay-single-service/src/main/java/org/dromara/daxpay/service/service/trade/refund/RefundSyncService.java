@@ -1,8 +1,8 @@
 package org.dromara.daxpay.service.service.trade.refund;
 
 import cn.bootx.platform.core.exception.RepetitiveOperationException;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.RefundStatusEnum;
@@ -44,7 +44,7 @@ public class RefundSyncService {
 
     private final RefundAssistService refundAssistService;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
 
     /**
      * 退款同步, 开启一个新的事务, 不受外部抛出异常的影响
@@ -63,7 +63,7 @@ public class RefundSyncService {
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
     public RefundSyncResult syncRefundOrder(RefundOrder refundOrder) {
         // 加锁
-        LockInfo lock = lockTemplate.lock("sync:refund:" + refundOrder.getId(),10000,200);
+        TradeLock lock = tradeLockService.lock("sync:refund:" + refundOrder.getId(),10000,200);
         if (Objects.isNull(lock)) {
             throw new RepetitiveOperationException("退款同步处理中，请勿重复操作");
         }
@@ -106,7 +106,7 @@ public class RefundSyncService {
                     .setOrderStatus(refundOrder.getStatus())
                     .setAdjust(statusSync);
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -10,8 +10,8 @@ import org.dromara.daxpay.service.service.notice.MerchantNoticeService;
 import org.dromara.daxpay.service.service.record.flow.TradeFlowRecordService;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,7 +28,7 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 public class TransferCallbackService {
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final TransferOrderManager transferOrderManager;
     private final MerchantNoticeService merchantNoticeService;
     private final TransferAssistService transferAssistService;
@@ -41,7 +41,7 @@ public class TransferCallbackService {
 
         CallbackLocal callbackInfo = PaymentContextLocal.get().getCallbackInfo();
         // 加锁
-        LockInfo lock = lockTemplate.lock("callback:transfer:" + callbackInfo.getTradeNo(),10000, 200);
+        TradeLock lock = tradeLockService.lock("callback:transfer:" + callbackInfo.getTradeNo(),10000, 200);
         if (Objects.isNull(lock)){
             callbackInfo.setCallbackStatus(CallbackStatusEnum.IGNORE).setCallbackErrorMsg("回调正在处理中，忽略本次回调请求");
             log.warn("订单号: {} 回调正在处理中，忽略本次回调请求", callbackInfo.getTradeNo());
@@ -69,7 +69,7 @@ public class TransferCallbackService {
                 this.fail(transferOrder);
             }
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -15,8 +15,8 @@ import org.dromara.daxpay.service.service.record.flow.TradeFlowRecordService;
 import org.dromara.daxpay.service.strategy.AbsTransferStrategy;
 import org.dromara.daxpay.service.util.PaymentStrategyFactory;
 import cn.hutool.extra.spring.SpringUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -39,7 +39,7 @@ public class TransferService {
 
     private final TransferOrderManager transferOrderManager;
 
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final MerchantNoticeService merchantNoticeService;
     private final TradeFlowRecordService tradeFlowRecordService;
     private final DelayJobService delayJobService;
@@ -51,7 +51,7 @@ public class TransferService {
         // 参数校验
         ValidationUtil.validateParam(param);
         // 加锁
-        LockInfo lock = lockTemplate.lock("payment:refund:" + param.getBizTransferNo(),10000,200);
+        TradeLock lock = tradeLockService.lock("payment:refund:" + param.getBizTransferNo(),10000,200);
         if (Objects.isNull(lock)){
             throw new TradeProcessingException("转账处理中，请勿重复操作");
         }
@@ -64,7 +64,7 @@ public class TransferService {
                 return this.firstTransfer(param);
             }
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
 
     }
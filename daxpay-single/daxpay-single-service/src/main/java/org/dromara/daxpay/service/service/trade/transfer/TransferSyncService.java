@@ -4,8 +4,8 @@ import cn.bootx.platform.core.exception.BizException;
 import cn.bootx.platform.core.exception.RepetitiveOperationException;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.spring.SpringUtil;
-import com.baomidou.lock.LockInfo;
-import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.lock.TradeLock;
+import org.dromara.daxpay.service.common.lock.TradeLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dromara.daxpay.core.enums.TradeTypeEnum;
@@ -42,7 +42,7 @@ import static org.dromara.daxpay.core.enums.TradeStatusEnum.FAIL;
 public class TransferSyncService {
 
     private final TransferOrderQueryService transferOrderService;
-    private final LockTemplate lockTemplate;
+    private final TradeLockService tradeLockService;
     private final TradeSyncRecordService tradeSyncRecordService;
     private final TransferOrderManager transferOrderManager;
     private final MerchantNoticeService merchantNoticeService;
@@ -64,7 +64,7 @@ public class TransferSyncService {
      */
     public TransferSyncResult syncTransferOrder(TransferOrder transferOrder){
         // 加锁
-        LockInfo lock = lockTemplate.lock("sync:transfer" + transferOrder.getId(),10000,200);
+        TradeLock lock = tradeLockService.lock("sync:transfer" + transferOrder.getId(),10000,200);
         if (Objects.isNull(lock)){
             throw new RepetitiveOperationException("转账同步处理中，请勿重复操作");
         }
@@ -106,7 +106,7 @@ public class TransferSyncService {
                     .setOrderStatus(transferOrder.getStatus())
                     .setAdjust(statusSync);
         } finally {
-            lockTemplate.releaseLock(lock);
+            tradeLockService.unlock(lock);
         }
     }
 
@@ -1,5 +1,6 @@
 package org.dromara.daxpay.service.strategy;
 
+import org.dromara.daxpay.service.bo.reconcile.ChannelReconcileTradeBo;
 import org.dromara.daxpay.service.bo.reconcile.ReconcileResolveResultBo;
 import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
 import org.dromara.daxpay.service.enums.ReconcileFileTypeEnum;
@@ -7,6 +8,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.function.Consumer;
+
 /**
  *
  * @author xxm
@@ -19,6 +22,9 @@ public abstract class AbsReconcileStrategy implements PaymentStrategy{
     /** 对账单 */
     private ReconcileStatement statement;
 
+    /** 解析出的通道交易的处理, 按解析顺序逐条接收 */
+    private Consumer<ChannelReconcileTradeBo> tradeConsumer;
+
     /**
      * 对账前处理, 主要是初始化支付SDK配置
      */
@@ -27,6 +33,7 @@ public abstract class AbsReconcileStrategy implements PaymentStrategy{
 
     /**
      * 上传对账单解析并保存
+     * 解析出的通道交易交给 tradeConsumer 处理, 未支持流式解析的通道可以放在返回结果中
      */
     public abstract ReconcileResolveResultBo uploadAndResolve(MultipartFile file, ReconcileFileTypeEnum fileType);
 
@@ -2,6 +2,8 @@ package org.dromara.daxpay.service.task;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.service.allocation.AllocationBatchService;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 /**
@@ -14,4 +16,21 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AllocationSyncTaskService {
 
+    private final AllocationBatchService allocationBatchService;
+
+    /**
+     * 批量发起到期的自动分账, 一分钟一次, 未开启批量分账时不执行
+     */
+    @Scheduled(cron = "0 */1 * * * ?")
+    public void startTask(){
+        allocationBatchService.start();
+    }
+
+    /**
+     * 批量同步分账处理中的订单, 一分钟一次, 未开启批量分账时不执行
+     */
+    @Scheduled(cron = "30 */1 * * * ?")
+    public void syncTask(){
+        allocationBatchService.sync();
+    }
 }
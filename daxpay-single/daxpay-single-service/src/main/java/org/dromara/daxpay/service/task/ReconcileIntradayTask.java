@@ -0,0 +1,32 @@
+package org.dromara.daxpay.service.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.service.reconcile.ReconcileIntradayService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 日间对账定时任务
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconcileIntradayTask {
+
+    private final ReconcileIntradayService intradayService;
+
+    /**
+     * 核对上次执行之后变更的订单, 默认一分钟一次
+     */
+    @Scheduled(fixedDelayString = "${dax-pay.reconcile.intraday-interval:60000}")
+    public void intradayTask() {
+        try {
+            intradayService.run();
+        } catch (Exception e) {
+            log.error("日间对账失败", e);
+        }
+    }
+}
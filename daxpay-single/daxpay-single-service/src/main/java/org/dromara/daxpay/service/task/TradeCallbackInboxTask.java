@@ -0,0 +1,36 @@
+package org.dromara.daxpay.service.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.service.record.callback.TradeCallbackInboxService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 回调收件箱处理定时任务, 未开启回调收件箱时不执行
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TradeCallbackInboxTask {
+
+    private final TradeCallbackInboxService inboxService;
+
+    /**
+     * 处理待处理的回调, 默认半秒一次
+     */
+    @Scheduled(fixedDelayString = "${dax-pay.callback-inbox.interval:500}")
+    public void dispatchTask() {
+        inboxService.dispatch();
+    }
+
+    /**
+     * 重置处理超时的回调, 一分钟一次
+     */
+    @Scheduled(cron = "0 */1 * * * ?")
+    public void resetTimeoutTask() {
+        inboxService.resetTimeout();
+    }
+}
@@ -0,0 +1,59 @@
+package org.dromara.daxpay.service.task;
+
+import com.baomidou.lock.LockInfo;
+import com.baomidou.lock.LockTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.service.partition.TradePartitionService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * 交易数据分区维护定时任务, 每天凌晨2点执行, 重复执行不会产生影响, 多实例部署时只有一个实例执行
+ * @author xxm
+ * @since 2025/1/14
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TradePartitionTask {
+
+    private final TradePartitionService partitionService;
+
+    private final LockTemplate lockTemplate;
+
+    /**
+     * 启动时执行一次, 保证当月分区存在
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        this.maintain();
+    }
+
+    /**
+     * 分区维护, 凌晨2点执行
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void partitionTask() {
+        this.maintain();
+    }
+
+    /**
+     * 加锁执行分区维护, 其他实例正在执行时跳过
+     */
+    private void maintain() {
+        LockInfo lock = lockTemplate.lock("payment:partition:maintain", 30 * 60 * 1000L, 0);
+        if (Objects.isNull(lock)) {
+            return;
+        }
+        try {
+            partitionService.maintain();
+        } finally {
+            lockTemplate.releaseLock(lock);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.dromara.daxpay.service.task;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.daxpay.service.service.report.TradeReportRollupService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 交易小时汇总定时任务
+ * @author xxm
+ * @since 2025/1/15
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TradeReportRollupTask {
+
+    private final TradeReportRollupService rollupService;
+
+    /**
+     * 五分钟一次, 重新汇总最近两个已经结束的小时, 以及上次汇总之后有订单延迟完成的小时
+     */
+    @Scheduled(cron = "0 */5 * * * ?")
+    public void rollupTask() {
+        try {
+            rollupService.rollupChanged();
+        } catch (Exception e) {
+            log.error("交易小时汇总失败", e);
+        }
+    }
+}
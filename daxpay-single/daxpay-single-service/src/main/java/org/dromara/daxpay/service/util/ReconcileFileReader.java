@@ -0,0 +1,203 @@
+package org.dromara.daxpay.service.util;
+
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.x.file.storage.core.FileStorageService;
+import org.dromara.x.file.storage.core.upload.UploadPretreatment;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 对账文件流式读取
+ * 按行读取通道对账文件, 读取的同时将原始内容写入临时文件, 解析完成后再上传到文件存储,
+ * 整个过程中内存只保留当前读取的行, 不会将整个对账文件读取到内存中
+ * @author xxm
+ * @since 2025/1/17
+ */
+@Slf4j
+public class ReconcileFileReader implements Closeable {
+
+    /** 原始文件的临时文件 */
+    private final File tempFile;
+
+    /** 写入临时文件的输出流 */
+    private final OutputStream tempOut;
+
+    /** 读取时同步写入临时文件的输入流 */
+    private final InputStream source;
+
+    private final BufferedReader reader;
+
+    private ReconcileFileReader(InputStream in, Charset charset) throws IOException {
+        this.tempFile = Files.createTempFile("reconcile-", ".tmp").toFile();
+        this.tempOut = Files.newOutputStream(tempFile.toPath());
+        this.source = new TeeInputStream(in, tempOut);
+        this.reader = new BufferedReader(new InputStreamReader(source, charset));
+    }
+
+    /**
+     * 创建读取器, 输入流由调用方负责关闭
+     * @param in 对账文件输入流
+     * @param charset 对账文件编码
+     */
+    public static ReconcileFileReader of(InputStream in, Charset charset) throws IOException {
+        return new ReconcileFileReader(in, charset);
+    }
+
+    /**
+     * 逐行读取剩余的全部内容
+     */
+    public void lines(Consumer<String> consumer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            consumer.accept(line);
+        }
+    }
+
+    /**
+     * 读取开始标记行和结束标记行之间的内容, 不包含标记行
+     * 读取到结束标记后停止, 剩余内容在上传时写入临时文件
+     * @param startMark 开始标记行的前缀
+     * @param endMark 结束标记行的前缀
+     */
+    public void sectionLines(String startMark, String endMark, Consumer<String> consumer) throws IOException {
+        String line;
+        boolean inSection = false;
+        while ((line = reader.readLine()) != null) {
+            if (!inSection) {
+                inSection = StrUtil.startWith(line, startMark);
+                continue;
+            }
+            if (StrUtil.startWith(line, endMark)) {
+                return;
+            }
+            consumer.accept(line);
+        }
+    }
+
+    /**
+     * 将未读取的内容写入临时文件后, 上传原始对账文件
+     * @param fileName 文件名称
+     * @return 文件地址
+     */
+    public String upload(FileStorageService fileStorageService, String fileName) throws IOException {
+        IoUtil.copy(source, OutputStream.nullOutputStream());
+        tempOut.flush();
+        UploadPretreatment uploadPretreatment = fileStorageService.of(tempFile);
+        if (StrUtil.isNotBlank(fileName)) {
+            uploadPretreatment.setOriginalFilename(fileName);
+        }
+        return uploadPretreatment.upload().getUrl();
+    }
+
+    /**
+     * 关闭临时文件并删除, 不关闭传入的输入流
+     */
+    @Override
+    public void close() {
+        IoUtil.close(tempOut);
+        if (!tempFile.delete()) {
+            log.warn("对账临时文件删除失败: {}", tempFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 拆分CSV行, 支持双引号包裹的字段, 字段中的制表符和首尾空白会被去除
+     */
+    public static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                // 引号内连续两个引号表示引号本身
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append(c);
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else if (c != '\t') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * 读取时将内容同步写入输出流
+     */
+    private static class TeeInputStream extends FilterInputStream {
+
+        private final OutputStream out;
+
+        private TeeInputStream(InputStream in, OutputStream out) {
+            super(in);
+            this.out = Objects.requireNonNull(out);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                out.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                out.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 跳过的内容也需要写入, 通过读取实现
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = this.read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        /**
+         * 不关闭被包装的流, 由调用方负责
+         */
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.dromara.daxpay.service.util;
+
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.date.LocalDateTimeUtil;
+import cn.hutool.core.util.StrUtil;
+import org.dromara.daxpay.service.enums.ExportFormatEnum;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 交易数据流式导出
+ * 每写入一行直接输出到输出流, CSV 不做缓存, XLSX 使用 SXSSF 只在内存中保留最近的行, 其余写入临时文件,
+ * 导出数据量再大内存占用也保持不变
+ * @author xxm
+ * @since 2025/1/17
+ */
+public class TradeExportWriter implements Closeable {
+
+    /** XLSX 在内存中保留的行数 */
+    private static final int WINDOW_SIZE = 100;
+
+    /** XLSX 单个工作表最大行数 */
+    private static final int MAX_SHEET_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final ExportFormatEnum format;
+
+    private final OutputStream out;
+
+    private BufferedWriter csvWriter;
+
+    private SXSSFWorkbook workbook;
+
+    private SXSSFSheet sheet;
+
+    /** 表头, XLSX 新建工作表时重新写入 */
+    private List<String> titles = List.of();
+
+    /** 当前工作表已写入的行数 */
+    private int sheetRows;
+
+    private TradeExportWriter(OutputStream out, ExportFormatEnum format) {
+        this.out = out;
+        this.format = format;
+        if (format == ExportFormatEnum.XLSX) {
+            this.workbook = new SXSSFWorkbook(WINDOW_SIZE);
+            this.workbook.setCompressTempFiles(true);
+        } else {
+            this.csvWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 创建导出器, 输出流由调用方负责关闭
+     */
+    public static TradeExportWriter of(OutputStream out, ExportFormatEnum format) {
+        return new TradeExportWriter(out, format);
+    }
+
+    /**
+     * 写入表头
+     */
+    public <T> void header(List<Column<T>> columns) {
+        this.titles = columns.stream().map(Column::title).toList();
+        if (format == ExportFormatEnum.XLSX) {
+            this.newSheet();
+        } else {
+            try {
+                // 写入BOM, 避免 Excel 打开时中文乱码
+                csvWriter.write('\uFEFF');
+                this.csvLine(titles);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 写入一行数据
+     */
+    public <T> void row(List<Column<T>> columns, T data) {
+        List<Object> values = columns.stream()
+                .map(column -> column.getter().apply(data))
+                .map(TradeExportWriter::format)
+                .toList();
+        if (format == ExportFormatEnum.XLSX) {
+            if (sheetRows >= MAX_SHEET_ROWS) {
+                this.newSheet();
+            }
+            Row row = sheet.createRow(sheetRows++);
+            for (int i = 0; i < values.size(); i++) {
+                Object value = values.get(i);
+                if (Objects.isNull(value)) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        } else {
+            try {
+                this.csvLine(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 新建工作表并写入表头
+     */
+    private void newSheet() {
+        sheet = workbook.createSheet();
+        sheetRows = 0;
+        Row row = sheet.createRow(sheetRows++);
+        for (int i = 0; i < titles.size(); i++) {
+            row.createCell(i).setCellValue(titles.get(i));
+        }
+    }
+
+    /**
+     * 写入CSV行
+     */
+    private void csvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                csvWriter.write(',');
+            }
+            csvWriter.write(escapeCsv(values.get(i)));
+        }
+        csvWriter.write("\r\n");
+    }
+
+    /**
+     * CSV字段转义, 包含分隔符、引号和换行的字段使用双引号包裹,
+     * 以公式字符开头的文本前加单引号, 避免在表格软件中被当作公式执行
+     */
+    private static String escapeCsv(Object value) {
+        if (Objects.isNull(value)) {
+            return StrUtil.EMPTY;
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (StrUtil.containsAny(text, ",", "\"", "\r", "\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    /**
+     * 时间类型转换为文本
+     */
+    private static Object format(Object value) {
+        if (value instanceof LocalDateTime time) {
+            return LocalDateTimeUtil.format(time, DatePattern.NORM_DATETIME_PATTERN);
+        }
+        return value;
+    }
+
+    /**
+     * 输出剩余内容, 不关闭传入的输出流
+     */
+    @Override
+    public void close() throws IOException {
+        if (format == ExportFormatEnum.XLSX) {
+            try {
+                workbook.write(out);
+            } finally {
+                // 删除临时文件
+                workbook.dispose();
+                workbook.close();
+            }
+        } else {
+            csvWriter.flush();
+        }
+        out.flush();
+    }
+
+    /**
+     * 导出列
+     * @param title 表头
+     * @param getter 取值方法
+     */
+    public record Column<T>(String title, Function<T, ?> getter) {
+    }
+}
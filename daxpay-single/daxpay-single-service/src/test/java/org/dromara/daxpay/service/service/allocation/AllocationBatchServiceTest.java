@@ -0,0 +1,154 @@
+package org.dromara.daxpay.service.service.allocation;
+
+import com.baomidou.lock.LockInfo;
+import com.baomidou.lock.LockTemplate;
+import org.dromara.daxpay.service.common.properties.AllocationBatchProperties;
+import org.dromara.daxpay.service.dao.allocation.AllocConfigManager;
+import org.dromara.daxpay.service.dao.allocation.order.AllocOrderManager;
+import org.dromara.daxpay.service.dao.allocation.receiver.AllocGroupManager;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.entity.allocation.AllocConfig;
+import org.dromara.daxpay.service.entity.allocation.order.AllocOrder;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量分账失败重试测试
+ * @author xxm
+ * @since 2025/1/16
+ */
+@ExtendWith(MockitoExtension.class)
+class AllocationBatchServiceTest {
+
+    private static final String APP_ID = "M7934041241299655";
+
+    @Mock
+    private AllocConfigManager allocConfigManager;
+
+    @Mock
+    private PayOrderManager payOrderManager;
+
+    @Mock
+    private AllocOrderManager allocOrderManager;
+
+    @Mock
+    private AllocGroupManager allocGroupManager;
+
+    @Mock
+    private AllocationService allocationService;
+
+    @Mock
+    private AllocationSyncService allocationSyncService;
+
+    @Mock
+    private PaymentAssistService paymentAssistService;
+
+    @Mock
+    private LockTemplate lockTemplate;
+
+    private final AllocationBatchProperties properties = new AllocationBatchProperties();
+
+    private AllocationBatchService batchService;
+
+    @BeforeEach
+    void init() {
+        properties.setEnable(true);
+        batchService = new AllocationBatchService(properties, allocConfigManager, payOrderManager, allocOrderManager,
+                allocGroupManager, allocationService, allocationSyncService, paymentAssistService, lockTemplate);
+        batchService.init();
+        when(lockTemplate.lock(anyString(), anyLong(), anyLong())).thenReturn(mock(LockInfo.class));
+    }
+
+    @AfterEach
+    void close() {
+        batchService.destroy();
+    }
+
+    /**
+     * 自动分账发起失败时记录失败次数, 下次发起时间按失败次数翻倍延后
+     */
+    @Test
+    void startFailedBacksOff() {
+        PayOrder payOrder = new PayOrder().setChannel("ali_pay").setAllocRetryCount(2);
+        payOrder.setId(1L);
+        payOrder.setAppId(APP_ID);
+        AllocConfig config = new AllocConfig();
+        config.setAppId(APP_ID);
+        when(allocConfigManager.findAllAutoAlloc()).thenReturn(List.of(config));
+        when(allocGroupManager.findDefaultGroupChannels(APP_ID)).thenReturn(List.of("ali_pay"));
+        when(payOrderManager.findAutoAllocWaiting(eq(APP_ID), any(), any(), eq(properties.getMaxRetryCount()), isNull(), anyInt()))
+                .thenReturn(List.of(payOrder));
+        doThrow(new IllegalStateException("channel")).when(allocationService).start(any(), any(), anyBoolean());
+
+        LocalDateTime before = LocalDateTime.now();
+        batchService.start();
+
+        ArgumentCaptor<LocalDateTime> nextRetryTime = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(payOrderManager).updateAllocRetry(eq(1L), eq(3), nextRetryTime.capture());
+        this.assertDelay(before, nextRetryTime.getValue(), Duration.ofMinutes(4));
+    }
+
+    /**
+     * 分账同步失败的间隔不超过最大重试间隔
+     */
+    @Test
+    void syncFailedCapped() {
+        AllocOrder allocOrder = new AllocOrder().setChannel("ali_pay").setSyncRetryCount(9);
+        allocOrder.setId(2L);
+        allocOrder.setAppId(APP_ID);
+        when(allocOrderManager.findProcessing(any(), eq(properties.getMaxRetryCount()), isNull(), anyInt()))
+                .thenReturn(List.of(allocOrder));
+        doThrow(new IllegalStateException("channel")).when(allocationSyncService).sync(any(AllocOrder.class));
+
+        LocalDateTime before = LocalDateTime.now();
+        batchService.sync();
+
+        ArgumentCaptor<LocalDateTime> nextRetryTime = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(allocOrderManager).updateSyncRetry(eq(2L), eq(10), nextRetryTime.capture());
+        this.assertDelay(before, nextRetryTime.getValue(), Duration.ofMinutes(properties.getMaxRetryIntervalMinutes()));
+    }
+
+    /**
+     * 同步成功后清除失败次数
+     */
+    @Test
+    void syncSucceededResets() {
+        AllocOrder allocOrder = new AllocOrder().setChannel("ali_pay").setSyncRetryCount(3);
+        allocOrder.setId(3L);
+        allocOrder.setAppId(APP_ID);
+        when(allocOrderManager.findProcessing(any(), anyInt(), isNull(), anyInt())).thenReturn(List.of(allocOrder));
+
+        batchService.sync();
+
+        verify(allocOrderManager).updateSyncRetry(3L, 0, null);
+    }
+
+    private void assertDelay(LocalDateTime before, LocalDateTime nextRetryTime, Duration delay) {
+        assertTrue(!nextRetryTime.isBefore(before.plus(delay)), nextRetryTime.toString());
+        assertTrue(nextRetryTime.isBefore(before.plus(delay).plusSeconds(10)), nextRetryTime.toString());
+    }
+}
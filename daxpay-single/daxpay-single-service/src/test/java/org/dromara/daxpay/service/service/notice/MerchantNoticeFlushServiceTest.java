@@ -0,0 +1,85 @@
+package org.dromara.daxpay.service.service.notice;
+
+import org.dromara.daxpay.service.dao.notice.callback.MerchantCallbackRecordManager;
+import org.dromara.daxpay.service.dao.notice.callback.MerchantCallbackTaskManager;
+import org.dromara.daxpay.service.dao.notice.notify.MerchantNotifyRecordManager;
+import org.dromara.daxpay.service.dao.notice.notify.MerchantNotifyTaskManager;
+import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyRecord;
+import org.dromara.daxpay.service.entity.notice.notify.MerchantNotifyTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 商户通知发送结果批量落库测试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ExtendWith(MockitoExtension.class)
+class MerchantNoticeFlushServiceTest {
+
+    @Mock
+    private MerchantNotifyRecordManager notifyRecordManager;
+
+    @Mock
+    private MerchantNotifyTaskManager notifyTaskManager;
+
+    @Mock
+    private MerchantCallbackRecordManager callbackRecordManager;
+
+    @Mock
+    private MerchantCallbackTaskManager callbackTaskManager;
+
+    @InjectMocks
+    private MerchantNoticeFlushService flushService;
+
+    /**
+     * 批量写入失败时逐条写入, 一直失败的记录达到最多写入次数后丢弃, 不影响其他记录落库
+     */
+    @Test
+    void badRecordDropped() {
+        MerchantNotifyRecord good = this.record("good");
+        MerchantNotifyRecord bad = this.record("bad");
+        doThrow(new IllegalStateException("batch")).when(notifyRecordManager).saveBatch(anyCollection(), anyInt());
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == bad) {
+                throw new IllegalStateException("row");
+            }
+            return 1;
+        }).when(notifyRecordManager).save(any());
+        flushService.notifySend(good, this.task(1L));
+        flushService.notifySend(bad, this.task(2L));
+
+        for (int i = 0; i < 5; i++) {
+            flushService.flush();
+        }
+
+        verify(notifyRecordManager, times(1)).save(argThat(o -> o == good));
+        verify(notifyRecordManager, times(3)).save(argThat(o -> o == bad));
+        verify(notifyTaskManager, times(1)).updateBatchById(anyCollection(), anyInt());
+        verify(notifyTaskManager, never()).updateById(any());
+    }
+
+    private MerchantNotifyRecord record(String errorMsg) {
+        return new MerchantNotifyRecord().setErrorMsg(errorMsg);
+    }
+
+    private MerchantNotifyTask task(Long id) {
+        MerchantNotifyTask task = new MerchantNotifyTask();
+        task.setId(id);
+        task.setAppId("M7934041241299655");
+        return task;
+    }
+}
@@ -0,0 +1,99 @@
+package org.dromara.daxpay.service.service.order.pay;
+
+import cn.bootx.platform.core.exception.ValidationFailedException;
+import org.dromara.daxpay.core.param.trade.pay.QueryPayBatchParam;
+import org.dromara.daxpay.core.result.trade.pay.PayOrderResult;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 支付订单批量查询测试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ExtendWith(MockitoExtension.class)
+class PayOrderQueryServiceTest {
+
+    private static final String APP_ID = "M7934041241299655";
+
+    @Mock
+    private PayOrderManager payOrderManager;
+
+    @InjectMocks
+    private PayOrderQueryService payOrderQueryService;
+
+    @Test
+    void queryPayOrdersRequireNos() {
+        var param = new QueryPayBatchParam()
+                .setOrderNos(Arrays.asList("", " ", null))
+                .setBizOrderNos(List.of());
+        param.setAppId(APP_ID);
+
+        assertThrows(ValidationFailedException.class, () -> payOrderQueryService.queryPayOrders(param));
+        verify(payOrderManager, never()).findAllByOrderNos(any(), anyString());
+        verify(payOrderManager, never()).findAllByBizOrderNos(any(), anyString());
+    }
+
+    @Test
+    void queryPayOrdersDistinctNos() {
+        var param = new QueryPayBatchParam()
+                .setOrderNos(Arrays.asList("P1", "P1", " ", "P2"));
+        param.setAppId(APP_ID);
+        when(payOrderManager.findAllByOrderNos(any(), anyString()))
+                .thenReturn(List.of(this.order(1L, "P1", "B1"), this.order(2L, "P2", "B2")));
+
+        var result = payOrderQueryService.queryPayOrders(param);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(payOrderManager).findAllByOrderNos(captor.capture(), anyString());
+        assertEquals(Set.of("P1", "P2"), Set.copyOf(captor.getValue()));
+        assertEquals(2, captor.getValue().size());
+        verify(payOrderManager, never()).findAllByBizOrderNos(any(), anyString());
+        assertEquals(List.of("P1", "P2"), result.getOrders().stream().map(PayOrderResult::getOrderNo).toList());
+    }
+
+    @Test
+    void queryPayOrdersMergeById() {
+        var param = new QueryPayBatchParam()
+                .setOrderNos(List.of("P1"))
+                .setBizOrderNos(List.of("B1", "B3"));
+        param.setAppId(APP_ID);
+        when(payOrderManager.findAllByOrderNos(any(), anyString()))
+                .thenReturn(List.of(this.order(1L, "P1", "B1")));
+        when(payOrderManager.findAllByBizOrderNos(any(), anyString()))
+                .thenReturn(List.of(this.order(1L, "P1", "B1"), this.order(3L, "P3", "B3")));
+
+        var result = payOrderQueryService.queryPayOrders(param);
+
+        assertEquals(List.of("P1", "P3"), result.getOrders().stream().map(PayOrderResult::getOrderNo).toList());
+    }
+
+    private PayOrder order(Long id, String orderNo, String bizOrderNo) {
+        PayOrder order = new PayOrder()
+                .setOrderNo(orderNo)
+                .setBizOrderNo(bizOrderNo);
+        order.setId(id);
+        order.setAppId(APP_ID);
+        return order;
+    }
+}
@@ -0,0 +1,75 @@
+package org.dromara.daxpay.service.service.order.refund;
+
+import cn.bootx.platform.core.exception.ValidationFailedException;
+import org.dromara.daxpay.core.param.trade.refund.QueryRefundBatchParam;
+import org.dromara.daxpay.core.result.trade.refund.RefundOrderResult;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 退款订单批量查询测试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ExtendWith(MockitoExtension.class)
+class RefundOrderQueryServiceTest {
+
+    private static final String APP_ID = "M7934041241299655";
+
+    @Mock
+    private RefundOrderManager refundOrderManager;
+
+    @InjectMocks
+    private RefundOrderQueryService refundOrderQueryService;
+
+    @Test
+    void queryRefundOrdersRequireNos() {
+        var param = new QueryRefundBatchParam()
+                .setRefundNos(List.of(" "));
+        param.setAppId(APP_ID);
+
+        assertThrows(ValidationFailedException.class, () -> refundOrderQueryService.queryRefundOrders(param));
+        verify(refundOrderManager, never()).findAllByRefundNos(any(), anyString());
+        verify(refundOrderManager, never()).findAllByBizRefundNos(any(), anyString());
+    }
+
+    @Test
+    void queryRefundOrdersMergeById() {
+        var param = new QueryRefundBatchParam()
+                .setRefundNos(List.of("R1", "R2"))
+                .setBizRefundNos(List.of("BR2"));
+        param.setAppId(APP_ID);
+        when(refundOrderManager.findAllByRefundNos(any(), anyString()))
+                .thenReturn(List.of(this.order(1L, "R1", "BR1"), this.order(2L, "R2", "BR2")));
+        when(refundOrderManager.findAllByBizRefundNos(any(), anyString()))
+                .thenReturn(List.of(this.order(2L, "R2", "BR2")));
+
+        var result = refundOrderQueryService.queryRefundOrders(param);
+
+        assertEquals(List.of("R1", "R2"), result.getOrders().stream().map(RefundOrderResult::getRefundNo).toList());
+    }
+
+    private RefundOrder order(Long id, String refundNo, String bizRefundNo) {
+        RefundOrder order = new RefundOrder()
+                .setRefundNo(refundNo)
+                .setBizRefundNo(bizRefundNo);
+        order.setId(id);
+        order.setAppId(APP_ID);
+        return order;
+    }
+}
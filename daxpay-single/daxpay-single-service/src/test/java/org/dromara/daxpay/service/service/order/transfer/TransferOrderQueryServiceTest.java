@@ -0,0 +1,72 @@
+package org.dromara.daxpay.service.service.order.transfer;
+
+import cn.bootx.platform.core.exception.ValidationFailedException;
+import org.dromara.daxpay.core.param.trade.transfer.QueryTransferBatchParam;
+import org.dromara.daxpay.core.result.trade.transfer.TransferOrderResult;
+import org.dromara.daxpay.service.dao.order.transfer.TransferOrderManager;
+import org.dromara.daxpay.service.entity.order.transfer.TransferOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 转账订单批量查询测试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferOrderQueryServiceTest {
+
+    private static final String APP_ID = "M7934041241299655";
+
+    @Mock
+    private TransferOrderManager transferOrderManager;
+
+    @InjectMocks
+    private TransferOrderQueryService transferOrderQueryService;
+
+    @Test
+    void queryTransferOrdersRequireNos() {
+        var param = new QueryTransferBatchParam();
+        param.setAppId(APP_ID);
+
+        assertThrows(ValidationFailedException.class, () -> transferOrderQueryService.queryTransferOrders(param));
+        verify(transferOrderManager, never()).findAllByTransferNos(any(), anyString());
+        verify(transferOrderManager, never()).findAllByBizTransferNos(any(), anyString());
+    }
+
+    @Test
+    void queryTransferOrdersByBizNos() {
+        var param = new QueryTransferBatchParam()
+                .setBizTransferNos(List.of("BT1", "BT1", "BT2"));
+        param.setAppId(APP_ID);
+        when(transferOrderManager.findAllByBizTransferNos(any(), anyString()))
+                .thenReturn(List.of(this.order(1L, "T1", "BT1"), this.order(2L, "T2", "BT2")));
+
+        var result = transferOrderQueryService.queryTransferOrders(param);
+
+        verify(transferOrderManager, never()).findAllByTransferNos(any(), anyString());
+        assertEquals(List.of("T1", "T2"), result.getOrders().stream().map(TransferOrderResult::getTransferNo).toList());
+    }
+
+    private TransferOrder order(Long id, String transferNo, String bizTransferNo) {
+        TransferOrder order = new TransferOrder()
+                .setTransferNo(transferNo)
+                .setBizTransferNo(bizTransferNo);
+        order.setId(id);
+        order.setAppId(APP_ID);
+        return order;
+    }
+}
@@ -0,0 +1,232 @@
+package org.dromara.daxpay.service.service.reconcile;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import org.apache.ibatis.mapping.Environment;
+import org.dromara.daxpay.core.enums.PayStatusEnum;
+import org.dromara.daxpay.core.enums.RefundStatusEnum;
+import org.dromara.daxpay.core.enums.TradeStatusEnum;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.common.entity.MchAppBaseEntity;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderMapper;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderMapper;
+import org.dromara.daxpay.service.dao.reconcile.ChannelReconcileTradeMapper;
+import org.dromara.daxpay.service.dao.reconcile.ReconcileDiscrepancyMapper;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.entity.reconcile.ChannelReconcileTrade;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileDiscrepancy;
+import org.dromara.daxpay.service.entity.reconcile.ReconcileStatement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 对账比对模式一致性测试, 同一批数据分别使用内存比对和数据库比对, 生成的差异记录必须相同
+ * @author xxm
+ * @since 2025/1/17
+ */
+class ReconcileCompareModeTest {
+
+    private static final String APP_ID = "M7934041241299655";
+
+    private static final String OTHER_APP_ID = "M7934041241299656";
+
+    private static final String CHANNEL = "ali_pay";
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 16);
+
+    private static final LocalDateTime TRADE_TIME = DATE.atTime(10, 30);
+
+    private static ReconcileDiscrepancyService discrepancyService;
+
+    private static ReconcileAssistService assistService;
+
+    private static ChannelReconcileTradeMapper channelMapper;
+
+    private static ReconcileStatement statement;
+
+    @BeforeAll
+    static void init() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:reconcile;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("reconcile/schema.sql")).execute(dataSource);
+
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        configuration.setEnvironment(new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        GlobalConfig globalConfig = GlobalConfigUtils.defaults();
+        globalConfig.getDbConfig().setLogicDeleteValue("true");
+        globalConfig.getDbConfig().setLogicNotDeleteValue("false");
+        GlobalConfigUtils.setGlobalConfig(configuration, globalConfig);
+        configuration.addMapper(PayOrderMapper.class);
+        configuration.addMapper(RefundOrderMapper.class);
+        configuration.addMapper(ChannelReconcileTradeMapper.class);
+        configuration.addMapper(ReconcileDiscrepancyMapper.class);
+        var sqlSession = new SqlSessionTemplate(new MybatisSqlSessionFactoryBuilder().build(configuration));
+
+        var payOrderManager = new PayOrderManager(null, null);
+        ReflectionTestUtils.setField(payOrderManager, "baseMapper", sqlSession.getMapper(PayOrderMapper.class));
+        var refundOrderManager = new RefundOrderManager(null);
+        ReflectionTestUtils.setField(refundOrderManager, "baseMapper", sqlSession.getMapper(RefundOrderMapper.class));
+        assistService = new ReconcileAssistService(payOrderManager, refundOrderManager);
+        discrepancyService = new ReconcileDiscrepancyService(null, assistService,
+                sqlSession.getMapper(ReconcileDiscrepancyMapper.class));
+
+        statement = new ReconcileStatement()
+                .setReconcileNo("DEVC25011610300063001")
+                .setChannel(CHANNEL)
+                .setDate(DATE);
+        statement.setId(1L);
+        statement.setAppId(APP_ID);
+
+        var payMapper = sqlSession.getMapper(PayOrderMapper.class);
+        var refundMapper = sqlSession.getMapper(RefundOrderMapper.class);
+        channelMapper = sqlSession.getMapper(ChannelReconcileTradeMapper.class);
+        // 一致
+        payMapper.insert(payOrder("P01", "10.00", PayStatusEnum.SUCCESS, CHANNEL, false));
+        channelMapper.insert(channelTrade("P01", TradeTypeEnum.PAY, "10.00", TradeStatusEnum.SUCCESS));
+        // 金额只有小数位数不同, 一致
+        payMapper.insert(payOrder("P02", "10.5", PayStatusEnum.SUCCESS, CHANNEL, false));
+        channelMapper.insert(channelTrade("P02", TradeTypeEnum.PAY, "10.50", TradeStatusEnum.SUCCESS));
+        // 金额不一致
+        payMapper.insert(payOrder("P03", "10.00", PayStatusEnum.SUCCESS, CHANNEL, false));
+        channelMapper.insert(channelTrade("P03", TradeTypeEnum.PAY, "9.99", TradeStatusEnum.SUCCESS));
+        // 本地订单已关闭, 通道显示成功, 状态不一致
+        payMapper.insert(payOrder("P04", "20.00", PayStatusEnum.CLOSE, CHANNEL, false));
+        channelMapper.insert(channelTrade("P04", TradeTypeEnum.PAY, "20.00", TradeStatusEnum.SUCCESS));
+        // 远程短单
+        payMapper.insert(payOrder("P05", "30.00", PayStatusEnum.SUCCESS, CHANNEL, false));
+        // 已删除和其他通道的订单不参与对账
+        payMapper.insert(payOrder("P06", "40.00", PayStatusEnum.SUCCESS, CHANNEL, true));
+        payMapper.insert(payOrder("P07", "50.00", PayStatusEnum.SUCCESS, "wechat_pay", false));
+        // 本地短单
+        channelMapper.insert(channelTrade("P08", TradeTypeEnum.PAY, "60.00", TradeStatusEnum.SUCCESS));
+        // 退款一致
+        refundMapper.insert(refundOrder("R01", "5.00"));
+        channelMapper.insert(channelTrade("R01", TradeTypeEnum.REFUND, "5.00", TradeStatusEnum.SUCCESS));
+        // 退款远程短单
+        refundMapper.insert(refundOrder("R02", "6.00"));
+        // 交易类型不一致
+        refundMapper.insert(refundOrder("R03", "7.00"));
+        channelMapper.insert(channelTrade("R03", TradeTypeEnum.PAY, "7.00", TradeStatusEnum.SUCCESS));
+        // 其他应用相同通道的订单不参与对账, 本地短单也不能匹配到其他应用的订单
+        payMapper.insert(otherApp(payOrder("P09", "70.00", PayStatusEnum.SUCCESS, CHANNEL, false)));
+        payMapper.insert(otherApp(payOrder("P08", "60.00", PayStatusEnum.CLOSE, CHANNEL, false)));
+        refundMapper.insert(otherApp(refundOrder("R04", "8.00")));
+    }
+
+    @Test
+    void sameDiscrepancies() {
+        var channelTrades = channelMapper.selectList(Wrappers.<ChannelReconcileTrade>lambdaQuery()
+                .eq(ChannelReconcileTrade::getReconcileId, statement.getId()));
+        var javaResult = discrepancyService.generateDiscrepancy(statement,
+                assistService.getPlatformTrades(statement), channelTrades);
+        var sqlResult = discrepancyService.generateDiscrepancyBySql(statement);
+
+        assertEquals(keys(javaResult), keys(sqlResult));
+        assertEquals(List.of(
+                "local_not_exists|null|P08",
+                "not_match|P03|P03",
+                "not_match|P04|P04",
+                "not_match|R03|R03",
+                "remote_not_exists|P05|null",
+                "remote_not_exists|R02|null"
+        ), sqlResult.stream()
+                .map(o -> o.getDiscrepancyType() + "|" + o.getTradeNo() + "|" + o.getChannelOutTradeNo())
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * 差异记录的比对字段, 金额忽略小数位数, 排序后比较
+     */
+    private static List<String> keys(List<ReconcileDiscrepancy> discrepancies) {
+        return discrepancies.stream()
+                .map(o -> String.join("|", Arrays.asList(
+                        String.valueOf(o.getReconcileId()), o.getReconcileNo(), String.valueOf(o.getReconcileDate()),
+                        o.getChannel(), o.getDiscrepancyType(),
+                        o.getTradeNo(), o.getBizTradeNo(), o.getOutTradeNo(), o.getTradeType(),
+                        amount(o.getTradeAmount()), o.getTradeStatus(), String.valueOf(o.getTradeTime()),
+                        o.getChannelTradeNo(), o.getChannelOutTradeNo(), o.getChannelTradeType(),
+                        amount(o.getChannelTradeAmount()), o.getChannelTradeStatus(), String.valueOf(o.getChannelTradeTime()))))
+                .sorted()
+                .toList();
+    }
+
+    private static String amount(BigDecimal amount) {
+        return Objects.isNull(amount) ? null : amount.stripTrailingZeros().toPlainString();
+    }
+
+    private static <T extends MchAppBaseEntity> T otherApp(T entity) {
+        entity.setAppId(OTHER_APP_ID);
+        return entity;
+    }
+
+    private static PayOrder payOrder(String orderNo, String amount, PayStatusEnum status, String channel, boolean deleted) {
+        PayOrder order = new PayOrder()
+                .setOrderNo(orderNo)
+                .setBizOrderNo("B" + orderNo)
+                .setOutOrderNo("O" + orderNo)
+                .setTitle("测试")
+                .setChannel(channel)
+                .setAmount(new BigDecimal(amount))
+                .setStatus(status.getCode());
+        if (status == PayStatusEnum.SUCCESS) {
+            order.setPayTime(TRADE_TIME);
+        }
+        order.setAppId(APP_ID);
+        order.setDeleted(deleted);
+        return order;
+    }
+
+    private static RefundOrder refundOrder(String refundNo, String amount) {
+        RefundOrder order = new RefundOrder()
+                .setOrderId(0L)
+                .setOrderNo("P00")
+                .setBizOrderNo("BP00")
+                .setOutOrderNo("OP00")
+                .setTitle("测试")
+                .setRefundNo(refundNo)
+                .setBizRefundNo("B" + refundNo)
+                .setOutRefundNo("O" + refundNo)
+                .setChannel(CHANNEL)
+                .setOrderAmount(new BigDecimal("100.00"))
+                .setAmount(new BigDecimal(amount))
+                .setStatus(RefundStatusEnum.SUCCESS.getCode())
+                .setFinishTime(TRADE_TIME);
+        order.setAppId(APP_ID);
+        return order;
+    }
+
+    private static ChannelReconcileTrade channelTrade(String outTradeNo, TradeTypeEnum tradeType, String amount, TradeStatusEnum status) {
+        ChannelReconcileTrade trade = new ChannelReconcileTrade()
+                .setReconcileId(statement.getId())
+                .setOutTradeNo(outTradeNo)
+                .setTradeNo("C" + outTradeNo)
+                .setTradeType(tradeType.getCode())
+                .setAmount(new BigDecimal(amount))
+                .setTradeStatus(status.getCode())
+                .setTradeTime(TRADE_TIME);
+        trade.setAppId(APP_ID);
+        return trade;
+    }
+}
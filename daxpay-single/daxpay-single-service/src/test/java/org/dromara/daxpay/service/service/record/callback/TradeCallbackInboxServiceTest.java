@@ -0,0 +1,101 @@
+package org.dromara.daxpay.service.service.record.callback;
+
+import org.dromara.daxpay.service.common.properties.CallbackInboxProperties;
+import org.dromara.daxpay.service.dao.record.callback.TradeCallbackInboxManager;
+import org.dromara.daxpay.service.entity.record.callback.TradeCallbackInbox;
+import org.dromara.daxpay.service.enums.CallbackInboxStatusEnum;
+import org.dromara.daxpay.service.service.assist.PaymentAssistService;
+import org.dromara.daxpay.service.service.trade.pay.PayCallbackService;
+import org.dromara.daxpay.service.service.trade.refund.RefundCallbackService;
+import org.dromara.daxpay.service.service.trade.transfer.TransferCallbackService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 回调收件箱失败重试测试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ExtendWith(MockitoExtension.class)
+class TradeCallbackInboxServiceTest {
+
+    @Mock
+    private TradeCallbackInboxManager inboxManager;
+
+    @Mock
+    private TradeCallbackRecordService callbackRecordService;
+
+    @Mock
+    private PayCallbackService payCallbackService;
+
+    @Mock
+    private RefundCallbackService refundCallbackService;
+
+    @Mock
+    private TransferCallbackService transferCallbackService;
+
+    @Mock
+    private PaymentAssistService paymentAssistService;
+
+    private final CallbackInboxProperties properties = new CallbackInboxProperties();
+
+    private TradeCallbackInboxService inboxService;
+
+    @BeforeEach
+    void init() {
+        properties.setEnable(true);
+        inboxService = new TradeCallbackInboxService(properties, inboxManager, callbackRecordService,
+                payCallbackService, refundCallbackService, transferCallbackService, paymentAssistService);
+        inboxService.init();
+    }
+
+    @AfterEach
+    void close() {
+        inboxService.destroy();
+    }
+
+    /**
+     * 处理失败的回调回到待处理状态, 下次重试时间按失败次数翻倍延后
+     */
+    @Test
+    void failedBacksOff() {
+        TradeCallbackInbox inbox = new TradeCallbackInbox()
+                .setTradeNo("DEVP2025011700000000000001")
+                .setStatus(CallbackInboxStatusEnum.WAITING.getCode())
+                .setRetryCount(1);
+        inbox.setId(1L);
+        inbox.setAppId("M7934041241299655");
+        when(inboxManager.findWaiting(anyInt())).thenReturn(List.of(inbox));
+        when(inboxManager.claim(1L)).thenReturn(true);
+        doThrow(new IllegalStateException("app")).when(paymentAssistService).initMchApp(anyString());
+
+        LocalDateTime before = LocalDateTime.now();
+        inboxService.dispatch();
+
+        ArgumentCaptor<TradeCallbackInbox> captor = ArgumentCaptor.forClass(TradeCallbackInbox.class);
+        verify(inboxManager).updateById(captor.capture());
+        TradeCallbackInbox updated = captor.getValue();
+        assertEquals(CallbackInboxStatusEnum.WAITING.getCode(), updated.getStatus());
+        assertEquals(2, updated.getRetryCount());
+        LocalDateTime expected = before.plusSeconds(properties.getRetryIntervalSeconds() * 2L);
+        assertFalse(updated.getNextRetryTime().isBefore(expected), updated.getNextRetryTime().toString());
+        assertTrue(updated.getNextRetryTime().isBefore(expected.plusSeconds(10)), updated.getNextRetryTime().toString());
+    }
+}
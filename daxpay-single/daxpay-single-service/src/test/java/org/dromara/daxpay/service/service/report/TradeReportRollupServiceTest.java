@@ -0,0 +1,129 @@
+package org.dromara.daxpay.service.service.report;
+
+import cn.hutool.extra.spring.SpringUtil;
+import com.baomidou.lock.LockInfo;
+import com.baomidou.lock.LockTemplate;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.dromara.daxpay.core.enums.TradeTypeEnum;
+import org.dromara.daxpay.service.dao.order.pay.PayOrderManager;
+import org.dromara.daxpay.service.dao.order.refund.RefundOrderManager;
+import org.dromara.daxpay.service.dao.report.TradeReportHourManager;
+import org.dromara.daxpay.service.dao.report.TradeReportHourMapper;
+import org.dromara.daxpay.service.dao.report.TradeReportRollupWatermarkManager;
+import org.dromara.daxpay.service.entity.order.pay.PayOrder;
+import org.dromara.daxpay.service.entity.order.refund.RefundOrder;
+import org.dromara.daxpay.service.entity.report.TradeReportRollupWatermark;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 交易小时汇总测试
+ * @author xxm
+ * @since 2025/1/17
+ */
+@ExtendWith(MockitoExtension.class)
+class TradeReportRollupServiceTest {
+
+    @Mock
+    private TradeReportHourMapper reportHourMapper;
+
+    @Mock
+    private TradeReportHourManager reportHourManager;
+
+    @Mock
+    private TradeReportRollupWatermarkManager watermarkManager;
+
+    @Mock
+    private PayOrderManager payOrderManager;
+
+    @Mock
+    private RefundOrderManager refundOrderManager;
+
+    @Mock
+    private LockTemplate lockTemplate;
+
+    @InjectMocks
+    private TradeReportRollupService rollupService;
+
+    private GenericApplicationContext context;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 汇总条件通过实体字段获取列名
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, PayOrder.class);
+        TableInfoHelper.initTableInfo(assistant, RefundOrder.class);
+    }
+
+    @BeforeEach
+    void init() {
+        // 汇总每个小时时通过代理对象调用
+        context = new GenericApplicationContext();
+        context.registerBean(TradeReportRollupService.class, () -> rollupService);
+        context.refresh();
+        new SpringUtil().setApplicationContext(context);
+    }
+
+    @AfterEach
+    void close() {
+        context.close();
+    }
+
+    /**
+     * 支付时间早于最近两个小时的订单延迟完成时, 重新汇总支付时间所在的小时, 并保存扫描进度
+     */
+    @Test
+    void lateOrderHourRolledUp() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime lateHour = currentHour.minusHours(5);
+        LocalDateTime modifiedTime = LocalDateTime.now().minusMinutes(1);
+        PayOrder order = new PayOrder().setPayTime(lateHour.plusMinutes(20));
+        order.setId(100L);
+        order.setLastModifiedTime(modifiedTime);
+        when(lockTemplate.lock(anyString(), anyLong(), anyLong())).thenReturn(mock(LockInfo.class));
+        when(watermarkManager.findByTradeType(anyString())).thenReturn(Optional.empty());
+        when(payOrderManager.findChangedSince(any(), any(), any(), anyInt())).thenReturn(List.of(order));
+        when(refundOrderManager.findChangedSince(any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(reportHourMapper.rollupPay(any())).thenReturn(List.of());
+        when(reportHourMapper.rollupRefund(any())).thenReturn(List.of());
+
+        rollupService.rollupChanged();
+
+        ArgumentCaptor<LocalDateTime> hours = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(reportHourManager, times(3)).deleteByReportTime(hours.capture(), eq(TradeTypeEnum.PAY.getCode()));
+        assertEquals(List.of(lateHour, currentHour.minusHours(2), currentHour.minusHours(1)),
+                hours.getAllValues());
+        ArgumentCaptor<TradeReportRollupWatermark> watermarks = ArgumentCaptor.forClass(TradeReportRollupWatermark.class);
+        verify(watermarkManager, times(2)).saveOrUpdate(watermarks.capture());
+        TradeReportRollupWatermark pay = watermarks.getAllValues().getFirst();
+        assertEquals(TradeTypeEnum.PAY.getCode(), pay.getTradeType());
+        assertEquals(modifiedTime, pay.getScanTime());
+        assertEquals(100L, pay.getScanId());
+    }
+}
@@ -0,0 +1,98 @@
+package org.dromara.daxpay.service.util;
+
+import org.dromara.daxpay.core.param.PaymentCommonParam;
+import org.dromara.daxpay.core.param.trade.pay.QueryPayBatchParam;
+import org.dromara.daxpay.core.param.trade.refund.QueryRefundBatchParam;
+import org.dromara.daxpay.core.param.trade.transfer.QueryTransferBatchParam;
+import org.dromara.daxpay.core.util.PaySignUtil;
+import org.dromara.daxpay.single.sdk.net.DaxPayRequest;
+import org.dromara.daxpay.single.sdk.param.trade.pay.PayQueryBatchParam;
+import org.dromara.daxpay.single.sdk.param.trade.refund.RefundQueryBatchParam;
+import org.dromara.daxpay.single.sdk.param.trade.transfer.TransferQueryBatchParam;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 服务端与SDK签名一致性测试, 同样的参数在两端生成的签名必须相同, 否则服务端验签失败
+ * @author xxm
+ * @since 2025/1/17
+ */
+class PaySignCompatibleTest {
+
+    private static final String SIGN_KEY = "123456";
+
+    private static final LocalDateTime REQ_TIME = LocalDateTime.of(2025, 1, 17, 10, 30, 0);
+
+    @Test
+    void payBatch() {
+        var server = new QueryPayBatchParam()
+                .setOrderNos(List.of("DEVP25011710300063001", "DEVP25011710300063002"))
+                .setBizOrderNos(List.of("B001"));
+        this.initCommon(server);
+        var client = new PayQueryBatchParam()
+                .setOrderNos(List.of("DEVP25011710300063001", "DEVP25011710300063002"))
+                .setBizOrderNos(List.of("B001"));
+        this.initCommon(client);
+
+        this.assertSameSign(server, client);
+        assertTrue(PaySignUtil.signString(server, SIGN_KEY)
+                .contains("orderNos=[DEVP25011710300063001,DEVP25011710300063002]"));
+    }
+
+    @Test
+    void refundBatch() {
+        var server = new QueryRefundBatchParam()
+                .setRefundNos(List.of("DEVR25011710300063001"));
+        this.initCommon(server);
+        var client = new RefundQueryBatchParam()
+                .setRefundNos(List.of("DEVR25011710300063001"));
+        this.initCommon(client);
+
+        this.assertSameSign(server, client);
+    }
+
+    @Test
+    void transferBatch() {
+        var server = new QueryTransferBatchParam()
+                .setTransferNos(List.of("DEVT25011710300063001"))
+                .setBizTransferNos(List.of("T001", "T002"));
+        this.initCommon(server);
+        var client = new TransferQueryBatchParam()
+                .setTransferNos(List.of("DEVT25011710300063001"))
+                .setBizTransferNos(List.of("T001", "T002"));
+        this.initCommon(client);
+
+        this.assertSameSign(server, client);
+    }
+
+    /**
+     * 比较待签名字符串和各种签名方式的签名值
+     */
+    private void assertSameSign(Object server, Object client) {
+        assertEquals(PaySignUtil.signString(server, SIGN_KEY),
+                org.dromara.daxpay.single.sdk.util.PaySignUtil.signString(client, SIGN_KEY));
+        assertEquals(PaySignUtil.hmacSha256Sign(server, SIGN_KEY),
+                org.dromara.daxpay.single.sdk.util.PaySignUtil.hmacSha256Sign(client, SIGN_KEY));
+        assertEquals(PaySignUtil.md5Sign(server, SIGN_KEY),
+                org.dromara.daxpay.single.sdk.util.PaySignUtil.md5Sign(client, SIGN_KEY));
+    }
+
+    private void initCommon(PaymentCommonParam param) {
+        param.setAppId("M7934041241299655");
+        param.setClientIp("127.0.0.1");
+        param.setNonceStr("a1b2c3");
+        param.setReqTime(REQ_TIME);
+    }
+
+    private void initCommon(DaxPayRequest<?> param) {
+        param.setAppId("M7934041241299655");
+        param.setClientIp("127.0.0.1");
+        param.setNonceStr("a1b2c3");
+        param.setReqTime(REQ_TIME);
+    }
+}
@@ -0,0 +1,109 @@
+-- 对账比对测试使用的表结构, 字段与 _config/postgresql/dax-pay-single.sql 保持一致
+create table pay_order (
+    id bigint not null primary key,
+    creator bigint,
+    create_time timestamp,
+    last_modifier bigint,
+    last_modified_time timestamp,
+    version int not null,
+    deleted boolean not null,
+    biz_order_no varchar(32),
+    order_no varchar(100),
+    out_order_no varchar(150),
+    title varchar(100),
+    description varchar(500),
+    allocation boolean,
+    auto_allocation boolean,
+    channel varchar(20),
+    method varchar(20),
+    amount numeric(12, 2),
+    refundable_balance numeric(12, 2),
+    status varchar(32),
+    refund_status varchar(32),
+    alloc_status varchar(32),
+    return_url varchar(200),
+    notify_url varchar(200),
+    extra_param varchar(2048),
+    attach varchar(500),
+    req_time timestamp,
+    client_ip varchar(64),
+    error_code varchar(50),
+    error_msg varchar(500),
+    app_id varchar(32),
+    expired_time timestamp,
+    pay_time timestamp,
+    close_time timestamp,
+    alloc_retry_count int not null default 0,
+    alloc_next_retry_time timestamp
+);
+
+create table pay_refund_order (
+    id bigint not null primary key,
+    order_id bigint not null,
+    order_no varchar(32) not null,
+    biz_order_no varchar(100) not null,
+    out_order_no varchar(150) not null,
+    title varchar(100) not null,
+    refund_no varchar(32) not null,
+    biz_refund_no varchar(100) not null,
+    out_refund_no varchar(150),
+    channel varchar(20) not null,
+    order_amount numeric(32, 2) not null,
+    amount numeric(32, 2) not null,
+    reason varchar(150),
+    finish_time timestamp,
+    status varchar(20) not null,
+    notify_url varchar(200),
+    attach varchar(500),
+    extra_param varchar(2048),
+    req_time timestamp,
+    client_ip varchar(64),
+    error_code varchar(10),
+    error_msg varchar(500),
+    creator bigint,
+    create_time timestamp,
+    last_modifier bigint,
+    last_modified_time timestamp,
+    version int not null,
+    deleted boolean not null,
+    app_id varchar(32)
+);
+
+create table pay_channel_reconcile_trade (
+    id bigint not null primary key,
+    creator bigint,
+    create_time timestamp,
+    app_id varchar(32),
+    reconcile_id bigint,
+    trade_type varchar(32),
+    trade_no varchar(32),
+    out_trade_no varchar(100),
+    amount numeric(13, 2),
+    trade_status varchar(32),
+    trade_time timestamp
+);
+
+create table pay_reconcile_discrepancy (
+    id bigint not null primary key,
+    creator bigint,
+    create_time timestamp,
+    app_id varchar(32),
+    reconcile_id bigint,
+    reconcile_no varchar(32),
+    reconcile_date date,
+    channel varchar(20),
+    discrepancy_type varchar(20),
+    trade_no varchar(32),
+    biz_trade_no varchar(100),
+    trade_type varchar(100),
+    trade_amount numeric(13, 2),
+    trade_status varchar(32),
+    trade_time timestamp,
+    channel_trade_no varchar(100),
+    channel_trade_type varchar(32),
+    channel_trade_amount numeric(13, 2),
+    channel_trade_status varchar(32),
+    channel_trade_time timestamp,
+    out_trade_no varchar(100),
+    channel_out_trade_no varchar(100)
+);
@@ -10,11 +10,14 @@ import javax.crypto.Cipher;
 import java.io.*;
 import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.cert.Certificate;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * RSA
@@ -32,6 +35,27 @@ public class RSA {
 
     private static final String SIGN_ALGORITHMS = "SHA1WithRSA";
 
+    /**
+     * 线程内复用的签名对象, key为签名算法, 每次使用前都会重新初始化
+     */
+    private static final ThreadLocal<Map<String, java.security.Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * 获取当前线程的签名对象
+     *
+     * @param signAlgorithms 签名算法
+     * @return 签名对象
+     */
+    private static java.security.Signature getSignature(String signAlgorithms) throws NoSuchAlgorithmException {
+        Map<String, java.security.Signature> signatures = SIGNATURES.get();
+        java.security.Signature signature = signatures.get(signAlgorithms);
+        if (signature == null) {
+            signature = java.security.Signature.getInstance(signAlgorithms);
+            signatures.put(signAlgorithms, signature);
+        }
+        return signature;
+    }
+
 
     /**
      * RSA签名
@@ -48,7 +72,7 @@ public class RSA {
             KeyFactory keyf = KeyFactory.getInstance(ALGORITHM);
             PrivateKey priKey = keyf.generatePrivate(priPKCS8);
 
-            java.security.Signature signature = java.security.Signature.getInstance(signAlgorithms);
+            java.security.Signature signature = getSignature(signAlgorithms);
 
             signature.initSign(priKey);
             signature.update(content.getBytes(characterEncoding));
@@ -76,7 +100,7 @@ public class RSA {
      */
     public static String sign(String content, PrivateKey privateKey, String signAlgorithms, String characterEncoding) {
         try {
-            java.security.Signature signature = java.security.Signature.getInstance(signAlgorithms);
+            java.security.Signature signature = getSignature(signAlgorithms);
             signature.initSign(privateKey);
             signature.update(content.getBytes(characterEncoding));
             byte[] signed = signature.sign();
@@ -147,7 +171,7 @@ public class RSA {
      */
     public static boolean verify(String content, String sign, PublicKey publicKey, String signAlgorithms, String characterEncoding) {
         try {
-            java.security.Signature signature = java.security.Signature.getInstance(signAlgorithms);
+            java.security.Signature signature = getSignature(signAlgorithms);
             signature.initVerify(publicKey);
             signature.update(content.getBytes(characterEncoding));
             return signature.verify(Base64.decode(sign));